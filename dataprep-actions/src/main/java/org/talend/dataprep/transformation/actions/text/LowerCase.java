@@ -22,14 +22,14 @@ import org.talend.dataprep.api.dataset.row.DataSetRow;
 import org.talend.dataprep.api.type.Type;
 import org.talend.dataprep.transformation.actions.category.ActionCategory;
 import org.talend.dataprep.transformation.actions.common.AbstractActionMetadata;
-import org.talend.dataprep.transformation.actions.common.ColumnAction;
+import org.talend.dataprep.transformation.actions.common.ColumnSliceAction;
 import org.talend.dataprep.transformation.api.action.context.ActionContext;
 
 /**
  * Lower case a column in a dataset row.
  */
 @Action(AbstractActionMetadata.ACTION_BEAN_PREFIX + LowerCase.LOWER_CASE_ACTION_NAME)
-public class LowerCase extends AbstractActionMetadata implements ColumnAction {
+public class LowerCase extends AbstractActionMetadata implements ColumnSliceAction {
 
     /**
      * Action name.
@@ -60,6 +60,15 @@ public class LowerCase extends AbstractActionMetadata implements ColumnAction {
         }
     }
 
+    @Override
+    public void applyOnColumnSlice(String[] values, ActionContext context) {
+        for (int i = 0; i < values.length; i++) {
+            if (values[i] != null) {
+                values[i] = values[i].toLowerCase();
+            }
+        }
+    }
+
     @Override
     public Set<Behavior> getBehavior() {
         return EnumSet.of(Behavior.VALUES_COLUMN);
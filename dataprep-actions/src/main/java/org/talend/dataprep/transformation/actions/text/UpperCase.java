@@ -22,14 +22,14 @@ import org.talend.dataprep.api.dataset.row.DataSetRow;
 import org.talend.dataprep.api.type.Type;
 import org.talend.dataprep.transformation.actions.category.ActionCategory;
 import org.talend.dataprep.transformation.actions.common.AbstractActionMetadata;
-import org.talend.dataprep.transformation.actions.common.ColumnAction;
+import org.talend.dataprep.transformation.actions.common.ColumnSliceAction;
 import org.talend.dataprep.transformation.api.action.context.ActionContext;
 
 /**
  * Uppercase a column in a row.
  */
 @Action(AbstractActionMetadata.ACTION_BEAN_PREFIX + UpperCase.UPPER_CASE_ACTION_NAME)
-public class UpperCase extends AbstractActionMetadata implements ColumnAction {
+public class UpperCase extends AbstractActionMetadata implements ColumnSliceAction {
 
     /**
      * The action code name.
@@ -60,6 +60,15 @@ public class UpperCase extends AbstractActionMetadata implements ColumnAction {
         }
     }
 
+    @Override
+    public void applyOnColumnSlice(String[] values, ActionContext context) {
+        for (int i = 0; i < values.length; i++) {
+            if (values[i] != null) {
+                values[i] = values[i].toUpperCase();
+            }
+        }
+    }
+
     @Override
     public Set<Behavior> getBehavior() {
         return EnumSet.of(Behavior.VALUES_COLUMN);
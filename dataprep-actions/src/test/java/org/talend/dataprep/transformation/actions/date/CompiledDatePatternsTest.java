@@ -0,0 +1,73 @@
+//  ============================================================================
+//
+//  Copyright (C) 2006-2016 Talend Inc. - www.talend.com
+//
+//  This source code is available under agreement available at
+//  https://github.com/Talend/data-prep/blob/master/LICENSE
+//
+//  You should have received a copy of the agreement
+//  along with this program; if not, write to Talend SA
+//  9 rue Pages 92150 Suresnes, France
+//
+//  ============================================================================
+
+package org.talend.dataprep.transformation.actions.date;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+
+import org.junit.Test;
+
+/**
+ * Unit test for the CompiledDatePatterns class.
+ * @see CompiledDatePatterns
+ */
+public class CompiledDatePatternsTest {
+
+    @Test
+    public void shouldComputePatternShape() {
+        assertEquals("// :", CompiledDatePatterns.shapeOfPattern("dd/MM/yyyy HH:mm"));
+        assertEquals("--  ", CompiledDatePatterns.shapeOfPattern("yyyy-MM-dd' T 'HH"));
+        assertEquals("'", CompiledDatePatterns.shapeOfPattern("yy''MM"));
+        assertEquals("", CompiledDatePatterns.shapeOfPattern("MMMM"));
+        assertNull(CompiledDatePatterns.shapeOfPattern("yyyy-MM-dd[ HH:mm]"));
+        assertNull(CompiledDatePatterns.shapeOfPattern("yyyy-MM-dd HH:mm Z"));
+    }
+
+    @Test
+    public void shouldComputeValueShape() {
+        assertEquals("// :", CompiledDatePatterns.shapeOfValue("02/01/2015 10:30"));
+        assertEquals(",  ", CompiledDatePatterns.shapeOfValue("Friday, 2 January"));
+    }
+
+    @Test
+    public void shouldParseWithFirstMatchingPattern() {
+        // given
+        final CompiledDatePatterns patterns = new CompiledDatePatterns(Arrays.asList(new DatePattern("dd/MM/yyyy"),
+                new DatePattern("MM/dd/yyyy HH:mm"), new DatePattern("yyyy-MM-dd[ HH:mm]"), new DatePattern("MMMM d yyyy")));
+
+        // then
+        assertEquals(LocalDateTime.of(2015, 1, 2, 0, 0), patterns.parse("02/01/2015"));
+        assertEquals(LocalDateTime.of(2015, 2, 1, 10, 30), patterns.parse("02/01/2015 10:30"));
+        assertEquals(LocalDateTime.of(2015, 1, 2, 0, 0), patterns.parse("2015-01-02"));
+        assertEquals(LocalDateTime.of(2015, 1, 2, 10, 30), patterns.parse("2015-01-02 10:30"));
+        assertEquals(LocalDateTime.of(2015, 7, 14, 0, 0), patterns.parse("july 14 2015"));
+    }
+
+    @Test
+    public void shouldNotParseInvalidValues() {
+        // given
+        final CompiledDatePatterns patterns = new CompiledDatePatterns(Arrays.asList(new DatePattern("dd/MM/yyyy"),
+                new DatePattern("HH:mm")));
+
+        // then
+        assertNull(patterns.parse("not a date"));
+        assertNull(patterns.parse("32/01/2015")); // January 32nd
+        assertNull(patterns.parse("02/01/2015 and more"));
+        assertNull(patterns.parse("10:30")); // time only
+        assertNull(patterns.parse(""));
+    }
+}
@@ -14,16 +14,19 @@
 package org.talend.dataprep.transformation.actions.date;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
 
 import java.io.IOException;
 import java.text.ParseException;
 import java.time.DateTimeException;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.time.temporal.TemporalAccessor;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.junit.Test;
 import org.talend.dataprep.api.dataset.ColumnMetadata;
@@ -32,6 +35,8 @@ import org.talend.dataprep.api.dataset.statistics.PatternFrequency;
 import org.talend.dataprep.api.type.Type;
 import org.talend.dataprep.quality.AnalyzerService;
 import org.talend.dataprep.transformation.actions.ActionMetadataTestUtils;
+import org.talend.dataquality.common.inference.Analyzer;
+import org.talend.dataquality.common.inference.Analyzers;
 
 /**
  * Unit test for the DateParser class.
@@ -142,4 +147,48 @@ public class DateParserTest extends BaseDateTest {
         assertEquals(2, actual.size());
         assertEquals(new PatternFrequency("d/M/yyyy", 1), actual.get(1));
     }
+
+    @Test
+    public void shouldParseWithNewColumnPatterns() {
+        // given
+        final ColumnMetadata column = ActionMetadataTestUtils.getColumn(Type.DATE);
+        column.getStatistics().getPatternFrequencies().add(new PatternFrequency("yyyy-MM-dd", 1));
+        assertEquals(LocalDateTime.of(2015, 1, 2, 0, 0), action.parse("2015-01-02", column));
+
+        // when
+        column.getStatistics().getPatternFrequencies().add(new PatternFrequency("dd/MM/yyyy HH:mm", 2));
+
+        // then
+        assertEquals(LocalDateTime.of(2015, 1, 2, 10, 30), action.parse("02/01/2015 10:30", column));
+        assertEquals(LocalDateTime.of(2015, 1, 3, 0, 0), action.parse("2015-01-03", column));
+    }
+
+    @Test
+    public void shouldRememberGuessedPatterns() {
+        // given
+        final AtomicInteger dqCalls = new AtomicInteger();
+        final DateParser parser = new DateParser(new AnalyzerService() {
+
+            @Override
+            public Analyzer<Analyzers.Result> build(ColumnMetadata column, Analysis... settings) {
+                dqCalls.incrementAndGet();
+                return super.build(column, settings);
+            }
+        });
+
+        // when
+        for (int i = 0; i < 3; i++) {
+            final ColumnMetadata column = ActionMetadataTestUtils.getColumn(Type.DATE);
+            assertEquals(LocalDateTime.of(2015, 2, 1, 0, 0), parser.parse("01/02/2015", column));
+            try {
+                parser.parse("not a date", column);
+                fail("'not a date' should not be parsed");
+            } catch (DateTimeException e) {
+                // expected
+            }
+        }
+
+        // then
+        assertEquals(2, dqCalls.get());
+    }
 }
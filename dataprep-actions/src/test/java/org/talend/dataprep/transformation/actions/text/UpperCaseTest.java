@@ -83,6 +83,18 @@ public class UpperCaseTest extends AbstractMetadataBaseTest {
         assertEquals(expectedValues, row.values());
     }
 
+    @Test
+    public void should_uppercase_column_slice() {
+        // given
+        final String[] values = { "Vancouver", null, "CANADA" };
+
+        // when
+        action.applyOnColumnSlice(values, null);
+
+        // then
+        assertArrayEquals(new String[] { "VANCOUVER", null, "CANADA" }, values);
+    }
+
     @Test()
     public void should_do_nothing_since_column_does_not_exist() {
         // given
@@ -108,7 +108,7 @@ public class TransformAPI extends APIService {
 
         // get params, passing content in the body
         final GenericCommand<InputStream> getActionDynamicParams = getCommand(SuggestActionParams.class, inputData, action,
-                dynamicParamsInput.getColumnId());
+                dynamicParamsInput.getColumnId(), preparationId, dynamicParamsInput.getStepId());
         return CommandHelper.toStreaming(getActionDynamicParams);
     }
 
@@ -101,6 +101,28 @@ public abstract class PreviewAbstract extends GenericCommand<InputStream> {
                               String preparationId,
                               List<Integer> tdpIds,
                               ExportParameters.SourceType sourceType) throws JsonProcessingException {
+        setContext(baseActions, newActions, datasetId, preparationId, tdpIds, sourceType, null);
+    }
+
+    /**
+     * Set the preview context.
+     *
+     * @param baseActions the list of actions to use as the starting state for the preview.
+     * @param newActions the list of action to add to the starting ones.
+     * @param datasetId the dataset id.
+     * @param preparationId the preparation id.
+     * @param tdpIds the list of rows to apply.
+     * @param sourceType the source type.
+     * @param referenceStepId the id of the preparation step with the base actions (may be null).
+     * @throws JsonProcessingException if an error occurs.
+     */
+    protected void setContext(Collection<Action> baseActions,
+                              Collection<Action> newActions,
+                              String datasetId,
+                              String preparationId,
+                              List<Integer> tdpIds,
+                              ExportParameters.SourceType sourceType,
+                              String referenceStepId) throws JsonProcessingException {
 
         this.parameters = new PreviewParameters( //
                 serializeActions(baseActions), //
@@ -108,7 +130,8 @@ public abstract class PreviewAbstract extends GenericCommand<InputStream> {
                 datasetId, //
                 preparationId,
                 serializeIds(tdpIds),
-                sourceType);
+                sourceType,
+                referenceStepId);
     }
 
     /**
@@ -54,10 +54,13 @@ public class PreviewAdd extends PreviewAbstract {
     protected InputStream run() throws Exception {
         final Map<String, Action> originalActionsByStep = new LinkedHashMap<>();
         String dataSetId = addParameters.getDatasetId();
+        String referenceStepId = null;
 
         // get preparation details to initialize actions list
         if (StringUtils.isNotBlank(addParameters.getPreparationId())) {
             dataSetId = preparation.getDataSetId();
+            // original actions are the head actions
+            referenceStepId = preparation.getHeadId();
 
             // Get steps from first transformation
             final List<String> steps = preparation.getSteps().stream().map(Step::getId).collect(Collectors.toList());
@@ -74,7 +77,7 @@ public class PreviewAdd extends PreviewAbstract {
         modifiedActions.addAll(addParameters.getActions());
 
         // execute transformation preview with content and the 2 transformations
-        setContext(originalActions, modifiedActions, dataSetId, addParameters.getPreparationId(), addParameters.getTdpIds(), addParameters.getSourceType());
+        setContext(originalActions, modifiedActions, dataSetId, addParameters.getPreparationId(), addParameters.getTdpIds(), addParameters.getSourceType(), referenceStepId);
         return super.run();
     }
 
@@ -75,8 +75,12 @@ public class PreviewDiff extends PreviewAbstract {
         final Iterator<Action> previewActionsIterator = previewStepActions.iterator();
         steps.stream().filter(step -> previewActionsIterator.hasNext()).forEach(step -> previewActions.put(step.id(), previewActionsIterator.next()));
 
+        // the original actions are the actions of the current step
+        final String currentStepId = "head".equalsIgnoreCase(input.getCurrentStepId()) ? preparation.getHeadId()
+                : input.getCurrentStepId();
+
         // execute transformation preview with content and the 2 transformations
-        setContext(originalActions.values(), previewActions.values(), dataSetId, input.getPreparationId(), input.getTdpIds(), input.getSourceType());
+        setContext(originalActions.values(), previewActions.values(), dataSetId, input.getPreparationId(), input.getTdpIds(), input.getSourceType(), currentStepId);
         return super.run();
     }
 
@@ -16,13 +16,18 @@ package org.talend.dataprep.api.service.command.transformation;
 import static org.talend.dataprep.command.Defaults.pipeStream;
 
 import java.io.InputStream;
+import java.net.URISyntaxException;
 
+import org.apache.commons.lang.StringUtils;
 import org.apache.http.client.methods.HttpPost;
+import org.apache.http.client.utils.URIBuilder;
 import org.apache.http.entity.InputStreamEntity;
 import org.springframework.context.annotation.Scope;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Component;
 import org.talend.dataprep.api.service.command.common.ChainedCommand;
+import org.talend.dataprep.exception.TDPException;
+import org.talend.dataprep.exception.error.CommonErrorCodes;
 
 import com.netflix.hystrix.HystrixCommand;
 
@@ -30,15 +35,34 @@ import com.netflix.hystrix.HystrixCommand;
 @Scope("request")
 public class SuggestActionParams extends ChainedCommand<InputStream, InputStream> {
 
-    private SuggestActionParams(final HystrixCommand<InputStream> content, final String action,
-            final String columnId) {
+    /**
+     * Constructor.
+     *
+     * @param content the command that returns the content.
+     * @param action the action name.
+     * @param columnId the column id.
+     * @param preparationId the preparation id if content is a preparation content, <code>null</code> otherwise.
+     * @param stepId the preparation step id.
+     */
+    private SuggestActionParams(final HystrixCommand<InputStream> content, final String action, final String columnId,
+            final String preparationId, final String stepId) {
         super(content);
         execute(() -> {
-            final String uri = transformationServiceUrl + "/transform/suggest/" + action + "/params?columnId=" + columnId;
-            final HttpPost getParametersCall = new HttpPost(uri);
-            final InputStreamEntity entity = new InputStreamEntity(getInput());
-            getParametersCall.setEntity(entity);
-            return getParametersCall;
+            try {
+                final URIBuilder uriBuilder = new URIBuilder(transformationServiceUrl + "/transform/suggest/" + action + "/params");
+                uriBuilder.addParameter("columnId", columnId);
+                if (StringUtils.isNotBlank(preparationId)) {
+                    // content id, so that parameters may be cached by preparation step
+                    uriBuilder.addParameter("preparationId", preparationId);
+                    uriBuilder.addParameter("stepId", stepId);
+                }
+                final HttpPost getParametersCall = new HttpPost(uriBuilder.build());
+                final InputStreamEntity entity = new InputStreamEntity(getInput());
+                getParametersCall.setEntity(entity);
+                return getParametersCall;
+            } catch (URISyntaxException e) {
+                throw new TDPException(CommonErrorCodes.UNEXPECTED_EXCEPTION, e);
+            }
         });
         on(HttpStatus.OK).then(pipeStream());
     }
@@ -28,9 +28,11 @@ import org.apache.commons.lang.StringUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.talend.dataprep.api.dataset.json.ColumnContextDeserializer;
+import org.talend.dataprep.api.dataset.row.ColumnIndex;
 import org.talend.dataprep.api.dataset.row.Flag;
 import org.talend.dataprep.api.dataset.row.RowMetadataUtils;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
 
@@ -55,6 +57,9 @@ public class RowMetadata implements Serializable {
 
     private int nextId = 0;
 
+    /** Column index shared by rows created with this metadata (lazily created). */
+    private transient volatile ColumnIndex columnIndex;
+
     /**
      * Default empty constructor.
      */
@@ -299,9 +304,23 @@ public class RowMetadata implements Serializable {
         columns.forEach(col -> copyColumns.add(ColumnMetadata.Builder.column().copy(col).build()));
         final RowMetadata clone = new RowMetadata(new ArrayList<>(copyColumns));
         clone.nextId = nextId;
+        clone.columnIndex = columnIndex;
         return clone;
     }
 
+    /**
+     * @return The {@link ColumnIndex} to be shared by all rows that use this metadata.
+     */
+    @JsonIgnore
+    public ColumnIndex columnIndex() {
+        ColumnIndex index = columnIndex;
+        if (index == null) {
+            index = ColumnIndex.of(columns);
+            columnIndex = index;
+        }
+        return index;
+    }
+
     public Schema toSchema() {
         return RowMetadataUtils.toSchema(this);
     }
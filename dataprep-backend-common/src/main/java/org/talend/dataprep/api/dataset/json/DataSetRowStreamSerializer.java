@@ -32,7 +32,7 @@ public class DataSetRowStreamSerializer extends JsonSerializer<Stream<DataSetRow
         try {
             value.forEach(row -> {
                 try {
-                    generator.writeObject(row.valuesWithId());
+                    row.writeTo(generator);
                 } catch (IOException e) {
                     new TalendRuntimeException(BaseErrorCodes.UNABLE_TO_PARSE_JSON, e);
                 }
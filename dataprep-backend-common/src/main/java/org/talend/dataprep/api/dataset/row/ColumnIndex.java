@@ -0,0 +1,166 @@
+// ============================================================================
+//
+// Copyright (C) 2006-2016 Talend Inc. - www.talend.com
+//
+// This source code is available under agreement available at
+// https://github.com/Talend/data-prep/blob/master/LICENSE
+//
+// You should have received a copy of the agreement
+// along with this program; if not, write to Talend SA
+// 9 rue Pages 92150 Suresnes, France
+//
+// ============================================================================
+
+package org.talend.dataprep.api.dataset.row;
+
+import java.io.Serializable;
+import java.util.*;
+
+import org.talend.dataprep.api.dataset.ColumnMetadata;
+
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.core.io.SerializedString;
+
+/**
+ * <p>
+ * Maps column ids to slots in {@link DataSetRow} value arrays. An index is shared by all rows created from the same
+ * {@link org.talend.dataprep.api.dataset.RowMetadata} (and by their clones), initial slots follow column positions.
+ * </p>
+ * <p>
+ * An index is append only: setting a value for an unknown column id adds a slot at the end, existing slots never
+ * change. This class is thread safe: lookups are lock free and read an immutable snapshot, additions are synchronized
+ * and publish a new snapshot.
+ * </p>
+ */
+public final class ColumnIndex implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private volatile Snapshot snapshot;
+
+    private ColumnIndex(Snapshot snapshot) {
+        this.snapshot = snapshot;
+    }
+
+    /**
+     * @return An empty index.
+     */
+    public static ColumnIndex empty() {
+        return new ColumnIndex(new Snapshot(new String[0], new SerializedString[0]));
+    }
+
+    /**
+     * @param columns The columns to index.
+     * @return An index where each column slot is its position in <code>columns</code>.
+     */
+    public static ColumnIndex of(List<ColumnMetadata> columns) {
+        final Set<String> ids = new LinkedHashSet<>(columns.size());
+        for (ColumnMetadata column : columns) {
+            ids.add(column.getId());
+        }
+        return new ColumnIndex(new Snapshot(ids.toArray(new String[ids.size()]), new SerializedString[0]));
+    }
+
+    /**
+     * @param id A column id.
+     * @return The slot for column id or -1 if column id is not indexed.
+     */
+    int slot(String id) {
+        final Integer slot = snapshot.slots.get(id);
+        return slot == null ? -1 : slot;
+    }
+
+    /**
+     * @param id A column id.
+     * @return The slot for column id, a new slot is added if column id is not indexed.
+     */
+    int slotOrCreate(String id) {
+        final int slot = slot(id);
+        if (slot >= 0) {
+            return slot;
+        }
+        synchronized (this) {
+            final Snapshot current = snapshot;
+            final Integer existing = current.slots.get(id);
+            if (existing != null) {
+                return existing;
+            }
+            final String[] ids = Arrays.copyOf(current.ids, current.ids.length + 1);
+            ids[current.ids.length] = id;
+            snapshot = new Snapshot(ids, current.names);
+            return current.ids.length;
+        }
+    }
+
+    /**
+     * @param slot A slot returned by this index.
+     * @return The column id for slot.
+     */
+    String id(int slot) {
+        return snapshot.ids[slot];
+    }
+
+    /**
+     * @param slot A slot returned by this index.
+     * @return The column id for slot as a JSON field name (encoded once for all rows that share this index).
+     */
+    SerializableString name(int slot) {
+        return snapshot.names[slot];
+    }
+
+    /**
+     * @return The number of slots in this index.
+     */
+    int size() {
+        return snapshot.ids.length;
+    }
+
+    /**
+     * @return All slots, ordered by column id (see {@link DataSetRow} alphabetical order).
+     */
+    int[] sortedSlots() {
+        return snapshot.sortedSlots;
+    }
+
+    /**
+     * Immutable state of the index.
+     */
+    private static final class Snapshot implements Serializable {
+
+        private static final long serialVersionUID = 1L;
+
+        private final String[] ids;
+
+        private final Map<String, Integer> slots;
+
+        private final int[] sortedSlots;
+
+        /** Column ids as JSON field names (by slot). */
+        private final SerializedString[] names;
+
+        /**
+         * @param ids The column ids (by slot).
+         * @param previousNames The names of a previous snapshot (names of the same slots are reused).
+         */
+        private Snapshot(String[] ids, SerializedString[] previousNames) {
+            this.ids = ids;
+            this.names = Arrays.copyOf(previousNames, ids.length);
+            for (int i = previousNames.length; i < ids.length; i++) {
+                names[i] = new SerializedString(ids[i]);
+            }
+            this.slots = new HashMap<>(ids.length * 2);
+            for (int i = 0; i < ids.length; i++) {
+                slots.put(ids[i], i);
+            }
+            final Integer[] sorted = new Integer[ids.length];
+            for (int i = 0; i < ids.length; i++) {
+                sorted[i] = i;
+            }
+            Arrays.sort(sorted, (s1, s2) -> ids[s1].compareTo(ids[s2]));
+            this.sortedSlots = new int[ids.length];
+            for (int i = 0; i < ids.length; i++) {
+                sortedSlots[i] = sorted[i];
+            }
+        }
+    }
+}
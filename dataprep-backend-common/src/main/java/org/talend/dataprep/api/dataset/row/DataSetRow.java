@@ -13,24 +13,34 @@
 
 package org.talend.dataprep.api.dataset.row;
 
-import static java.util.stream.Collectors.joining;
-import static java.util.stream.StreamSupport.stream;
 import static org.talend.dataprep.api.dataset.row.FlagNames.INTERNAL_PROPERTY_PREFIX;
 import static org.talend.dataprep.api.dataset.row.FlagNames.TDP_INVALID;
 
+import java.io.IOException;
 import java.io.Serializable;
 import java.util.*;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
-import java.util.stream.Stream;
 
+import org.apache.commons.lang.ArrayUtils;
 import org.apache.commons.lang.StringUtils;
 import org.talend.dataprep.api.dataset.ColumnMetadata;
 import org.talend.dataprep.api.dataset.RowMetadata;
 import org.talend.dataprep.api.type.Type;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.core.io.SerializedString;
+
 /**
  * A DataSetRow is a row of a dataset. Values in data set row are <b>alphabetically</b> ordered by name.
+ * <p>
+ * Values are stored in an array indexed by {@link ColumnIndex} slots (index is shared by all rows created with the same
+ * {@link RowMetadata}), invalid flags are stored as a {@link BitSet} of slots.
+ * </p>
+ * <p>
+ * {@link #clone()} is copy-on-write: clone and original share their values until one of them is modified.
+ * </p>
  */
 public class DataSetRow implements Cloneable, Serializable {
 
@@ -47,11 +57,28 @@ public class DataSetRow implements Cloneable, Serializable {
      */
     public static final Predicate<Map.Entry<String, String>> SKIP_TDP_ID = e -> !FlagNames.TDP_ID.equals(e.getKey());
 
+    private static final String[] NO_VALUES = new String[0];
+
+    private static final int[] NO_SLOTS = new int[0];
+
+    private static final SerializableString TDP_ID_NAME = new SerializedString(FlagNames.TDP_ID);
+
+    private static final SerializableString TDP_INVALID_NAME = new SerializedString(TDP_INVALID);
+
     /** Metadata information (columns...) about this DataSetRow */
     private RowMetadata rowMetadata;
 
-    /** Values of the dataset row. */
-    private Map<String, String> values = new TreeMap<>();
+    /** Column id to slot in {@link #values}. */
+    private ColumnIndex index;
+
+    /** Values of the dataset row (a <code>null</code> slot means no value, see {@link #nullSlots}). */
+    private String[] values = NO_VALUES;
+
+    /** Slots explicitly set to <code>null</code> (created on first use). */
+    private BitSet nullSlots;
+
+    /** Slots in iteration order when row was ordered with {@link #order(List)}, <code>null</code> for alphabetical order. */
+    private int[] order;
 
     /** True if this row is deleted. */
     private boolean deleted;
@@ -62,14 +89,25 @@ public class DataSetRow implements Cloneable, Serializable {
     /** Row id */
     private Long rowId;
 
-    /** A structure to speed up invalid related operations */
-    private final Set<String> invalidColumnIds = new HashSet<>();
+    /** Slots of invalid columns. */
+    private BitSet invalidSlots = new BitSet();
+
+    /** <code>true</code> if values may be shared with another row (values must be copied before any change). */
+    private boolean shared;
+
+    /** Called when shared values are copied (see {@link #clone(Runnable)}), <code>null</code> if none. */
+    private Runnable copyListener;
 
     /**
      * Constructor with values.
      */
     public DataSetRow(RowMetadata rowMetadata) {
+        this(rowMetadata, rowMetadata == null ? ColumnIndex.empty() : rowMetadata.columnIndex());
+    }
+
+    private DataSetRow(RowMetadata rowMetadata, ColumnIndex index) {
         this.rowMetadata = rowMetadata;
+        this.index = index;
         this.deleted = false;
     }
 
@@ -84,6 +122,7 @@ public class DataSetRow implements Cloneable, Serializable {
     }
 
     public DataSetRow(Map<String, String> values) {
+        this.index = ColumnIndex.empty();
         for (Map.Entry<String, String> entry : values.entrySet()) {
             set(entry.getKey(), entry.getValue());
         }
@@ -112,17 +151,106 @@ public class DataSetRow implements Cloneable, Serializable {
      */
     public DataSetRow set(final String id, final String value) {
         if (TDP_INVALID.equals(id)) {
-            final List<String> ids = Arrays.asList(value.split(","));
-            invalidColumnIds.addAll(ids);
+            copyOnWrite();
+            for (String invalidColumnId : value.split(",")) {
+                if (!invalidColumnId.isEmpty()) {
+                    invalidSlots.set(index.slotOrCreate(invalidColumnId));
+                }
+            }
         } else if (FlagNames.TDP_ID.equals(id)) {
             setTdpId(Long.parseLong(value));
         } else {
-            values.put(id, value);
+            put(index.slotOrCreate(id), value);
         }
 
         return this;
     }
 
+    private void put(int slot, String value) {
+        copyOnWrite();
+        if (order != null && !isPresent(slot) && !ArrayUtils.contains(order, slot)) {
+            order = ArrayUtils.add(order, slot);
+        }
+        if (slot >= values.length) {
+            values = Arrays.copyOf(values, Math.max(slot + 1, index.size()));
+        }
+        values[slot] = value;
+        if (value == null) {
+            if (nullSlots == null) {
+                nullSlots = new BitSet();
+            }
+            nullSlots.set(slot);
+        } else if (nullSlots != null) {
+            nullSlots.clear(slot);
+        }
+    }
+
+    private void remove(int slot) {
+        copyOnWrite();
+        if (slot < values.length) {
+            values[slot] = null;
+        }
+        if (nullSlots != null) {
+            nullSlots.clear(slot);
+        }
+        if (order != null) {
+            order = ArrayUtils.removeElement(order, slot);
+        }
+    }
+
+    /**
+     * Copies values, null and invalid slots if they are shared with another row.
+     */
+    private void copyOnWrite() {
+        if (shared) {
+            values = values.clone();
+            nullSlots = nullSlots == null ? null : (BitSet) nullSlots.clone();
+            invalidSlots = (BitSet) invalidSlots.clone();
+            shared = false;
+            if (copyListener != null) {
+                copyListener.run();
+                copyListener = null;
+            }
+        }
+    }
+
+    private boolean isPresent(int slot) {
+        return slot < values.length && (values[slot] != null || nullSlots != null && nullSlots.get(slot));
+    }
+
+    /**
+     * @return All slots in iteration order (slots may have no value, see {@link #isPresent(int)}).
+     */
+    private int[] slots() {
+        return order != null ? order : index.sortedSlots();
+    }
+
+    /**
+     * @return The number of values in this row.
+     */
+    private int size() {
+        int size = 0;
+        for (int slot : slots()) {
+            if (isPresent(slot)) {
+                size++;
+            }
+        }
+        return size;
+    }
+
+    /**
+     * @return The values of this row (in iteration order).
+     */
+    private Map<String, String> asMap() {
+        final Map<String, String> map = new LinkedHashMap<>();
+        for (int slot : slots()) {
+            if (isPresent(slot)) {
+                map.put(index.id(slot), values[slot]);
+            }
+        }
+        return map;
+    }
+
     /**
      * Get the value associated with the provided key
      *
@@ -133,7 +261,8 @@ public class DataSetRow implements Cloneable, Serializable {
         if (StringUtils.startsWith(id, INTERNAL_PROPERTY_PREFIX)) {
             return getInternalValues().get(id);
         } else {
-            return values.get(id);
+            final int slot = index.slot(id);
+            return slot < 0 || slot >= values.length ? null : values[slot];
         }
     }
 
@@ -169,26 +298,21 @@ public class DataSetRow implements Cloneable, Serializable {
      * </ul>
      */
     public Map<String, Object> values() {
-
-        final Map<String, Object> result = new LinkedHashMap<>(values.size() + 1);
-
-        // put all invalid column ids
-        getInternalValues().entrySet().forEach(e -> {
-            if (!StringUtils.isEmpty(e.getValue())) {
-                values.put(e.getKey(), e.getValue());
-            }
-        });
+        // values with all invalid column ids
+        final String invalidColumnIds = getInvalidColumnIds();
+        Map<String, String> currentValues = valuesWithInvalid(invalidColumnIds);
+        final Map<String, Object> result = new LinkedHashMap<>(currentValues.size() + 1);
 
         // if not old value, no diff to compute
         if (this.oldValue == null) {
-            result.putAll(values);
+            result.putAll(currentValues);
             return result;
         }
 
         // row is no more deleted : we write row values with the *NEW* flag
         if (oldValue.isDeleted() && !isDeleted()) {
             result.put(FlagNames.ROW_DIFF_KEY, Flag.NEW.getValue());
-            result.putAll(values);
+            result.putAll(currentValues);
         }
         // row has been deleted : we write row values with the *DELETED* flag
         else if (!oldValue.isDeleted() && isDeleted()) {
@@ -203,32 +327,37 @@ public class DataSetRow implements Cloneable, Serializable {
         final Map<String, Object> originalValues = oldValue.values();
 
         // compute the new value (column is not found in old value)
-        values.entrySet().forEach(entry -> {
-            if (!originalValues.containsKey(entry.getKey())) {
-                diff.put(entry.getKey(), Flag.NEW.getValue());
+        for (String id : currentValues.keySet()) {
+            if (!originalValues.containsKey(id)) {
+                diff.put(id, Flag.NEW.getValue());
             }
-        });
+        }
 
         // compute the deleted values (column is deleted)
-        originalValues.entrySet().forEach(entry -> {
-            if (!values.containsKey(entry.getKey())) {
+        boolean restored = false;
+        for (Map.Entry<String, Object> entry : originalValues.entrySet()) {
+            if (!currentValues.containsKey(entry.getKey())) {
                 diff.put(entry.getKey(), Flag.DELETE.getValue());
                 // put back the original entry so that the value can be displayed
                 set(entry.getKey(), (String) entry.getValue());
+                restored = true;
             }
-        });
+        }
+        if (restored) {
+            currentValues = valuesWithInvalid(invalidColumnIds);
+        }
 
         // compute the update values (column is still here but value is different)
-        values.entrySet().forEach(entry -> {
+        for (Map.Entry<String, String> entry : currentValues.entrySet()) {
             if (originalValues.containsKey(entry.getKey())) {
                 final Object originalValue = originalValues.get(entry.getKey());
                 if (!StringUtils.equals(entry.getValue(), (String) originalValue)) {
                     diff.put(entry.getKey(), Flag.UPDATE.getValue());
                 }
             }
-        });
+        }
 
-        result.putAll(values);
+        result.putAll(currentValues);
         if (!diff.isEmpty()) {
             result.put(FlagNames.DIFF_KEY, diff);
         }
@@ -236,6 +365,29 @@ public class DataSetRow implements Cloneable, Serializable {
         return result;
     }
 
+    /**
+     * @param invalidColumnIds The invalid column ids (as returned by {@link #getInvalidColumnIds()}).
+     * @return The values of this row, with invalid column ids (if any) at the position they have in iteration order.
+     */
+    private Map<String, String> valuesWithInvalid(String invalidColumnIds) {
+        final Map<String, String> map = new LinkedHashMap<>();
+        boolean pending = !StringUtils.isEmpty(invalidColumnIds);
+        for (int slot : slots()) {
+            if (isPresent(slot)) {
+                final String id = index.id(slot);
+                if (pending && order == null && id.compareTo(TDP_INVALID) > 0) {
+                    map.put(TDP_INVALID, invalidColumnIds);
+                    pending = false;
+                }
+                map.put(id, values[slot]);
+            }
+        }
+        if (pending) {
+            map.put(TDP_INVALID, invalidColumnIds);
+        }
+        return map;
+    }
+
     public Map<String, Object> valuesWithId() {
         final Map<String, Object> temp = values();
         if (getTdpId() != null) {
@@ -244,6 +396,72 @@ public class DataSetRow implements Cloneable, Serializable {
         return temp;
     }
 
+    /**
+     * Writes this row as a JSON object, with the same content as {@link #valuesWithId()} but without creating the map
+     * of values: values are written from this row storage, column ids from their names encoded once per
+     * {@link ColumnIndex}.
+     *
+     * @param generator The JSON generator to write this row to.
+     * @throws IOException If row cannot be written.
+     */
+    public void writeTo(JsonGenerator generator) throws IOException {
+        if (oldValue != null) {
+            // Diff flags (for previews) are computed with values
+            writeObject(generator, valuesWithId());
+            return;
+        }
+        generator.writeStartObject();
+        final String invalidColumnIds = getInvalidColumnIds();
+        boolean pending = !StringUtils.isEmpty(invalidColumnIds);
+        for (int slot : slots()) {
+            if (isPresent(slot)) {
+                if (pending && order == null && index.id(slot).compareTo(TDP_INVALID) > 0) {
+                    generator.writeFieldName(TDP_INVALID_NAME);
+                    generator.writeString(invalidColumnIds);
+                    pending = false;
+                }
+                generator.writeFieldName(index.name(slot));
+                writeString(generator, values[slot]);
+            }
+        }
+        if (pending) {
+            generator.writeFieldName(TDP_INVALID_NAME);
+            generator.writeString(invalidColumnIds);
+        }
+        if (getTdpId() != null) {
+            generator.writeFieldName(TDP_ID_NAME);
+            generator.writeNumber(getTdpId());
+        }
+        generator.writeEndObject();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static void writeObject(JsonGenerator generator, Map<String, ?> values) throws IOException {
+        generator.writeStartObject();
+        for (Map.Entry<String, ?> entry : values.entrySet()) {
+            generator.writeFieldName(entry.getKey());
+            final Object value = entry.getValue();
+            if (value == null || value instanceof String) {
+                writeString(generator, (String) value);
+            } else if (value instanceof Map) {
+                writeObject(generator, (Map<String, ?>) value);
+            } else if (value instanceof Long) {
+                generator.writeNumber((Long) value);
+            } else {
+                generator.writeObject(value);
+            }
+        }
+        generator.writeEndObject();
+    }
+
+    private static void writeString(JsonGenerator generator, String value) throws IOException {
+        if (value == null) {
+            generator.writeNull();
+        } else {
+            generator.writeString(value);
+        }
+    }
+
     /**
      * Clear all values in this row and reset state as it was when created (e.g. {@link #isDeleted()} returns
      * <code>false</code>).
@@ -252,8 +470,20 @@ public class DataSetRow implements Cloneable, Serializable {
         deleted = false;
         oldValue = null;
         rowId = null;
-        values.clear();
-        invalidColumnIds.clear();
+        if (shared) {
+            // No need to copy values that are going to be cleared
+            values = new String[values.length];
+            invalidSlots = new BitSet();
+            shared = false;
+            copyListener = null;
+        } else {
+            Arrays.fill(values, null);
+            invalidSlots.clear();
+        }
+        nullSlots = null;
+        if (order != null) {
+            order = NO_SLOTS;
+        }
     }
 
     /**
@@ -261,13 +491,30 @@ public class DataSetRow implements Cloneable, Serializable {
      */
     @Override
     public DataSetRow clone() {
-        final DataSetRow clone = new DataSetRow(rowMetadata, values);
-        clone.invalidColumnIds.addAll(invalidColumnIds);
+        final DataSetRow clone = new DataSetRow(rowMetadata, index);
+        clone.values = values;
+        clone.nullSlots = nullSlots;
+        clone.invalidSlots = invalidSlots;
+        clone.shared = true;
+        shared = true;
         clone.setDeleted(this.isDeleted());
         clone.setTdpId(this.rowId);
         return clone;
     }
 
+    /**
+     * Same as {@link #clone()}, with a listener called (once) if the clone copies the values it shares with this row,
+     * i.e. when the clone is first modified.
+     *
+     * @param onCopy The listener called when the clone copies its values.
+     * @return A clone of this row.
+     */
+    public DataSetRow clone(Runnable onCopy) {
+        final DataSetRow clone = clone();
+        clone.copyListener = onCopy;
+        return clone;
+    }
+
     /**
      * Determine if the row should be written
      */
@@ -289,7 +536,21 @@ public class DataSetRow implements Cloneable, Serializable {
         if (o == null || getClass() != o.getClass())
             return false;
         DataSetRow that = (DataSetRow) o;
-        return Objects.equals(deleted, that.deleted) && Objects.equals(values, that.values) && Objects.equals(rowId, that.rowId);
+        return Objects.equals(deleted, that.deleted) && sameValues(that) && Objects.equals(rowId, that.rowId);
+    }
+
+    private boolean sameValues(DataSetRow that) {
+        int size = 0;
+        for (int slot : slots()) {
+            if (isPresent(slot)) {
+                final int thatSlot = that.index == index ? slot : that.index.slot(index.id(slot));
+                if (thatSlot < 0 || !that.isPresent(thatSlot) || !Objects.equals(values[slot], that.values[thatSlot])) {
+                    return false;
+                }
+                size++;
+            }
+        }
+        return size == that.size();
     }
 
     /**
@@ -297,14 +558,21 @@ public class DataSetRow implements Cloneable, Serializable {
      */
     @Override
     public int hashCode() {
-        return Objects.hash(deleted, values);
+        // Same as the hash code of a map with the row values
+        int valuesHashCode = 0;
+        for (int slot : slots()) {
+            if (isPresent(slot)) {
+                valuesHashCode += index.id(slot).hashCode() ^ Objects.hashCode(values[slot]);
+            }
+        }
+        return Objects.hash(deleted, valuesHashCode);
     }
 
     @Override
     public String toString() {
         return "DataSetRow{" + //
                 "rowMetadata=" + rowMetadata + //
-                ", values=" + values + //
+                ", values=" + asMap() + //
                 ", deleted=" + deleted + //
                 ", oldValue=" + oldValue + //
                 ", rowId=" + rowId + //
@@ -325,18 +593,25 @@ public class DataSetRow implements Cloneable, Serializable {
         if (columns.isEmpty()) {
             return this;
         }
-        if (columns.size() < values.size()) {
-            throw new IllegalArgumentException("Expected " + values.size() + " columns but got " + columns.size());
+        final int size = size();
+        if (columns.size() < size) {
+            throw new IllegalArgumentException("Expected " + size + " columns but got " + columns.size());
         }
 
-        Map<String, String> orderedValues = new LinkedHashMap<>();
+        final DataSetRow dataSetRow = new DataSetRow(rowMetadata, index);
+        final int[] orderedSlots = new int[columns.size()];
+        final BitSet added = new BitSet();
+        int count = 0;
         for (ColumnMetadata column : columns) {
-            final String id = column.getId();
-            orderedValues.put(id, values.get(id));
+            final int slot = index.slotOrCreate(column.getId());
+            if (!added.get(slot)) {
+                added.set(slot);
+                orderedSlots[count++] = slot;
+                // Missing values are ordered as null values
+                dataSetRow.put(slot, slot < values.length ? values[slot] : null);
+            }
         }
-
-        final DataSetRow dataSetRow = new DataSetRow(rowMetadata);
-        dataSetRow.values = orderedValues;
+        dataSetRow.order = count == orderedSlots.length ? orderedSlots : Arrays.copyOf(orderedSlots, count);
         return dataSetRow;
     }
 
@@ -361,8 +636,9 @@ public class DataSetRow implements Cloneable, Serializable {
     public boolean deleteColumnById(String id) {
         rowMetadata.deleteColumnById(id);
 
-        if (values.containsKey(id)) {
-            values.remove(id);
+        final int slot = index.slot(id);
+        if (slot >= 0 && isPresent(slot)) {
+            remove(slot);
             return true;
         }
         return false;
@@ -377,16 +653,29 @@ public class DataSetRow implements Cloneable, Serializable {
      */
     @SafeVarargs
     public final String[] toArray(Predicate<Map.Entry<String, String>>... filters) {
-        Stream<Map.Entry<String, String>> stream = stream(values.entrySet().spliterator(), false);
-        // Apply filters
+        final int[] slots = slots();
+        final String[] strings = new String[slots.length];
+        final ValueEntry entry = new ValueEntry();
+        int count = 0;
+        for (int slot : slots) {
+            if (isPresent(slot)) {
+                entry.slot = slot;
+                if (accept(entry, filters)) {
+                    strings[count++] = String.valueOf(values[slot]);
+                }
+            }
+        }
+        return count == strings.length ? strings : Arrays.copyOf(strings, count);
+    }
+
+    private static boolean accept(Map.Entry<String, String> entry, Predicate<Map.Entry<String, String>>[] filters) {
         for (Predicate<Map.Entry<String, String>> filter : filters) {
-            stream = stream.filter(filter);
+            // TDP_ID is never stored with values, no need to test SKIP_TDP_ID
+            if (filter != SKIP_TDP_ID && !filter.test(entry)) {
+                return false;
+            }
         }
-        // Get as string array the selected columns
-        final List<String> strings = stream.map(Map.Entry::getValue) //
-                .map(String::valueOf) //
-                .collect(Collectors.toList());
-        return strings.toArray(new String[strings.size()]);
+        return true;
     }
 
     public Long getTdpId() {
@@ -402,7 +691,12 @@ public class DataSetRow implements Cloneable, Serializable {
      * <code>false</code> otherwise.
      */
     public boolean isEmpty() {
-        return values.isEmpty() || values.values().stream().filter(s -> !StringUtils.isEmpty(s)).count() == 0;
+        for (String value : values) {
+            if (!StringUtils.isEmpty(value)) {
+                return false;
+            }
+        }
+        return true;
     }
 
     /**
@@ -419,18 +713,19 @@ public class DataSetRow implements Cloneable, Serializable {
 
     public DataSetRow filter(List<ColumnMetadata> filteredColumns) {
         final Set<String> columnsToKeep = filteredColumns.stream().map(ColumnMetadata::getId).collect(Collectors.toSet());
-        final Set<String> columnsToDelete = values.entrySet().stream()
-                .filter(e -> !columnsToKeep.contains(e.getKey())) //
-                .map(Map.Entry::getKey)
-                .collect(Collectors.toSet());
         final RowMetadata rowMetadataClone = rowMetadata.clone();
-        final LinkedHashMap<String, String> filteredValues = new LinkedHashMap<>(this.values);
-        for (String columnId : columnsToDelete) {
-            filteredValues.remove(columnId);
-            rowMetadataClone.deleteColumnById(columnId);
+        final DataSetRow filteredDataSetRow = new DataSetRow(rowMetadataClone, index);
+        for (int slot : index.sortedSlots()) {
+            if (isPresent(slot)) {
+                final String columnId = index.id(slot);
+                if (columnsToKeep.contains(columnId)) {
+                    filteredDataSetRow.put(slot, values[slot]);
+                } else {
+                    rowMetadataClone.deleteColumnById(columnId);
+                }
+            }
         }
-        final DataSetRow filteredDataSetRow = new DataSetRow(rowMetadataClone, filteredValues);
-        filteredDataSetRow.invalidColumnIds.addAll(invalidColumnIds);
+        filteredDataSetRow.invalidSlots.or(invalidSlots);
         return filteredDataSetRow;
     }
 
@@ -441,8 +736,8 @@ public class DataSetRow implements Cloneable, Serializable {
      * @return <code>true</code> if column is marked as invalid in row, <code>false</code> otherwise or if column does not exist.
      */
     public boolean isInvalid(String columnId) {
-        final String currentInvalidColumnIds = get(TDP_INVALID);
-        return currentInvalidColumnIds != null && currentInvalidColumnIds.contains(columnId);
+        final int slot = index.slot(columnId);
+        return slot >= 0 && invalidSlots.get(slot);
     }
 
     /**
@@ -452,7 +747,8 @@ public class DataSetRow implements Cloneable, Serializable {
      * @see #unsetInvalid(String)
      */
     public void setInvalid(String columnId) {
-        invalidColumnIds.add(columnId);
+        copyOnWrite();
+        invalidSlots.set(index.slotOrCreate(columnId));
     }
 
     /**
@@ -462,7 +758,11 @@ public class DataSetRow implements Cloneable, Serializable {
      * @see #setInvalid(String)
      */
     public void unsetInvalid(String columnId) {
-        invalidColumnIds.remove(columnId);
+        final int slot = index.slot(columnId);
+        if (slot >= 0 && invalidSlots.get(slot)) {
+            copyOnWrite();
+            invalidSlots.clear(slot);
+        }
     }
 
     /**
@@ -471,10 +771,51 @@ public class DataSetRow implements Cloneable, Serializable {
      */
     public Map<String, String> getInternalValues() {
         final Map<String, String> internalValues = new HashMap<>(1);
-        internalValues.put(TDP_INVALID, invalidColumnIds.stream().collect(joining(",")));
+        internalValues.put(TDP_INVALID, getInvalidColumnIds());
         return internalValues;
     }
 
+    /**
+     * @return The invalid column ids (comma separated) in column index order.
+     */
+    private String getInvalidColumnIds() {
+        if (invalidSlots.isEmpty()) {
+            return StringUtils.EMPTY;
+        }
+        final StringBuilder builder = new StringBuilder();
+        for (int slot = invalidSlots.nextSetBit(0); slot >= 0; slot = invalidSlots.nextSetBit(slot + 1)) {
+            if (builder.length() > 0) {
+                builder.append(',');
+            }
+            builder.append(index.id(slot));
+        }
+        return builder.toString();
+    }
+
+    /**
+     * A {@link Map.Entry} view of a slot value used to test {@link #toArray(Predicate[])} filters (same instance is
+     * reused for all values).
+     */
+    private class ValueEntry implements Map.Entry<String, String> {
+
+        private int slot;
+
+        @Override
+        public String getKey() {
+            return index.id(slot);
+        }
+
+        @Override
+        public String getValue() {
+            return values[slot];
+        }
+
+        @Override
+        public String setValue(String value) {
+            throw new UnsupportedOperationException();
+        }
+    }
+
     /**
      * A wrapper implementation of {@link DataSetRow} that prevents changes on previous values and set empty string for
      * all new columns. This implementation allows modification on {@link RowMetadata}.
@@ -518,6 +859,11 @@ public class DataSetRow implements Cloneable, Serializable {
             return delegate.get(id);
         }
 
+        @Override
+        public boolean isInvalid(String columnId) {
+            return delegate.isInvalid(columnId);
+        }
+
         @Override
         public boolean isDeleted() {
             return deleted;
@@ -543,6 +889,11 @@ public class DataSetRow implements Cloneable, Serializable {
             return Collections.unmodifiableMap(delegate.valuesWithId());
         }
 
+        @Override
+        public void writeTo(JsonGenerator generator) throws IOException {
+            delegate.writeTo(generator);
+        }
+
         @Override
         public void clear() {
             // UnmodifiableDataSetRow means unmodifiable
@@ -553,6 +904,11 @@ public class DataSetRow implements Cloneable, Serializable {
             return this;
         }
 
+        @Override
+        public DataSetRow clone(Runnable onCopy) {
+            return this;
+        }
+
         @Override
         public boolean shouldWrite() {
             return delegate.shouldWrite();
@@ -20,6 +20,7 @@ import java.util.Objects;
 
 import org.apache.commons.codec.digest.DigestUtils;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonProperty;
 
 /**
@@ -39,6 +40,12 @@ public class PreparationActions extends Identifiable implements Serializable {
     @JsonProperty("app-version")
     private String appVersion;
 
+    /** Id of the actions these actions were appended to (not serialized, only used to store appended actions). */
+    private transient String parentId;
+
+    /** Number of actions of the actions these actions were appended to. */
+    private transient int parentSize;
+
     /**
      * Private constructor with the ID for the ROOT_ACTION.
      *
@@ -77,7 +84,27 @@ public class PreparationActions extends Identifiable implements Serializable {
         final List<Action> appendedActions = new ArrayList<>(getActions().size() + newActions.size());
         appendedActions.addAll(actions);
         appendedActions.addAll(newActions);
-        return new PreparationActions(appendedActions, getAppVersion());
+        final PreparationActions appended = new PreparationActions(appendedActions, getAppVersion());
+        appended.parentId = getId();
+        appended.parentSize = actions.size();
+        return appended;
+    }
+
+    /**
+     * @return the id of the actions these actions were {@link #append(List) appended} to, or <code>null</code> if these
+     * actions were not created by an append.
+     */
+    @JsonIgnore
+    public String getParentId() {
+        return parentId;
+    }
+
+    /**
+     * @return the number of actions of the actions these actions were {@link #append(List) appended} to.
+     */
+    @JsonIgnore
+    public int getParentSize() {
+        return parentSize;
     }
 
     @Override
@@ -16,6 +16,7 @@ package org.talend.dataprep.quality;
 import java.io.PrintWriter;
 import java.io.StringWriter;
 import java.util.*;
+import java.util.concurrent.ExecutorService;
 import java.util.stream.Collectors;
 
 import org.apache.commons.lang.StringUtils;
@@ -72,6 +73,14 @@ public class AnalyzerService {
      */
     private static final Logger LOGGER = LoggerFactory.getLogger(AnalyzerService.class);
 
+    /** Analysis of {@link #full(List)}. */
+    private static final Analysis[] FULL_ANALYSIS = { Analysis.QUALITY, Analysis.CARDINALITY, Analysis.FREQUENCY,
+            Analysis.PATTERNS, Analysis.LENGTH, Analysis.SEMANTIC, Analysis.QUANTILES, Analysis.SUMMARY,
+            Analysis.HISTOGRAM };
+
+    /** Analysis of {@link #schemaAnalysis(List)}. */
+    private static final Analysis[] SCHEMA_ANALYSIS = { Analysis.SEMANTIC, Analysis.TYPE };
+
     private final DateParser dateParser;
 
     private final Set<Analyzer> openedAnalyzers = new HashSet<>();
@@ -80,6 +89,18 @@ public class AnalyzerService {
 
     private final CategoryRecognizerBuilder builder;
 
+    /** Executor for column partitioned analysis (<code>null</code> if analysis is not partitioned). */
+    private ExecutorService partitionExecutor;
+
+    /** Max number of column groups for partitioned analysis. */
+    private int partitions;
+
+    /** Min number of columns for analysis to be partitioned. */
+    private int partitionMinColumns;
+
+    /** Number of records handed to each column group at once. */
+    private int partitionBatchSize;
+
     public AnalyzerService() {
         this(CategoryRecognizerBuilder.newBuilder().lucene());
     }
@@ -157,6 +178,28 @@ public class AnalyzerService {
         return patterns;
     }
 
+    /**
+     * Enables column partitioned analysis: analyzers built with {@link #partitioned(List, Analysis...)} for at least
+     * <code>minColumns</code> columns split columns in at most <code>partitions</code> groups, each group being
+     * analyzed on <code>executor</code>.
+     *
+     * @param executor The executor to run column groups analysis, <code>null</code> disables partitioned analysis.
+     * @param partitions The max number of column groups.
+     * @param minColumns The min number of columns for analysis to be partitioned.
+     * @param batchSize The number of records handed to each column group at once.
+     */
+    public void setPartitionedAnalysis(ExecutorService executor, int partitions, int minColumns, int batchSize) {
+        if (executor != null && (partitions < 1 || batchSize < 1)) {
+            throw new IllegalArgumentException("Partitions and batch size must be positive.");
+        }
+        this.partitionExecutor = executor;
+        this.partitions = partitions;
+        this.partitionMinColumns = minColumns;
+        this.partitionBatchSize = batchSize;
+        LOGGER.info("Partitioned analysis {} ({} partitions for {}+ columns).", executor == null ? "disabled" : "enabled",
+                partitions, minColumns);
+    }
+
     /**
      * Similarly to {@link #build(List, Analysis...)} but for a single column.
      *
@@ -285,10 +328,39 @@ public class AnalyzerService {
         }
     }
 
+    /**
+     * Similarly to {@link #build(List, Analysis...)} but columns are analyzed in groups on the partitioned analysis
+     * executor when enabled (see {@link #setPartitionedAnalysis(ExecutorService, int, int, int)}) and when there are
+     * enough columns. Records are analyzed by batches, so returned analyzer should only be used when results are read
+     * once all records are analyzed (e.g. a full data set analysis), not after each record.
+     *
+     * @param columns A list of columns, may be null or empty.
+     * @param settings A varargs with {@link Analysis}. Duplicates are possible in varargs but will be considered only
+     * once.
+     * @return A ready to use {@link Analyzer}.
+     */
+    public Analyzer<Analyzers.Result> partitioned(List<ColumnMetadata> columns, Analysis... settings) {
+        if (partitionExecutor != null && partitions > 1 && columns != null && columns.size() >= partitionMinColumns) {
+            return new ColumnPartitionedAnalyzer(columns, c -> build(c, settings), partitions, partitionBatchSize,
+                    partitionExecutor);
+        }
+        return build(columns, settings);
+    }
+
     public Analyzer<Analyzers.Result> full(final List<ColumnMetadata> columns) {
         // Configure quality & semantic analysis (if column metadata information is present in stream).
-        return build(columns, Analysis.QUALITY, Analysis.CARDINALITY, Analysis.FREQUENCY, Analysis.PATTERNS, Analysis.LENGTH,
-                Analysis.SEMANTIC, Analysis.QUANTILES, Analysis.SUMMARY, Analysis.HISTOGRAM);
+        return build(columns, FULL_ANALYSIS);
+    }
+
+    /**
+     * Same analysis as {@link #full(List)}, with columns analyzed in groups when enabled.
+     *
+     * @param columns the columns to analyze.
+     * @return the analyzer for a full analysis of all records.
+     * @see #partitioned(List, Analysis...)
+     */
+    public Analyzer<Analyzers.Result> fullPartitioned(final List<ColumnMetadata> columns) {
+        return partitioned(columns, FULL_ANALYSIS);
     }
 
     public Analyzer<Analyzers.Result> qualityAnalysis(List<ColumnMetadata> columns) {
@@ -308,7 +380,18 @@ public class AnalyzerService {
      * @return the analyzers to perform for the schema.
      */
     public Analyzer<Analyzers.Result> schemaAnalysis(List<ColumnMetadata> columns) {
-        return build(columns, Analysis.SEMANTIC, Analysis.TYPE);
+        return build(columns, SCHEMA_ANALYSIS);
+    }
+
+    /**
+     * Same analysis as {@link #schemaAnalysis(List)}, with columns analyzed in groups when enabled.
+     *
+     * @param columns the columns to analyze.
+     * @return the analyzer for a schema analysis of all records.
+     * @see #partitioned(List, Analysis...)
+     */
+    public Analyzer<Analyzers.Result> schemaAnalysisPartitioned(List<ColumnMetadata> columns) {
+        return partitioned(columns, SCHEMA_ANALYSIS);
     }
 
     public enum Analysis {
@@ -0,0 +1,217 @@
+// ============================================================================
+//
+// Copyright (C) 2006-2016 Talend Inc. - www.talend.com
+//
+// This source code is available under agreement available at
+// https://github.com/Talend/data-prep/blob/master/LICENSE
+//
+// You should have received a copy of the agreement
+// along with this program; if not, write to Talend SA
+// 9 rue Pages 92150 Suresnes, France
+//
+// ============================================================================
+
+package org.talend.dataprep.quality;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.function.Function;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.talend.daikon.exception.TalendRuntimeException;
+import org.talend.dataprep.BaseErrorCodes;
+import org.talend.dataprep.api.dataset.ColumnMetadata;
+import org.talend.dataquality.common.inference.Analyzer;
+import org.talend.dataquality.common.inference.Analyzers;
+
+/**
+ * <p>
+ * An {@link Analyzer} that splits columns in groups and analyzes each group with its own analyzer on a shared
+ * {@link ExecutorService}.
+ * </p>
+ * <p>
+ * Values are buffered in batches: once a batch is full, one task per column group is submitted to the executor. Caller
+ * thread is free to fill the next batch while the previous one is analyzed. Analyzers are not thread safe, so a column
+ * group analyzer never sees two batches at the same time (next batch is only submitted once previous one is done).
+ * </p>
+ * <p>
+ * Results are merged in column order, so {@link #getResult()} returns the same list as a single analyzer would.
+ * {@link #getResult()} waits for all buffered records to be analyzed: this analyzer is meant for callers that read
+ * results once all records are analyzed, not after each record (see
+ * {@link AnalyzerService#partitioned(List, AnalyzerService.Analysis...)}).
+ * </p>
+ */
+class ColumnPartitionedAnalyzer implements Analyzer<Analyzers.Result> {
+
+    private static final long serialVersionUID = 1L;
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ColumnPartitionedAnalyzer.class);
+
+    private final transient ExecutorService executor;
+
+    private final int batchSize;
+
+    /** Index of first column of each group (with an extra entry for the total column count). */
+    private final int[] groupStarts;
+
+    private final transient List<Analyzer<Analyzers.Result>> analyzers;
+
+    private final transient List<Future<?>> pending = new ArrayList<>();
+
+    private String[][] batch;
+
+    private int batchPosition;
+
+    /**
+     * @param columns The columns to be analyzed.
+     * @param factory The factory for column group analyzers.
+     * @param partitions The maximum number of column groups.
+     * @param batchSize The number of rows handed to each column group task.
+     * @param executor The executor to run column group analysis.
+     */
+    ColumnPartitionedAnalyzer(List<ColumnMetadata> columns, Function<List<ColumnMetadata>, Analyzer<Analyzers.Result>> factory,
+            int partitions, int batchSize, ExecutorService executor) {
+        this.executor = executor;
+        this.batchSize = batchSize;
+        final int groupCount = Math.max(1, Math.min(partitions, columns.size()));
+        this.groupStarts = new int[groupCount + 1];
+        this.analyzers = new ArrayList<>(groupCount);
+        for (int i = 0; i < groupCount; i++) {
+            groupStarts[i] = i * columns.size() / groupCount;
+        }
+        groupStarts[groupCount] = columns.size();
+        for (int i = 0; i < groupCount; i++) {
+            analyzers.add(factory.apply(columns.subList(groupStarts[i], groupStarts[i + 1])));
+        }
+        this.batch = new String[batchSize][];
+    }
+
+    private ColumnPartitionedAnalyzer(int[] groupStarts, List<Analyzer<Analyzers.Result>> analyzers, int batchSize,
+            ExecutorService executor) {
+        this.executor = executor;
+        this.batchSize = batchSize;
+        this.groupStarts = groupStarts;
+        this.analyzers = analyzers;
+        this.batch = new String[batchSize][];
+    }
+
+    @Override
+    public void init() {
+        // Column group analyzers are initialized by factory.
+    }
+
+    @Override
+    public boolean analyze(String... record) {
+        batch[batchPosition++] = record;
+        if (batchPosition == batchSize) {
+            submit();
+        }
+        return true;
+    }
+
+    // Wait for previous batch and submit current one to column group analyzers
+    private void submit() {
+        await();
+        final String[][] records = batch;
+        final int size = batchPosition;
+        for (int i = 0; i < analyzers.size(); i++) {
+            final Analyzer<Analyzers.Result> analyzer = analyzers.get(i);
+            final int start = groupStarts[i];
+            final int end = groupStarts[i + 1];
+            pending.add(executor.submit(() -> {
+                for (int row = 0; row < size; row++) {
+                    analyzer.analyze(slice(records[row], start, end));
+                }
+            }));
+        }
+        batch = new String[batchSize][];
+        batchPosition = 0;
+    }
+
+    private static String[] slice(String[] record, int start, int end) {
+        final String[] values = new String[end - start];
+        for (int i = start; i < end; i++) {
+            // Records may be shorter than expected (missing trailing values)
+            values[i - start] = i < record.length ? record[i] : null;
+        }
+        return values;
+    }
+
+    private void await() {
+        try {
+            for (Future<?> future : pending) {
+                future.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new TalendRuntimeException(BaseErrorCodes.UNEXPECTED_EXCEPTION, e);
+        } catch (ExecutionException e) {
+            throw new TalendRuntimeException(BaseErrorCodes.UNEXPECTED_EXCEPTION, e.getCause());
+        } finally {
+            pending.clear();
+        }
+    }
+
+    // Analyze all buffered records and wait for completion
+    private void flush() {
+        if (batchPosition > 0) {
+            submit();
+        }
+        await();
+    }
+
+    @Override
+    public void end() {
+        flush();
+        analyzers.forEach(Analyzer::end);
+    }
+
+    @Override
+    public List<Analyzers.Result> getResult() {
+        flush();
+        final List<Analyzers.Result> results = new ArrayList<>(groupStarts[groupStarts.length - 1]);
+        for (Analyzer<Analyzers.Result> analyzer : analyzers) {
+            results.addAll(analyzer.getResult());
+        }
+        return results;
+    }
+
+    /**
+     * Merges column groups analyzers with the ones of <code>another</code> partitioned analyzer.
+     *
+     * @param another A partitioned analyzer with the same column groups.
+     * @return A partitioned analyzer with the merged column group analyzers.
+     */
+    @Override
+    public Analyzer<Analyzers.Result> merge(Analyzer<Analyzers.Result> another) {
+        if (!(another instanceof ColumnPartitionedAnalyzer)
+                || !Arrays.equals(groupStarts, ((ColumnPartitionedAnalyzer) another).groupStarts)) {
+            throw new IllegalArgumentException("Only analyzers with same column groups can be merged.");
+        }
+        final ColumnPartitionedAnalyzer other = (ColumnPartitionedAnalyzer) another;
+        flush();
+        other.flush();
+        final List<Analyzer<Analyzers.Result>> merged = new ArrayList<>(analyzers.size());
+        for (int i = 0; i < analyzers.size(); i++) {
+            merged.add(analyzers.get(i).merge(other.analyzers.get(i)));
+        }
+        return new ColumnPartitionedAnalyzer(groupStarts, merged, batchSize, executor);
+    }
+
+    @Override
+    public void close() throws Exception {
+        try {
+            await();
+        } catch (Exception e) {
+            LOGGER.debug("Unable to complete pending analysis before close.", e);
+        }
+        for (Analyzer<Analyzers.Result> analyzer : analyzers) {
+            analyzer.close();
+        }
+    }
+}
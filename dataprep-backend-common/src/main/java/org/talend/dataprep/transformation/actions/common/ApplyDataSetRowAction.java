@@ -12,6 +12,8 @@
 
 package org.talend.dataprep.transformation.actions.common;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
 
 import org.slf4j.Logger;
@@ -43,6 +45,44 @@ public class ApplyDataSetRowAction implements DataSetRowAction {
         return handleRow(metadata, parameters, scope, dataSetRow, context);
     }
 
+    /**
+     * Applies {@link ColumnSliceAction column slice actions} on all column values of the batch at once, other actions
+     * are applied row by row.
+     */
+    @Override
+    public List<DataSetRow> applyBatch(List<DataSetRow> rows, ActionContext context) {
+        if (scope != ScopeCategory.COLUMN || !(metadata instanceof ColumnSliceAction)) {
+            return DataSetRowAction.super.applyBatch(rows, context);
+        }
+        try {
+            final String columnId = context.getColumnId();
+            final boolean implicitFilter = metadata.implicitFilter();
+            // Rows that do not pass the filter are left unchanged (slice actions only change column values).
+            final List<DataSetRow> selectedRows = new ArrayList<>(rows.size());
+            for (DataSetRow row : rows) {
+                if (!implicitFilter || context.getFilter().test(row)) {
+                    selectedRows.add(row);
+                }
+            }
+            final String[] values = new String[selectedRows.size()];
+            for (int i = 0; i < values.length; i++) {
+                values[i] = selectedRows.get(i).get(columnId);
+            }
+            final String[] originalValues = values.clone();
+            ((ColumnSliceAction) metadata).applyOnColumnSlice(values, context);
+            for (int i = 0; i < values.length; i++) {
+                if (values[i] != originalValues[i]) { // NOSONAR only changed values need to be set
+                    selectedRows.get(i).set(columnId, values[i]);
+                }
+            }
+        } catch (Throwable e) {
+            LOGGER.error("Unable to use action '{}' (parameters: {}) due to unexpected error.", metadata.getName(),
+                    parameters, e);
+            context.setActionStatus(ActionContext.ActionStatus.CANCELED);
+        }
+        return rows;
+    }
+
     private DataSetRow handleRow(final ActionDefinition metadata, //
             final Map<String, String> parameters, //
             final ScopeCategory scope, //
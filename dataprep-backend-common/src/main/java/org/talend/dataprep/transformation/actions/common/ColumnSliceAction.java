@@ -0,0 +1,31 @@
+// ============================================================================
+//
+// Copyright (C) 2006-2016 Talend Inc. - www.talend.com
+//
+// This source code is available under agreement available at
+// https://github.com/Talend/data-prep/blob/master/LICENSE
+//
+// You should have received a copy of the agreement
+// along with this program; if not, write to Talend SA
+// 9 rue Pages 92150 Suresnes, France
+//
+// ============================================================================
+
+package org.talend.dataprep.transformation.actions.common;
+
+import org.talend.dataprep.transformation.api.action.context.ActionContext;
+
+/**
+ * A {@link ColumnAction} that can also be applied on the values of a column for a batch of rows at once. Such actions
+ * must only change values of the column (no new column, no metadata change).
+ */
+public interface ColumnSliceAction extends ColumnAction {
+
+    /**
+     * Apply action on the column values of a batch of rows.
+     *
+     * @param values the column values (<code>null</code> if row has no value for the column), to be changed in place.
+     * @param context the transformation context.
+     */
+    void applyOnColumnSlice(String[] values, ActionContext context);
+}
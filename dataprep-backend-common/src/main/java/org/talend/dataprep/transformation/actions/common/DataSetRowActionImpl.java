@@ -12,6 +12,8 @@
 
 package org.talend.dataprep.transformation.actions.common;
 
+import java.util.List;
+
 import org.talend.dataprep.api.dataset.row.DataSetRow;
 import org.talend.dataprep.transformation.api.action.DataSetRowAction;
 import org.talend.dataprep.transformation.api.action.context.ActionContext;
@@ -32,6 +34,11 @@ class DataSetRowActionImpl implements DataSetRowAction {
         return rowAction.apply(dataSetRow, actionContext);
     }
 
+    @Override
+    public List<DataSetRow> applyBatch(List<DataSetRow> rows, ActionContext actionContext) {
+        return rowAction.applyBatch(rows, actionContext);
+    }
+
     @Override
     public void compile(ActionContext actionContext) {
         compile.compile(actionContext);
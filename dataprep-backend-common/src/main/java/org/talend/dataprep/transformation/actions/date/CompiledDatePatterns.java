@@ -0,0 +1,163 @@
+// ============================================================================
+// Copyright (C) 2006-2016 Talend Inc. - www.talend.com
+//
+// This source code is available under agreement available at
+// https://github.com/Talend/data-prep/blob/master/LICENSE
+//
+// You should have received a copy of the agreement
+// along with this program; if not, write to Talend SA
+// 9 rue Pages 92150 Suresnes, France
+//
+// ============================================================================
+
+package org.talend.dataprep.transformation.actions.date;
+
+import static java.time.temporal.TemporalQueries.localDate;
+import static java.time.temporal.TemporalQueries.localTime;
+
+import java.text.Format;
+import java.text.ParsePosition;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeFormatterBuilder;
+import java.time.temporal.TemporalAccessor;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * <p>
+ * Date patterns compiled once to parse many values: formatters are built once, and values are parsed without
+ * exceptions in the usual cases.
+ * </p>
+ * <p>
+ * Each pattern has a <i>shape</i> (the sequence of its separators, e.g. <code>"-- :"</code> for
+ * <code>yyyy-MM-dd HH:mm</code>) that values must have to be parsed with this pattern. Patterns with parts of variable
+ * shape (optional sections, padding, zones...) are always tried.
+ * </p>
+ * <p>
+ * This class is thread safe.
+ * </p>
+ */
+class CompiledDatePatterns {
+
+    /** Pattern letters that may print separators or a variable number of separators. */
+    private static final String VARIABLE_SHAPE_LETTERS = "GQqVvzOXxZp";
+
+    /** Pattern characters for optional sections or reserved characters. */
+    private static final String VARIABLE_SHAPE_CHARACTERS = "[]{}#";
+
+    private final CompiledPattern[] patterns;
+
+    private final boolean needShape;
+
+    /**
+     * @param datePatterns The patterns, in the order they should be tried.
+     */
+    CompiledDatePatterns(List<DatePattern> datePatterns) {
+        this.patterns = new CompiledPattern[datePatterns.size()];
+        boolean hasShape = false;
+        for (int i = 0; i < patterns.length; i++) {
+            patterns[i] = new CompiledPattern(datePatterns.get(i));
+            hasShape |= patterns[i].shape != null;
+        }
+        this.needShape = hasShape;
+    }
+
+    /**
+     * Parse a value with the first matching pattern.
+     *
+     * @param value The value to parse.
+     * @return The parsed date time (for date only value, time is set to 00:00:00), or <code>null</code> if no pattern
+     * matches the value.
+     */
+    LocalDateTime parse(String value) {
+        final String valueShape = needShape ? shapeOfValue(value) : null;
+        for (CompiledPattern pattern : patterns) {
+            if (pattern.shape == null || pattern.shape.equals(valueShape)) {
+                final LocalDateTime parsed = pattern.parse(value);
+                if (parsed != null) {
+                    return parsed;
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * @return The separators (characters that are neither letters nor digits) of the value.
+     */
+    static String shapeOfValue(String value) {
+        final StringBuilder shape = new StringBuilder();
+        for (int i = 0; i < value.length(); i++) {
+            final char c = value.charAt(i);
+            if (!Character.isLetterOrDigit(c)) {
+                shape.append(c);
+            }
+        }
+        return shape.toString();
+    }
+
+    /**
+     * @return The separators that values formatted with pattern have, or <code>null</code> if they may vary.
+     */
+    static String shapeOfPattern(String pattern) {
+        final StringBuilder shape = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < pattern.length(); i++) {
+            final char c = pattern.charAt(i);
+            if (c == '\'') {
+                if (i + 1 < pattern.length() && pattern.charAt(i + 1) == '\'') {
+                    shape.append(c); // Escaped quote
+                    i++;
+                } else {
+                    quoted = !quoted;
+                }
+            } else if (quoted) {
+                if (!Character.isLetterOrDigit(c)) {
+                    shape.append(c);
+                }
+            } else if (VARIABLE_SHAPE_LETTERS.indexOf(c) >= 0 || VARIABLE_SHAPE_CHARACTERS.indexOf(c) >= 0) {
+                return null;
+            } else if (!Character.isLetterOrDigit(c)) {
+                shape.append(c);
+            }
+        }
+        return shape.toString();
+    }
+
+    private static class CompiledPattern {
+
+        /**
+         * The pattern formatter as a {@link Format}: parses and resolves values in one pass, returning <code>null</code>
+         * instead of throwing an exception when a value does not match.
+         */
+        private final Format format;
+
+        private final String shape;
+
+        private CompiledPattern(DatePattern datePattern) {
+            final DateTimeFormatter formatter = new DateTimeFormatterBuilder().parseCaseInsensitive()
+                    .append(datePattern.getFormatter()).toFormatter(Locale.ENGLISH);
+            this.format = formatter.toFormat();
+            this.shape = shapeOfPattern(datePattern.getPattern());
+        }
+
+        private LocalDateTime parse(String value) {
+            // Value is parsed once: a value that does not match the pattern, or that matches the pattern but is not a
+            // valid date (e.g. January 32nd), returns null
+            final ParsePosition position = new ParsePosition(0);
+            final TemporalAccessor parsed = (TemporalAccessor) format.parseObject(value, position);
+            if (parsed == null || position.getIndex() != value.length()) {
+                return null;
+            }
+            final LocalDate date = parsed.query(localDate());
+            if (date == null) {
+                return null;
+            }
+            final LocalTime time = parsed.query(localTime());
+            return time == null ? date.atStartOfDay() : LocalDateTime.of(date, time);
+        }
+    }
+}
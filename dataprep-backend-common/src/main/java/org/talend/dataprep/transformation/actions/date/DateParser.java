@@ -17,10 +17,7 @@ import static java.util.stream.Collectors.toList;
 import static org.apache.commons.lang.StringUtils.isNotEmpty;
 
 import java.time.DateTimeException;
-import java.time.LocalDate;
 import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
-import java.time.format.DateTimeFormatterBuilder;
 import java.util.*;
 
 import org.apache.commons.lang.StringUtils;
@@ -36,13 +33,28 @@ import org.talend.dataquality.statistics.frequency.pattern.PatternFrequencyStati
 
 /**
  * Component in charge of parsing dates.
+ * <p>
+ * Patterns are compiled once per set of patterns (see {@link CompiledDatePatterns}) and patterns guessed by the DQ
+ * library are remembered per value, both in caches bounded to {@link #MAX_CACHE_SIZE} entries.
  */
 public class DateParser {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(DateParser.class);
 
+    /** Maximum number of entries in compiled patterns and guessed patterns caches. */
+    static final int MAX_CACHE_SIZE = 1000;
+
+    /** Marker for values the DQ library did not find any pattern for. */
+    private static final DatePattern NO_PATTERN = new DatePattern("");
+
     private final AnalyzerService analyzerService;
 
+    /** Compiled patterns by column pattern frequencies or by date patterns (as list of pattern strings). */
+    private final Map<List<?>, CompiledDatePatterns> compiledPatterns = lruCache();
+
+    /** Patterns guessed by the DQ library by value. */
+    private final Map<String, DatePattern> guessedPatterns = lruCache();
+
     public DateParser() {
         this(Providers.get(AnalyzerService.class));
     }
@@ -51,6 +63,16 @@ public class DateParser {
         this.analyzerService = analyzerService;
     }
 
+    private static <K, V> Map<K, V> lruCache() {
+        return Collections.synchronizedMap(new LinkedHashMap<K, V>(16, 0.75f, true) {
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, V> eldest) {
+                return size() > MAX_CACHE_SIZE;
+            }
+        });
+    }
+
     /**
      * Parse the date time out of the given value based on the column date pattern.
      * <p>
@@ -63,12 +85,29 @@ public class DateParser {
      * @throws DateTimeException if the date cannot be parsed, or if value is empty or null.
      */
     public LocalDateTime parse(String value, ColumnMetadata column) {
-        try {
-            return parseDateFromPatterns(value, getPatterns(column.getStatistics().getPatternFrequencies()));
-        } catch (DateTimeException e) {
-            LOGGER.debug("Unable to parse date '{}'", value, e);
-            return guessAndParse(value, column);
+        if (value != null) {
+            final LocalDateTime result = compile(column.getStatistics().getPatternFrequencies()).parse(value);
+            if (result != null) {
+                return result;
+            }
+        }
+        LOGGER.debug("Unable to parse date '{}'", value);
+        return guessAndParse(value, column);
+    }
+
+    /**
+     * @param patternFrequencies the column pattern frequencies.
+     * @return the compiled patterns (as returned by {@link #getPatterns(List)}) for the pattern frequencies.
+     */
+    private CompiledDatePatterns compile(List<PatternFrequency> patternFrequencies) {
+        final CompiledDatePatterns compiled = compiledPatterns.get(patternFrequencies);
+        if (compiled != null) {
+            return compiled;
         }
+        // Pattern frequencies are modified when a pattern is guessed: use a copy as key
+        final List<PatternFrequency> key = new ArrayList<>(patternFrequencies.size());
+        patternFrequencies.forEach(p -> key.add(new PatternFrequency(p.getPattern(), p.getOccurrences())));
+        return compiledPatterns.computeIfAbsent(key, k -> new CompiledDatePatterns(getPatterns(key)));
     }
 
     /**
@@ -102,7 +141,31 @@ public class DateParser {
         if (StringUtils.isEmpty(value)) {
             throw new DateTimeException("No pattern can be found out of '" + value + "'");
         }
-        // call DQ on the given value
+        DatePattern guessedPattern = guessedPatterns.get(value);
+        if (guessedPattern == null) {
+            try {
+                guessedPattern = callDQ(value, column);
+            } catch (DateTimeException e) {
+                LOGGER.debug("Unable to guess pattern of '{}'", value, e);
+                guessedPattern = NO_PATTERN;
+            }
+            guessedPatterns.put(value, guessedPattern);
+        }
+        if (guessedPattern == NO_PATTERN) {
+            throw new DateTimeException("DQ did not find any pattern for '" + value + "'");
+        }
+        return guessedPattern;
+    }
+
+    /**
+     * Call the DQ library to guess the pattern of the given value.
+     *
+     * @param value the value to get the pattern from.
+     * @param column the column metadata
+     * @return the guessed pattern.
+     * @throws DateTimeException if no pattern can be found.
+     */
+    private DatePattern callDQ(String value, ColumnMetadata column) {
         try (Analyzer<Analyzers.Result> analyzer = analyzerService.build(column, AnalyzerService.Analysis.PATTERNS)) {
             analyzer.analyze(value);
             analyzer.end();
@@ -145,26 +208,13 @@ public class DateParser {
             throw new DateTimeException("cannot parse null");
         }
 
-        for (DatePattern pattern : patterns) {
-            final DateTimeFormatter formatter = new DateTimeFormatterBuilder().parseCaseInsensitive()
-                    .append(pattern.getFormatter()).toFormatter(Locale.ENGLISH);
-
-            // first try to parse directly as LocalDateTime
-            try {
-                return LocalDateTime.parse(value, formatter);
-            } catch (DateTimeException e) {
-                LOGGER.trace("Unable to parse date '{}' using LocalDateTime.", value, e);
-                // if it fails, let's try the LocalDate first
-                try {
-                    LocalDate temp = LocalDate.parse(value, formatter);
-                    return temp.atStartOfDay();
-                } catch (DateTimeException e2) {
-                    LOGGER.trace("Unable to parse date '{}' using LocalDate.", value, e2);
-                    // nothing to do here, just try the next formatter
-                }
-            }
+        final List<String> key = patterns.stream().map(DatePattern::getPattern).collect(toList());
+        final LocalDateTime result = compiledPatterns.computeIfAbsent(key, k -> new CompiledDatePatterns(patterns))
+                .parse(value);
+        if (result == null) {
+            throw new DateTimeException("'" + value + "' does not match any known pattern");
         }
-        throw new DateTimeException("'" + value + "' does not match any known pattern");
+        return result;
     }
 
     /**
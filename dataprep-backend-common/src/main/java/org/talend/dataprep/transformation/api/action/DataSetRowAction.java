@@ -14,6 +14,8 @@
 package org.talend.dataprep.transformation.api.action;
 
 import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.function.BiFunction;
 
 import org.talend.dataprep.api.dataset.row.DataSetRow;
@@ -26,4 +28,30 @@ public interface DataSetRowAction extends BiFunction<DataSetRow, ActionContext,
         // Do nothing by default
         actionContext.setActionStatus(ActionContext.ActionStatus.OK);
     }
+
+    /**
+     * Applies this action on a batch of rows. Default implementation applies action on each row as long as action is
+     * neither done nor canceled (status may change while batch is processed).
+     *
+     * @param rows The rows to process.
+     * @param actionContext The action context.
+     * @return The resulting rows, in the same order as <code>rows</code>.
+     */
+    default List<DataSetRow> applyBatch(List<DataSetRow> rows, ActionContext actionContext) {
+        final List<DataSetRow> result = new ArrayList<>(rows.size());
+        for (DataSetRow row : rows) {
+            switch (actionContext.getActionStatus()) {
+            case NOT_EXECUTED:
+            case OK:
+                result.add(apply(row, actionContext));
+                break;
+            case DONE:
+            case CANCELED:
+            default:
+                result.add(row);
+                break;
+            }
+        }
+        return result;
+    }
 }
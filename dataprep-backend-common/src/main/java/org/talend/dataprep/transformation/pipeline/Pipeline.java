@@ -17,8 +17,10 @@ import static org.slf4j.LoggerFactory.getLogger;
 import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Function;
@@ -33,6 +35,7 @@ import org.talend.dataprep.api.dataset.DataSet;
 import org.talend.dataprep.api.dataset.RowMetadata;
 import org.talend.dataprep.api.dataset.row.DataSetRow;
 import org.talend.dataprep.api.preparation.PreparationMessage;
+import org.talend.dataprep.api.preparation.Step;
 import org.talend.dataprep.dataset.StatisticsAdapter;
 import org.talend.dataprep.quality.AnalyzerService;
 import org.talend.dataprep.transformation.actions.category.ScopeCategory;
@@ -42,8 +45,12 @@ import org.talend.dataprep.transformation.actions.common.ImplicitParameters;
 import org.talend.dataprep.transformation.actions.common.RunnableAction;
 import org.talend.dataprep.transformation.pipeline.builder.ActionNodesBuilder;
 import org.talend.dataprep.transformation.pipeline.builder.NodeBuilder;
+import org.talend.dataprep.transformation.pipeline.link.BasicLink;
 import org.talend.dataprep.transformation.pipeline.node.BasicNode;
 import org.talend.dataprep.transformation.pipeline.node.FilteredNode;
+import org.talend.dataprep.transformation.pipeline.node.ParallelNode;
+import org.talend.dataprep.transformation.pipeline.node.RowSpillBuffer;
+import org.talend.dataprep.transformation.pipeline.node.StepNode;
 
 public class Pipeline implements Node, RuntimeNode, Serializable {
 
@@ -55,6 +62,9 @@ public class Pipeline implements Node, RuntimeNode, Serializable {
 
     private Node node;
 
+    /** Number of rows submitted at once to the pipeline nodes (1 to submit rows one by one). */
+    private int batchSize = 1;
+
     /** Flag used to know if the pipeline is stopped or not. */
     private final AtomicBoolean isStopped = new AtomicBoolean();
 
@@ -81,6 +91,16 @@ public class Pipeline implements Node, RuntimeNode, Serializable {
         this.node = node;
     }
 
+    /**
+     * @param node The source node (the node in the pipeline that submit content to the pipeline).
+     * @param batchSize The number of rows submitted at once to the pipeline nodes (1 to submit rows one by one).
+     * @see Builder to create a new instance of this class.
+     */
+    public Pipeline(Node node, int batchSize) {
+        this.node = node;
+        this.batchSize = Math.max(1, batchSize);
+    }
+
     public void execute(DataSet dataSet) {
         final RowMetadata rowMetadata = dataSet.getMetadata().getRowMetadata().clone();
         try (Stream<DataSetRow> records = dataSet.getRecords()) {
@@ -90,23 +110,48 @@ public class Pipeline implements Node, RuntimeNode, Serializable {
 
                 AtomicLong counter = new AtomicLong();
 
-                // we use map/allMatch to stop the stream when isStopped = true
-                // with only forEach((row) -> if(isStopped)) for ex we just stop the processed code
-                // but we proceed all the rows of the stream
-                // to replace when java introduce more useful functions to stream (ex: takeWhile)
-                records //
-                        .map(row -> { //
-                            node.exec().receive(row, rowMetadata);
-                            counter.addAndGet(1L);
-                            return row;
-                        }) //
-                        .allMatch(row -> !isStopped.get());
+                if (batchSize > 1) {
+                    executeBatches(records, rowMetadata, counter);
+                } else {
+                    // we use map/allMatch to stop the stream when isStopped = true
+                    // with only forEach((row) -> if(isStopped)) for ex we just stop the processed code
+                    // but we proceed all the rows of the stream
+                    // to replace when java introduce more useful functions to stream (ex: takeWhile)
+                    records //
+                            .map(row -> { //
+                                node.exec().receive(row, rowMetadata);
+                                counter.addAndGet(1L);
+                                return row;
+                            }) //
+                            .allMatch(row -> !isStopped.get());
+                }
                 LOG.debug("{} rows sent in the pipeline", counter.get());
                 node.exec().signal(Signal.END_OF_STREAM);
             }
         }
     }
 
+    /**
+     * Submits records to the pipeline by batches of {@link #batchSize} rows. Records may reuse the same row instance, so
+     * each row is cloned (see copy-on-write {@link DataSetRow#clone()}) before being added to a batch.
+     */
+    private void executeBatches(Stream<DataSetRow> records, RowMetadata rowMetadata, AtomicLong counter) {
+        final Iterator<DataSetRow> iterator = records.iterator();
+        List<DataSetRow> batch = new ArrayList<>(batchSize);
+        while (iterator.hasNext() && !isStopped.get()) {
+            batch.add(iterator.next().clone());
+            if (batch.size() == batchSize) {
+                node.exec().receiveBatch(batch, rowMetadata);
+                counter.addAndGet(batch.size());
+                batch = new ArrayList<>(batchSize);
+            }
+        }
+        if (!batch.isEmpty()) {
+            node.exec().receiveBatch(batch, rowMetadata);
+            counter.addAndGet(batch.size());
+        }
+    }
+
     public void setNode(Node node) {
         this.node = node;
     }
@@ -128,6 +173,11 @@ public class Pipeline implements Node, RuntimeNode, Serializable {
         throw new UnsupportedOperationException("Pipeline only manage single rows as input");
     }
 
+    @Override
+    public void receiveBatch(List<DataSetRow> rows, RowMetadata metadata) {
+        node.exec().receiveBatch(rows, metadata);
+    }
+
     @Override
     public Link getLink() {
         return node.getLink();
@@ -174,7 +224,7 @@ public class Pipeline implements Node, RuntimeNode, Serializable {
 
     @Override
     public Node copyShallow() {
-        return new Pipeline(node);
+        return new Pipeline(node, batchSize);
     }
 
     public Node getNode() {
@@ -209,6 +259,24 @@ public class Pipeline implements Node, RuntimeNode, Serializable {
 
         private PreparationMessage preparation;
 
+        private int reservoirMemoryThreshold = RowSpillBuffer.DEFAULT_MEMORY_THRESHOLD;
+
+        private boolean compressReservoir = true;
+
+        private int batchSize = 1;
+
+        private ExecutorService parallelExecutor;
+
+        private int parallelism = 1;
+
+        private int parallelChunkSize = ParallelNode.DEFAULT_CHUNK_SIZE;
+
+        private Function<Step, Node> stepCheckpoints;
+
+        private RowMetadata postStatisticsMetadata;
+
+        private List<RunnableAction> postStatisticsActions;
+
         public static Builder builder() {
             return new Builder();
         }
@@ -264,6 +332,67 @@ public class Pipeline implements Node, RuntimeNode, Serializable {
             return this;
         }
 
+        /**
+         * Configures the reservoirs used by nodes that hold rows until end of stream (e.g. type detection).
+         *
+         * @param memoryThreshold The max number of rows kept in memory (rows are spilled to disk above).
+         * @param compress <code>true</code> to compress rows spilled to disk.
+         */
+        public Builder withReservoir(int memoryThreshold, boolean compress) {
+            this.reservoirMemoryThreshold = memoryThreshold;
+            this.compressReservoir = compress;
+            return this;
+        }
+
+        /**
+         * @param batchSize The number of rows submitted at once to the pipeline nodes (1 to submit rows one by one).
+         */
+        public Builder withBatchSize(int batchSize) {
+            this.batchSize = batchSize;
+            return this;
+        }
+
+        /**
+         * Enables parallel execution of actions: when actions only need the row they process (see
+         * {@link ActionNodesBuilder#isRowLocal()}), rows are processed by <code>parallelism</code> copies of the actions
+         * and then sent in their original order to the output. Otherwise actions are executed on the caller thread.
+         *
+         * @param executor The executor to run actions, <code>null</code> disables parallel execution.
+         * @param parallelism The number of actions copies (1 or less disables parallel execution).
+         * @param chunkSize The number of rows handed to an actions copy at once.
+         */
+        public Builder withParallelism(ExecutorService executor, int parallelism, int chunkSize) {
+            this.parallelExecutor = executor;
+            this.parallelism = parallelism;
+            this.parallelChunkSize = chunkSize;
+            return this;
+        }
+
+        /**
+         * Inserts nodes after steps (when a preparation is available), e.g. to keep the content of a step for later
+         * transformations. Nodes are not inserted when actions run in parallel.
+         *
+         * @param stepCheckpoints The node to insert after a step, or <code>null</code> if none should be inserted.
+         */
+        public Builder withStepCheckpoints(Function<Step, Node> stepCheckpoints) {
+            this.stepCheckpoints = stepCheckpoints;
+            return this;
+        }
+
+        /**
+         * Global statistics cover the changes of the given actions (instead of the transformation actions), e.g. when
+         * transformation starts from a step kept in cache, statistics must also cover the columns changed by the steps
+         * before it, as if transformation started from the dataset.
+         *
+         * @param rowMetadata The row metadata before the first of the actions.
+         * @param actions The actions whose changes global statistics cover.
+         */
+        public Builder withPostStatisticsScope(RowMetadata rowMetadata, List<RunnableAction> actions) {
+            this.postStatisticsMetadata = rowMetadata;
+            this.postStatisticsActions = actions;
+            return this;
+        }
+
         public Builder withFilter(Predicate<DataSetRow> filter) {
             this.inFilter = filter;
             return this;
@@ -310,27 +439,36 @@ public class Pipeline implements Node, RuntimeNode, Serializable {
             }
 
             // Build nodes for actions
-            final Node actionsNode = ActionNodesBuilder.builder() //
+            final ActionNodesBuilder actionNodesBuilder = ActionNodesBuilder.builder() //
                     .initialMetadata(rowMetadata) //
                     .actions(runnableActions) //
                     // statistics requests
                     .needStatisticsBefore(!completeMetadata) //
                     .needStatisticsAfter(needGlobalStatistics) //
                     .allowSchemaAnalysis(allowMetadataChange) //
+                    .reservoir(reservoirMemoryThreshold, compressReservoir) //
                     // statistics dependencies/arguments
                     .actionRegistry(actionRegistry) //
                     .analyzerService(analyzerService) //
-                    .statisticsAdapter(adapter) //
-                    .build();
+                    .statisticsAdapter(adapter);
+            if (postStatisticsMetadata != null && postStatisticsActions != null) {
+                actionNodesBuilder.postStatisticsScope(postStatisticsMetadata.getColumns(), postStatisticsActions);
+            }
 
-            if (preparation != null) {
-                LOG.debug("Applying step node transformations...");
-                actionsNode.logStatus(LOG, "Before transformation\n{}");
-                final Node node = StepNodeTransformer.transform(actionsNode, preparation.getSteps());
-                current.to(node);
-                node.logStatus(LOG, "After transformation\n{}");
+            if (parallelExecutor != null && parallelism > 1 && !runnableActions.isEmpty() && actionNodesBuilder.isRowLocal()) {
+                LOG.debug("Running actions with {} parallel workers.", parallelism);
+                // Each worker has its own nodes and contexts, statistics are computed once all rows are back in order.
+                actionNodesBuilder.needStatisticsAfter(false);
+                final List<Node> workers = new ArrayList<>(parallelism);
+                for (int i = 0; i < parallelism; i++) {
+                    workers.add(transformSteps(actionNodesBuilder.build(), true));
+                }
+                current.to(new ParallelNode(workers, parallelChunkSize, parallelExecutor));
+                if (needGlobalStatistics) {
+                    current.to(actionNodesBuilder.buildPostStatistics());
+                }
             } else {
-                current.to(actionsNode);
+                current.to(insertStepCheckpoints(transformSteps(actionNodesBuilder.build(), false)));
             }
 
             // Output
@@ -340,7 +478,78 @@ public class Pipeline implements Node, RuntimeNode, Serializable {
             current.to(outputSupplier.get());
             current.to(monitorSupplier.get());
             // Finally build pipeline
-            return new Pipeline(current.build());
+            return new Pipeline(current.build(), batchSize);
+        }
+
+        /**
+         * Groups action nodes into step nodes when a preparation is available.
+         *
+         * @param actionsNode The action nodes.
+         * @param copySteps <code>true</code> to transform copies of the preparation steps (transformation may reorder
+         * steps and step nodes update the step row metadata, so each worker of a parallel execution works on its own
+         * steps).
+         */
+        private Node transformSteps(Node actionsNode, boolean copySteps) {
+            if (preparation == null) {
+                return actionsNode;
+            }
+            LOG.debug("Applying step node transformations...");
+            actionsNode.logStatus(LOG, "Before transformation\n{}");
+            final List<Step> steps;
+            if (copySteps) {
+                steps = preparation.getSteps().stream().map(Builder::copyOf).collect(Collectors.toList());
+            } else {
+                steps = preparation.getSteps();
+            }
+            final Node node = StepNodeTransformer.transform(actionsNode, steps);
+            node.logStatus(LOG, "After transformation\n{}");
+            return node;
+        }
+
+        /**
+         * @param step The step to copy.
+         * @return A copy of the step with its own row metadata (root step is returned as is, its row metadata is never
+         * updated).
+         */
+        private static Step copyOf(Step step) {
+            if (Step.ROOT_STEP.equals(step)) {
+                return step;
+            }
+            final Step copy = new Step(step.getParent(), step.getContent(), step.getAppVersion(), step.getDiff());
+            copy.setId(step.getId());
+            if (step.getRowMetadata() != null) {
+                copy.setRowMetadata(step.getRowMetadata().clone());
+            }
+            return copy;
+        }
+
+        /**
+         * Inserts the step checkpoint nodes (if any) after the step nodes.
+         *
+         * @param stepsNode The nodes grouped into step nodes.
+         */
+        private Node insertStepCheckpoints(Node stepsNode) {
+            if (preparation == null || stepCheckpoints == null) {
+                return stepsNode;
+            }
+            final List<StepNode> stepNodes = new ArrayList<>();
+            stepsNode.accept(new Visitor() {
+
+                @Override
+                public void visitStepNode(StepNode stepNode) {
+                    stepNodes.add(stepNode);
+                    super.visitStepNode(stepNode);
+                }
+            });
+            for (StepNode stepNode : stepNodes) {
+                final Node checkpoint = stepCheckpoints.apply(stepNode.getStep());
+                if (checkpoint != null) {
+                    LOG.debug("Checkpoint after step #{}.", stepNode.getStep().id());
+                    checkpoint.setLink(stepNode.getLink());
+                    stepNode.setLink(new BasicLink(checkpoint));
+                }
+            }
+            return stepsNode;
         }
     }
 }
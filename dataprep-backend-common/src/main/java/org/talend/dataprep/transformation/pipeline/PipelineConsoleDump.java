@@ -17,6 +17,7 @@ import org.talend.dataprep.transformation.pipeline.link.BasicLink;
 import org.talend.dataprep.transformation.pipeline.link.CloneLink;
 import org.talend.dataprep.transformation.pipeline.node.ActionNode;
 import org.talend.dataprep.transformation.pipeline.node.CompileNode;
+import org.talend.dataprep.transformation.pipeline.node.ParallelNode;
 import org.talend.dataprep.transformation.pipeline.node.SourceNode;
 import org.talend.dataprep.transformation.pipeline.node.StepNode;
 
@@ -82,10 +83,23 @@ public class PipelineConsoleDump extends Visitor {
 
     @Override
     public void visitCloneLink(CloneLink cloneLink) {
-        builder.append("->").append('\n');
+        builder.append("-> (").append(cloneLink.getAvoidedCopies()).append(" row copies avoided - ")
+                .append(cloneLink.getPerformedCopies()).append(" row copies performed)").append('\n');
         super.visitCloneLink(cloneLink);
     }
 
+    @Override
+    public void visitParallel(ParallelNode parallelNode) {
+        builder.append("PARALLEL (").append(parallelNode.getWorkers().size()).append(" workers - ")
+                .append(parallelNode.getCount()).append(" rows in ").append(parallelNode.getChunkCount())
+                .append(" chunks) first worker {").append('\n');
+        parallelNode.getWorkers().get(0).accept(this);
+        builder.append('}').append('\n');
+        if (parallelNode.getLink() != null) {
+            parallelNode.getLink().accept(this);
+        }
+    }
+
     @Override
     public void visitStepNode(StepNode stepNode) {
         builder.append("STEP NODE (").append(stepNode.getStep().toString()).append(")\n");
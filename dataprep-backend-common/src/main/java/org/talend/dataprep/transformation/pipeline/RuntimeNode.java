@@ -1,5 +1,7 @@
 package org.talend.dataprep.transformation.pipeline;
 
+import java.util.List;
+
 import org.talend.dataprep.api.dataset.RowMetadata;
 import org.talend.dataprep.api.dataset.row.DataSetRow;
 
@@ -24,6 +26,19 @@ public interface RuntimeNode {
      */
     void receive(DataSetRow[] rows, RowMetadata[] metadatas);
 
+    /**
+     * Called by an incoming {@link RuntimeLink} when a batch of rows (that share the same metadata) is submitted to the
+     * pipeline. Default implementation processes rows one by one with {@link #receive(DataSetRow, RowMetadata)}.
+     *
+     * @param rows The {@link DataSetRow rows} to be processed by this node (in order).
+     * @param metadata The {@link RowMetadata row metadata} to be used when processing the <code>rows</code>.
+     */
+    default void receiveBatch(List<DataSetRow> rows, RowMetadata metadata) {
+        for (DataSetRow row : rows) {
+            receive(row, metadata);
+        }
+    }
+
     /**
      * Sends a {@link Signal event} to the node. Signals are data-independent events to indicate external events (such
      * as end of the stream). Node implementations are responsible of the signal propagation using the
@@ -16,6 +16,7 @@ import org.talend.dataprep.transformation.pipeline.link.BasicLink;
 import org.talend.dataprep.transformation.pipeline.link.CloneLink;
 import org.talend.dataprep.transformation.pipeline.node.ActionNode;
 import org.talend.dataprep.transformation.pipeline.node.CompileNode;
+import org.talend.dataprep.transformation.pipeline.node.ParallelNode;
 import org.talend.dataprep.transformation.pipeline.node.SourceNode;
 import org.talend.dataprep.transformation.pipeline.node.StepNode;
 
@@ -55,6 +56,15 @@ public abstract class Visitor {
         doNodeVisit(node);
     }
 
+    /**
+     * Visits the first worker of the parallel node (all workers are copies of the same nodes), then the nodes after the
+     * parallel node.
+     */
+    public void visitParallel(ParallelNode parallelNode) {
+        parallelNode.getWorkers().get(0).accept(this);
+        doNodeVisit(parallelNode);
+    }
+
     public void visitCloneLink(CloneLink cloneLink) {
         final Node[] nodes = cloneLink.getNodes();
         for (Node node : nodes) {
@@ -5,6 +5,7 @@ import java.util.List;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.talend.dataprep.api.dataset.ColumnMetadata;
 import org.talend.dataprep.api.dataset.RowMetadata;
 import org.talend.dataprep.dataset.StatisticsAdapter;
 import org.talend.dataprep.quality.AnalyzerService;
@@ -16,6 +17,7 @@ import org.talend.dataprep.transformation.pipeline.Node;
 import org.talend.dataprep.transformation.pipeline.node.ActionNode;
 import org.talend.dataprep.transformation.pipeline.node.CleanUpNode;
 import org.talend.dataprep.transformation.pipeline.node.CompileNode;
+import org.talend.dataprep.transformation.pipeline.node.RowSpillBuffer;
 
 public class ActionNodesBuilder {
 
@@ -32,6 +34,14 @@ public class ActionNodesBuilder {
 
     private boolean allowSchemaAnalysis = true;
 
+    private List<ColumnMetadata> postStatisticsColumns;
+
+    private List<RunnableAction> postStatisticsActions;
+
+    private int reservoirMemoryThreshold = RowSpillBuffer.DEFAULT_MEMORY_THRESHOLD;
+
+    private boolean compressReservoir = true;
+
     // analyse dependencies
     private ActionRegistry actionRegistry;
 
@@ -68,6 +78,24 @@ public class ActionNodesBuilder {
         return this;
     }
 
+    /**
+     * @param columns the columns before the first of the actions.
+     * @param actions the actions whose changes post statistics cover (instead of the built actions).
+     * @see StatisticsNodesBuilder#postStatisticsScope(List, List)
+     */
+    public ActionNodesBuilder postStatisticsScope(final List<ColumnMetadata> columns,
+            final List<RunnableAction> actions) {
+        this.postStatisticsColumns = columns;
+        this.postStatisticsActions = actions;
+        return this;
+    }
+
+    public ActionNodesBuilder reservoir(final int memoryThreshold, final boolean compress) {
+        this.reservoirMemoryThreshold = memoryThreshold;
+        this.compressReservoir = compress;
+        return this;
+    }
+
     public ActionNodesBuilder actionRegistry(final ActionRegistry actionRegistry) {
         this.actionRegistry = actionRegistry;
         return this;
@@ -84,16 +112,43 @@ public class ActionNodesBuilder {
     }
 
     /**
-     * Build the actions pipeline
+     * @return <code>true</code> if the built actions pipeline can process each row independently from other rows (no
+     * statistics computed before or between actions, no action with a context shared by all rows). In this case,
+     * several actions pipelines can process rows in parallel.
+     * @see ActionsProfile#isRowLocal()
      */
-    public Node build() {
-        final StatisticsNodesBuilder statisticsNodesBuilder = StatisticsNodesBuilder.builder()
+    public boolean isRowLocal() {
+        if (needStatisticsBefore || initialMetadata.getColumns().isEmpty()) {
+            return false;
+        }
+        return statisticsNodesBuilder().isRowLocal();
+    }
+
+    /**
+     * Build the statistics nodes to be executed after all actions (for pipelines built with
+     * <code>needStatisticsAfter(false)</code> that compute statistics on rows from several actions pipelines).
+     */
+    public Node buildPostStatistics() {
+        return statisticsNodesBuilder().buildPostStatistics();
+    }
+
+    private StatisticsNodesBuilder statisticsNodesBuilder() {
+        return StatisticsNodesBuilder.builder() //
                 .analyzerService(analyzerService) //
                 .actionRegistry(actionRegistry) //
                 .statisticsAdapter(statisticsAdapter) //
                 .allowSchemaAnalysis(allowSchemaAnalysis) //
+                .reservoir(reservoirMemoryThreshold, compressReservoir) //
                 .actions(actions) //
-                .columns(initialMetadata.getColumns());
+                .columns(initialMetadata.getColumns()) //
+                .postStatisticsScope(postStatisticsColumns, postStatisticsActions);
+    }
+
+    /**
+     * Build the actions pipeline
+     */
+    public Node build() {
+        final StatisticsNodesBuilder statisticsNodesBuilder = statisticsNodesBuilder();
 
         final NodeBuilder builder = NodeBuilder.source();
 
@@ -16,14 +16,17 @@ public class ActionsProfile {
 
     private final Predicate<ColumnMetadata> filterForPatternAnalysis;
 
+    private final boolean rowLocal;
+
     public ActionsProfile(final boolean needFullAnalysis, final boolean needOnlyInvalidAnalysis,
             final Predicate<ColumnMetadata> filterForFullAnalysis, final Predicate<ColumnMetadata> filterForInvalidAnalysis,
-            final Predicate<ColumnMetadata> filterForPatternAnalysis) {
+            final Predicate<ColumnMetadata> filterForPatternAnalysis, final boolean rowLocal) {
         this.needFullAnalysis = needFullAnalysis;
         this.needOnlyInvalidAnalysis = needOnlyInvalidAnalysis;
         this.filterForFullAnalysis = filterForFullAnalysis;
         this.filterForInvalidAnalysis = filterForInvalidAnalysis;
         this.filterForPatternAnalysis = filterForPatternAnalysis;
+        this.rowLocal = rowLocal;
     }
 
     public Predicate<ColumnMetadata> getFilterForFullAnalysis() {
@@ -45,4 +48,12 @@ public class ActionsProfile {
     public boolean needOnlyInvalidAnalysis() {
         return needOnlyInvalidAnalysis;
     }
+
+    /**
+     * @return <code>true</code> if all actions only need the row they process (no fresh statistics, no context shared
+     * between rows), meaning rows can be processed by several copies of the actions in parallel.
+     */
+    public boolean isRowLocal() {
+        return rowLocal;
+    }
 }
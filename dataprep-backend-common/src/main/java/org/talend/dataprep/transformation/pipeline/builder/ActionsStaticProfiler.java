@@ -45,6 +45,7 @@ class ActionsStaticProfiler {
         final Set<String> valueModifiedColumns = new HashSet<>();
         final Set<String> metadataModifiedColumns = new HashSet<>();
         int createColumnActions = 0;
+        boolean rowLocal = true;
 
         for (final Action action : actions) {
             final ActionDefinition actionMetadata = actionRegistry.get(action.getName());
@@ -86,6 +87,12 @@ class ActionsStaticProfiler {
                 case METADATA_CHANGE_NAME:
                     // Do nothing: no need to re-analyze where only name was changed.
                     break;
+                case NEED_STATISTICS_PATTERN:
+                case NEED_STATISTICS_INVALID:
+                case FORBID_DISTRIBUTED:
+                    // Action needs statistics or a context shared by all rows: rows can't be processed independently.
+                    rowLocal = false;
+                    break;
                 default:
                     break;
                 }
@@ -103,7 +110,7 @@ class ActionsStaticProfiler {
         Predicate<ColumnMetadata> filterForInvalidAnalysis = new FilterForInvalidAnalysis(filterForFullAnalysis, metadataModifiedColumns);
 
         return new ActionsProfile(needFullAnalysis, needOnlyInvalidAnalysis, filterForFullAnalysis, filterForInvalidAnalysis,
-                filterForInvalidAnalysis);
+                filterForInvalidAnalysis, rowLocal);
     }
 
     private static class FilterForFullAnalysis implements SerializablePredicate<ColumnMetadata> {
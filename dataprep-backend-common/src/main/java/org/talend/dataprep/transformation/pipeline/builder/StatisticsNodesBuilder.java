@@ -22,6 +22,7 @@ import org.talend.dataprep.transformation.pipeline.ActionRegistry;
 import org.talend.dataprep.transformation.pipeline.Node;
 import org.talend.dataprep.transformation.pipeline.node.BasicNode;
 import org.talend.dataprep.transformation.pipeline.node.InvalidDetectionNode;
+import org.talend.dataprep.transformation.pipeline.node.RowSpillBuffer;
 import org.talend.dataprep.transformation.pipeline.node.StatisticsNode;
 import org.talend.dataprep.transformation.pipeline.node.TypeDetectionNode;
 import org.talend.dataquality.common.inference.Analyzer;
@@ -41,8 +42,16 @@ public class StatisticsNodesBuilder {
 
     private List<ColumnMetadata> columns;
 
+    private List<ColumnMetadata> postStatisticsColumns;
+
+    private List<RunnableAction> postStatisticsActions;
+
     private boolean allowSchemaAnalysis = true;
 
+    private int reservoirMemoryThreshold = RowSpillBuffer.DEFAULT_MEMORY_THRESHOLD;
+
+    private boolean compressReservoir = true;
+
     private ActionsProfile actionsProfile;
 
     private Map<Action, ActionDefinition> actionToMetadata;
@@ -74,6 +83,12 @@ public class StatisticsNodesBuilder {
         return this;
     }
 
+    public StatisticsNodesBuilder reservoir(final int memoryThreshold, final boolean compress) {
+        this.reservoirMemoryThreshold = memoryThreshold;
+        this.compressReservoir = compress;
+        return this;
+    }
+
     public StatisticsNodesBuilder actions(final List<RunnableAction> actions) {
         this.actions = actions;
         return this;
@@ -84,6 +99,21 @@ public class StatisticsNodesBuilder {
         return this;
     }
 
+    /**
+     * Post statistics cover the changes of the given actions on the given columns (instead of the changes of the built
+     * actions), e.g. when transformation starts from a step kept in cache, post statistics also cover the columns
+     * changed by the steps before it.
+     *
+     * @param columns the columns before the first of the actions.
+     * @param actions the actions whose changes post statistics cover.
+     */
+    public StatisticsNodesBuilder postStatisticsScope(final List<ColumnMetadata> columns,
+            final List<RunnableAction> actions) {
+        this.postStatisticsColumns = columns;
+        this.postStatisticsActions = actions;
+        return this;
+    }
+
     public Node buildPreStatistics() {
         // TODO remove this and fix tests
         if (analyzerService == null) {
@@ -101,15 +131,22 @@ public class StatisticsNodesBuilder {
         }
 
         performActionsProfiling();
-        if (actionsProfile.needFullAnalysis()) {
-            return NodeBuilder.from(getTypeDetectionNode(actionsProfile.getFilterForFullAnalysis()))
-                    .to(getInvalidDetectionNode(actionsProfile.getFilterForInvalidAnalysis()))
-                    .to(getFullStatisticsNode(actionsProfile.getFilterForInvalidAnalysis())).build();
+        final ActionsProfile postStatisticsProfile;
+        if (postStatisticsActions == null) {
+            postStatisticsProfile = actionsProfile;
+        } else {
+            postStatisticsProfile = new ActionsStaticProfiler(actionRegistry).profile(postStatisticsColumns,
+                    postStatisticsActions, null);
+        }
+        if (postStatisticsProfile.needFullAnalysis()) {
+            return NodeBuilder.from(getTypeDetectionNode(postStatisticsProfile.getFilterForFullAnalysis()))
+                    .to(getInvalidDetectionNode(postStatisticsProfile.getFilterForInvalidAnalysis()))
+                    .to(getFullStatisticsNode(postStatisticsProfile.getFilterForInvalidAnalysis())).build();
         }
 
-        if (actionsProfile.needOnlyInvalidAnalysis()) {
-            return NodeBuilder.from(getInvalidDetectionNode(actionsProfile.getFilterForInvalidAnalysis()))
-                    .to(getQualityStatisticsNode(actionsProfile.getFilterForInvalidAnalysis())).build();
+        if (postStatisticsProfile.needOnlyInvalidAnalysis()) {
+            return NodeBuilder.from(getInvalidDetectionNode(postStatisticsProfile.getFilterForInvalidAnalysis()))
+                    .to(getQualityStatisticsNode(postStatisticsProfile.getFilterForInvalidAnalysis())).build();
         }
         return new BasicNode();
     }
@@ -143,6 +180,18 @@ public class StatisticsNodesBuilder {
         return node;
     }
 
+    /**
+     * @return <code>true</code> if actions can process each row independently from other rows: no statistics are needed
+     * before an action and no action needs a context shared by all rows.
+     */
+    public boolean isRowLocal() {
+        if (actionRegistry == null || statisticsAdapter == null) {
+            return false;
+        }
+        performActionsProfiling();
+        return actionsProfile.isRowLocal() && actions.stream().noneMatch(this::needIntermediateStatistics);
+    }
+
     private boolean needIntermediateStatistics(final Action nextAction) {
         // next action indicates that it need fresh statistics
         final Set<ActionDefinition.Behavior> behavior = actionToMetadata.get(nextAction).getBehavior();
@@ -201,13 +250,14 @@ public class StatisticsNodesBuilder {
     }
 
     private Node getTypeDetectionNode(final Predicate<ColumnMetadata> columnFilter) {
-        return allowSchemaAnalysis ? new TypeDetectionNode(columnFilter, statisticsAdapter, analyzerService::schemaAnalysis)
-                : new BasicNode();
+        return allowSchemaAnalysis ? new TypeDetectionNode(columnFilter, statisticsAdapter, analyzerService::schemaAnalysis,
+                reservoirMemoryThreshold, compressReservoir) : new BasicNode();
     }
 
     private Node getPatternDetectionNode(final Predicate<ColumnMetadata> columnFilter) {
         return allowSchemaAnalysis ? new TypeDetectionNode(columnFilter, statisticsAdapter,
-                c -> analyzerService.build(c, AnalyzerService.Analysis.PATTERNS)) : new BasicNode();
+                c -> analyzerService.build(c, AnalyzerService.Analysis.PATTERNS), reservoirMemoryThreshold, compressReservoir)
+                : new BasicNode();
     }
 
     private Node getInvalidDetectionNode(final Predicate<ColumnMetadata> columnFilter) {
@@ -1,15 +1,36 @@
 package org.talend.dataprep.transformation.pipeline.link;
 
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.talend.dataprep.api.dataset.RowMetadata;
 import org.talend.dataprep.api.dataset.row.DataSetRow;
 import org.talend.dataprep.transformation.pipeline.*;
 
+/**
+ * A link that sends a clone of each row to several nodes. As {@link DataSetRow#clone()} is copy-on-write, a branch only
+ * copies row values if it modifies them: this link counts copies performed (when a branch modifies a row, see
+ * {@link DataSetRow#clone(Runnable)}) and copies avoided (clones that were not modified).
+ */
 public class CloneLink implements Link, RuntimeLink {
 
+    private static final Logger LOGGER = LoggerFactory.getLogger(CloneLink.class);
+
     private final Node[] nodes;
 
+    /** Number of row clones sent to branches. */
+    private long clones;
+
+    /** Number of row clones that were modified (and thus copied) by their branch (branches may run concurrently). */
+    private final LongAdder performedCopies = new LongAdder();
+
+    /** Called by a row clone when it copies its values. */
+    private final Runnable onCopy = performedCopies::increment;
+
     private RowMetadata[] clonedMetadata;
 
     private RowMetadata[][] multiClonedMetadata;
@@ -22,7 +43,8 @@ public class CloneLink implements Link, RuntimeLink {
     public void emit(DataSetRow row, RowMetadata metadata) {
         initClonedMetadata(metadata);
         for (int i = 0; i < nodes.length; ++i) {
-            nodes[i].exec().receive(row.clone(), clonedMetadata[i]);
+            clones++;
+            nodes[i].exec().receive(row.clone(onCopy), clonedMetadata[i]);
         }
     }
 
@@ -31,16 +53,48 @@ public class CloneLink implements Link, RuntimeLink {
         initClonedMetadata(metadatas);
 
         for (int i = 0; i < nodes.length; ++i) {
-            final DataSetRow[] clonedRows = Arrays.stream(rows).map(DataSetRow::clone).toArray(DataSetRow[]::new);
+            final DataSetRow[] clonedRows = Arrays.stream(rows).map(r -> r.clone(onCopy)).toArray(DataSetRow[]::new);
+            clones += clonedRows.length;
             nodes[i].exec().receive(clonedRows, multiClonedMetadata[i]);
         }
     }
 
+    @Override
+    public void emitBatch(List<DataSetRow> rows, RowMetadata metadata) {
+        initClonedMetadata(metadata);
+        for (int i = 0; i < nodes.length; ++i) {
+            final List<DataSetRow> clonedRows = new ArrayList<>(rows.size());
+            for (DataSetRow row : rows) {
+                clonedRows.add(row.clone(onCopy));
+            }
+            clones += clonedRows.size();
+            nodes[i].exec().receiveBatch(clonedRows, clonedMetadata[i]);
+        }
+    }
+
     @Override
     public void signal(Signal signal) {
         for (Node node : nodes) {
             node.exec().signal(signal);
         }
+        if (signal == Signal.END_OF_STREAM) {
+            LOGGER.debug("{} row copies avoided, {} row copies performed.", getAvoidedCopies(), getPerformedCopies());
+        }
+    }
+
+    /**
+     * @return The number of row clones that were not modified by their branch (no copy of row values). Rows kept by a
+     * branch may still be modified until the end of the stream.
+     */
+    public long getAvoidedCopies() {
+        return clones - performedCopies.sum();
+    }
+
+    /**
+     * @return The number of row clones that were modified by their branch (row values were copied).
+     */
+    public long getPerformedCopies() {
+        return performedCopies.sum();
     }
 
     @Override
@@ -12,6 +12,8 @@
 
 package org.talend.dataprep.transformation.pipeline.node;
 
+import java.util.List;
+
 import org.talend.dataprep.api.dataset.RowMetadata;
 import org.talend.dataprep.api.dataset.row.DataSetRow;
 import org.talend.dataprep.transformation.actions.common.RunnableAction;
@@ -61,6 +63,36 @@ public class ActionNode extends BasicNode implements Monitored {
         }
     }
 
+    /**
+     * Applies action on the whole batch (see {@link org.talend.dataprep.transformation.api.action.DataSetRowAction#applyBatch(List, ActionContext)})
+     * and emits resulting rows as a batch.
+     */
+    @Override
+    public void receiveBatch(List<DataSetRow> rows, RowMetadata metadata) {
+        final List<DataSetRow> actionRows;
+        final long start = System.currentTimeMillis();
+        try {
+            switch (actionContext.getActionStatus()) {
+            case NOT_EXECUTED:
+            case OK:
+                actionRows = action.getRowAction().applyBatch(rows, actionContext);
+                break;
+            case DONE:
+            case CANCELED:
+            default:
+                actionRows = rows;
+                break;
+            }
+        } finally {
+            totalTime += System.currentTimeMillis() - start;
+            count += rows.size();
+        }
+        for (DataSetRow row : rows) {
+            row.setRowMetadata(actionContext.getRowMetadata());
+        }
+        emitBatch(actionRows, actionContext.getRowMetadata());
+    }
+
     @Override
     public void accept(Visitor visitor) {
         visitor.visitAction(this);
@@ -12,6 +12,8 @@
 
 package org.talend.dataprep.transformation.pipeline.node;
 
+import java.util.List;
+
 import org.talend.dataprep.api.dataset.RowMetadata;
 import org.talend.dataprep.api.dataset.row.DataSetRow;
 import org.talend.dataprep.transformation.pipeline.*;
@@ -34,6 +36,29 @@ public class BasicNode implements Node, RuntimeNode {
         }
     }
 
+    /**
+     * Processes rows one by one with {@link #receive(DataSetRow, RowMetadata)}: nodes that can process a whole batch
+     * override this method and use {@link #emitBatch(List, RowMetadata)} to pass the batch to their link.
+     */
+    @Override
+    public void receiveBatch(List<DataSetRow> rows, RowMetadata metadata) {
+        for (DataSetRow row : rows) {
+            receive(row, metadata);
+        }
+    }
+
+    /**
+     * Emits a batch of rows to this node's link (if any).
+     *
+     * @param rows The rows to emit.
+     * @param metadata The rows metadata.
+     */
+    protected void emitBatch(List<DataSetRow> rows, RowMetadata metadata) {
+        if (link != null && !rows.isEmpty()) {
+            link.exec().emitBatch(rows, metadata);
+        }
+    }
+
     @Override
     public Link getLink() {
         return link;
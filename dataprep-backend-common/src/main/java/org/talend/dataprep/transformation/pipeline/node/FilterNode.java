@@ -12,6 +12,8 @@
 
 package org.talend.dataprep.transformation.pipeline.node;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.function.BiPredicate;
 
 import org.talend.dataprep.api.dataset.RowMetadata;
@@ -45,6 +47,21 @@ public class FilterNode extends BasicNode {
         }
     }
 
+    @Override
+    public void receiveBatch(final List<DataSetRow> rows, final RowMetadata metadata) {
+        if (filters == null) {
+            // Same as single row: no filter means no row passes
+            return;
+        }
+        final List<DataSetRow> filteredRows = new ArrayList<>(rows.size());
+        for (DataSetRow row : rows) {
+            if (filters[0].test(row, metadata)) {
+                filteredRows.add(row);
+            }
+        }
+        emitBatch(filteredRows, metadata);
+    }
+
     private boolean test(DataSetRow[] rows, RowMetadata[] metadatas) {
         if (filters == null) {
             return true;
@@ -12,6 +12,8 @@
 
 package org.talend.dataprep.transformation.pipeline.node;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.function.Function;
 import java.util.function.Predicate;
 
@@ -31,13 +33,29 @@ public class FilteredNode extends BasicNode {
 
     @Override
     public void receive(DataSetRow row, RowMetadata metadata) {
+        if (getInstance(metadata).test(row)) {
+            super.receive(row, metadata);
+        }
+    }
+
+    @Override
+    public void receiveBatch(List<DataSetRow> rows, RowMetadata metadata) {
+        final Predicate<DataSetRow> predicate = getInstance(metadata);
+        final List<DataSetRow> filteredRows = new ArrayList<>(rows.size());
+        for (DataSetRow row : rows) {
+            if (predicate.test(row)) {
+                filteredRows.add(row);
+            }
+        }
+        emitBatch(filteredRows, metadata);
+    }
+
+    private Predicate<DataSetRow> getInstance(RowMetadata metadata) {
         synchronized (filter) {
             if (instance == null) {
                 instance = filter.apply(metadata);
             }
-        }
-        if (instance.test(row)) {
-            super.receive(row, metadata);
+            return instance;
         }
     }
 
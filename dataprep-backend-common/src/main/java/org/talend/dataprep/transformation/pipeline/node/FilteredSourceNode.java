@@ -12,6 +12,8 @@
 
 package org.talend.dataprep.transformation.pipeline.node;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.function.Predicate;
 
 import org.talend.dataprep.api.dataset.RowMetadata;
@@ -33,6 +35,17 @@ public class FilteredSourceNode extends SourceNode {
         }
     }
 
+    @Override
+    public void receiveBatch(List<DataSetRow> rows, RowMetadata metadata) {
+        final List<DataSetRow> filteredRows = new ArrayList<>(rows.size());
+        for (DataSetRow row : rows) {
+            if (filter.test(row)) {
+                filteredRows.add(row);
+            }
+        }
+        super.receiveBatch(filteredRows, metadata);
+    }
+
     @Override
     public Node copyShallow() {
         return new FilteredSourceNode(filter);
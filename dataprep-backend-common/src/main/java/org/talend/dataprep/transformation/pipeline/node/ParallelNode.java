@@ -0,0 +1,387 @@
+// ============================================================================
+// Copyright (C) 2006-2016 Talend Inc. - www.talend.com
+//
+// This source code is available under agreement available at
+// https://github.com/Talend/data-prep/blob/master/LICENSE
+//
+// You should have received a copy of the agreement
+// along with this program; if not, write to Talend SA
+// 9 rue Pages 92150 Suresnes, France
+//
+// ============================================================================
+
+package org.talend.dataprep.transformation.pipeline.node;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.talend.daikon.exception.TalendRuntimeException;
+import org.talend.dataprep.BaseErrorCodes;
+import org.talend.dataprep.api.dataset.ColumnMetadata;
+import org.talend.dataprep.api.dataset.RowMetadata;
+import org.talend.dataprep.api.dataset.row.DataSetRow;
+import org.talend.dataprep.transformation.pipeline.Node;
+import org.talend.dataprep.transformation.pipeline.Signal;
+import org.talend.dataprep.transformation.pipeline.Visitor;
+import org.talend.dataprep.transformation.pipeline.link.BasicLink;
+
+/**
+ * <p>
+ * A node that processes rows with several copies (workers) of the same sub pipeline on an {@link ExecutorService}.
+ * </p>
+ * <p>
+ * Received rows are split in chunks, chunk <i>n</i> is processed by worker <i>n % workers</i>. A worker never processes
+ * two chunks at the same time: at most one chunk per worker is pending, and oldest chunk is waited for before a new
+ * one is submitted. Rows emitted by workers are then emitted by this node, in the order of the chunks, on the thread
+ * that submits rows to this node: nodes after this one see rows in their original order and from one thread only.
+ * </p>
+ * <p>
+ * Each worker receives its own copy of the row metadata (actions update it), and changes made by workers are merged
+ * into one row metadata: all rows are emitted with the same row metadata, so nodes after this one (e.g. statistics)
+ * update the row metadata that is eventually written.
+ * </p>
+ * <p>
+ * Workers must only contain nodes that process each row independently from other rows (see
+ * {@link org.talend.dataprep.transformation.pipeline.builder.ActionNodesBuilder#isRowLocal()}).
+ * </p>
+ */
+public class ParallelNode extends BasicNode {
+
+    /** Default number of rows in a chunk. */
+    public static final int DEFAULT_CHUNK_SIZE = 1024;
+
+    private static final long serialVersionUID = 1L;
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ParallelNode.class);
+
+    private final List<Node> workers;
+
+    private final List<Collector> collectors;
+
+    private final int chunkSize;
+
+    private final transient ExecutorService executor;
+
+    private final transient Deque<Future<List<Output>>> pending = new ArrayDeque<>();
+
+    private List<DataSetRow> chunk = new ArrayList<>();
+
+    private RowMetadata chunkMetadata;
+
+    /** Last row metadata received for each worker (see {@link #workerMetadata}). */
+    private final RowMetadata[] workerInputs;
+
+    /** Copy of the last row metadata received for each worker, only updated by this worker. */
+    private final RowMetadata[] workerMetadata;
+
+    /** The row metadata of emitted rows (changes of workers row metadata are merged into it). */
+    private RowMetadata outputMetadata;
+
+    private long chunkCount;
+
+    private long count;
+
+    /**
+     * @param workers The workers (copies of the same sub pipeline, each of them with its own state).
+     * @param chunkSize The number of rows handed to a worker at once.
+     * @param executor The executor to run the workers.
+     */
+    public ParallelNode(List<Node> workers, int chunkSize, ExecutorService executor) {
+        this(workers, new ArrayList<>(workers.size()), chunkSize, executor);
+        for (Node worker : workers) {
+            final Collector collector = new Collector();
+            Node last = worker;
+            while (last.getLink() != null && last.getLink().getTarget() != null) {
+                last = last.getLink().getTarget();
+            }
+            last.setLink(new BasicLink(collector));
+            collectors.add(collector);
+        }
+    }
+
+    private ParallelNode(List<Node> workers, List<Collector> collectors, int chunkSize, ExecutorService executor) {
+        if (workers.isEmpty()) {
+            throw new IllegalArgumentException("At least one worker is needed.");
+        }
+        this.workers = workers;
+        this.collectors = collectors;
+        this.chunkSize = Math.max(1, chunkSize);
+        this.executor = executor;
+        this.workerInputs = new RowMetadata[workers.size()];
+        this.workerMetadata = new RowMetadata[workers.size()];
+    }
+
+    @Override
+    public void receive(DataSetRow row, RowMetadata metadata) {
+        // Caller may reuse row instance, keep a (copy on write) clone instead.
+        add(row.clone(), metadata);
+    }
+
+    @Override
+    public void receiveBatch(List<DataSetRow> rows, RowMetadata metadata) {
+        for (DataSetRow row : rows) {
+            add(row, metadata);
+        }
+    }
+
+    private void add(DataSetRow row, RowMetadata metadata) {
+        if (metadata != chunkMetadata && !chunk.isEmpty()) {
+            submit();
+        }
+        chunkMetadata = metadata;
+        chunk.add(row);
+        count++;
+        if (chunk.size() >= chunkSize) {
+            submit();
+        }
+    }
+
+    // Submit current chunk to next worker (once this worker's previous chunk is done)
+    private void submit() {
+        if (pending.size() >= workers.size()) {
+            emit(await(pending.poll()));
+        }
+        final int index = (int) (chunkCount++ % workers.size());
+        final Node worker = workers.get(index);
+        final Collector collector = collectors.get(index);
+        final List<DataSetRow> rows = chunk;
+        if (workerInputs[index] != chunkMetadata) {
+            // Workers must not update the same row metadata instance
+            workerInputs[index] = chunkMetadata;
+            workerMetadata[index] = chunkMetadata.clone();
+        }
+        final RowMetadata metadata = workerMetadata[index];
+        pending.add(executor.submit(() -> {
+            worker.exec().receiveBatch(rows, metadata);
+            return collector.drain();
+        }));
+        chunk = new ArrayList<>(chunkSize);
+    }
+
+    private List<Output> await(Future<List<Output>> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            cancel();
+            throw new TalendRuntimeException(BaseErrorCodes.UNEXPECTED_EXCEPTION, e);
+        } catch (ExecutionException e) {
+            cancel();
+            throw new TalendRuntimeException(BaseErrorCodes.UNEXPECTED_EXCEPTION, e.getCause());
+        }
+    }
+
+    private void emit(List<Output> outputs) {
+        for (Output output : outputs) {
+            emitBatch(output.rows, merge(output.metadata));
+        }
+    }
+
+    /**
+     * Merges the row metadata of a worker into the row metadata of emitted rows (called once the worker is done with
+     * its chunk).
+     *
+     * @param metadata The row metadata of rows emitted by a worker.
+     * @return The row metadata to emit rows with.
+     */
+    private RowMetadata merge(RowMetadata metadata) {
+        if (outputMetadata == null) {
+            outputMetadata = metadata.clone();
+            return outputMetadata;
+        }
+        final List<ColumnMetadata> workerColumns = metadata.getColumns();
+        if (!sameColumnIds(outputMetadata.getColumns(), workerColumns)) {
+            // Columns added, removed or moved: a new instance so next nodes see the change
+            final List<ColumnMetadata> columns = new ArrayList<>(workerColumns.size());
+            for (ColumnMetadata workerColumn : workerColumns) {
+                final ColumnMetadata column = outputMetadata.getById(workerColumn.getId());
+                columns.add(ColumnMetadata.Builder.column().copy(column == null ? workerColumn : column).build());
+            }
+            outputMetadata = new RowMetadata(columns);
+        }
+        final List<ColumnMetadata> columns = outputMetadata.getColumns();
+        for (int i = 0; i < columns.size(); i++) {
+            mergeColumn(columns.get(i), workerColumns.get(i));
+        }
+        return outputMetadata;
+    }
+
+    // Copy what actions may change on a column (statistics are computed after this node)
+    private static void mergeColumn(ColumnMetadata column, ColumnMetadata workerColumn) {
+        if (column == workerColumn) {
+            return;
+        }
+        column.setName(workerColumn.getName());
+        column.setType(workerColumn.getType());
+        column.setTypeForced(workerColumn.isTypeForced());
+        column.setDomain(workerColumn.getDomain());
+        column.setDomainLabel(workerColumn.getDomainLabel());
+        column.setDomainFrequency(workerColumn.getDomainFrequency());
+        column.setDomainForced(workerColumn.isDomainForced());
+        column.setSemanticDomains(workerColumn.getSemanticDomains());
+    }
+
+    private static boolean sameColumnIds(List<ColumnMetadata> columns, List<ColumnMetadata> other) {
+        if (columns.size() != other.size()) {
+            return false;
+        }
+        for (int i = 0; i < columns.size(); i++) {
+            if (!columns.get(i).getId().equals(other.get(i).getId())) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // Process all received rows and emit them
+    private void flush() {
+        if (!chunk.isEmpty()) {
+            submit();
+        }
+        while (!pending.isEmpty()) {
+            emit(await(pending.poll()));
+        }
+    }
+
+    // Discard all pending chunks, once processed: workers must not be signaled while they still process rows
+    private void cancel() {
+        boolean interrupted = false;
+        while (!pending.isEmpty()) {
+            try {
+                pending.peek().get();
+                pending.poll();
+            } catch (InterruptedException e) {
+                // Keep on waiting (at most one chunk per worker), interrupt status is restored once done
+                interrupted = true;
+            } catch (ExecutionException | CancellationException e) {
+                LOGGER.debug("Discarded chunk failed.", e);
+                pending.poll();
+            }
+        }
+        chunk = new ArrayList<>(chunkSize);
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public void signal(Signal signal) {
+        if (signal == Signal.END_OF_STREAM) {
+            flush();
+        } else if (signal == Signal.CANCEL || signal == Signal.STOP) {
+            cancel();
+        }
+        for (int i = 0; i < workers.size(); i++) {
+            workers.get(i).exec().signal(signal);
+            if (signal == Signal.END_OF_STREAM) {
+                // Workers may emit rows on end of stream
+                emit(collectors.get(i).drain());
+            }
+        }
+        LOGGER.debug("{} rows processed in {} chunks by {} workers (signal: {}).", count, chunkCount, workers.size(), signal);
+        super.signal(signal);
+    }
+
+    @Override
+    public void accept(Visitor visitor) {
+        visitor.visitParallel(this);
+    }
+
+    @Override
+    public Node copyShallow() {
+        return new ParallelNode(workers, collectors, chunkSize, executor);
+    }
+
+    /**
+     * @return The workers of this node (copies of the same sub pipeline).
+     */
+    public List<Node> getWorkers() {
+        return workers;
+    }
+
+    public int getChunkSize() {
+        return chunkSize;
+    }
+
+    /**
+     * @return The number of chunks submitted to workers.
+     */
+    public long getChunkCount() {
+        return chunkCount;
+    }
+
+    /**
+     * @return The number of rows received by this node.
+     */
+    public long getCount() {
+        return count;
+    }
+
+    /**
+     * Rows emitted by a worker with the same metadata.
+     */
+    private static class Output {
+
+        private final List<DataSetRow> rows = new ArrayList<>();
+
+        private final RowMetadata metadata;
+
+        private Output(RowMetadata metadata) {
+            this.metadata = metadata;
+        }
+    }
+
+    /**
+     * Last node of a worker: collects rows emitted by the worker (only accessed by the thread running the worker).
+     */
+    private static class Collector extends BasicNode {
+
+        private List<Output> outputs = new ArrayList<>();
+
+        @Override
+        public void receive(DataSetRow row, RowMetadata metadata) {
+            output(metadata).rows.add(row);
+        }
+
+        @Override
+        public void receiveBatch(List<DataSetRow> rows, RowMetadata metadata) {
+            output(metadata).rows.addAll(rows);
+        }
+
+        private Output output(RowMetadata metadata) {
+            if (outputs.isEmpty() || outputs.get(outputs.size() - 1).metadata != metadata) {
+                outputs.add(new Output(metadata));
+            }
+            return outputs.get(outputs.size() - 1);
+        }
+
+        private List<Output> drain() {
+            final List<Output> drained = outputs;
+            outputs = new ArrayList<>();
+            return drained;
+        }
+
+        @Override
+        public void signal(Signal signal) {
+            // Signals are forwarded by the parallel node itself.
+        }
+
+        @Override
+        public void accept(Visitor visitor) {
+            // Not part of the visible pipeline.
+        }
+
+        @Override
+        public Node copyShallow() {
+            return new Collector();
+        }
+    }
+}
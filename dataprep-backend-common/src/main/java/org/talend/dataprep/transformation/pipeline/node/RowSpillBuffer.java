@@ -0,0 +1,294 @@
+// ============================================================================
+//
+// Copyright (C) 2006-2016 Talend Inc. - www.talend.com
+//
+// This source code is available under agreement available at
+// https://github.com/Talend/data-prep/blob/master/LICENSE
+//
+// You should have received a copy of the agreement
+// along with this program; if not, write to Talend SA
+// 9 rue Pages 92150 Suresnes, France
+//
+// ============================================================================
+
+package org.talend.dataprep.transformation.pipeline.node;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.talend.dataprep.api.dataset.row.FlagNames.TDP_INVALID;
+
+import java.io.*;
+import java.util.*;
+import java.util.function.Consumer;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.Inflater;
+import java.util.zip.InflaterInputStream;
+
+import org.apache.commons.lang.StringUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.talend.daikon.exception.TalendRuntimeException;
+import org.talend.dataprep.BaseErrorCodes;
+import org.talend.dataprep.api.dataset.ColumnMetadata;
+import org.talend.dataprep.api.dataset.RowMetadata;
+import org.talend.dataprep.api.dataset.row.DataSetRow;
+import org.talend.dataprep.util.FilesHelper;
+
+/**
+ * <p>
+ * A buffer for rows that must be held until end of stream (see {@link TypeDetectionNode}).
+ * </p>
+ * <p>
+ * Rows are kept in memory as long as their count is below the memory threshold, and replayed as is. Above this
+ * threshold, all rows are spilled to a temporary file as length-prefixed binary records where values are keyed by
+ * column index (instead of column id). Spill file can optionally be compressed (fastest deflate level).
+ * </p>
+ * <p>
+ * Please note that, as for JSON serialization, <code>null</code> values are buffered as empty strings.
+ * </p>
+ */
+public class RowSpillBuffer implements AutoCloseable {
+
+    /** Default number of rows kept in memory before spilling to disk. */
+    public static final int DEFAULT_MEMORY_THRESHOLD = 10000;
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(RowSpillBuffer.class);
+
+    private static final int DELETED = 1;
+
+    private static final int HAS_TDP_ID = 2;
+
+    private final int memoryThreshold;
+
+    private final boolean compress;
+
+    /** Rows kept in memory (until spill). */
+    private final List<DataSetRow> rows = new ArrayList<>();
+
+    /** Column id to column index (the keys used in spilled records). */
+    private final Map<String, Integer> columnIndexes = new HashMap<>();
+
+    /** Column index to column id. */
+    private final List<String> columnIds = new ArrayList<>();
+
+    /** Reusable record buffer. */
+    private final ByteArrayOutputStream record = new ByteArrayOutputStream(1024);
+
+    private final DataOutputStream recordOutput = new DataOutputStream(record);
+
+    private File spillFile;
+
+    private Deflater deflater;
+
+    private DataOutputStream spillOutput;
+
+    private long count;
+
+    /**
+     * @param memoryThreshold The max number of rows kept in memory, rows are spilled to disk above this threshold.
+     * @param compress <code>true</code> to compress spilled rows.
+     */
+    public RowSpillBuffer(int memoryThreshold, boolean compress) {
+        this.memoryThreshold = memoryThreshold;
+        this.compress = compress;
+    }
+
+    /**
+     * Adds a row to this buffer.
+     *
+     * @param row The row to add (row is copied, so caller may reuse it).
+     * @param rowMetadata The row metadata, only values of its columns are buffered.
+     */
+    public void add(DataSetRow row, RowMetadata rowMetadata) {
+        final List<ColumnMetadata> columns = rowMetadata.getColumns();
+        try {
+            if (spillOutput == null && rows.size() >= memoryThreshold) {
+                spill();
+            }
+            if (spillOutput == null) {
+                rows.add(copy(row, rowMetadata, columns));
+            } else {
+                write(row, columns);
+            }
+            count++;
+        } catch (IOException e) {
+            throw new TalendRuntimeException(BaseErrorCodes.UNEXPECTED_EXCEPTION, e);
+        }
+    }
+
+    /**
+     * @return The number of rows in buffer.
+     */
+    public long size() {
+        return count;
+    }
+
+    /**
+     * @return <code>true</code> if rows were spilled to disk.
+     */
+    public boolean isSpilled() {
+        return spillFile != null;
+    }
+
+    /**
+     * Replays all buffered rows (in the order they were added) to <code>consumer</code>. When rows were spilled to disk,
+     * the same {@link DataSetRow} instance is reused for all rows.
+     *
+     * @param rowMetadata The row metadata for replayed rows.
+     * @param consumer The consumer for buffered rows.
+     */
+    public void replay(RowMetadata rowMetadata, Consumer<DataSetRow> consumer) {
+        if (spillOutput == null) {
+            rows.forEach(consumer);
+            return;
+        }
+        try {
+            spillOutput.close();
+            final Inflater inflater = compress ? new Inflater() : null;
+            InputStream input = new BufferedInputStream(new FileInputStream(spillFile), 64 * 1024);
+            if (compress) {
+                input = new InflaterInputStream(input, inflater, 64 * 1024);
+            }
+            try (DataInputStream spillInput = new DataInputStream(input)) {
+                final DataSetRow row = new DataSetRow(rowMetadata);
+                byte[] buffer = new byte[1024];
+                for (long i = 0; i < count; i++) {
+                    final int length = spillInput.readInt();
+                    if (buffer.length < length) {
+                        buffer = new byte[length];
+                    }
+                    spillInput.readFully(buffer, 0, length);
+                    read(buffer, length, row);
+                    consumer.accept(row);
+                }
+            } finally {
+                if (inflater != null) {
+                    inflater.end();
+                }
+            }
+        } catch (IOException e) {
+            throw new TalendRuntimeException(BaseErrorCodes.UNEXPECTED_EXCEPTION, e);
+        }
+    }
+
+    // Copy row (only values of columns + technical information)
+    private static DataSetRow copy(DataSetRow row, RowMetadata rowMetadata, List<ColumnMetadata> columns) {
+        final DataSetRow copy = new DataSetRow(rowMetadata);
+        for (ColumnMetadata column : columns) {
+            final String value = row.get(column.getId());
+            copy.set(column.getId(), value == null ? StringUtils.EMPTY : value);
+        }
+        final String invalidColumns = row.getInternalValues().get(TDP_INVALID);
+        if (StringUtils.isNotEmpty(invalidColumns)) {
+            copy.set(TDP_INVALID, invalidColumns);
+        }
+        copy.setDeleted(row.isDeleted());
+        copy.setTdpId(row.getTdpId());
+        return copy;
+    }
+
+    // Move all in-memory rows to spill file
+    private void spill() throws IOException {
+        spillFile = File.createTempFile("TypeDetection", ".bin");
+        LOGGER.debug("More than {} rows, spilling rows to '{}'.", memoryThreshold, spillFile);
+        OutputStream output = new BufferedOutputStream(new FileOutputStream(spillFile), 64 * 1024);
+        if (compress) {
+            deflater = new Deflater(Deflater.BEST_SPEED);
+            output = new DeflaterOutputStream(output, deflater, 64 * 1024);
+        }
+        spillOutput = new DataOutputStream(output);
+        for (DataSetRow row : rows) {
+            write(row, row.getRowMetadata().getColumns());
+        }
+        rows.clear();
+    }
+
+    private void write(DataSetRow row, List<ColumnMetadata> columns) throws IOException {
+        record.reset();
+        int flags = 0;
+        if (row.isDeleted()) {
+            flags |= DELETED;
+        }
+        final Long tdpId = row.getTdpId();
+        if (tdpId != null) {
+            flags |= HAS_TDP_ID;
+        }
+        recordOutput.writeByte(flags);
+        if (tdpId != null) {
+            recordOutput.writeLong(tdpId);
+        }
+        recordOutput.writeInt(columns.size());
+        for (ColumnMetadata column : columns) {
+            recordOutput.writeInt(columnIndex(column.getId()));
+            writeString(row.get(column.getId()));
+        }
+        writeString(row.getInternalValues().get(TDP_INVALID));
+        spillOutput.writeInt(record.size());
+        record.writeTo(spillOutput);
+    }
+
+    private int columnIndex(String columnId) {
+        Integer index = columnIndexes.get(columnId);
+        if (index == null) {
+            index = columnIds.size();
+            columnIds.add(columnId);
+            columnIndexes.put(columnId, index);
+        }
+        return index;
+    }
+
+    private void writeString(String value) throws IOException {
+        if (StringUtils.isEmpty(value)) {
+            recordOutput.writeInt(0);
+        } else {
+            final byte[] bytes = value.getBytes(UTF_8);
+            recordOutput.writeInt(bytes.length);
+            recordOutput.write(bytes);
+        }
+    }
+
+    private void read(byte[] buffer, int length, DataSetRow row) throws IOException {
+        final DataInputStream input = new DataInputStream(new ByteArrayInputStream(buffer, 0, length));
+        row.clear();
+        final int flags = input.readUnsignedByte();
+        row.setDeleted((flags & DELETED) != 0);
+        if ((flags & HAS_TDP_ID) != 0) {
+            row.setTdpId(input.readLong());
+        }
+        final int valueCount = input.readInt();
+        for (int i = 0; i < valueCount; i++) {
+            final String columnId = columnIds.get(input.readInt());
+            row.set(columnId, readString(input));
+        }
+        final String invalidColumns = readString(input);
+        if (!invalidColumns.isEmpty()) {
+            row.set(TDP_INVALID, invalidColumns);
+        }
+    }
+
+    private static String readString(DataInputStream input) throws IOException {
+        final int length = input.readInt();
+        if (length == 0) {
+            return StringUtils.EMPTY;
+        }
+        final byte[] bytes = new byte[length];
+        input.readFully(bytes);
+        return new String(bytes, UTF_8);
+    }
+
+    @Override
+    public void close() {
+        rows.clear();
+        if (spillOutput != null) {
+            try {
+                spillOutput.close();
+            } catch (IOException e) {
+                LOGGER.debug("Unable to close spill file '{}'.", spillFile, e);
+            }
+        }
+        if (deflater != null) {
+            deflater.end();
+        }
+        FilesHelper.deleteQuietly(spillFile);
+    }
+}
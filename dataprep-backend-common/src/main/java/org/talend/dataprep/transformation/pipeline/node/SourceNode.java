@@ -12,11 +12,20 @@
 
 package org.talend.dataprep.transformation.pipeline.node;
 
+import java.util.List;
+
+import org.talend.dataprep.api.dataset.RowMetadata;
+import org.talend.dataprep.api.dataset.row.DataSetRow;
 import org.talend.dataprep.transformation.pipeline.Node;
 import org.talend.dataprep.transformation.pipeline.Visitor;
 
 public class SourceNode extends BasicNode {
 
+    @Override
+    public void receiveBatch(List<DataSetRow> rows, RowMetadata metadata) {
+        emitBatch(rows, metadata);
+    }
+
     @Override
     public void accept(Visitor visitor) {
         visitor.visitSource(this);
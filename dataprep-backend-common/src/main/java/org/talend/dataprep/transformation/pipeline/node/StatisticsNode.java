@@ -86,6 +86,19 @@ public class StatisticsNode extends ColumnFilteredNode {
 
     @Override
     public void receive(DataSetRow row, RowMetadata metadata) {
+        analyze(row, metadata);
+        super.receive(row, metadata);
+    }
+
+    @Override
+    public void receiveBatch(List<DataSetRow> rows, RowMetadata metadata) {
+        for (DataSetRow row : rows) {
+            analyze(row, metadata);
+        }
+        emitBatch(rows, metadata);
+    }
+
+    private void analyze(DataSetRow row, RowMetadata metadata) {
         performColumnFilter(row, metadata);
         if (configuredAnalyzer == null) {
             this.configuredAnalyzer = analyzer.apply(filteredColumns);
@@ -93,7 +106,6 @@ public class StatisticsNode extends ColumnFilteredNode {
         if (!row.isDeleted()) {
             configuredAnalyzer.analyze(row.filter(filteredColumns).order(filteredColumns).toArray(DataSetRow.SKIP_TDP_ID));
         }
-        super.receive(row, metadata);
     }
 
     @Override
@@ -12,6 +12,7 @@
 
 package org.talend.dataprep.transformation.pipeline.node;
 
+import java.util.List;
 import java.util.Optional;
 
 import org.slf4j.Logger;
@@ -29,10 +30,13 @@ import org.talend.dataprep.transformation.pipeline.*;
  * <p>
  * This allows code to reuse row metadata contained in step instead of provided one.
  * </p>
+ * <p>
+ * Time spent in the step is the time spent in its {@link Monitored monitored} nodes (e.g. its actions).
+ * </p>
  *
  * @see org.talend.dataprep.transformation.pipeline.StepNodeTransformer
  */
-public class StepNode extends BasicNode {
+public class StepNode extends BasicNode implements Monitored {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(StepNode.class);
 
@@ -54,6 +58,15 @@ public class StepNode extends BasicNode {
 
     @Override
     public void receive(DataSetRow row, RowMetadata metadata) {
+        entryNode.exec().receive(row, prepare(metadata));
+    }
+
+    @Override
+    public void receiveBatch(List<DataSetRow> rows, RowMetadata metadata) {
+        entryNode.exec().receiveBatch(rows, prepare(metadata));
+    }
+
+    private RowMetadata prepare(RowMetadata metadata) {
         Optional<RowMetadata> stepMetadata = Optional.ofNullable(step.getRowMetadata());
         final RowMetadata rowMetadata = stepMetadata.isPresent() ? stepMetadata.get() : metadata;
         if (!stepMetadata.isPresent()) {
@@ -69,7 +82,7 @@ public class StepNode extends BasicNode {
             final RuntimeLink stepLink = getLink().exec();
             lastNode.setLink(new StepLink(stepLink));
         }
-        entryNode.exec().receive(row, rowMetadata);
+        return rowMetadata;
     }
 
     @Override
@@ -77,6 +90,25 @@ public class StepNode extends BasicNode {
         visitor.visitStepNode(this);
     }
 
+    @Override
+    public long getTotalTime() {
+        long totalTime = 0;
+        Node current = entryNode;
+        while (current != null) {
+            if (current instanceof Monitored) {
+                totalTime += ((Monitored) current).getTotalTime();
+            }
+            // last node is linked to the node after this step
+            current = current == lastNode || current.getLink() == null ? null : current.getLink().getTarget();
+        }
+        return totalTime;
+    }
+
+    @Override
+    public long getCount() {
+        return lastNode instanceof Monitored ? ((Monitored) lastNode).getCount() : 0;
+    }
+
     @Override
     public Node copyShallow() {
         return new StepNode(step, entryNode, lastNode);
@@ -108,6 +140,11 @@ public class StepNode extends BasicNode {
                     stepLink.emit(rows, metadatas);
                 }
 
+                @Override
+                public void emitBatch(List<DataSetRow> rows, RowMetadata metadata) {
+                    stepLink.emitBatch(rows, metadata);
+                }
+
                 @Override
                 public void signal(Signal signal) {
                     stepLink.signal(signal);
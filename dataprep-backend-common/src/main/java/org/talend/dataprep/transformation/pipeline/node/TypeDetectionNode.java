@@ -12,49 +12,29 @@
 
 package org.talend.dataprep.transformation.pipeline.node;
 
-import java.io.File;
-import java.io.FileInputStream;
-import java.io.FileOutputStream;
-import java.io.IOException;
 import java.util.Arrays;
 import java.util.List;
-import java.util.Map;
-import java.util.Optional;
 import java.util.function.Function;
 import java.util.function.Predicate;
-import java.util.zip.GZIPInputStream;
-import java.util.zip.GZIPOutputStream;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.talend.daikon.exception.TalendRuntimeException;
-import org.talend.dataprep.BaseErrorCodes;
 import org.talend.dataprep.api.dataset.ColumnMetadata;
-import org.talend.dataprep.api.dataset.DataSet;
 import org.talend.dataprep.api.dataset.RowMetadata;
 import org.talend.dataprep.api.dataset.row.DataSetRow;
-import org.talend.dataprep.api.dataset.row.FlagNames;
 import org.talend.dataprep.dataset.StatisticsAdapter;
 import org.talend.dataprep.transformation.pipeline.Monitored;
 import org.talend.dataprep.transformation.pipeline.Node;
 import org.talend.dataprep.transformation.pipeline.Signal;
 import org.talend.dataprep.transformation.pipeline.Visitor;
-import org.talend.dataprep.util.FilesHelper;
 import org.talend.dataquality.common.inference.Analyzer;
 import org.talend.dataquality.common.inference.Analyzers;
 
-import com.fasterxml.jackson.core.JsonFactory;
-import com.fasterxml.jackson.core.JsonGenerator;
-import com.fasterxml.jackson.core.JsonParser;
-import com.fasterxml.jackson.databind.ObjectMapper;
-
 public class TypeDetectionNode extends ColumnFilteredNode implements Monitored {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(TypeDetectionNode.class);
 
-    private final JsonGenerator generator;
-
-    private final File reservoir;
+    private final RowSpillBuffer reservoir;
 
     private final Function<List<ColumnMetadata>, Analyzer<Analyzers.Result>> analyzer;
 
@@ -62,6 +42,10 @@ public class TypeDetectionNode extends ColumnFilteredNode implements Monitored {
 
     private final StatisticsAdapter adapter;
 
+    private final int memoryThreshold;
+
+    private final boolean compress;
+
     private long totalTime;
 
     private Analyzer<Analyzers.Result> resultAnalyzer;
@@ -70,55 +54,38 @@ public class TypeDetectionNode extends ColumnFilteredNode implements Monitored {
 
     public TypeDetectionNode(Predicate<ColumnMetadata> filter, StatisticsAdapter adapter,
             Function<List<ColumnMetadata>, Analyzer<Analyzers.Result>> analyzer) {
+        this(filter, adapter, analyzer, RowSpillBuffer.DEFAULT_MEMORY_THRESHOLD, true);
+    }
+
+    /**
+     * @param filter The filter for columns to analyze.
+     * @param adapter The adapter to update columns with analysis results.
+     * @param analyzer The analyzer factory.
+     * @param memoryThreshold The max number of rows kept in memory until end of stream (rows are spilled to disk above).
+     * @param compress <code>true</code> to compress rows spilled to disk.
+     */
+    public TypeDetectionNode(Predicate<ColumnMetadata> filter, StatisticsAdapter adapter,
+            Function<List<ColumnMetadata>, Analyzer<Analyzers.Result>> analyzer, int memoryThreshold, boolean compress) {
         super(filter);
         this.analyzer = analyzer;
         this.filter = filter;
         this.adapter = adapter;
-        try {
-            reservoir = File.createTempFile("TypeDetection", ".zip");
-            JsonFactory factory = new JsonFactory();
-            generator = factory.createGenerator(new GZIPOutputStream(new FileOutputStream(reservoir), true));
-            generator.writeStartObject();
-            generator.writeFieldName("records");
-            generator.writeStartArray();
-        } catch (IOException e) {
-            throw new TalendRuntimeException(BaseErrorCodes.UNEXPECTED_EXCEPTION, e);
-        }
+        this.memoryThreshold = memoryThreshold;
+        this.compress = compress;
+        this.reservoir = new RowSpillBuffer(memoryThreshold, compress);
     }
 
     @Override
     public void receive(DataSetRow row, RowMetadata metadata) {
         performColumnFilter(row, metadata);
-        store(row, metadata.getColumns());
+        store(row, metadata);
         analyze(row);
         count++;
     }
 
-    // Store row in temporary file
-    private void store(DataSetRow row, List<ColumnMetadata> columns) {
-        try {
-            generator.writeStartObject();
-            columns.forEach(column -> {
-                try {
-                    generator.writeStringField(column.getId(), row.get(column.getId()));
-                } catch (IOException e) {
-                    throw new TalendRuntimeException(BaseErrorCodes.UNEXPECTED_EXCEPTION, e);
-                }
-            });
-            if (row.isDeleted()) {
-                generator.writeBooleanField("_deleted", true);
-            }
-            final Optional<Long> tdpId = Optional.ofNullable(row.getTdpId());
-            if (tdpId.isPresent()) {
-                generator.writeNumberField(FlagNames.TDP_ID, tdpId.get());
-            }
-            for (Map.Entry<String, String> entry : row.getInternalValues().entrySet()) {
-                generator.writeStringField(entry.getKey(), entry.getValue());
-            }
-            generator.writeEndObject();
-        } catch (IOException e) {
-            throw new TalendRuntimeException(BaseErrorCodes.UNEXPECTED_EXCEPTION, e);
-        }
+    // Store row until end of stream
+    private void store(DataSetRow row, RowMetadata metadata) {
+        reservoir.add(row, metadata);
     }
 
     // Analyze row using lazily configured analyzer
@@ -146,7 +113,7 @@ public class TypeDetectionNode extends ColumnFilteredNode implements Monitored {
 
     @Override
     public Node copyShallow() {
-        return new TypeDetectionNode(filter, adapter, analyzer);
+        return new TypeDetectionNode(filter, adapter, analyzer, memoryThreshold, compress);
     }
 
     @Override
@@ -155,12 +122,6 @@ public class TypeDetectionNode extends ColumnFilteredNode implements Monitored {
         final long start = System.currentTimeMillis();
         try {
             if (signal == Signal.END_OF_STREAM || signal == Signal.CANCEL || signal == Signal.STOP) {
-                // End temporary output
-                generator.writeEndArray();
-                generator.writeEndObject();
-                generator.flush();
-                // Send stored records to next steps
-                final ObjectMapper mapper = new ObjectMapper();
                 if (rowMetadata != null && resultAnalyzer != null) {
                     // Adapt row metadata to infer type (adapter takes care of type-forced columns)
                     resultAnalyzer.end();
@@ -168,21 +129,13 @@ public class TypeDetectionNode extends ColumnFilteredNode implements Monitored {
                     adapter.adapt(columns, resultAnalyzer.getResult(), filter);
                     resultAnalyzer.close();
                 }
-                // Continue process
-                try (JsonParser parser = mapper.getFactory().createParser(new GZIPInputStream(new FileInputStream(reservoir)))) {
-                    final DataSet dataSet = mapper.reader(DataSet.class).readValue(parser);
-                    dataSet.getRecords().forEach(r -> link.exec().emit(r, rowMetadata));
-                }
+                // Continue process: send stored records to next steps
+                reservoir.replay(rowMetadata, r -> link.exec().emit(r, rowMetadata));
             }
         } catch (Exception e) {
             LOGGER.warn("Unable to perform delayed analysis.", e);
         } finally {
-            try {
-                generator.close();
-            } catch (IOException e) {
-                LOGGER.error("Unable to close JSON generator (causing potential temp file delete issues).", e);
-            }
-            FilesHelper.deleteQuietly(reservoir);
+            reservoir.close();
             totalTime += System.currentTimeMillis() - start;
         }
         super.signal(signal);
@@ -90,6 +90,13 @@ public class ZipLink extends BasicLink {
             proxy.emit(row, metadata, index);
         }
 
+        @Override
+        public void emitBatch(final List<DataSetRow> rows, final RowMetadata metadata) {
+            for (DataSetRow row : rows) {
+                proxy.emit(row, metadata, index);
+            }
+        }
+
         @Override
         public void signal(Signal signal) {
             proxy.signal(signal);
@@ -34,6 +34,13 @@ public class NumericHelper {
 
     private static final char[] ALLOWED_NUMERIC_CHARACTERS = new char[]{',', '.', '0', '1', '2', '3', '4', '5', '6', '7', '8', '9', '-', '+', 'E', 'e', ' ', '\''};
 
+    /** Max number of digits of a decimal value computed from a long (10^15 is less than 2^53). */
+    private static final int MAX_FAST_DIGITS = 15;
+
+    /** Powers of ten exactly represented as doubles. */
+    private static final double[] POWERS_OF_TEN = { 1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11, 1e12,
+            1e13, 1e14, 1e15 };
+
     private NumericHelper() {
     }
 
@@ -89,4 +96,94 @@ public class NumericHelper {
         return false;
     }
 
+    /**
+     * Parses <code>str</code> as {@link Double#parseDouble(String)} does, but returns {@link Double#NaN} instead of
+     * throwing an exception when <code>str</code> is not a number, so callers can skip non numbers in a loop at no
+     * cost. Hexadecimal values and "NaN" or "Infinity" are not considered as numbers.
+     *
+     * @param str The string to parse, can be <code>null</code> or empty.
+     * @return The parsed value or {@link Double#NaN} if <code>str</code> is not a number.
+     */
+    public static double parseDouble(String str) {
+        if (str == null) {
+            return Double.NaN;
+        }
+        // Simple decimals (e.g. -12.5) with few digits are exactly computed (same value as Double#parseDouble)
+        final int length = str.length();
+        int i = 0;
+        boolean negative = false;
+        if (length > 0 && (str.charAt(0) == '-' || str.charAt(0) == '+')) {
+            negative = str.charAt(0) == '-';
+            i++;
+        }
+        long mantissa = 0;
+        int digits = 0;
+        int fractionDigits = -1;
+        for (; i < length && digits <= MAX_FAST_DIGITS; i++) {
+            final char c = str.charAt(i);
+            if (isDigit(c)) {
+                mantissa = mantissa * 10 + (c - '0');
+                digits++;
+                if (fractionDigits >= 0) {
+                    fractionDigits++;
+                }
+            } else if (c == '.' && fractionDigits < 0) {
+                fractionDigits = 0;
+            } else {
+                break;
+            }
+        }
+        if (i == length && digits > 0 && digits <= MAX_FAST_DIGITS) {
+            final double value = fractionDigits > 0 ? mantissa / POWERS_OF_TEN[fractionDigits] : mantissa;
+            return negative ? -value : value;
+        }
+        // Other values (exponent, more digits...) are parsed by JDK once checked
+        return isJavaDouble(str) ? Double.parseDouble(str) : Double.NaN;
+    }
+
+    /**
+     * @return <code>true</code> if <code>str</code> is a decimal value that {@link Double#parseDouble(String)} parses.
+     */
+    private static boolean isJavaDouble(String str) {
+        final String value = str.trim();
+        final int length = value.length();
+        int i = 0;
+        if (i < length && (value.charAt(i) == '-' || value.charAt(i) == '+')) {
+            i++;
+        }
+        int digits = 0;
+        for (; i < length && isDigit(value.charAt(i)); i++) {
+            digits++;
+        }
+        if (i < length && value.charAt(i) == '.') {
+            for (i++; i < length && isDigit(value.charAt(i)); i++) {
+                digits++;
+            }
+        }
+        if (digits == 0) {
+            return false;
+        }
+        if (i < length && (value.charAt(i) == 'e' || value.charAt(i) == 'E')) {
+            i++;
+            if (i < length && (value.charAt(i) == '-' || value.charAt(i) == '+')) {
+                i++;
+            }
+            int exponentDigits = 0;
+            for (; i < length && isDigit(value.charAt(i)); i++) {
+                exponentDigits++;
+            }
+            if (exponentDigits == 0) {
+                return false;
+            }
+        }
+        if (i < length && "fFdD".indexOf(value.charAt(i)) >= 0) {
+            i++;
+        }
+        return i == length;
+    }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+
 }
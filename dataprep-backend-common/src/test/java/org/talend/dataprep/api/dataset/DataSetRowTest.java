@@ -18,6 +18,8 @@ import static org.talend.dataprep.api.dataset.ColumnMetadata.Builder.column;
 import static org.talend.dataprep.api.dataset.row.Flag.*;
 import static org.talend.dataprep.api.dataset.row.FlagNames.TDP_INVALID;
 
+import java.io.IOException;
+import java.io.StringWriter;
 import java.util.*;
 
 import org.hamcrest.CoreMatchers;
@@ -27,6 +29,10 @@ import org.talend.dataprep.api.dataset.row.Flag;
 import org.talend.dataprep.api.dataset.row.FlagNames;
 import org.talend.dataprep.api.type.Type;
 
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
 public class DataSetRowTest {
 
 
@@ -250,6 +256,45 @@ public class DataSetRowTest {
         assertThat(values.get("tdpId"), CoreMatchers.is(1L));
     }
 
+    @Test
+    public void should_write_same_json_as_values_with_id() throws Exception {
+        //given
+        final DataSetRow row = createRow(defaultValues(), false);
+        row.set("address", null);
+        row.setInvalid("age");
+        row.setTdpId(1L);
+
+        //when
+        final String json = writeTo(row);
+
+        //then
+        assertEquals(new ObjectMapper().writeValueAsString(row.valuesWithId()), json);
+    }
+
+    @Test
+    public void should_write_same_json_as_values_with_id_for_diff() throws Exception {
+        //given
+        final DataSetRow row = createRow(defaultValues(), false);
+        final DataSetRow oldRow = createRow(defaultValues(), false);
+        oldRow.set("age", "17");
+        row.setTdpId(1L);
+        row.diff(oldRow);
+
+        //when
+        final String json = writeTo(row);
+
+        //then
+        assertEquals(new ObjectMapper().writeValueAsString(row.valuesWithId()), json);
+    }
+
+    private static String writeTo(DataSetRow row) throws IOException {
+        final StringWriter writer = new StringWriter();
+        try (JsonGenerator generator = new JsonFactory().createGenerator(writer)) {
+            row.writeTo(generator);
+        }
+        return writer.toString();
+    }
+
     /**
      * @param values the values of the row to return.
      * @param isDeleted true if the row is deleted.
@@ -336,7 +381,7 @@ public class DataSetRowTest {
         row.setInvalid("0004");
 
         // then
-        assertThat(row.values().get(TDP_INVALID), CoreMatchers.is("0004,0001"));
+        assertThat(row.values().get(TDP_INVALID), CoreMatchers.is("0001,0004"));
     }
 
     @Test
@@ -365,6 +410,61 @@ public class DataSetRowTest {
         final DataSetRow row = new DataSetRow(values);
 
         // then
-        assertThat(row.values().get(TDP_INVALID), CoreMatchers.is("0004,0001"));
+        assertThat(row.values().get(TDP_INVALID), CoreMatchers.is("0001,0004"));
+    }
+
+    @Test
+    public void should_share_column_index_between_rows() throws Exception {
+        // given
+        final RowMetadata rowMetadata = new RowMetadata(Arrays.asList( //
+                column().id(0).name("name").type(Type.STRING).build(), //
+                column().id(1).name("age").type(Type.INTEGER).build()));
+        final DataSetRow row1 = new DataSetRow(rowMetadata);
+        final DataSetRow row2 = new DataSetRow(rowMetadata);
+
+        // when
+        row1.set("0001", "18").set("0000", "Toto").set("0002", "new");
+        row2.set("0002", "other").set("0000", "Tata");
+
+        // then
+        assertArrayEquals(new String[] { "Toto", "18", "new" }, row1.toArray());
+        assertArrayEquals(new String[] { "Tata", "other" }, row2.toArray());
+        assertNull(row2.get("0001"));
+        assertEquals("new", row1.get("0002"));
+    }
+
+    @Test
+    public void should_keep_null_values() throws Exception {
+        // given
+        final DataSetRow row = new DataSetRow(new RowMetadata());
+
+        // when
+        row.set("0000", "value");
+        row.set("0001", null);
+
+        // then
+        assertEquals(2, row.values().size());
+        assertTrue(row.values().containsKey("0001"));
+        assertNull(row.get("0001"));
+        assertArrayEquals(new String[] { "value", "null" }, row.toArray());
+    }
+
+    @Test
+    public void clone_should_not_share_values() throws Exception {
+        // given
+        final DataSetRow row = createRow(defaultValues(), false);
+        row.setInvalid("age");
+
+        // when
+        final DataSetRow clone = row.clone();
+        clone.set("age", "19");
+        clone.unsetInvalid("age");
+
+        // then
+        assertEquals("18", row.get("age"));
+        assertTrue(row.isInvalid("age"));
+        assertEquals("19", clone.get("age"));
+        assertFalse(clone.isInvalid("age"));
+        assertNotEquals(row, clone);
     }
 }
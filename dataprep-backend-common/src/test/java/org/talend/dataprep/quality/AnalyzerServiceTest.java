@@ -2,7 +2,11 @@ package org.talend.dataprep.quality;
 
 import static org.junit.Assert.*;
 
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 import org.junit.Before;
 import org.junit.Test;
@@ -10,6 +14,7 @@ import org.talend.dataprep.api.dataset.ColumnMetadata;
 import org.talend.dataprep.api.type.Type;
 import org.talend.dataquality.common.inference.Analyzer;
 import org.talend.dataquality.common.inference.Analyzers;
+import org.talend.dataquality.common.inference.ValueQualityStatistics;
 
 public class AnalyzerServiceTest {
 
@@ -59,4 +64,38 @@ public class AnalyzerServiceTest {
             }
         }
     }
+
+    @Test
+    public void buildPartitionedAnalysis() throws Exception {
+        // Given
+        final ExecutorService executor = Executors.newFixedThreadPool(2);
+        service.setPartitionedAnalysis(executor, 2, 2, 3);
+        final List<ColumnMetadata> columns = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            final ColumnMetadata column = new ColumnMetadata();
+            column.setType(Type.INTEGER.getName());
+            columns.add(column);
+        }
+        // Analyzers read after each record (e.g. invalid detection) are never partitioned
+        assertFalse(service.build(columns, AnalyzerService.Analysis.QUALITY) instanceof ColumnPartitionedAnalyzer);
+        try (Analyzer<Analyzers.Result> analyzer = service.partitioned(columns, AnalyzerService.Analysis.QUALITY)) {
+            assertTrue(analyzer instanceof ColumnPartitionedAnalyzer);
+            // When
+            for (int i = 0; i < 10; i++) {
+                analyzer.analyze(String.valueOf(i), "1", "a", "", String.valueOf(i));
+            }
+            analyzer.end();
+
+            // Then
+            final List<Analyzers.Result> results = analyzer.getResult();
+            assertEquals(5, results.size());
+            for (Analyzers.Result result : results) {
+                assertEquals(10, result.get(ValueQualityStatistics.class).getCount());
+            }
+            assertEquals(10, results.get(2).get(ValueQualityStatistics.class).getInvalidCount());
+            assertEquals(10, results.get(3).get(ValueQualityStatistics.class).getEmptyCount());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
 }
@@ -288,6 +288,37 @@ public class PipelineTest {
         assertThat(output.getSignal(), is(END_OF_STREAM));
     }
 
+    @Test
+    public void testBatchPipeline() throws Exception {
+        // given
+        final RunnableAction action = new RunnableAction((r, context) -> r.set("0000", "value " + r.getTdpId()));
+        final ActionContext actionContext = new ActionContext(new TransformationContext());
+        final Node node = NodeBuilder.source().to(new ActionNode(action, actionContext)).to(output).build();
+        final Pipeline pipeline = new Pipeline(node, 2);
+        final RowMetadata rowMetadata = new RowMetadata();
+        final DataSetRow row = new DataSetRow(rowMetadata);
+        final List<DataSetRow> records = new ArrayList<>();
+        for (long i = 1; i <= 3; i++) {
+            final DataSetRow record = row.clone();
+            record.setTdpId(i);
+            records.add(record);
+        }
+
+        final DataSet dataSet = new DataSet();
+        final DataSetMetadata metadata = new DataSetMetadata();
+        metadata.setRowMetadata(rowMetadata);
+        dataSet.setMetadata(metadata);
+        dataSet.setRecords(records.stream());
+
+        // when
+        pipeline.execute(dataSet);
+
+        // then
+        assertThat(output.getCount(), is(3));
+        assertThat(output.getRow().get("0000"), is("value 3"));
+        assertThat(output.getSignal(), is(END_OF_STREAM));
+    }
+
     @Test
     public void testCancelledPipeline() throws Exception {
         // given
@@ -15,6 +15,7 @@ package org.talend.dataprep.transformation.pipeline.link;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.*;
 import static org.talend.dataprep.transformation.pipeline.Signal.CANCEL;
+import static org.talend.dataprep.transformation.pipeline.Signal.END_OF_STREAM;
 
 import java.util.ArrayList;
 import java.util.HashMap;
@@ -24,6 +25,7 @@ import org.junit.Test;
 import org.talend.dataprep.api.dataset.ColumnMetadata;
 import org.talend.dataprep.api.dataset.RowMetadata;
 import org.talend.dataprep.api.dataset.row.DataSetRow;
+import org.talend.dataprep.transformation.pipeline.Signal;
 import org.talend.dataprep.transformation.pipeline.TestNode;
 
 public class CloneLinkTest {
@@ -170,6 +172,64 @@ public class CloneLinkTest {
         assertThat(target2.getReceivedSignals(), contains(CANCEL));
     }
 
+    @Test
+    public void should_only_copy_rows_modified_by_targets() {
+        // given
+        final TestNode target1 = new TestNode();
+        final TestNode target2 = new TestNode() {
+
+            @Override
+            public void receive(DataSetRow row, RowMetadata metadata) {
+                row.set("0001", "modified");
+                super.receive(row, metadata);
+            }
+        };
+        final CloneLink link = new CloneLink(target1, target2);
+
+        final DataSetRow row = new DataSetRow(getRowMetadata("0001"));
+        row.set("0001", "value");
+
+        // when
+        link.emit(row, row.getRowMetadata());
+
+        // then
+        assertThat(row.get("0001"), is("value"));
+        assertThat(target1.getReceivedRows().get(0).get("0001"), is("value"));
+        assertThat(target2.getReceivedRows().get(0).get("0001"), is("modified"));
+        assertThat(link.getAvoidedCopies(), is(1L));
+        assertThat(link.getPerformedCopies(), is(1L));
+    }
+
+    @Test
+    public void should_count_copies_of_rows_modified_after_emit() {
+        // given (target modifies the rows it buffered once stream ends)
+        final TestNode target1 = new TestNode();
+        final TestNode target2 = new TestNode() {
+
+            @Override
+            public void signal(Signal signal) {
+                getReceivedRows().forEach(r -> r.set("0001", "modified"));
+                super.signal(signal);
+            }
+        };
+        final CloneLink link = new CloneLink(target1, target2);
+
+        final DataSetRow row = new DataSetRow(getRowMetadata("0001"));
+        row.set("0001", "value");
+        link.emit(row, row.getRowMetadata());
+        assertThat(link.getAvoidedCopies(), is(2L));
+        assertThat(link.getPerformedCopies(), is(0L));
+
+        // when
+        link.signal(END_OF_STREAM);
+
+        // then
+        assertThat(row.get("0001"), is("value"));
+        assertThat(target2.getReceivedRows().get(0).get("0001"), is("modified"));
+        assertThat(link.getAvoidedCopies(), is(1L));
+        assertThat(link.getPerformedCopies(), is(1L));
+    }
+
     private RowMetadata getRowMetadata(final String colId) {
         final ColumnMetadata colMetadata = new ColumnMetadata();
         colMetadata.setId(colId);
@@ -0,0 +1,225 @@
+// ============================================================================
+// Copyright (C) 2006-2016 Talend Inc. - www.talend.com
+//
+// This source code is available under agreement available at
+// https://github.com/Talend/data-prep/blob/master/LICENSE
+//
+// You should have received a copy of the agreement
+// along with this program; if not, write to Talend SA
+// 9 rue Pages 92150 Suresnes, France
+//
+// ============================================================================
+
+package org.talend.dataprep.transformation.pipeline.node;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.hasSize;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.talend.dataprep.api.dataset.ColumnMetadata.Builder.column;
+
+import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.junit.After;
+import org.junit.Test;
+import org.talend.daikon.exception.TalendRuntimeException;
+import org.talend.dataprep.api.dataset.ColumnMetadata;
+import org.talend.dataprep.api.dataset.RowMetadata;
+import org.talend.dataprep.api.dataset.row.DataSetRow;
+import org.talend.dataprep.api.type.Type;
+import org.talend.dataprep.dataset.StatisticsAdapter;
+import org.talend.dataprep.quality.AnalyzerService;
+import org.talend.dataprep.transformation.pipeline.Node;
+import org.talend.dataprep.transformation.pipeline.Signal;
+import org.talend.dataprep.transformation.pipeline.TestNode;
+import org.talend.dataprep.transformation.pipeline.builder.NodeBuilder;
+import org.talend.dataprep.transformation.pipeline.link.BasicLink;
+
+public class ParallelNodeTest {
+
+    private final ExecutorService executor = Executors.newFixedThreadPool(4);
+
+    private final RowMetadata metadata = new RowMetadata(Collections.singletonList( //
+            column().id(0).name("name").type(Type.STRING).build()));
+
+    @After
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void should_emit_rows_in_original_order() {
+        // given
+        final Set<String> threads = Collections.synchronizedSet(new HashSet<>());
+        final List<Node> workers = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            workers.add(NodeBuilder.source().to(new UpperCaseNode(threads)).build());
+        }
+        final ParallelNode parallelNode = new ParallelNode(workers, 7, executor);
+        final TestNode output = new TestNode();
+        parallelNode.setLink(new BasicLink(output));
+
+        // when
+        final DataSetRow row = new DataSetRow(metadata);
+        for (int i = 0; i < 100; i++) {
+            row.set("0000", "value" + i);
+            row.setTdpId((long) i);
+            parallelNode.receive(row, metadata); // same row instance is reused: node is expected to copy it
+        }
+        parallelNode.signal(Signal.END_OF_STREAM);
+
+        // then
+        assertThat(output.getReceivedRows(), hasSize(100));
+        for (int i = 0; i < 100; i++) {
+            final DataSetRow actual = output.getReceivedRows().get(i);
+            assertEquals(Long.valueOf(i), actual.getTdpId());
+            assertEquals("VALUE" + i, actual.get("0000"));
+        }
+        assertEquals(15, parallelNode.getChunkCount());
+        assertTrue(threads.size() > 1);
+        assertThat(output.getReceivedSignals(), contains(Signal.END_OF_STREAM));
+    }
+
+    @Test
+    public void should_emit_batches_in_original_order() {
+        // given
+        final List<Node> workers = Arrays.asList( //
+                NodeBuilder.source().to(new UpperCaseNode(new HashSet<>())).build(), //
+                NodeBuilder.source().to(new UpperCaseNode(new HashSet<>())).build());
+        final ParallelNode parallelNode = new ParallelNode(workers, 3, executor);
+        final TestNode output = new TestNode();
+        parallelNode.setLink(new BasicLink(output));
+
+        // when
+        final List<DataSetRow> batch = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            final DataSetRow row = new DataSetRow(metadata);
+            row.set("0000", "value" + i);
+            batch.add(row);
+        }
+        parallelNode.receiveBatch(batch, metadata);
+        parallelNode.signal(Signal.END_OF_STREAM);
+
+        // then
+        assertThat(output.getReceivedRows(), hasSize(10));
+        for (int i = 0; i < 10; i++) {
+            assertEquals("VALUE" + i, output.getReceivedRows().get(i).get("0000"));
+        }
+    }
+
+    @Test(expected = TalendRuntimeException.class)
+    public void should_report_worker_failure() {
+        // given
+        final List<Node> workers = Collections.singletonList(NodeBuilder.source().to(new BasicNode() {
+
+            @Override
+            public void receive(DataSetRow row, RowMetadata metadata) {
+                throw new IllegalStateException("Expected failure.");
+            }
+        }).build());
+        final ParallelNode parallelNode = new ParallelNode(workers, 2, executor);
+        parallelNode.setLink(new BasicLink(new TestNode()));
+
+        // when
+        parallelNode.receive(new DataSetRow(metadata), metadata);
+        parallelNode.signal(Signal.END_OF_STREAM);
+    }
+
+    @Test
+    public void should_wait_for_running_chunks_before_cancel() {
+        // given
+        final AtomicBoolean processing = new AtomicBoolean();
+        final List<Boolean> processingOnCancel = new ArrayList<>();
+        final List<Node> workers = Collections.singletonList(NodeBuilder.source().to(new BasicNode() {
+
+            @Override
+            public void receive(DataSetRow row, RowMetadata metadata) {
+                processing.set(true);
+                try {
+                    Thread.sleep(200);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                processing.set(false);
+                super.receive(row, metadata);
+            }
+
+            @Override
+            public void signal(Signal signal) {
+                processingOnCancel.add(processing.get());
+                super.signal(signal);
+            }
+        }).build());
+        final ParallelNode parallelNode = new ParallelNode(workers, 1, executor);
+        final TestNode output = new TestNode();
+        parallelNode.setLink(new BasicLink(output));
+
+        // when
+        parallelNode.receive(new DataSetRow(metadata), metadata);
+        parallelNode.signal(Signal.CANCEL);
+
+        // then
+        assertThat(processingOnCancel, contains(false));
+        assertThat(output.getReceivedRows(), hasSize(0));
+        assertThat(output.getReceivedSignals(), contains(Signal.CANCEL));
+    }
+
+    @Test
+    public void should_emit_rows_with_one_row_metadata() {
+        // given (each worker updates its own row metadata)
+        final List<Node> workers = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            workers.add(NodeBuilder.source().to(new UpperCaseNode(new HashSet<>())).build());
+        }
+        final ParallelNode parallelNode = new ParallelNode(workers, 5, executor);
+        final AnalyzerService analyzerService = new AnalyzerService();
+        final StatisticsNode statisticsNode = new StatisticsNode(
+                columns -> analyzerService.build(columns, AnalyzerService.Analysis.QUALITY,
+                        AnalyzerService.Analysis.CARDINALITY),
+                column -> true, new StatisticsAdapter(40));
+        final TestNode output = new TestNode();
+        parallelNode.setLink(new BasicLink(statisticsNode));
+        statisticsNode.setLink(new BasicLink(output));
+
+        // when
+        for (int i = 0; i < 40; i++) {
+            final DataSetRow row = new DataSetRow(metadata);
+            row.set("0000", "value" + (i % 8));
+            parallelNode.receive(row, metadata);
+        }
+        parallelNode.signal(Signal.END_OF_STREAM);
+
+        // then (statistics computed after the workers are in the row metadata of the last row)
+        final List<RowMetadata> receivedMetadata = output.getReceivedMetadata();
+        assertThat(receivedMetadata, hasSize(40));
+        for (RowMetadata rowMetadata : receivedMetadata) {
+            assertSame(receivedMetadata.get(0), rowMetadata);
+        }
+        final ColumnMetadata column = receivedMetadata.get(39).getById("0000");
+        assertEquals(40, column.getQuality().getValid());
+        assertEquals(8, column.getStatistics().getDistinctCount());
+        // received row metadata is left unchanged by workers
+        assertEquals(0, metadata.getById("0000").getQuality().getValid());
+    }
+
+    private static class UpperCaseNode extends BasicNode {
+
+        private final Set<String> threads;
+
+        private UpperCaseNode(Set<String> threads) {
+            this.threads = threads;
+        }
+
+        @Override
+        public void receive(DataSetRow row, RowMetadata metadata) {
+            threads.add(Thread.currentThread().getName());
+            row.set("0000", row.get("0000").toUpperCase());
+            super.receive(row, metadata);
+        }
+    }
+}
@@ -0,0 +1,86 @@
+// ============================================================================
+//
+// Copyright (C) 2006-2016 Talend Inc. - www.talend.com
+//
+// This source code is available under agreement available at
+// https://github.com/Talend/data-prep/blob/master/LICENSE
+//
+// You should have received a copy of the agreement
+// along with this program; if not, write to Talend SA
+// 9 rue Pages 92150 Suresnes, France
+//
+// ============================================================================
+
+package org.talend.dataprep.transformation.pipeline.node;
+
+import static org.junit.Assert.*;
+import static org.talend.dataprep.api.dataset.ColumnMetadata.Builder.column;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Test;
+import org.talend.dataprep.api.dataset.RowMetadata;
+import org.talend.dataprep.api.dataset.row.DataSetRow;
+import org.talend.dataprep.api.type.Type;
+
+public class RowSpillBufferTest {
+
+    private final RowMetadata metadata = new RowMetadata(Arrays.asList( //
+            column().id(0).name("name").type(Type.STRING).build(), //
+            column().id(1).name("age").type(Type.INTEGER).build()));
+
+    @Test
+    public void should_replay_rows_in_memory() {
+        assertReplay(new RowSpillBuffer(100, true), false);
+    }
+
+    @Test
+    public void should_replay_spilled_rows() {
+        assertReplay(new RowSpillBuffer(3, false), true);
+    }
+
+    @Test
+    public void should_replay_compressed_spilled_rows() {
+        assertReplay(new RowSpillBuffer(3, true), true);
+    }
+
+    private void assertReplay(RowSpillBuffer buffer, boolean spilled) {
+        // given
+        final DataSetRow row = new DataSetRow(metadata);
+        for (int i = 0; i < 10; i++) {
+            row.clear();
+            row.set("0000", "name" + i);
+            if (i % 2 == 0) {
+                row.set("0001", String.valueOf(i));
+            } else {
+                row.setInvalid("0001");
+            }
+            row.setDeleted(i == 5);
+            row.setTdpId((long) i + 1);
+            buffer.add(row, metadata); // same row instance is reused: buffer is expected to copy it
+        }
+
+        // when
+        final List<DataSetRow> replayed = new ArrayList<>();
+        try {
+            buffer.replay(metadata, r -> replayed.add(r.clone()));
+        } finally {
+            buffer.close();
+        }
+
+        // then
+        assertEquals(spilled, buffer.isSpilled());
+        assertEquals(10, buffer.size());
+        assertEquals(10, replayed.size());
+        for (int i = 0; i < 10; i++) {
+            final DataSetRow actual = replayed.get(i);
+            assertEquals("name" + i, actual.get("0000"));
+            assertEquals(i % 2 == 0 ? String.valueOf(i) : "", actual.get("0001"));
+            assertEquals(i % 2 != 0, actual.isInvalid("0001"));
+            assertEquals(i == 5, actual.isDeleted());
+            assertEquals(Long.valueOf(i + 1), actual.getTdpId());
+        }
+    }
+}
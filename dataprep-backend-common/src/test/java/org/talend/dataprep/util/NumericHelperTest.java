@@ -41,4 +41,21 @@ public class NumericHelperTest {
         assertFalse(NumericHelper.isBigDecimal("6aaa"));
         assertFalse(NumericHelper.isBigDecimal("6 aaa"));
     }
+
+    @Test
+    public void shouldParseDoubleAsJdk() throws Exception {
+        final String[] values = { "0", "-0", "12", "-8760", "514.3", "-786.25", "41843.453", "0.1", ".5", "5.", "+3",
+                "123456789012345", "1234567890123456789", "3.141592653589793", "1e5", "1E-3d", " 12 ", "12f" };
+        for (String value : values) {
+            assertEquals(value, Double.parseDouble(value), NumericHelper.parseDouble(value), 0);
+        }
+    }
+
+    @Test
+    public void shouldNotParseDoubleOfNonNumeric() throws Exception {
+        final String[] values = { null, "", ".", "-", "a", "6aaa", "1e", "1e+", "1.2.3", "NaN", "Infinity", "0x1p3" };
+        for (String value : values) {
+            assertTrue(value, Double.isNaN(NumericHelper.parseDouble(value)));
+        }
+    }
 }
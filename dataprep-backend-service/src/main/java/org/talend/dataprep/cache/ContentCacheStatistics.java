@@ -0,0 +1,78 @@
+// ============================================================================
+// Copyright (C) 2006-2016 Talend Inc. - www.talend.com
+//
+// This source code is available under agreement available at
+// https://github.com/Talend/data-prep/blob/master/LICENSE
+//
+// You should have received a copy of the agreement
+// along with this program; if not, write to Talend SA
+// 9 rue Pages 92150 Suresnes, France
+//
+// ============================================================================
+
+package org.talend.dataprep.cache;
+
+/**
+ * A snapshot of {@link ContentCache} counters.
+ */
+public class ContentCacheStatistics {
+
+    private final long hits;
+
+    private final long misses;
+
+    private final long evictions;
+
+    private final long entries;
+
+    private final long bytesStored;
+
+    private final long maxBytes;
+
+    /**
+     * @param hits Number of lookups that found a cache entry.
+     * @param misses Number of lookups that found no cache entry.
+     * @param evictions Number of entries evicted to respect the cache maximum size.
+     * @param entries Number of entries in cache.
+     * @param bytesStored Total size (in bytes) of entries in cache.
+     * @param maxBytes The cache maximum size in bytes (0 if size is not bounded).
+     */
+    public ContentCacheStatistics(long hits, long misses, long evictions, long entries, long bytesStored, long maxBytes) {
+        this.hits = hits;
+        this.misses = misses;
+        this.evictions = evictions;
+        this.entries = entries;
+        this.bytesStored = bytesStored;
+        this.maxBytes = maxBytes;
+    }
+
+    public long getHits() {
+        return hits;
+    }
+
+    public long getMisses() {
+        return misses;
+    }
+
+    public long getEvictions() {
+        return evictions;
+    }
+
+    public long getEntries() {
+        return entries;
+    }
+
+    public long getBytesStored() {
+        return bytesStored;
+    }
+
+    public long getMaxBytes() {
+        return maxBytes;
+    }
+
+    @Override
+    public String toString() {
+        return "ContentCacheStatistics{" + "hits=" + hits + ", misses=" + misses + ", evictions=" + evictions + ", entries="
+                + entries + ", bytesStored=" + bytesStored + ", maxBytes=" + maxBytes + '}';
+    }
+}
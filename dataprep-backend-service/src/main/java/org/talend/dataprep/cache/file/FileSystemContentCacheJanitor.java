@@ -17,10 +17,12 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
 import org.springframework.scheduling.annotation.EnableScheduling;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
+import org.talend.dataprep.cache.ContentCache;
+import org.talend.dataprep.cache.memory.TwoLevelContentCache;
 import org.talend.dataprep.exception.TDPException;
 import org.talend.dataprep.exception.error.CommonErrorCodes;
 
@@ -31,7 +33,7 @@ import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.BiConsumer;
 
 @Component
-@ConditionalOnProperty(name = "service.cache", havingValue = "file")
+@ConditionalOnExpression("'${service.cache:disabled}' == 'file' or '${service.cache:disabled}' == 'indexed'")
 @EnableScheduling
 public class FileSystemContentCacheJanitor {
 
@@ -39,6 +41,10 @@ public class FileSystemContentCacheJanitor {
 
     private final String location;
 
+    /** The cache, to keep its index (if any) in sync with deleted files. */
+    @Autowired(required = false)
+    private ContentCache contentCache;
+
     @Autowired
     public FileSystemContentCacheJanitor(@Value("${service.cache.file.location}") String location) {
         if (!location.endsWith("/")) {
@@ -55,6 +61,22 @@ public class FileSystemContentCacheJanitor {
         }
     }
 
+    FileSystemContentCacheJanitor(String location, ContentCache contentCache) {
+        this(location);
+        this.contentCache = contentCache;
+    }
+
+    /**
+     * @return The {@link IndexedFileSystemContentCache} in use, or <code>null</code> if cache is not indexed.
+     */
+    private IndexedFileSystemContentCache getIndexedCache() {
+        ContentCache cache = contentCache;
+        if (cache instanceof TwoLevelContentCache) {
+            cache = ((TwoLevelContentCache) cache).getDelegate();
+        }
+        return cache instanceof IndexedFileSystemContentCache ? (IndexedFileSystemContentCache) cache : null;
+    }
+
     /**
      * A clean up process that starts a minute after the previous ended.
      */
@@ -68,6 +90,12 @@ public class FileSystemContentCacheJanitor {
         final AtomicLong deletedCount = new AtomicLong();
         final AtomicLong totalCount = new AtomicLong();
         LOGGER.debug("Janitor process started @ {}.", start);
+        final IndexedFileSystemContentCache indexedCache = getIndexedCache();
+        if (indexedCache != null) {
+            // Remove expired entries from index before their files get deleted
+            LOGGER.debug("{} expired entries removed from cache index.", indexedCache.purge(start));
+            LOGGER.debug("Cache statistics: {}", indexedCache.getStatistics());
+        }
         try {
             final BiConsumer<Path, String> deleteOld = (file, suffix) -> {
                 try {
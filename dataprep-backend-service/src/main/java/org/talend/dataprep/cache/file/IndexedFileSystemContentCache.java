@@ -0,0 +1,600 @@
+// ============================================================================
+// Copyright (C) 2006-2016 Talend Inc. - www.talend.com
+//
+// This source code is available under agreement available at
+// https://github.com/Talend/data-prep/blob/master/LICENSE
+//
+// You should have received a copy of the agreement
+// along with this program; if not, write to Talend SA
+// 9 rue Pages 92150 Suresnes, France
+//
+// ============================================================================
+
+package org.talend.dataprep.cache.file;
+
+import static java.nio.file.StandardCopyOption.ATOMIC_MOVE;
+import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
+
+import java.io.*;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.*;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Predicate;
+
+import org.apache.commons.io.FileUtils;
+import org.apache.commons.lang.StringUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.talend.dataprep.cache.ContentCache;
+import org.talend.dataprep.cache.ContentCacheKey;
+import org.talend.dataprep.cache.ContentCacheStatistics;
+import org.talend.dataprep.exception.TDPException;
+import org.talend.dataprep.exception.error.CommonErrorCodes;
+import org.talend.dataprep.metrics.Timed;
+import org.talend.dataprep.metrics.VolumeMetered;
+
+/**
+ * <p>
+ * File system cache implementation with an in-memory index of cache entries (key to file, time to live and size): cache
+ * lookups and evictions are served by the index instead of directory listings. Cache entries are read with memory
+ * mapped files.
+ * </p>
+ * <p>
+ * Files use the same layout as {@link FileSystemContentCache} (<code>key.timeToLive</code>, or <code>key</code> for
+ * permanent entries, evicted files are renamed to <code>*.0</code>), so {@link FileSystemContentCacheJanitor} keeps
+ * cleaning the cache location. The index is rebuilt from disk when cache starts. As the index is local to this
+ * service, the cache location must not be shared with other services (use {@link FileSystemContentCache} for this).
+ * </p>
+ * <p>
+ * Cache may be bounded by a maximum size in bytes (see <code>service.cache.file.max.size</code>): entries are then
+ * evicted when needed following a {@link SegmentedLruPolicy segmented LRU policy}.
+ * </p>
+ */
+@Component
+@ConditionalOnProperty(name = "service.cache", havingValue = "indexed")
+public class IndexedFileSystemContentCache implements ContentCache {
+
+    /**
+     * This class' logger.
+     */
+    private static final Logger LOGGER = LoggerFactory.getLogger(IndexedFileSystemContentCache.class);
+
+    /** Suffix of the files being written (not visible in cache until closed). */
+    private static final String TEMPORARY_SUFFIX = ".tmp";
+
+    /** Time to live for permanent entries. */
+    private static final long PERMANENT = -1;
+
+    /** Maximum size of a file region mapped at once. */
+    private static final int MAPPED_REGION_SIZE = 64 * 1024 * 1024;
+
+    /**
+     * Where to store cache entries.
+     */
+    private final Path location;
+
+    /**
+     * Cache entries by key (sorted to serve evictions by key prefix).
+     */
+    private final ConcurrentNavigableMap<String, Entry> index = new ConcurrentSkipListMap<>();
+
+    /** Maximum size of cache in bytes (0 for no limit). */
+    private final long maxSize;
+
+    /** The eviction policy (<code>null</code> if cache size is not bounded). */
+    private final SegmentedLruPolicy policy;
+
+    private final LongAdder hits = new LongAdder();
+
+    private final LongAdder misses = new LongAdder();
+
+    private final LongAdder evictions = new LongAdder();
+
+    /** Total size of indexed entries in bytes. */
+    private final AtomicLong bytesStored = new AtomicLong();
+
+    /**
+     * Creates a cache with no size limit.
+     *
+     * @param location where to store cache entries.
+     */
+    public IndexedFileSystemContentCache(String location) {
+        this(location, 0);
+    }
+
+    /**
+     * Default constructor.
+     *
+     * @param location where to store cache entries.
+     * @param maxSize the maximum size of cache in bytes (0 or less for no limit).
+     */
+    @Autowired
+    public IndexedFileSystemContentCache(@Value("${service.cache.file.location}") String location,
+            @Value("${service.cache.file.max.size:0}") long maxSize) {
+        this.maxSize = Math.max(0, maxSize);
+        this.policy = maxSize > 0 ? new SegmentedLruPolicy(maxSize) : null;
+        if (!location.endsWith("/")) {
+            location += "/";
+        }
+        this.location = Paths.get(location + "cache/").toAbsolutePath();
+        try {
+            FileUtils.forceMkdir(this.location.toFile());
+            load();
+            evictOverflow();
+        } catch (IOException e) {
+            throw new TDPException(CommonErrorCodes.UNEXPECTED_EXCEPTION, e);
+        }
+    }
+
+    /**
+     * Rebuilds index from the files in cache location.
+     */
+    private void load() throws IOException {
+        final long start = System.currentTimeMillis();
+        Files.walkFileTree(location, new SimpleFileVisitor<Path>() {
+
+            @Override
+            public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) throws IOException {
+                final String fileName = file.getFileName().toString();
+                if (fileName.startsWith(".")) {
+                    return FileVisitResult.CONTINUE;
+                }
+                if (fileName.endsWith(TEMPORARY_SUFFIX)) {
+                    // Entry was being written on shutdown
+                    Files.deleteIfExists(file);
+                    return FileVisitResult.CONTINUE;
+                }
+                final String path = location.relativize(file).toString().replace(File.separatorChar, '/');
+                final Entry entry;
+                if (fileName.indexOf('.') < 0) {
+                    entry = new Entry(file, PERMANENT, attrs.size());
+                    index.merge(path, entry, Entry::latest);
+                } else {
+                    try {
+                        final long timeToLive = Long.parseLong(StringUtils.substringAfterLast(fileName, "."));
+                        entry = new Entry(file, timeToLive, attrs.size());
+                        if (timeToLive > 0) {
+                            index.merge(StringUtils.substringBeforeLast(path, "."), entry, Entry::latest);
+                        }
+                    } catch (NumberFormatException e) {
+                        LOGGER.debug("Ignore file '{}'", file);
+                    }
+                }
+                return FileVisitResult.CONTINUE;
+            }
+        });
+        for (Map.Entry<String, Entry> entry : index.entrySet()) {
+            bytesStored.addAndGet(entry.getValue().size);
+            if (policy != null) {
+                policy.add(entry.getKey(), entry.getValue().size);
+            }
+        }
+        LOGGER.info("Content cache index loaded from '{}' ({} entries, {} bytes in {} ms).", location, index.size(),
+                bytesStored, System.currentTimeMillis() - start);
+    }
+
+    /**
+     * Compute the path for the given key.
+     *
+     * @param key the cache key entry.
+     * @param timeToLive the entry time to live ({@link #PERMANENT} for permanent entries).
+     * @return the path for the entry key.
+     */
+    private Path computeEntryPath(ContentCacheKey key, long timeToLive) {
+        return location.resolve(timeToLive == PERMANENT ? key.getKey() : key.getKey() + '.' + timeToLive);
+    }
+
+    private static long timeToLive(TimeToLive timeToLive) {
+        return timeToLive.getTime() > 0 ? System.currentTimeMillis() + timeToLive.getTime() : PERMANENT;
+    }
+
+    private Entry findEntry(ContentCacheKey key) {
+        final Entry entry = index.get(key.getKey());
+        if (entry != null && entry.isLive()) {
+            LOGGER.debug("cache entry for #{} is {}", key, entry.path);
+            hits.increment();
+            return entry;
+        }
+        misses.increment();
+        return null;
+    }
+
+    @Override
+    @Timed
+    public boolean has(ContentCacheKey key) {
+        if (findEntry(key) != null) {
+            LOGGER.debug("[{}] Cache hit.", key);
+            return true;
+        }
+        LOGGER.debug("[{}] Cache miss.", key);
+        return false;
+    }
+
+    @Override
+    @VolumeMetered
+    public InputStream get(ContentCacheKey key) {
+        final Entry entry = findEntry(key);
+        if (entry == null) {
+            LOGGER.debug("No cache for entry #{}", key);
+            return null;
+        }
+        try {
+            final InputStream content = new MappedFileInputStream(FileChannel.open(entry.path, StandardOpenOption.READ));
+            if (policy != null) {
+                policy.access(key.getKey());
+            }
+            return content;
+        } catch (NoSuchFileException e) {
+            LOGGER.debug("Cache entry #{} was removed from disk.", key, e);
+            synchronized (this) {
+                if (index.remove(key.getKey(), entry)) {
+                    forget(key.getKey(), entry);
+                }
+            }
+            return null;
+        } catch (IOException e) {
+            throw new TDPException(CommonErrorCodes.UNEXPECTED_EXCEPTION, e);
+        }
+    }
+
+    @Override
+    @VolumeMetered
+    public OutputStream put(ContentCacheKey key, TimeToLive timeToLive) {
+        final long entryTimeToLive = timeToLive(timeToLive);
+        final Path path = computeEntryPath(key, entryTimeToLive);
+        final Path temporary = Paths.get(path.toString() + TEMPORARY_SUFFIX);
+        try {
+            FileUtils.forceMkdir(path.getParent().toFile());
+            final OutputStream output = Files.newOutputStream(temporary);
+            LOGGER.debug("{} Cache add.", key);
+            return new FilterOutputStream(output) {
+
+                private boolean closed;
+
+                /** <code>true</code> if a write failed: content is incomplete and must not be published. */
+                private boolean failed;
+
+                @Override
+                public void write(int b) throws IOException {
+                    try {
+                        out.write(b);
+                    } catch (IOException | RuntimeException e) {
+                        failed = true;
+                        throw e;
+                    }
+                }
+
+                @Override
+                public void write(byte[] b, int off, int len) throws IOException {
+                    try {
+                        out.write(b, off, len);
+                    } catch (IOException | RuntimeException e) {
+                        failed = true;
+                        throw e;
+                    }
+                }
+
+                @Override
+                public void flush() throws IOException {
+                    try {
+                        out.flush();
+                    } catch (IOException | RuntimeException e) {
+                        failed = true;
+                        throw e;
+                    }
+                }
+
+                @Override
+                public void close() throws IOException {
+                    if (closed) {
+                        return;
+                    }
+                    closed = true;
+                    try {
+                        super.close();
+                    } catch (IOException e) {
+                        discard();
+                        throw e;
+                    }
+                    if (failed) {
+                        discard();
+                        return;
+                    }
+                    // Entry is visible once completely written
+                    Files.move(temporary, path, REPLACE_EXISTING, ATOMIC_MOVE);
+                    publish(key.getKey(), new Entry(path, entryTimeToLive, Files.size(path)));
+                }
+
+                // Incomplete content is never published
+                private void discard() {
+                    LOGGER.debug("[{}] Cache add failed, discard incomplete content.", key);
+                    try {
+                        Files.deleteIfExists(temporary);
+                    } catch (IOException e) {
+                        LOGGER.warn("Unable to delete incomplete cache entry '{}'.", temporary, e);
+                    }
+                }
+            };
+        } catch (IOException e) {
+            throw new TDPException(CommonErrorCodes.UNEXPECTED_EXCEPTION, e);
+        }
+    }
+
+    // Adds (or replaces) an entry in index
+    private synchronized void publish(String key, Entry entry) {
+        final Entry previous = index.put(key, entry);
+        if (previous != null) {
+            forget(key, previous);
+            if (!previous.path.equals(entry.path)) {
+                retire(previous);
+            }
+        }
+        bytesStored.addAndGet(entry.size);
+        if (policy != null) {
+            policy.add(key, entry.size);
+            evictOverflow();
+        }
+    }
+
+    // Evicts entries chosen by policy until cache is back under its maximum size
+    private synchronized void evictOverflow() {
+        if (policy == null) {
+            return;
+        }
+        for (String victim : policy.victims()) {
+            final Entry entry = index.remove(victim);
+            if (entry != null) {
+                bytesStored.addAndGet(-entry.size);
+                retire(entry);
+                evictions.increment();
+                LOGGER.debug("[{}] Evicted to respect cache maximum size ({} bytes).", victim, maxSize);
+            }
+        }
+    }
+
+    // Updates counters and policy for an entry removed from index
+    private void forget(String key, Entry entry) {
+        bytesStored.addAndGet(-entry.size);
+        if (policy != null) {
+            policy.remove(key);
+        }
+    }
+
+    // Renames an evicted entry file so janitor deletes it (it may still be read)
+    private void retire(Entry entry) {
+        try {
+            Files.move(entry.path, Paths.get(entry.path.toString() + ".0"), REPLACE_EXISTING, ATOMIC_MOVE);
+        } catch (NoSuchFileException e) {
+            LOGGER.debug("Evicted file {} no longer exists.", entry.path, e);
+        } catch (IOException e) {
+            LOGGER.error("Unable to evict {}.", entry.path.getFileName(), e);
+        }
+    }
+
+    @Override
+    @Timed
+    public synchronized void evict(ContentCacheKey key) {
+        final String prefix = key.getKey();
+        final Iterator<Map.Entry<String, Entry>> evicted = index.subMap(prefix, prefix + Character.MAX_VALUE).entrySet()
+                .iterator();
+        while (evicted.hasNext()) {
+            final Map.Entry<String, Entry> entry = evicted.next();
+            evicted.remove();
+            forget(entry.getKey(), entry.getValue());
+            retire(entry.getValue());
+        }
+        LOGGER.debug("[{}] Evict.", key);
+    }
+
+    @Override
+    @Timed
+    public synchronized void evictMatch(ContentCacheKey key) {
+        final Predicate<String> matchKey = key.getMatcher();
+        final Iterator<Map.Entry<String, Entry>> entries = index.entrySet().iterator();
+        while (entries.hasNext()) {
+            final Map.Entry<String, Entry> entry = entries.next();
+            if (matchKey.test(entry.getKey())) {
+                entries.remove();
+                forget(entry.getKey(), entry.getValue());
+                retire(entry.getValue());
+            }
+        }
+        LOGGER.debug("[{}] Evict Match.", key);
+    }
+
+    @Override
+    @Timed
+    public synchronized void move(ContentCacheKey from, ContentCacheKey to, TimeToLive toTimeToLive) {
+        if (StringUtils.equals(from.getKey(), to.getKey())) {
+            return; // Move to itself -> no op.
+        }
+        final Entry fromEntry = findEntry(from);
+        if (fromEntry == null) {
+            LOGGER.warn("Cache entry '{}' cannot be found to be moved.", from.getKey());
+            return;
+        }
+        try {
+            final long timeToLive = timeToLive(toTimeToLive);
+            final Path toPath = computeEntryPath(to, timeToLive);
+            FileUtils.forceMkdir(toPath.getParent().toFile());
+            Files.move(fromEntry.path, toPath, REPLACE_EXISTING, ATOMIC_MOVE);
+            if (index.remove(from.getKey(), fromEntry)) {
+                forget(from.getKey(), fromEntry);
+            }
+            publish(to.getKey(), new Entry(toPath, timeToLive, fromEntry.size));
+        } catch (IOException e) {
+            throw new TDPException(CommonErrorCodes.UNEXPECTED_EXCEPTION, e);
+        }
+    }
+
+    @Override
+    @Timed
+    public synchronized void clear() {
+        index.clear();
+        bytesStored.set(0);
+        if (policy != null) {
+            policy.clear();
+        }
+        try {
+            FileUtils.deleteDirectory(location.toFile());
+        } catch (IOException e) {
+            LOGGER.error("Unable to clear cache.", e);
+        }
+    }
+
+    /**
+     * Removes from index the entries that expired before <code>time</code> (files are left for janitor to delete).
+     *
+     * @param time A time in milliseconds.
+     * @return The number of entries removed from index.
+     * @see FileSystemContentCacheJanitor
+     */
+    synchronized int purge(long time) {
+        int count = 0;
+        final Iterator<Map.Entry<String, Entry>> entries = index.entrySet().iterator();
+        while (entries.hasNext()) {
+            final Map.Entry<String, Entry> entry = entries.next();
+            if (entry.getValue().timeToLive != PERMANENT && entry.getValue().timeToLive < time) {
+                entries.remove();
+                forget(entry.getKey(), entry.getValue());
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * @return The number of entries in index.
+     */
+    int size() {
+        return index.size();
+    }
+
+    /**
+     * @return A snapshot of this cache counters (lookups are counted by both {@link #has(ContentCacheKey)} and
+     * {@link #get(ContentCacheKey)}).
+     */
+    public ContentCacheStatistics getStatistics() {
+        return new ContentCacheStatistics(hits.sum(), misses.sum(), evictions.sum(), index.size(), bytesStored.get(),
+                maxSize);
+    }
+
+    /**
+     * A cache entry in index.
+     */
+    private static class Entry {
+
+        private final Path path;
+
+        /** Expiration time in milliseconds (or {@link #PERMANENT}). */
+        private final long timeToLive;
+
+        private final long size;
+
+        private Entry(Path path, long timeToLive, long size) {
+            this.path = path;
+            this.timeToLive = timeToLive;
+            this.size = size;
+        }
+
+        /**
+         * @return <code>true</code> is TTL is greater than current time (+ {@link #EVICTION_PERIOD}).
+         */
+        private boolean isLive() {
+            return timeToLive == PERMANENT || timeToLive > System.currentTimeMillis() + EVICTION_PERIOD;
+        }
+
+        // Keep entry that lives the longest when several files exist for a key
+        private static Entry latest(Entry entry1, Entry entry2) {
+            if (entry1.timeToLive == PERMANENT || entry2.timeToLive == PERMANENT) {
+                return entry1.timeToLive == PERMANENT ? entry1 : entry2;
+            }
+            return entry2.timeToLive > entry1.timeToLive ? entry2 : entry1;
+        }
+    }
+
+    /**
+     * Reads a file through memory mapped regions of at most {@link #MAPPED_REGION_SIZE} bytes.
+     */
+    private static class MappedFileInputStream extends InputStream {
+
+        private final FileChannel channel;
+
+        private final long size;
+
+        private long position;
+
+        private MappedByteBuffer region;
+
+        private MappedFileInputStream(FileChannel channel) throws IOException {
+            this.channel = channel;
+            this.size = channel.size();
+        }
+
+        // Maps next region if current one is fully read, returns false at end of file
+        private boolean next() throws IOException {
+            if (region != null && region.hasRemaining()) {
+                return true;
+            }
+            if (position >= size) {
+                return false;
+            }
+            final long length = Math.min(MAPPED_REGION_SIZE, size - position);
+            region = channel.map(FileChannel.MapMode.READ_ONLY, position, length);
+            position += length;
+            return true;
+        }
+
+        @Override
+        public int read() throws IOException {
+            return next() ? region.get() & 0xFF : -1;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            if (len == 0) {
+                return 0;
+            }
+            if (!next()) {
+                return -1;
+            }
+            final int read = Math.min(len, region.remaining());
+            region.get(b, off, read);
+            return read;
+        }
+
+        @Override
+        public long skip(long n) throws IOException {
+            long skipped = 0;
+            while (skipped < n && next()) {
+                final int step = (int) Math.min(n - skipped, region.remaining());
+                region.position(region.position() + step);
+                skipped += step;
+            }
+            return skipped;
+        }
+
+        @Override
+        public int available() {
+            final long available = (region == null ? 0 : region.remaining()) + size - position;
+            return (int) Math.min(Integer.MAX_VALUE, available);
+        }
+
+        @Override
+        public void close() throws IOException {
+            region = null;
+            channel.close();
+        }
+    }
+}
@@ -0,0 +1,152 @@
+// ============================================================================
+// Copyright (C) 2006-2016 Talend Inc. - www.talend.com
+//
+// This source code is available under agreement available at
+// https://github.com/Talend/data-prep/blob/master/LICENSE
+//
+// You should have received a copy of the agreement
+// along with this program; if not, write to Talend SA
+// 9 rue Pages 92150 Suresnes, France
+//
+// ============================================================================
+
+package org.talend.dataprep.cache.file;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * <p>
+ * A segmented LRU eviction policy for cache entries with a size (in bytes): new entries enter a <i>probation</i>
+ * segment, and are promoted to a <i>protected</i> segment when accessed again. The protected segment holds at most
+ * {@link #PROTECTED_RATIO} of the maximum size, its least recently used entries are demoted back to probation.
+ * Eviction victims are the least recently used entries of probation first: entries read once (e.g. a one shot export)
+ * do not push out frequently read ones (e.g. preparation heads).
+ * </p>
+ * <p>
+ * This class is thread safe.
+ * </p>
+ */
+class SegmentedLruPolicy {
+
+    /** Part of maximum size for the protected segment. */
+    static final double PROTECTED_RATIO = 0.8;
+
+    private final long maxSize;
+
+    private final long maxProtectedSize;
+
+    /** Entry sizes by key, from least to most recently used. */
+    private final LinkedHashMap<String, Long> probation = new LinkedHashMap<>();
+
+    private final LinkedHashMap<String, Long> protectedSegment = new LinkedHashMap<>();
+
+    private long size;
+
+    private long protectedSize;
+
+    /**
+     * @param maxSize The maximum total size (in bytes) of entries.
+     */
+    SegmentedLruPolicy(long maxSize) {
+        this.maxSize = maxSize;
+        this.maxProtectedSize = (long) (maxSize * PROTECTED_RATIO);
+    }
+
+    /**
+     * Adds (or replaces) an entry, as most recently used entry of probation.
+     *
+     * @param key The entry key.
+     * @param entrySize The entry size in bytes.
+     */
+    synchronized void add(String key, long entrySize) {
+        remove(key);
+        probation.put(key, entrySize);
+        size += entrySize;
+    }
+
+    /**
+     * Records an access to an entry (no op if entry is unknown).
+     *
+     * @param key The entry key.
+     */
+    synchronized void access(String key) {
+        final Long entrySize = probation.remove(key);
+        if (entrySize != null) {
+            // Promotion
+            protectedSegment.put(key, entrySize);
+            protectedSize += entrySize;
+            final Iterator<Map.Entry<String, Long>> demoted = protectedSegment.entrySet().iterator();
+            while (protectedSize > maxProtectedSize && demoted.hasNext()) {
+                final Map.Entry<String, Long> entry = demoted.next();
+                demoted.remove();
+                protectedSize -= entry.getValue();
+                probation.put(entry.getKey(), entry.getValue());
+            }
+        } else {
+            final Long protectedEntrySize = protectedSegment.remove(key);
+            if (protectedEntrySize != null) {
+                protectedSegment.put(key, protectedEntrySize);
+            }
+        }
+    }
+
+    /**
+     * Removes an entry (no op if entry is unknown).
+     *
+     * @param key The entry key.
+     */
+    synchronized void remove(String key) {
+        Long entrySize = probation.remove(key);
+        if (entrySize == null) {
+            entrySize = protectedSegment.remove(key);
+            if (entrySize != null) {
+                protectedSize -= entrySize;
+            }
+        }
+        if (entrySize != null) {
+            size -= entrySize;
+        }
+    }
+
+    /**
+     * Removes and returns the entries to evict to get back under maximum size.
+     *
+     * @return The keys of entries to evict (least recently used first).
+     */
+    synchronized List<String> victims() {
+        final List<String> victims = new ArrayList<>();
+        while (size > maxSize && !(probation.isEmpty() && protectedSegment.isEmpty())) {
+            final Map<String, Long> segment = probation.isEmpty() ? protectedSegment : probation;
+            final Iterator<Map.Entry<String, Long>> iterator = segment.entrySet().iterator();
+            final Map.Entry<String, Long> victim = iterator.next();
+            iterator.remove();
+            if (segment == protectedSegment) {
+                protectedSize -= victim.getValue();
+            }
+            size -= victim.getValue();
+            victims.add(victim.getKey());
+        }
+        return victims;
+    }
+
+    /**
+     * Removes all entries.
+     */
+    synchronized void clear() {
+        probation.clear();
+        protectedSegment.clear();
+        size = 0;
+        protectedSize = 0;
+    }
+
+    /**
+     * @return The total size (in bytes) of entries.
+     */
+    synchronized long size() {
+        return size;
+    }
+}
@@ -0,0 +1,238 @@
+// ============================================================================
+// Copyright (C) 2006-2016 Talend Inc. - www.talend.com
+//
+// This source code is available under agreement available at
+// https://github.com/Talend/data-prep/blob/master/LICENSE
+//
+// You should have received a copy of the agreement
+// along with this program; if not, write to Talend SA
+// 9 rue Pages 92150 Suresnes, France
+//
+// ============================================================================
+
+package org.talend.dataprep.cache.memory;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Predicate;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.talend.dataprep.cache.ContentCache;
+import org.talend.dataprep.cache.ContentCacheKey;
+import org.talend.dataprep.metrics.Timed;
+import org.talend.dataprep.metrics.VolumeMetered;
+
+/**
+ * <p>
+ * A {@link ContentCache} with an in-memory first level in front of another content cache: small entries (e.g.
+ * transformation metadata) are kept in memory when written, and then served without reading the underlying cache.
+ * First level is bounded by a total size in bytes, least recently used entries are removed first.
+ * </p>
+ * <p>
+ * Evictions are applied to both levels. As first level is local to this service, the underlying cache must not be
+ * shared with (and evicted by) other services.
+ * </p>
+ */
+public class TwoLevelContentCache implements ContentCache {
+
+    /** This class' logger. */
+    private static final Logger LOGGER = LoggerFactory.getLogger(TwoLevelContentCache.class);
+
+    /** The underlying (second level) cache. */
+    private final ContentCache delegate;
+
+    /** Maximum total size in bytes of in-memory entries. */
+    private final long maxSize;
+
+    /** Maximum size in bytes of an entry to be kept in memory. */
+    private final int maxEntrySize;
+
+    /** In-memory entries by key, from least to most recently used. */
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+
+    private long size;
+
+    /**
+     * @param delegate The underlying cache.
+     * @param maxSize Maximum total size in bytes of in-memory entries.
+     * @param maxEntrySize Maximum size in bytes of an entry to be kept in memory.
+     */
+    public TwoLevelContentCache(ContentCache delegate, long maxSize, int maxEntrySize) {
+        this.delegate = delegate;
+        this.maxSize = maxSize;
+        this.maxEntrySize = maxEntrySize;
+    }
+
+    private synchronized Entry getEntry(String key) {
+        final Entry entry = entries.get(key);
+        if (entry != null && !entry.isLive()) {
+            remove(key);
+            return null;
+        }
+        return entry;
+    }
+
+    private synchronized void putEntry(String key, Entry entry) {
+        remove(key);
+        entries.put(key, entry);
+        size += entry.content.length;
+        final Iterator<Entry> iterator = entries.values().iterator();
+        while (size > maxSize && iterator.hasNext()) {
+            size -= iterator.next().content.length;
+            iterator.remove();
+        }
+    }
+
+    private synchronized void remove(String key) {
+        final Entry removed = entries.remove(key);
+        if (removed != null) {
+            size -= removed.content.length;
+        }
+    }
+
+    private synchronized void removeIf(Predicate<String> keyMatcher) {
+        final Iterator<Map.Entry<String, Entry>> iterator = entries.entrySet().iterator();
+        while (iterator.hasNext()) {
+            final Map.Entry<String, Entry> entry = iterator.next();
+            if (keyMatcher.test(entry.getKey())) {
+                size -= entry.getValue().content.length;
+                iterator.remove();
+            }
+        }
+    }
+
+    @Override
+    @Timed
+    public boolean has(ContentCacheKey key) {
+        return getEntry(key.getKey()) != null || delegate.has(key);
+    }
+
+    @Override
+    @VolumeMetered
+    public InputStream get(ContentCacheKey key) {
+        final Entry entry = getEntry(key.getKey());
+        if (entry != null) {
+            LOGGER.debug("[{}] In-memory cache hit.", key);
+            return new ByteArrayInputStream(entry.content);
+        }
+        return delegate.get(key);
+    }
+
+    @Override
+    @VolumeMetered
+    public OutputStream put(ContentCacheKey key, TimeToLive timeToLive) {
+        final String entryKey = key.getKey();
+        remove(entryKey);
+        final long expiration = timeToLive.getTime() > 0 ? System.currentTimeMillis() + timeToLive.getTime() : -1;
+        return new FilterOutputStream(delegate.put(key, timeToLive)) {
+
+            private ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+
+            private boolean closed;
+
+            @Override
+            public void write(int b) throws IOException {
+                out.write(b);
+                if (keep(1)) {
+                    buffer.write(b);
+                }
+            }
+
+            @Override
+            public void write(byte[] b, int off, int len) throws IOException {
+                out.write(b, off, len);
+                if (keep(len)) {
+                    buffer.write(b, off, len);
+                }
+            }
+
+            // Checks if entry is still small enough to be kept in memory
+            private boolean keep(int length) {
+                if (buffer != null && buffer.size() + length > maxEntrySize) {
+                    buffer = null;
+                }
+                return buffer != null;
+            }
+
+            @Override
+            public void close() throws IOException {
+                if (closed) {
+                    return;
+                }
+                closed = true;
+                super.close();
+                if (buffer != null) {
+                    putEntry(entryKey, new Entry(buffer.toByteArray(), expiration));
+                }
+            }
+        };
+    }
+
+    @Override
+    @Timed
+    public void evict(ContentCacheKey key) {
+        final String prefix = key.getKey();
+        removeIf(entryKey -> entryKey.startsWith(prefix));
+        delegate.evict(key);
+    }
+
+    @Override
+    @Timed
+    public void evictMatch(ContentCacheKey key) {
+        removeIf(key.getMatcher());
+        delegate.evictMatch(key);
+    }
+
+    @Override
+    @Timed
+    public void move(ContentCacheKey from, ContentCacheKey to, TimeToLive toTimeToLive) {
+        remove(from.getKey());
+        remove(to.getKey());
+        delegate.move(from, to, toTimeToLive);
+    }
+
+    @Override
+    @Timed
+    public void clear() {
+        synchronized (this) {
+            entries.clear();
+            size = 0;
+        }
+        delegate.clear();
+    }
+
+    /**
+     * @return The underlying cache.
+     */
+    public ContentCache getDelegate() {
+        return delegate;
+    }
+
+    /**
+     * An in-memory cache entry.
+     */
+    private static class Entry {
+
+        private final byte[] content;
+
+        /** Expiration time in milliseconds (or -1 for permanent entries). */
+        private final long expiration;
+
+        private Entry(byte[] content, long expiration) {
+            this.content = content;
+            this.expiration = expiration;
+        }
+
+        private boolean isLive() {
+            return expiration < 0 || expiration > System.currentTimeMillis() + EVICTION_PERIOD;
+        }
+    }
+}
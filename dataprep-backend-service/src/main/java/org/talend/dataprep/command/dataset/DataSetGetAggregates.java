@@ -0,0 +1,56 @@
+//  ============================================================================
+//
+//  Copyright (C) 2006-2016 Talend Inc. - www.talend.com
+//
+//  This source code is available under agreement available at
+//  https://github.com/Talend/data-prep/blob/master/LICENSE
+//
+//  You should have received a copy of the agreement
+//  along with this program; if not, write to Talend SA
+//  9 rue Pages 92150 Suresnes, France
+//
+//  ============================================================================
+
+package org.talend.dataprep.command.dataset;
+
+import static org.talend.dataprep.command.Defaults.asNull;
+import static org.talend.dataprep.command.Defaults.convertResponse;
+
+import javax.annotation.PostConstruct;
+
+import org.apache.http.client.methods.HttpGet;
+import org.springframework.context.annotation.Scope;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.talend.dataprep.command.GenericCommand;
+import org.talend.dataprep.exception.TDPException;
+import org.talend.dataprep.exception.error.CommonErrorCodes;
+import org.talend.dataprep.transformation.aggregation.api.DataSetAggregates;
+
+/**
+ * Get the precomputed aggregates of a dataset (<code>null</code> if there are none or if they are not up to date).
+ */
+@Component
+@Scope("prototype")
+public class DataSetGetAggregates extends GenericCommand<DataSetAggregates> {
+
+    private final String dataSetId;
+
+    /**
+     * Private constructor to ensure the use of IoC
+     *
+     * @param dataSetId the dataset id.
+     */
+    private DataSetGetAggregates(final String dataSetId) {
+        super(GenericCommand.DATASET_GROUP);
+        this.dataSetId = dataSetId;
+        onError(e -> new TDPException(CommonErrorCodes.UNABLE_TO_AGGREGATE, e));
+        on(HttpStatus.NO_CONTENT, HttpStatus.NOT_FOUND).then(asNull());
+    }
+
+    @PostConstruct
+    private void init() {
+        execute(() -> new HttpGet(datasetServiceUrl + "/datasets/" + dataSetId + "/aggregates"));
+        on(HttpStatus.OK).then(convertResponse(objectMapper, DataSetAggregates.class));
+    }
+}
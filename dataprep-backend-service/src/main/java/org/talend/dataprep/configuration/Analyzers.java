@@ -13,6 +13,9 @@
 
 package org.talend.dataprep.configuration;
 
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.DisposableBean;
@@ -39,6 +42,20 @@ public class Analyzers implements DisposableBean {
     @Value("#{'${semantic.threshold:40}'}")
     private int semanticThreshold;
 
+    /** Number of threads (and column groups) for partitioned statistics, 1 or less disables partitioning. */
+    @Value("#{'${statistics.partitions:1}'}")
+    private int statisticsPartitions;
+
+    /** Min number of columns for statistics to be computed with partitions. */
+    @Value("#{'${statistics.partitions.min.columns:50}'}")
+    private int statisticsPartitionsMinColumns;
+
+    /** Number of rows handed to each partition at once. */
+    @Value("#{'${statistics.partitions.batch.size:512}'}")
+    private int statisticsPartitionsBatchSize;
+
+    private ExecutorService statisticsExecutor;
+
     @Bean
     public StatisticsAdapter statisticsAdapter() {
         return new StatisticsAdapter(semanticThreshold);
@@ -47,14 +64,23 @@ public class Analyzers implements DisposableBean {
     @Bean
     public AnalyzerService analyzerService() {
         LOGGER.info("Data Quality strategy is {} and located in {}", luceneIndexStrategy, dataqualityIndexesLocation);
-        return new AnalyzerService(dataqualityIndexesLocation, //
+        final AnalyzerService analyzerService = new AnalyzerService(dataqualityIndexesLocation, //
                 luceneIndexStrategy, //
                 CategoryRecognizerBuilder.newBuilder().lucene());
+        if (statisticsPartitions > 1) {
+            statisticsExecutor = Executors.newFixedThreadPool(statisticsPartitions);
+            analyzerService.setPartitionedAnalysis(statisticsExecutor, statisticsPartitions, statisticsPartitionsMinColumns,
+                    statisticsPartitionsBatchSize);
+        }
+        return analyzerService;
     }
 
     @Override
     public void destroy() throws Exception {
         LOGGER.info("Clean up analyzers...");
+        if (statisticsExecutor != null) {
+            statisticsExecutor.shutdownNow();
+        }
         ClassPathDirectory.destroy();
         LOGGER.info("Clean up analyzers done.");
     }
@@ -0,0 +1,73 @@
+// ============================================================================
+// Copyright (C) 2006-2016 Talend Inc. - www.talend.com
+//
+// This source code is available under agreement available at
+// https://github.com/Talend/data-prep/blob/master/LICENSE
+//
+// You should have received a copy of the agreement
+// along with this program; if not, write to Talend SA
+// 9 rue Pages 92150 Suresnes, France
+//
+// ============================================================================
+
+package org.talend.dataprep.configuration;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.BeansException;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.EnvironmentAware;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+import org.talend.dataprep.cache.ContentCache;
+import org.talend.dataprep.cache.memory.TwoLevelContentCache;
+import org.talend.dataprep.cache.noop.NoOpContentCache;
+
+/**
+ * A configuration that wraps the active {@link ContentCache} using {@link TwoLevelContentCache} when an in-memory cache
+ * size is configured (<code>service.cache.memory.max.size</code>).
+ */
+@Configuration
+public class ContentCacheConfiguration {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ContentCacheConfiguration.class);
+
+    /**
+     * <h1>{@link BeanPostProcessor} notice</h1>
+     * Don't use any {@link org.springframework.beans.factory.annotation.Autowired} in the
+     * configuration as it will prevent autowired beans to be processed by BeanPostProcessor.
+     */
+    @Component
+    public class ContentCachePostProcessor implements BeanPostProcessor, EnvironmentAware {
+
+        private Environment environment;
+
+        @Override
+        public Object postProcessBeforeInitialization(Object bean, String beanName) throws BeansException {
+            return bean;
+        }
+
+        @Override
+        public Object postProcessAfterInitialization(Object bean, String beanName) throws BeansException {
+            if (bean instanceof ContentCache && !(bean instanceof NoOpContentCache)
+                    && !(bean instanceof TwoLevelContentCache)) {
+                final long maxSize = environment.getProperty("service.cache.memory.max.size", Long.class, 0L);
+                if (maxSize <= 0) {
+                    return bean;
+                }
+                final int maxEntrySize = environment.getProperty("service.cache.memory.max.entry.size", Integer.class,
+                        64 * 1024);
+                LOGGER.info("Wrapping '{}' ({}) with an in-memory cache ({} bytes, entries up to {} bytes)...",
+                        bean.getClass(), beanName, maxSize, maxEntrySize);
+                return new TwoLevelContentCache((ContentCache) bean, maxSize, maxEntrySize);
+            }
+            return bean;
+        }
+
+        @Override
+        public void setEnvironment(Environment environment) {
+            this.environment = environment;
+        }
+    }
+}
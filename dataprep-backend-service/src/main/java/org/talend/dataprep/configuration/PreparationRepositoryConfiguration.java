@@ -24,6 +24,7 @@ import org.springframework.beans.factory.config.BeanPostProcessor;
 import org.springframework.context.ApplicationContext;
 import org.springframework.context.ApplicationContextAware;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
 import org.springframework.stereotype.Component;
 import org.talend.dataprep.api.preparation.Preparation;
 import org.talend.dataprep.api.preparation.PreparationActions;
@@ -71,7 +72,12 @@ public class PreparationRepositoryConfiguration {
                 }
                 LOGGER.info("Wrapping '{}' ({})...", bean.getClass(), beanName);
                 final BeanConversionService beanConversionService = applicationContext.getBean(BeanConversionService.class);
-                return new PersistentPreparationRepository((PreparationRepository) bean, beanConversionService);
+                final Environment environment = applicationContext.getEnvironment();
+                final int snapshotInterval = environment.getProperty("preparation.store.snapshot.interval", Integer.class,
+                        20);
+                final int cacheSize = environment.getProperty("preparation.store.actions.cache.size", Integer.class, 1000);
+                return new PersistentPreparationRepository((PreparationRepository) bean, beanConversionService,
+                        snapshotInterval, cacheSize);
             }
             return bean;
         }
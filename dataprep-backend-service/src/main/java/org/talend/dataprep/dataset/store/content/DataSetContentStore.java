@@ -158,6 +158,57 @@ public abstract class DataSetContentStore {
         return dataSetRowStream;
     }
 
+    /**
+     * Gives the store a chance to prepare an optimized (already parsed and quality-checked) version of the data set
+     * content once import and analysis are over. Implementations that support it are expected to serve
+     * {@link #stream(DataSetMetadata, long)} from this version as long as it remains consistent with the data set
+     * metadata (content format and columns). Normalization reads the whole content and is therefore expected to run
+     * <b>without</b> the data set lock: prepared version is a temporary one tagged with the metadata it was computed
+     * for, it only gets served once {@link NormalizedContent#publish(DataSetMetadata) published} (under data set lock).
+     * Default implementation prepares nothing.
+     *
+     * @param dataSetMetadata The {@link DataSetMetadata data set} to normalize content for.
+     * @return The prepared (not yet served) normalized content.
+     */
+    public NormalizedContent normalize(DataSetMetadata dataSetMetadata) {
+        return NormalizedContent.NONE;
+    }
+
+    /**
+     * A normalized content prepared by {@link #normalize(DataSetMetadata)}, either to be published or discarded.
+     */
+    public interface NormalizedContent {
+
+        /** A normalized content for stores that do not support normalization. */
+        NormalizedContent NONE = new NormalizedContent() {
+
+            @Override
+            public boolean publish(DataSetMetadata dataSetMetadata) {
+                return false;
+            }
+
+            @Override
+            public void discard() {
+                // Nothing to discard.
+            }
+        };
+
+        /**
+         * Atomically makes the normalized content the one served for the data set, unless data set changed since
+         * normalization (in which case normalized content is discarded). Callers are expected to hold the data set lock
+         * and to provide the data set metadata as read under this lock.
+         *
+         * @param dataSetMetadata The current {@link DataSetMetadata data set} metadata.
+         * @return <code>true</code> if normalized content is now served, <code>false</code> if it was discarded.
+         */
+        boolean publish(DataSetMetadata dataSetMetadata);
+
+        /**
+         * Discards the normalized content without publishing it.
+         */
+        void discard();
+    }
+
     /**
      * Returns the {@link DataSetMetadata data set} content as "raw" (i.e. the content supplied by user upon data set
      * creation). Same as calling {@link #getAsRaw(DataSetMetadata, long)}} (DataSetMetadata, long)} with limit = -1.
@@ -69,6 +69,11 @@ class LimitDataSetContent implements DataSetContentLimit {
             return delegate.get(dataSetMetadata);
         }
 
+        @Override
+        public NormalizedContent normalize(DataSetMetadata dataSetMetadata) {
+            return delegate.normalize(dataSetMetadata);
+        }
+
         @Override
         public void delete(DataSetMetadata dataSetMetadata) {
             delegate.delete(dataSetMetadata);
@@ -26,6 +26,7 @@ public enum TransformationErrorCodes implements ErrorCode {
     // 400
     BAD_LOOKUP_PARAMETER(400),
     UNABLE_TO_USE_EXPORT(400, "format"),
+    TOO_MANY_ROWS_TO_EXPORT(400, "format", "limit"),
     EXPORT_IN_PROGRESS(400),
     UNSUPPORTED_SAMPLE_TYPE(400, "type"),
     UNSUPPORTED_SAMPLE_STATUS_UPDATE(400, "status"),
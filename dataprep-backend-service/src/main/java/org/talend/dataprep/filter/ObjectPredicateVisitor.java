@@ -12,11 +12,18 @@
 
 package org.talend.dataprep.filter;
 
-import java.lang.reflect.InvocationTargetException;
+import java.lang.invoke.CallSite;
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.Method;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.StringTokenizer;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
 import java.util.function.Predicate;
 import java.util.regex.Pattern;
 
@@ -29,10 +36,26 @@ import org.talend.dataprep.api.dataset.DataSetMetadata;
 import org.talend.tql.model.*;
 import org.talend.tql.visitor.IASTVisitor;
 
+/**
+ * Compiles a TQL filter into a {@link Predicate} on objects of a target class. Field paths are resolved to getters once
+ * per target class, and getters are called through generated accessors (see {@link LambdaMetafactory}) instead of
+ * reflection.
+ *
+ * @see ObjectPredicates to get cached predicates for filters.
+ */
 public class ObjectPredicateVisitor implements IASTVisitor {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(ObjectPredicateVisitor.class);
 
+    /** Accessors for field paths, per target class. */
+    private static final ClassValue<Map<String, Accessor>> ACCESSORS = new ClassValue<Map<String, Accessor>>() {
+
+        @Override
+        protected Map<String, Accessor> computeValue(Class<?> type) {
+            return new ConcurrentHashMap<>();
+        }
+    };
+
     private final Class targetClass;
 
     public ObjectPredicateVisitor(Class targetClass) {
@@ -55,12 +78,16 @@ public class ObjectPredicateVisitor implements IASTVisitor {
     }
 
     @Override
-    public Method[] visit(FieldReference fieldReference) {
-        return getMethods(fieldReference);
+    public Accessor visit(FieldReference fieldReference) {
+        return getAccessor(fieldReference.getPath());
     }
 
-    private Method[] getMethods(FieldReference fieldReference) {
-        return getMethods(fieldReference.getPath());
+    /**
+     * @param field A field path (e.g. "lifecycle.importing").
+     * @return The accessor for the field path in target class (accessors are compiled once per class and path).
+     */
+    private Accessor getAccessor(String field) {
+        return ACCESSORS.get(targetClass).computeIfAbsent(field, f -> new Accessor(f, getMethods(f)));
     }
 
     private Method[] getMethods(String field) {
@@ -96,14 +123,6 @@ public class ObjectPredicateVisitor implements IASTVisitor {
         return methods;
     }
 
-    private Object invoke(Object o, Method[] methods) throws InvocationTargetException, IllegalAccessException {
-        Object currentObject = o;
-        for (Method method : methods) {
-            currentObject = method.invoke(currentObject);
-        }
-        return currentObject;
-    }
-
     @Override
     public Predicate<Object> visit(Expression expression) {
         throw new UnsupportedOperationException();
@@ -145,10 +164,10 @@ public class ObjectPredicateVisitor implements IASTVisitor {
         // Handle predicate on "_class"
         if (path.endsWith("._class")) {
             String field = StringUtils.substringBefore(path, "._class");
-            final Method[] methods = getMethods(field);
+            final Accessor accessor = getAccessor(field);
             return o -> {
                 try {
-                    final Object fieldValue = invoke(o, methods);
+                    final Object fieldValue = accessor.apply(o);
                     return String.valueOf(value).equals(fieldValue.getClass().getName());
                 } catch (Exception e) {
                     LOGGER.error("Unable to evaluate comparison on '{}'", field);
@@ -157,18 +176,18 @@ public class ObjectPredicateVisitor implements IASTVisitor {
             };
         }
 
-        // Standard methods
-        final Method[] getters = (Method[]) comparisonExpression.getField().accept(this);
+        // Standard fields
+        final Accessor accessor = (Accessor) comparisonExpression.getField().accept(this);
         final ComparisonOperator operator = comparisonExpression.getOperator();
         switch (operator.getOperator()) {
         case EQ:
-            return eq(value, getters);
+            return eq(value, accessor);
         case LT:
-            return lt(value, getters);
+            return lt(value, accessor);
         case GT:
-            return gt(value, getters);
+            return gt(value, accessor);
         case NEQ:
-            return neq(value, getters);
+            return neq(value, accessor);
         case LET:
         case GET:
         default:
@@ -177,45 +196,45 @@ public class ObjectPredicateVisitor implements IASTVisitor {
 
     }
 
-    private Predicate<Object> neq(Object value, Method[] getters) {
+    private Predicate<Object> neq(Object value, Accessor accessor) {
         return m -> {
             try {
-                return !ObjectUtils.equals(invoke(m, getters), value);
+                return !ObjectUtils.equals(accessor.apply(m), value);
             } catch (Exception e) {
-                LOGGER.error("Unable to use NEQ for '{}' with '{}'.", getters, value, e);
+                LOGGER.error("Unable to use NEQ for '{}' with '{}'.", accessor, value, e);
                 return false;
             }
         };
     }
 
-    private Predicate<Object> gt(Object value, Method[] getters) {
+    private Predicate<Object> gt(Object value, Accessor accessor) {
         return m -> {
             try {
-                return Double.parseDouble(String.valueOf(invoke(m, getters))) > Double.parseDouble(String.valueOf(value));
+                return Double.parseDouble(String.valueOf(accessor.apply(m))) > Double.parseDouble(String.valueOf(value));
             } catch (Exception e) {
-                LOGGER.error("Unable to use GT for '{}' with '{}'.", getters, value, e);
+                LOGGER.error("Unable to use GT for '{}' with '{}'.", accessor, value, e);
                 return false;
             }
         };
     }
 
-    private Predicate<Object> lt(Object value, Method[] getters) {
+    private Predicate<Object> lt(Object value, Accessor accessor) {
         return m -> {
             try {
-                return Double.parseDouble(String.valueOf(invoke(m, getters))) < Double.parseDouble(String.valueOf(value));
+                return Double.parseDouble(String.valueOf(accessor.apply(m))) < Double.parseDouble(String.valueOf(value));
             } catch (Exception e) {
-                LOGGER.error("Unable to use LT for '{}' with '{}'.", getters, value, e);
+                LOGGER.error("Unable to use LT for '{}' with '{}'.", accessor, value, e);
                 return false;
             }
         };
     }
 
-    private Predicate<Object> eq(Object value, Method[] getters) {
+    private Predicate<Object> eq(Object value, Accessor accessor) {
         return m -> {
             try {
-                return StringUtils.equalsIgnoreCase(String.valueOf(invoke(m, getters)), String.valueOf(value));
+                return StringUtils.equalsIgnoreCase(String.valueOf(accessor.apply(m)), String.valueOf(value));
             } catch (Exception e) {
-                LOGGER.error("Unable to use EQ for '{}' with '{}'.", getters, value, e);
+                LOGGER.error("Unable to use EQ for '{}' with '{}'.", accessor, value, e);
                 return false;
             }
         };
@@ -223,12 +242,12 @@ public class ObjectPredicateVisitor implements IASTVisitor {
 
     @Override
     public Predicate<Object> visit(FieldInExpression fieldInExpression) {
-        final Method[] methods = getMethods(fieldInExpression.getFieldName());
+        final Accessor accessor = getAccessor(fieldInExpression.getFieldName());
         final LiteralValue[] values = fieldInExpression.getValues();
         if (values.length > 0) {
-            Predicate<Object> predicate = eq(values[0].accept(this), methods);
+            Predicate<Object> predicate = eq(values[0].accept(this), accessor);
             for (int i = 1; i < values.length; i++) {
-                predicate = predicate.or(eq(values[i].accept(this), methods));
+                predicate = predicate.or(eq(values[i].accept(this), accessor));
             }
             return predicate;
         } else {
@@ -238,12 +257,12 @@ public class ObjectPredicateVisitor implements IASTVisitor {
 
     @Override
     public Predicate<Object> visit(FieldIsEmptyExpression fieldIsEmptyExpression) {
-        final Method[] getters = getMethods(fieldIsEmptyExpression.getFieldName());
+        final Accessor accessor = getAccessor(fieldIsEmptyExpression.getFieldName());
         return o -> {
             try {
-                return StringUtils.isEmpty(String.valueOf(invoke(o, getters)));
+                return StringUtils.isEmpty(String.valueOf(accessor.apply(o)));
             } catch (Exception e) {
-                LOGGER.error("Unable to use EMPTY for '{}'.", getters, e);
+                LOGGER.error("Unable to use EMPTY for '{}'.", accessor, e);
                 return false;
             }
         };
@@ -261,13 +280,13 @@ public class ObjectPredicateVisitor implements IASTVisitor {
 
     @Override
     public Predicate<Object> visit(FieldMatchesRegex fieldMatchesRegex) {
-        final Method[] methods = getMethods(fieldMatchesRegex.getFieldName());
+        final Accessor accessor = getAccessor(fieldMatchesRegex.getFieldName());
         final Pattern pattern = Pattern.compile(fieldMatchesRegex.getRegex());
         return o -> {
             try {
-                return pattern.matcher(String.valueOf(invoke(o, methods))).matches();
+                return pattern.matcher(String.valueOf(accessor.apply(o))).matches();
             } catch (Exception e) {
-                LOGGER.error("Unable to use MATCHES for '{}'.", methods, e);
+                LOGGER.error("Unable to use MATCHES for '{}'.", accessor, e);
                 return false;
             }
         };
@@ -280,9 +299,9 @@ public class ObjectPredicateVisitor implements IASTVisitor {
 
     @Override
     public Predicate<Object> visit(FieldBetweenExpression fieldBetweenExpression) {
-        final Method[] method = getMethods(fieldBetweenExpression.getFieldName());
-        return gt(fieldBetweenExpression.getLeft().accept(this), method)
-                .and(lt(fieldBetweenExpression.getRight().accept(this), method));
+        final Accessor accessor = getAccessor(fieldBetweenExpression.getFieldName());
+        return gt(fieldBetweenExpression.getLeft().accept(this), accessor)
+                .and(lt(fieldBetweenExpression.getRight().accept(this), accessor));
     }
 
     @Override
@@ -293,14 +312,66 @@ public class ObjectPredicateVisitor implements IASTVisitor {
 
     @Override
     public Predicate<Object> visit(FieldContainsExpression fieldContainsExpression) {
-        final Method[] methods = getMethods(fieldContainsExpression.getFieldName());
+        final Accessor accessor = getAccessor(fieldContainsExpression.getFieldName());
         return o -> {
             try {
-                return StringUtils.containsIgnoreCase(String.valueOf(invoke(o, methods)), fieldContainsExpression.getValue());
+                return StringUtils.containsIgnoreCase(String.valueOf(accessor.apply(o)), fieldContainsExpression.getValue());
             } catch (Exception e) {
-                LOGGER.error("Unable to use CONTAINS for '{}'.", methods, e);
+                LOGGER.error("Unable to use CONTAINS for '{}'.", accessor, e);
                 return false;
             }
         };
     }
+
+    /**
+     * Reads a field path (a chain of getters) on an object.
+     */
+    static class Accessor implements Function<Object, Object> {
+
+        private final String path;
+
+        private final Function<Object, Object>[] getters;
+
+        private Accessor(String path, Method[] methods) {
+            this.path = path;
+            this.getters = new Function[methods.length];
+            for (int i = 0; i < methods.length; i++) {
+                getters[i] = compile(methods[i]);
+            }
+        }
+
+        private static Function<Object, Object> compile(Method method) {
+            try {
+                final MethodHandles.Lookup lookup = MethodHandles.lookup();
+                final MethodHandle getter = lookup.unreflect(method);
+                final CallSite site = LambdaMetafactory.metafactory(lookup, "apply", MethodType.methodType(Function.class),
+                        MethodType.methodType(Object.class, Object.class), getter, getter.type().wrap());
+                return (Function<Object, Object>) site.getTarget().invokeExact();
+            } catch (Throwable e) {
+                // e.g. getter declared in a class not visible from here, fall back to reflection
+                LOGGER.debug("Unable to generate accessor for '{}', using reflection.", method, e);
+                return o -> {
+                    try {
+                        return method.invoke(o);
+                    } catch (Exception invokeException) {
+                        throw new IllegalStateException(invokeException);
+                    }
+                };
+            }
+        }
+
+        @Override
+        public Object apply(Object o) {
+            Object currentObject = o;
+            for (Function<Object, Object> getter : getters) {
+                currentObject = getter.apply(currentObject);
+            }
+            return currentObject;
+        }
+
+        @Override
+        public String toString() {
+            return path;
+        }
+    }
 }
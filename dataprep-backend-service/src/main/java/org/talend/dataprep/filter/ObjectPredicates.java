@@ -0,0 +1,74 @@
+// ============================================================================
+// Copyright (C) 2006-2016 Talend Inc. - www.talend.com
+//
+// This source code is available under agreement available at
+// https://github.com/Talend/data-prep/blob/master/LICENSE
+//
+// You should have received a copy of the agreement
+// along with this program; if not, write to Talend SA
+// 9 rue Pages 92150 Suresnes, France
+//
+// ============================================================================
+
+package org.talend.dataprep.filter;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Predicate;
+
+import org.talend.tql.model.TqlElement;
+import org.talend.tql.parser.Tql;
+
+/**
+ * Caches for TQL filters on objects: parsed filters, and predicates compiled by {@link ObjectPredicateVisitor} per
+ * target class. Same filters (e.g. the data set list filters of the UI) are repeatedly evaluated, this saves both TQL
+ * parsing and predicate compilation for them.
+ */
+public class ObjectPredicates {
+
+    /** Maximum number of filters kept in each cache (least recently used filters are evicted first). */
+    static final int MAX_SIZE = 1000;
+
+    private static final Map<String, TqlElement> PARSED = lruCache();
+
+    private static final ClassValue<Map<String, Predicate<Object>>> COMPILED = new ClassValue<Map<String, Predicate<Object>>>() {
+
+        @Override
+        protected Map<String, Predicate<Object>> computeValue(Class<?> type) {
+            return lruCache();
+        }
+    };
+
+    private ObjectPredicates() {
+    }
+
+    private static <T> Map<String, T> lruCache() {
+        return Collections.synchronizedMap(new LinkedHashMap<String, T>(16, 0.75f, true) {
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, T> eldest) {
+                return size() > MAX_SIZE;
+            }
+        });
+    }
+
+    /**
+     * @param filter A TQL filter.
+     * @return The parsed filter (parsed filters are shared, they must not be modified).
+     */
+    public static TqlElement parse(String filter) {
+        return PARSED.computeIfAbsent(filter, Tql::parse);
+    }
+
+    /**
+     * @param targetClass The class of the objects to be filtered.
+     * @param filter A TQL filter.
+     * @return A (thread safe) predicate for objects of <code>targetClass</code> that match <code>filter</code>.
+     * @see ObjectPredicateVisitor
+     */
+    public static Predicate<Object> compile(Class<?> targetClass, String filter) {
+        return COMPILED.get(targetClass).computeIfAbsent(filter,
+                f -> (Predicate<Object>) parse(f).accept(new ObjectPredicateVisitor(targetClass)));
+    }
+}
@@ -6,8 +6,7 @@ import java.util.stream.Stream;
 
 import org.apache.commons.lang.ObjectUtils;
 import org.talend.dataprep.api.preparation.Identifiable;
-import org.talend.dataprep.filter.ObjectPredicateVisitor;
-import org.talend.tql.parser.Tql;
+import org.talend.dataprep.filter.ObjectPredicates;
 
 public abstract class ObjectPreparationRepository implements PreparationRepository {
 
@@ -21,8 +20,7 @@ public abstract class ObjectPreparationRepository implements PreparationReposito
 
     @Override
     public <T extends Identifiable> boolean exist(Class<T> clazz, String filter) {
-        final Predicate<Object> accept = (Predicate<Object>) Tql.parse(filter)
-                .accept(new ObjectPredicateVisitor(clazz));
+        final Predicate<Object> accept = ObjectPredicates.compile(clazz, filter);
         return source(clazz).filter(accept).findAny().isPresent();
     }
 
@@ -33,8 +31,7 @@ public abstract class ObjectPreparationRepository implements PreparationReposito
 
     @Override
     public <T extends Identifiable> Stream<T> list(Class<T> clazz, String filter) {
-        final Predicate<Object> accept = (Predicate<Object>) Tql.parse(filter)
-                .accept(new ObjectPredicateVisitor(clazz));
+        final Predicate<Object> accept = ObjectPredicates.compile(clazz, filter);
         return source(clazz).filter(accept);
     }
 
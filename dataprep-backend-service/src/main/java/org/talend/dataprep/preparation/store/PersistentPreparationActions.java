@@ -0,0 +1,123 @@
+// ============================================================================
+// Copyright (C) 2006-2016 Talend Inc. - www.talend.com
+//
+// This source code is available under agreement available at
+// https://github.com/Talend/data-prep/blob/master/LICENSE
+//
+// You should have received a copy of the agreement
+// along with this program; if not, write to Talend SA
+// 9 rue Pages 92150 Suresnes, France
+//
+// ============================================================================
+
+
+package org.talend.dataprep.preparation.store;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.talend.dataprep.api.preparation.Action;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+/**
+ * A {@link org.talend.dataprep.api.preparation.PreparationActions} for persistent storage: either a snapshot of all
+ * the actions, or only the actions appended to its parent actions (a delta). Actions are rebuilt from the closest
+ * snapshot, so steps only store the actions they add.
+ *
+ * @see PersistentPreparationRepository
+ */
+public class PersistentPreparationActions extends PersistentIdentifiable {
+
+    /** Serialization UID. */
+    private static final long serialVersionUID = 1L;
+
+    /** Id of the parent actions, <code>null</code> for a snapshot. */
+    private String parentId;
+
+    /** Number of deltas since the closest snapshot (0 for a snapshot). */
+    private int depth;
+
+    /** Total number of actions. */
+    private int size;
+
+    /** All the actions for a snapshot, the actions appended to the parent actions for a delta. */
+    private List<Action> actions = new ArrayList<>();
+
+    /** The app version. */
+    @JsonProperty("app-version")
+    private String appVersion;
+
+    /**
+     * Default empty constructor.
+     */
+    public PersistentPreparationActions() {
+        // needed for Serialization
+    }
+
+    @Override
+    public String id() {
+        return getId();
+    }
+
+    @Override
+    public String getId() {
+        return id;
+    }
+
+    @Override
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public String getParentId() {
+        return parentId;
+    }
+
+    public void setParentId(String parentId) {
+        this.parentId = parentId;
+    }
+
+    public int getDepth() {
+        return depth;
+    }
+
+    public void setDepth(int depth) {
+        this.depth = depth;
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    public void setSize(int size) {
+        this.size = size;
+    }
+
+    public List<Action> getActions() {
+        return actions;
+    }
+
+    public void setActions(List<Action> actions) {
+        this.actions = actions;
+    }
+
+    public String getAppVersion() {
+        return appVersion;
+    }
+
+    public void setAppVersion(String appVersion) {
+        this.appVersion = appVersion;
+    }
+
+    @Override
+    public String toString() {
+        return "PersistentPreparationActions{" + //
+                "id='" + id + '\'' + //
+                ", parentId='" + parentId + '\'' + //
+                ", depth=" + depth + //
+                ", size=" + size + //
+                ", appVersion='" + appVersion + '\'' + //
+                '}';
+    }
+}
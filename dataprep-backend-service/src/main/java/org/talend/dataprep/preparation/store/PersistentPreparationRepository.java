@@ -12,28 +12,64 @@
 
 package org.talend.dataprep.preparation.store;
 
-import java.util.Collection;
+import java.util.*;
+import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.talend.dataprep.api.preparation.*;
 import org.talend.dataprep.conversions.BeanConversionService;
 
 /**
+ * <p>
  * A {@link PreparationRepository} implementation that splits {@link Identifiable identifiable} into multiple ones for
  * persistent storage.
+ * </p>
+ * <p>
+ * {@link PreparationActions} are stored as {@link PersistentPreparationActions}: actions created by
+ * {@link PreparationActions#append(List)} only store the appended actions, and a snapshot of all actions is stored
+ * every <code>snapshotInterval</code> appends. Stored actions are cached (their id is a hash of their content, so they
+ * never change). Actions stored as a whole by previous versions are migrated when read.
+ * </p>
  *
  * @see PersistentIdentifiable
  * @see PreparationUtils#scatter(Identifiable)
  */
 public class PersistentPreparationRepository implements PreparationRepository {
 
+    /** This class' logger. */
+    private static final Logger LOGGER = LoggerFactory.getLogger(PersistentPreparationRepository.class);
+
     private final BeanConversionService beanConversionService;
 
     private final PreparationRepository delegate;
 
-    public PersistentPreparationRepository(PreparationRepository delegate, BeanConversionService beanConversionService) {
+    /** Max number of stored actions read to rebuild actions (a snapshot is stored once reached). */
+    private final int snapshotInterval;
+
+    /** Stored actions by id, least recently used first. */
+    private final Map<String, PersistentPreparationActions> actionsCache;
+
+    /**
+     * @param delegate the repository that actually stores objects.
+     * @param beanConversionService the conversion service to and from persistent objects.
+     * @param snapshotInterval max number of stored actions read to rebuild actions.
+     * @param cacheSize max number of cached stored actions.
+     */
+    public PersistentPreparationRepository(PreparationRepository delegate, BeanConversionService beanConversionService,
+            int snapshotInterval, int cacheSize) {
         this.delegate = delegate;
         this.beanConversionService = beanConversionService;
+        this.snapshotInterval = snapshotInterval;
+        this.actionsCache = Collections
+                .synchronizedMap(new LinkedHashMap<String, PersistentPreparationActions>(16, 0.75f, true) {
+
+                    @Override
+                    protected boolean removeEldestEntry(Map.Entry<String, PersistentPreparationActions> eldest) {
+                        return size() > cacheSize;
+                    }
+                });
         initContent();
     }
 
@@ -56,12 +92,18 @@ public class PersistentPreparationRepository implements PreparationRepository {
 
     @Override
     public <T extends Identifiable> boolean exist(Class<T> clazz, String filter) {
+        if (PreparationActions.class.equals(clazz)) {
+            return delegate.exist(PersistentPreparationActions.class, filter) || delegate.exist(clazz, filter);
+        }
         final Class<? extends Identifiable> targetClass = selectPersistentClass(clazz);
         return delegate.exist(targetClass, filter);
     }
 
     @Override
     public <T extends Identifiable> Stream<T> list(Class<T> clazz) {
+        if (PreparationActions.class.equals(clazz)) {
+            return (Stream<T>) listActions(delegate.list(PersistentPreparationActions.class), delegate.list(clazz));
+        }
         final Class<T> targetClass = (Class<T>) selectPersistentClass(clazz);
         return delegate.list(targetClass) //
                 .map(i -> beanConversionService.convert(delegate.get(i.getId(), targetClass), clazz));
@@ -69,6 +111,10 @@ public class PersistentPreparationRepository implements PreparationRepository {
 
     @Override
     public <T extends Identifiable> Stream<T> list(Class<T> clazz, String filter) {
+        if (PreparationActions.class.equals(clazz)) {
+            return (Stream<T>) listActions(delegate.list(PersistentPreparationActions.class, filter),
+                    delegate.list(clazz, filter));
+        }
         final Class<T> targetClass = (Class<T>) selectPersistentClass(clazz);
         return delegate.list(targetClass, filter) //
                 .map(i -> beanConversionService.convert(delegate.get(i.getId(), targetClass), clazz));
@@ -78,6 +124,10 @@ public class PersistentPreparationRepository implements PreparationRepository {
     public void add(Identifiable object) {
         final Collection<Identifiable> identifiableList = PreparationUtils.scatter(object);
         for (Identifiable identifiable : identifiableList) {
+            if (identifiable instanceof PreparationActions) {
+                addActions((PreparationActions) identifiable);
+                continue;
+            }
             final Class<? extends Identifiable> targetClass = selectPersistentClass(identifiable.getClass());
             final Identifiable storedIdentifiable = beanConversionService.convert(identifiable, targetClass);
             delegate.add(storedIdentifiable);
@@ -86,6 +136,9 @@ public class PersistentPreparationRepository implements PreparationRepository {
 
     @Override
     public <T extends Identifiable> T get(String id, Class<T> clazz) {
+        if (PreparationActions.class.equals(clazz)) {
+            return (T) getActions(id);
+        }
         final Class<T> targetClass = (Class<T>) selectPersistentClass(clazz);
         return beanConversionService.convert(delegate.get(id, targetClass), clazz);
     }
@@ -93,12 +146,201 @@ public class PersistentPreparationRepository implements PreparationRepository {
     @Override
     public void clear() {
         delegate.clear();
+        actionsCache.clear();
         initContent();
     }
 
     @Override
     public void remove(Identifiable object) {
+        if (object instanceof PreparationActions) {
+            removeActions((PreparationActions) object);
+            return;
+        }
         final Class<? extends Identifiable> targetClass = selectPersistentClass(object.getClass());
         delegate.remove(beanConversionService.convert(object, targetClass));
     }
+
+    /**
+     * Store actions, as the actions appended to its parent actions if possible.
+     *
+     * @param actions the actions to store.
+     */
+    private void addActions(PreparationActions actions) {
+        final String id = actions.id();
+        final PersistentPreparationActions stored = getStoredActions(id);
+        if (stored != null && stored.getSize() == actions.getActions().size()) {
+            LOGGER.trace("Actions #{} already stored.", id);
+            return;
+        }
+
+        final int depth = getDepth(actions.getParentId(), actions.getParentSize()) + 1;
+        if (depth == 0 || depth >= snapshotInterval) {
+            storeSnapshot(id, actions.getActions(), actions.getAppVersion());
+            return;
+        }
+        final List<Action> allActions = actions.getActions();
+        final PersistentPreparationActions delta = new PersistentPreparationActions();
+        delta.setId(id);
+        delta.setParentId(actions.getParentId());
+        delta.setDepth(depth);
+        delta.setSize(allActions.size());
+        delta.setActions(copy(allActions.subList(actions.getParentSize(), allActions.size())));
+        delta.setAppVersion(actions.getAppVersion());
+        delegate.add(delta);
+        actionsCache.put(id, delta);
+    }
+
+    /**
+     * @param parentId the parent actions id (may be <code>null</code>).
+     * @param parentSize the number of actions of the parent actions.
+     * @return the depth of the stored parent actions, or -1 if actions cannot be stored as a delta of the parent.
+     */
+    private int getDepth(String parentId, int parentSize) {
+        if (parentId == null) {
+            return -1;
+        }
+        final PersistentPreparationActions parent = getStoredActions(parentId);
+        if (parent != null) {
+            return parent.getSize() == parentSize ? parent.getDepth() : -1;
+        }
+        final PreparationActions legacyParent = delegate.get(parentId, PreparationActions.class);
+        return legacyParent != null && legacyParent.getActions().size() == parentSize ? 0 : -1;
+    }
+
+    private PersistentPreparationActions storeSnapshot(String id, List<Action> actions, String appVersion) {
+        final PersistentPreparationActions snapshot = new PersistentPreparationActions();
+        snapshot.setId(id);
+        snapshot.setSize(actions.size());
+        snapshot.setActions(copy(actions));
+        snapshot.setAppVersion(appVersion);
+        delegate.add(snapshot);
+        actionsCache.put(id, snapshot);
+        return snapshot;
+    }
+
+    private PersistentPreparationActions getStoredActions(String id) {
+        if (id == null) {
+            return null;
+        }
+        final PersistentPreparationActions cached = actionsCache.get(id);
+        if (cached != null) {
+            return cached;
+        }
+        final PersistentPreparationActions stored = delegate.get(id, PersistentPreparationActions.class);
+        if (stored != null) {
+            actionsCache.put(id, stored);
+        }
+        return stored;
+    }
+
+    /**
+     * Rebuild actions from the closest snapshot.
+     *
+     * @param id the actions id.
+     * @return the actions (new instances that can be modified by caller), or <code>null</code> if not found.
+     */
+    private PreparationActions getActions(String id) {
+        final Deque<PersistentPreparationActions> chain = new ArrayDeque<>();
+        PersistentPreparationActions head = null;
+        String currentId = id;
+        List<Action> snapshot = Collections.emptyList();
+        while (currentId != null) {
+            PersistentPreparationActions stored = getStoredActions(currentId);
+            if (stored == null) {
+                stored = migrate(currentId);
+                if (stored == null) {
+                    if (!chain.isEmpty()) {
+                        LOGGER.error("Unable to read actions #{}: parent actions #{} not found.", id, currentId);
+                    }
+                    return null;
+                }
+            }
+            if (head == null) {
+                head = stored;
+            }
+            if (stored.getParentId() == null) {
+                snapshot = stored.getActions();
+            } else {
+                chain.push(stored);
+            }
+            currentId = stored.getParentId();
+        }
+        if (head == null) {
+            return null;
+        }
+
+        // Copy actions as callers may modify them
+        final List<Action> actions = new ArrayList<>(head.getSize());
+        actions.addAll(copy(snapshot));
+        while (!chain.isEmpty()) {
+            actions.addAll(copy(chain.pop().getActions()));
+        }
+        final PreparationActions preparationActions = new PreparationActions(actions, head.getAppVersion());
+        preparationActions.setId(id);
+        return preparationActions;
+    }
+
+    /**
+     * Store actions stored as a whole by a previous version as a snapshot.
+     *
+     * @param id the actions id.
+     * @return the migrated actions, or <code>null</code> if there are no such actions.
+     */
+    private PersistentPreparationActions migrate(String id) {
+        final PreparationActions legacy = delegate.get(id, PreparationActions.class);
+        if (legacy == null) {
+            return null;
+        }
+        LOGGER.debug("Migrating actions #{} to snapshot.", id);
+        final PersistentPreparationActions snapshot = storeSnapshot(id, legacy.getActions(), legacy.getAppVersion());
+        if (delegate.get(id, PreparationActions.class) != null) {
+            delegate.remove(legacy);
+        }
+        return snapshot;
+    }
+
+    /**
+     * Remove actions. Actions stored as a delta of these actions are stored again as snapshots.
+     *
+     * @param actions the actions to remove.
+     */
+    private void removeActions(PreparationActions actions) {
+        final String id = actions.id();
+        final List<String> children = delegate.list(PersistentPreparationActions.class, "parentId = '" + id + "'") //
+                .map(Identifiable::id) //
+                .collect(Collectors.toList());
+        for (String child : children) {
+            final PreparationActions childActions = getActions(child);
+            if (childActions != null) {
+                storeSnapshot(child, childActions.getActions(), childActions.getAppVersion());
+            }
+        }
+        actionsCache.remove(id);
+        final PersistentPreparationActions stored = new PersistentPreparationActions();
+        stored.setId(id);
+        delegate.remove(stored);
+        if (delegate.get(id, PreparationActions.class) != null) {
+            delegate.remove(actions);
+        }
+    }
+
+    private Stream<PreparationActions> listActions(Stream<PersistentPreparationActions> stored,
+            Stream<? extends Identifiable> legacy) {
+        return Stream.concat(stored, legacy) //
+                .map(Identifiable::id) //
+                .distinct() //
+                .map(this::getActions) //
+                .filter(Objects::nonNull);
+    }
+
+    private static List<Action> copy(List<Action> actions) {
+        final List<Action> copy = new ArrayList<>(actions.size());
+        for (Action action : actions) {
+            copy.add(Action.Builder.builder() //
+                    .withName(action.getName()) //
+                    .withParameters(action.getParameters()) //
+                    .build());
+        }
+        return copy;
+    }
 }
@@ -19,7 +19,11 @@ import java.io.File;
 import java.io.FileInputStream;
 import java.io.FileOutputStream;
 import java.io.IOException;
-import java.util.Arrays;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 import java.util.stream.Stream;
 import java.util.zip.GZIPInputStream;
 import java.util.zip.GZIPOutputStream;
@@ -40,7 +44,10 @@ import org.talend.dataprep.api.preparation.PreparationActions;
 import org.talend.dataprep.api.preparation.Step;
 import org.talend.dataprep.exception.TDPException;
 import org.talend.dataprep.exception.error.CommonErrorCodes;
+import org.talend.dataprep.filter.ObjectPredicates;
 import org.talend.dataprep.preparation.store.ObjectPreparationRepository;
+import org.talend.dataprep.preparation.store.PersistentPreparation;
+import org.talend.dataprep.preparation.store.PersistentStep;
 import org.talend.dataprep.preparation.store.PreparationRepository;
 import org.talend.dataprep.security.Security;
 import org.talend.dataprep.util.FilesHelper;
@@ -49,7 +56,15 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 
 
 /**
+ * <p>
  * File system implementation of preparation repository.
+ * </p>
+ * <p>
+ * Objects of a class are all read once (on first access to this class), then kept in memory and updated on
+ * {@link #add(Identifiable)} and {@link #remove(Identifiable)}, so reads never touch the disk. Filters on a single
+ * property equality (e.g. <code>dataSetId = '1234'</code>) of preparations (data set id, name, head) and steps (parent)
+ * are answered by indexes.
+ * </p>
  */
 @Component
 @ConditionalOnProperty(name = "preparation.store", havingValue = "file")
@@ -58,6 +73,22 @@ public class FileSystemPreparationRepository extends ObjectPreparationRepository
     /** This class' logger. */
     private static final Logger LOG = LoggerFactory.getLogger(FileSystemPreparationRepository.class);
 
+    /** Filters that may be answered by an index: equality of a property and a value. */
+    private static final Pattern EQUALITY_FILTER = Pattern.compile("^\\s*(\\w+)\\s*=\\s*'([^']*)'\\s*$");
+
+    /** Indexed properties by class. */
+    private static final Map<Class<?>, Map<String, Function<Object, String>>> INDEXED_PROPERTIES = new HashMap<>();
+
+    static {
+        final Map<String, Function<Object, String>> preparationProperties = new HashMap<>();
+        preparationProperties.put("dataSetId", p -> ((PersistentPreparation) p).getDataSetId());
+        preparationProperties.put("name", p -> ((PersistentPreparation) p).getName());
+        preparationProperties.put("headId", p -> ((PersistentPreparation) p).getHeadId());
+        INDEXED_PROPERTIES.put(PersistentPreparation.class, preparationProperties);
+        INDEXED_PROPERTIES.put(PersistentStep.class,
+                Collections.singletonMap("parentId", s -> ((PersistentStep) s).getParentId()));
+    }
+
     /** The dataprep ready jackson builder. */
     @Autowired
     private ObjectMapper mapper;
@@ -78,6 +109,9 @@ public class FileSystemPreparationRepository extends ObjectPreparationRepository
     @Autowired
     private Security security;
 
+    /** Objects of the classes read so far, by class. */
+    private final Map<Class<?>, ClassCache> caches = new ConcurrentHashMap<>();
+
     /**
      * Make sure the root folder is there.
      */
@@ -92,7 +126,7 @@ public class FileSystemPreparationRepository extends ObjectPreparationRepository
      * @see PreparationRepository#add(Identifiable)
      */
     @Override
-    public void add(Identifiable object) {
+    public synchronized void add(Identifiable object) {
 
         // defensive programming
         if (object == null) {
@@ -110,22 +144,88 @@ public class FileSystemPreparationRepository extends ObjectPreparationRepository
                     ExceptionContext.build().put("id", object.id()));
         }
         LOG.debug("{} #{} saved", object.getClass().getSimpleName(), object.id());
+        final ClassCache cache = caches.get(object.getClass());
+        if (cache != null) {
+            cache.put(object);
+        }
     }
 
     @Override
     public <T extends Identifiable> Stream<T> source(Class<T> clazz) {
+        return getCache(clazz).objects.values().stream() //
+                .filter(entry -> clazz.isAssignableFrom(entry.getClass())) // filter out the unwanted objects (should not be
+                                                                           // necessary but you never know)
+                .map(clazz::cast);
+    }
+
+    @Override
+    public <T extends Identifiable> T get(String id, Class<T> clazz) {
+        if (id == null) {
+            return null;
+        }
+        final Identifiable object = getCache(clazz).objects.get(id);
+        return clazz.isInstance(object) ? clazz.cast(object) : null;
+    }
+
+    @Override
+    public <T extends Identifiable> boolean exist(Class<T> clazz, String filter) {
+        return list(clazz, filter).findAny().isPresent();
+    }
+
+    @Override
+    public <T extends Identifiable> Stream<T> list(Class<T> clazz, String filter) {
+        final Matcher matcher = EQUALITY_FILTER.matcher(filter);
+        if (!matcher.matches()) {
+            return super.list(clazz, filter);
+        }
+        final String property = matcher.group(1);
+        final String value = matcher.group(2);
+        final Stream<String> ids;
+        if ("id".equals(property)) {
+            ids = Stream.of(value);
+        } else {
+            ids = getCache(clazz).find(property, value);
+            if (ids == null) {
+                return super.list(clazz, filter);
+            }
+        }
+        // Candidates are still filtered (e.g. values with a different case)
+        return ids.map(id -> get(id, clazz)) //
+                .filter(Objects::nonNull) //
+                .filter(ObjectPredicates.compile(clazz, filter));
+    }
+
+    /**
+     * @return the cache of the given class, all objects of this class are read if not read yet.
+     */
+    private ClassCache getCache(Class<?> clazz) {
+        final ClassCache cache = caches.get(clazz);
+        if (cache != null) {
+            return cache;
+        }
+        synchronized (this) {
+            return caches.computeIfAbsent(clazz, this::load);
+        }
+    }
+
+    private ClassCache load(Class<?> clazz) {
+        final ClassCache cache = new ClassCache(INDEXED_PROPERTIES.getOrDefault(clazz, Collections.emptyMap()));
         File[] files = getRootFolder().listFiles();
         if (files == null) {
             LOG.error("error listing preparations");
             files = new File[0];
         }
-        final Stream<File> stream = Arrays.stream(files);
-        return stream.filter(file -> startsWith(file.getName(), clazz.getSimpleName())) //
-                .map(file -> read(file.getName(), clazz)) // read all files
-                .filter(entry -> entry != null) // filter out null entries
-                .filter(entry -> clazz.isAssignableFrom(entry.getClass())) // filter out the unwanted objects (should not be
-                                                                           // necessary but you never know)
-                .onClose(stream::close);
+        final String prefix = clazz.getSimpleName() + '-';
+        for (File file : files) {
+            if (startsWith(file.getName(), prefix)) {
+                final Identifiable object = read(file.getName(), (Class<? extends Identifiable>) clazz);
+                if (object != null) {
+                    cache.put(object);
+                }
+            }
+        }
+        LOG.debug("{} {} read from {}", cache.objects.size(), clazz.getSimpleName(), preparationsLocation);
+        return cache;
     }
 
     private <T extends Identifiable> T read(String id, Class<T> clazz) {
@@ -155,13 +255,14 @@ public class FileSystemPreparationRepository extends ObjectPreparationRepository
      * @see PreparationRepository#clear()
      */
     @Override
-    public void clear() {
+    public synchronized void clear() {
 
         // clear all files
         final File[] preparations = getRootFolder().listFiles();
         for (File file : preparations) {
             FilesHelper.deleteQuietly(file);
         }
+        caches.clear();
 
         // add the default files
         add(rootContent);
@@ -174,12 +275,16 @@ public class FileSystemPreparationRepository extends ObjectPreparationRepository
      * @see PreparationRepository#remove(Identifiable)
      */
     @Override
-    public void remove(Identifiable object) {
+    public synchronized void remove(Identifiable object) {
         if (object == null) {
             return;
         }
         final File file = getIdentifiableFile(object);
         FilesHelper.deleteQuietly(file);
+        final ClassCache cache = caches.get(object.getClass());
+        if (cache != null) {
+            cache.remove(object.id());
+        }
         LOG.debug("identifiable {} #{} removed", object.getClass().getSimpleName(), object.id());
     }
 
@@ -229,4 +334,70 @@ public class FileSystemPreparationRepository extends ObjectPreparationRepository
     private File getRootFolder() {
         return new File(preparationsLocation);
     }
+
+    /**
+     * The objects of a class and their indexes.
+     */
+    private static class ClassCache {
+
+        /** Objects by id. */
+        private final Map<String, Identifiable> objects = new ConcurrentHashMap<>();
+
+        /** Indexed properties by name. */
+        private final Map<String, Function<Object, String>> properties;
+
+        /** Object ids by property name and (case insensitive) property value. */
+        private final Map<String, Map<String, Set<String>>> indexes = new HashMap<>();
+
+        private ClassCache(Map<String, Function<Object, String>> properties) {
+            this.properties = properties;
+            properties.keySet().forEach(property -> indexes.put(property, new HashMap<>()));
+        }
+
+        private synchronized void put(Identifiable object) {
+            remove(object.id());
+            objects.put(object.id(), object);
+            properties.forEach((property, accessor) -> indexes.get(property)
+                    .computeIfAbsent(indexKey(accessor.apply(object)), k -> new HashSet<>()) //
+                    .add(object.id()));
+        }
+
+        private synchronized void remove(String id) {
+            final Identifiable previous = objects.remove(id);
+            if (previous != null) {
+                properties.forEach((property, accessor) -> {
+                    final Map<String, Set<String>> index = indexes.get(property);
+                    final String key = indexKey(accessor.apply(previous));
+                    final Set<String> ids = index.get(key);
+                    if (ids != null && ids.remove(id) && ids.isEmpty()) {
+                        index.remove(key);
+                    }
+                });
+            }
+        }
+
+        /**
+         * @return the ids of objects which property may be equal to the value, or <code>null</code> if property is not
+         * indexed.
+         */
+        private synchronized Stream<String> find(String property, String value) {
+            final Map<String, Set<String>> index = indexes.get(property);
+            if (index == null) {
+                return null;
+            }
+            return new ArrayList<>(index.getOrDefault(indexKey(value), Collections.emptySet())).stream();
+        }
+
+        /**
+         * @return the index key of a value: filters compare values ignoring case (and null as "null").
+         */
+        private static String indexKey(String value) {
+            final String text = String.valueOf(value);
+            final char[] key = new char[text.length()];
+            for (int i = 0; i < key.length; i++) {
+                key[i] = Character.toLowerCase(Character.toUpperCase(text.charAt(i)));
+            }
+            return new String(key);
+        }
+    }
 }
@@ -14,17 +14,15 @@ package org.talend.dataprep.transformation.actions.datablending;
 
 import static org.apache.commons.lang.StringUtils.EMPTY;
 import static org.talend.dataprep.transformation.actions.datablending.Lookup.Parameters.LOOKUP_DS_ID;
+import static org.talend.dataprep.transformation.actions.datablending.Lookup.Parameters.LOOKUP_JOIN_ON;
 
-import java.io.IOException;
 import java.io.InputStream;
-import java.util.HashMap;
-import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.UUID;
 
 import javax.annotation.PostConstruct;
 
-import org.apache.commons.lang.StringUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.DisposableBean;
@@ -35,17 +33,18 @@ import org.springframework.stereotype.Component;
 import org.springframework.web.context.WebApplicationContext;
 import org.talend.dataprep.api.dataset.ColumnMetadata;
 import org.talend.dataprep.api.dataset.DataSet;
+import org.talend.dataprep.api.dataset.DataSetMetadata;
 import org.talend.dataprep.api.dataset.RowMetadata;
 import org.talend.dataprep.api.dataset.row.DataSetRow;
 import org.talend.dataprep.command.dataset.DataSetGet;
-import org.talend.dataprep.exception.TDPException;
-import org.talend.dataprep.exception.error.TransformationErrorCodes;
+import org.talend.dataprep.command.dataset.DataSetGetMetadata;
 
 import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
 /**
- *
+ * A {@link LookupRowMatcher} that reads lookup rows from a {@link LookupIndex} shared with other transformations (see
+ * {@link LookupIndexManager}).
  */
 @Component
 @Scope("prototype")
@@ -63,21 +62,22 @@ public class DataSetLookupRowMatcher implements DisposableBean, LookupRowMatcher
     @Autowired
     private WebApplicationContext context;
 
+    /** The shared lookup indexes. */
+    @Autowired
+    private LookupIndexManager indexManager;
+
     /** The dataset id to lookup. */
     private String datasetId;
 
-    /** The dataset lookup input stream. */
-    private InputStream input;
+    /** The column id to join on. */
+    private String joinOn;
 
-    /** Lookup row iterator. */
-    private Iterator<DataSetRow> lookupIterator;
+    /** Reference to the lookup index (released when this matcher is destroyed). */
+    private LookupIndexManager.Reference index;
 
     /** Default empty row for the parsed lookup dataset. */
     private DataSetRow emptyRow;
 
-    /** Cache of dataset row. */
-    private Map<String, DataSetRow> cache = new HashMap<>();
-
     /**
      * Default constructor.
      *
@@ -85,46 +85,48 @@ public class DataSetLookupRowMatcher implements DisposableBean, LookupRowMatcher
      */
     public DataSetLookupRowMatcher(Map<String, String> parameters) {
         this.datasetId = parameters.get(LOOKUP_DS_ID.getKey());
+        this.joinOn = parameters.get(LOOKUP_JOIN_ON.getKey());
     }
 
     /**
-     * Open the connection to get the dataset content and init the row iterator.
+     * Acquire the lookup index (built from the dataset content if needed).
      */
     @PostConstruct
     private void init() {
-
-        final DataSetGet dataSetGet = context.getBean(DataSetGet.class, datasetId, true, true);
-
-        LOGGER.debug("opening {}", datasetId);
-
-        this.input = dataSetGet.execute();
-        try {
-            JsonParser jsonParser = mapper.getFactory().createParser(input);
-            DataSet lookup = mapper.readerFor(DataSet.class).readValue(jsonParser);
-            this.lookupIterator = lookup.getRecords().iterator();
-            this.emptyRow = getEmptyRow(lookup.getMetadata().getRowMetadata().getColumns());
-        } catch (IOException e) {
-            throw new TDPException(TransformationErrorCodes.UNABLE_TO_READ_LOOKUP_DATASET, e);
-        }
+        final DataSetMetadata metadata = context.getBean(DataSetGetMetadata.class, datasetId).execute();
+        // Without modification date, index is not shared
+        final String version = metadata == null ? UUID.randomUUID().toString()
+                : String.valueOf(metadata.getLastModificationDate());
+
+        this.index = indexManager.acquire(datasetId, joinOn, version, file -> {
+            LOGGER.debug("opening {}", datasetId);
+            final DataSetGet dataSetGet = context.getBean(DataSetGet.class, datasetId, true, true);
+            try (InputStream input = dataSetGet.execute()) {
+                JsonParser jsonParser = mapper.getFactory().createParser(input);
+                DataSet lookup = mapper.readerFor(DataSet.class).readValue(jsonParser);
+                final RowMetadata rowMetadata = lookup.getMetadata().getRowMetadata();
+                return LookupIndex.build(file, joinOn, rowMetadata, lookup.getRecords().iterator());
+            } finally {
+                LOGGER.debug("connection to {} closed", datasetId);
+            }
+        });
+        this.emptyRow = getEmptyRow(index.getIndex().getRowMetadata().getColumns());
     }
 
     /**
-     * Gently close the input stream as well as the http client.
+     * Release the lookup index.
      */
     @Override
     public void destroy() {
-        try {
-            input.close();
-        } catch (IOException e) {
-            LOGGER.warn("Error cleaning LookupRowMatcher", e);
+        if (index != null) {
+            index.close();
         }
-        LOGGER.debug("connection to {} closed", datasetId);
     }
 
     /**
-     * Return the matching row from the loaded dataset.
+     * Return the matching row from the lookup index.
      *
-     * @param joinOn the column id to join on.
+     * @param joinOn the column id to join on (index is built on the join column of the lookup parameters).
      * @param joinValue the join value.
      * @return the matching row or an empty one based on the
      */
@@ -136,32 +138,12 @@ public class DataSetLookupRowMatcher implements DisposableBean, LookupRowMatcher
             return emptyRow;
         }
 
-        // first, let's look in the cache
-        if (cache.containsKey(joinValue)) {
-            return cache.get(joinValue);
-        }
-
-        // if the value is not cached, let's update the cache
-        while (lookupIterator.hasNext()) {
-            DataSetRow nextRow = lookupIterator.next();
-            final String nextRowJoinValue = nextRow.get(joinOn);
-
-            // update the cache no matter what so that the next joinValue may be already cached !
-            if (!cache.containsKey(nextRowJoinValue)) {
-                cache.put(nextRowJoinValue, nextRow.clone());
-                LOGGER.trace("row found and cached for {} -> {}", nextRowJoinValue, nextRow.values());
-            }
-
-            // if matching row is found, let's stop here
-            if (StringUtils.equals(joinValue, nextRowJoinValue)) {
-                return nextRow;
-            }
+        final Map<String, String> values = index.getIndex().get(joinValue);
+        if (values == null) {
+            LOGGER.trace("no row found for {}, returning an empty row", joinValue);
+            return emptyRow;
         }
-
-        // the join value was not found and the cache is fully updated, so let's cache an empty row and return it
-        cache.put(joinValue, this.emptyRow);
-        LOGGER.trace("no row found for {}, returning an empty row", joinValue);
-        return this.emptyRow;
+        return new DataSetRow(emptyRow.getRowMetadata(), values);
     }
 
     @Override
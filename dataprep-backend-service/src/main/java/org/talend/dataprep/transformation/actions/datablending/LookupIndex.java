@@ -0,0 +1,342 @@
+// ============================================================================
+// Copyright (C) 2006-2016 Talend Inc. - www.talend.com
+//
+// This source code is available under agreement available at
+// https://github.com/Talend/data-prep/blob/master/LICENSE
+//
+// You should have received a copy of the agreement
+// along with this program; if not, write to Talend SA
+// 9 rue Pages 92150 Suresnes, France
+//
+// ============================================================================
+
+package org.talend.dataprep.transformation.actions.datablending;
+
+import static java.nio.channels.FileChannel.MapMode.READ_ONLY;
+import static java.nio.channels.FileChannel.MapMode.READ_WRITE;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.nio.file.StandardOpenOption.*;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.talend.dataprep.api.dataset.ColumnMetadata;
+import org.talend.dataprep.api.dataset.RowMetadata;
+import org.talend.dataprep.api.dataset.row.DataSetRow;
+
+/**
+ * <p>
+ * A read only hash index of a lookup dataset on its join column, stored in a memory mapped file so lookup rows do not
+ * use heap memory: rows are written once in the file, followed by an open addressing hash table of row offsets.
+ * </p>
+ * <p>
+ * As for a map, the first row of a join value is returned. This class is thread safe.
+ * </p>
+ *
+ * @see LookupIndexManager
+ */
+public class LookupIndex implements Closeable {
+
+    /** This class' logger. */
+    private static final Logger LOGGER = LoggerFactory.getLogger(LookupIndex.class);
+
+    /** Size of mapped regions for rows (a row never spans two regions). */
+    private static final int REGION_SIZE = 1 << 30;
+
+    /** Bits of a table slot used for row offset (others keep bits of the join value hash). */
+    private static final int OFFSET_BITS = 40;
+
+    private static final long OFFSET_MASK = (1L << OFFSET_BITS) - 1;
+
+    /** The index file. */
+    private final Path file;
+
+    /** The join column id. */
+    private final String joinOn;
+
+    /** The lookup dataset row metadata. */
+    private final RowMetadata rowMetadata;
+
+    /** Column ids in the order values are written in rows. */
+    private final String[] columns;
+
+    /** Mapped regions of rows. */
+    private final MappedByteBuffer[] regions;
+
+    /** Mapped hash table: each slot is 0 (empty) or hash bits and (row offset + 1). */
+    private final MappedByteBuffer table;
+
+    /** Number of slots of the hash table (a power of 2). */
+    private final int capacity;
+
+    /** Number of distinct join values. */
+    private final int size;
+
+    private LookupIndex(Path file, String joinOn, RowMetadata rowMetadata, String[] columns,
+            MappedByteBuffer[] regions, MappedByteBuffer table, int capacity, int size) {
+        this.file = file;
+        this.joinOn = joinOn;
+        this.rowMetadata = rowMetadata;
+        this.columns = columns;
+        this.regions = regions;
+        this.table = table;
+        this.capacity = capacity;
+        this.size = size;
+    }
+
+    /**
+     * Build the index of the given rows in a new file.
+     *
+     * @param file the index file to create.
+     * @param joinOn the join column id.
+     * @param rowMetadata the lookup dataset row metadata.
+     * @param rows the lookup dataset rows.
+     * @return the index.
+     * @throws IOException if the index file cannot be written.
+     */
+    public static LookupIndex build(Path file, String joinOn, RowMetadata rowMetadata, Iterator<DataSetRow> rows)
+            throws IOException {
+        final List<ColumnMetadata> columnMetadata = rowMetadata.getColumns();
+        final String[] columns = new String[columnMetadata.size()];
+        for (int i = 0; i < columns.length; i++) {
+            columns[i] = columnMetadata.get(i).getId();
+        }
+
+        // Write rows: [record length][key length][key]([value length or -1][value])*, never across regions
+        long dataSize = 0;
+        int rowCount = 0;
+        try (DataOutputStream output = new DataOutputStream(
+                new BufferedOutputStream(Files.newOutputStream(file, CREATE_NEW, WRITE)))) {
+            final ByteArrayOutputStream recordBytes = new ByteArrayOutputStream();
+            final DataOutputStream record = new DataOutputStream(recordBytes);
+            while (rows.hasNext()) {
+                final DataSetRow row = rows.next();
+                final String key = row.get(joinOn);
+                if (key == null) {
+                    continue;
+                }
+                recordBytes.reset();
+                writeString(record, key);
+                for (String column : columns) {
+                    writeString(record, row.get(column));
+                }
+                final int length = Integer.BYTES + recordBytes.size();
+                if (length > REGION_SIZE) {
+                    throw new IOException("Lookup row for '" + key + "' is too large.");
+                }
+                final long remaining = REGION_SIZE - dataSize % REGION_SIZE;
+                if (remaining < length) {
+                    for (long i = 0; i < remaining; i++) {
+                        output.write(0);
+                    }
+                    dataSize += remaining;
+                }
+                output.writeInt(length);
+                recordBytes.writeTo(output);
+                dataSize += length;
+                rowCount++;
+            }
+        }
+
+        final int capacity = tableCapacity(rowCount);
+        try (FileChannel channel = FileChannel.open(file, READ, WRITE)) {
+            final int regionCount = (int) ((dataSize + REGION_SIZE - 1) / REGION_SIZE);
+            final MappedByteBuffer[] regions = new MappedByteBuffer[regionCount];
+            for (int i = 0; i < regionCount; i++) {
+                final long start = (long) i * REGION_SIZE;
+                regions[i] = channel.map(READ_ONLY, start, Math.min(REGION_SIZE, dataSize - start));
+            }
+            final MappedByteBuffer table = channel.map(READ_WRITE, dataSize, (long) capacity * Long.BYTES);
+            final LookupIndex index = new LookupIndex(file, joinOn, rowMetadata, columns, regions, table, capacity,
+                    fillTable(regions, table, capacity));
+            LOGGER.debug("Lookup index of {} rows ({} distinct join values) built in {}", rowCount, index.size, file);
+            return index;
+        }
+    }
+
+    /**
+     * @return the number of slots of the hash table for the given row count (load factor is 0.75 at most).
+     */
+    private static int tableCapacity(int rowCount) {
+        final long minimum = Math.max(2L, rowCount * 4L / 3 + 1);
+        if (minimum > Integer.MAX_VALUE / Long.BYTES / 2) {
+            throw new IllegalArgumentException("Too many lookup rows (" + rowCount + ").");
+        }
+        return Integer.highestOneBit((int) minimum - 1) << 1;
+    }
+
+    /**
+     * Insert all rows (in file order) in the hash table.
+     *
+     * @return the number of distinct join values.
+     */
+    private static int fillTable(MappedByteBuffer[] regions, MappedByteBuffer table, int capacity) {
+        int size = 0;
+        for (int region = 0; region < regions.length; region++) {
+            final ByteBuffer buffer = regions[region].duplicate();
+            while (buffer.remaining() >= Integer.BYTES) {
+                final int position = buffer.position();
+                final int length = buffer.getInt();
+                if (length == 0) {
+                    break; // Padding until end of region
+                }
+                final String key = readString(buffer);
+                final long offset = (long) region * REGION_SIZE + position;
+                final int hash = hash(key);
+                int slot = hash & (capacity - 1);
+                boolean duplicate = false;
+                for (long entry = table.getLong(slot * Long.BYTES); entry != 0; entry = table
+                        .getLong(slot * Long.BYTES)) {
+                    if (tag(entry) == tag(hash) && key.equals(readKey(regions, entry))) {
+                        duplicate = true;
+                        break;
+                    }
+                    slot = (slot + 1) & (capacity - 1);
+                }
+                if (!duplicate) {
+                    table.putLong(slot * Long.BYTES, ((long) tag(hash) << OFFSET_BITS) | (offset + 1));
+                    size++;
+                }
+                buffer.position(position + length);
+            }
+        }
+        return size;
+    }
+
+    private static int hash(String key) {
+        final int hash = key.hashCode();
+        return hash ^ (hash >>> 16);
+    }
+
+    /**
+     * @return the hash bits kept in table slots.
+     */
+    private static int tag(int hash) {
+        return hash >>> Integer.SIZE - (Long.SIZE - OFFSET_BITS);
+    }
+
+    private static int tag(long entry) {
+        return (int) (entry >>> OFFSET_BITS);
+    }
+
+    /**
+     * @return a buffer positioned on the key of the row of the given table entry.
+     */
+    private static ByteBuffer row(MappedByteBuffer[] regions, long entry) {
+        final long offset = (entry & OFFSET_MASK) - 1;
+        final ByteBuffer buffer = regions[(int) (offset / REGION_SIZE)].duplicate();
+        buffer.position((int) (offset % REGION_SIZE) + Integer.BYTES);
+        return buffer;
+    }
+
+    private static String readKey(MappedByteBuffer[] regions, long entry) {
+        return readString(row(regions, entry));
+    }
+
+    private static void writeString(DataOutputStream output, String value) throws IOException {
+        if (value == null) {
+            output.writeInt(-1);
+        } else {
+            final byte[] bytes = value.getBytes(UTF_8);
+            output.writeInt(bytes.length);
+            output.write(bytes);
+        }
+    }
+
+    private static String readString(ByteBuffer buffer) {
+        final int length = buffer.getInt();
+        if (length < 0) {
+            return null;
+        }
+        final byte[] bytes = new byte[length];
+        buffer.get(bytes);
+        return new String(bytes, UTF_8);
+    }
+
+    /**
+     * @param joinValue the join value to look for.
+     * @return the values (by column id) of the first row with this join value, or <code>null</code> if there is none.
+     */
+    public Map<String, String> get(String joinValue) {
+        if (joinValue == null) {
+            return null;
+        }
+        final int hash = hash(joinValue);
+        int slot = hash & (capacity - 1);
+        for (long entry = table.getLong(slot * Long.BYTES); entry != 0; entry = table.getLong(slot * Long.BYTES)) {
+            if (tag(entry) == tag(hash)) {
+                final ByteBuffer row = row(regions, entry);
+                if (joinValue.equals(readString(row))) {
+                    final Map<String, String> values = new HashMap<>(columns.length * 2);
+                    for (String column : columns) {
+                        values.put(column, readString(row));
+                    }
+                    return values;
+                }
+            }
+            slot = (slot + 1) & (capacity - 1);
+        }
+        return null;
+    }
+
+    /**
+     * @return the join column id.
+     */
+    public String getJoinOn() {
+        return joinOn;
+    }
+
+    /**
+     * @return the lookup dataset row metadata.
+     */
+    public RowMetadata getRowMetadata() {
+        return rowMetadata;
+    }
+
+    /**
+     * @return the number of distinct join values.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @return the size in bytes of the index file.
+     */
+    public long getSizeInBytes() {
+        long sizeInBytes = (long) capacity * Long.BYTES;
+        for (MappedByteBuffer region : regions) {
+            sizeInBytes += region.capacity();
+        }
+        return sizeInBytes;
+    }
+
+    /**
+     * Delete the index file. Mapped memory is released once the index is garbage collected, so index must no longer
+     * be used.
+     */
+    @Override
+    public void close() {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            LOGGER.warn("Unable to delete lookup index file {}", file, e);
+            file.toFile().deleteOnExit();
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "LookupIndex{file=" + file + ", joinOn='" + joinOn + "', size=" + size + '}';
+    }
+}
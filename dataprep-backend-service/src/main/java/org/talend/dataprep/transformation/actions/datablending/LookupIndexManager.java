@@ -0,0 +1,301 @@
+// ============================================================================
+// Copyright (C) 2006-2016 Talend Inc. - www.talend.com
+//
+// This source code is available under agreement available at
+// https://github.com/Talend/data-prep/blob/master/LICENSE
+//
+// You should have received a copy of the agreement
+// along with this program; if not, write to Talend SA
+// 9 rue Pages 92150 Suresnes, France
+//
+// ============================================================================
+
+package org.talend.dataprep.transformation.actions.datablending;
+
+import static org.talend.daikon.exception.ExceptionContext.build;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.*;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import java.util.stream.Stream;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+
+import org.apache.commons.io.FileUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.talend.dataprep.exception.TDPException;
+import org.talend.dataprep.exception.error.TransformationErrorCodes;
+
+/**
+ * <p>
+ * Shares {@link LookupIndex lookup indexes} between concurrent transformations: an index is built once per lookup
+ * dataset, join column and dataset version, and then used by all transformations that acquire it.
+ * </p>
+ * <p>
+ * Indexes are reference counted. When the total size of indexes exceeds the configured budget, least recently used
+ * indexes that are not in use are removed. Indexes of a previous dataset version are removed once no longer used.
+ * </p>
+ */
+@Component
+public class LookupIndexManager {
+
+    /** This class' logger. */
+    private static final Logger LOGGER = LoggerFactory.getLogger(LookupIndexManager.class);
+
+    /** Directory of index files. */
+    private final Path location;
+
+    /** Maximum total size in bytes of indexes (indexes in use are never removed, so it may be exceeded). */
+    private final long maxSize;
+
+    /** Indexes by dataset id and join column, from least to most recently used. */
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+
+    /**
+     * Constructor.
+     *
+     * @param location directory of index files.
+     * @param maxSize maximum total size in bytes of indexes.
+     */
+    @Autowired
+    public LookupIndexManager(@Value("${lookup.index.file.location:${java.io.tmpdir}/dataprep/lookup}") String location,
+            @Value("${lookup.index.max.size:1073741824}") long maxSize) {
+        this.location = Paths.get(location);
+        this.maxSize = maxSize;
+    }
+
+    /**
+     * Remove index files of a previous run (indexes are not reloaded).
+     */
+    @PostConstruct
+    public void init() throws IOException {
+        Files.createDirectories(location);
+        try (Stream<Path> files = Files.list(location)) {
+            files.filter(Files::isRegularFile).forEach(file -> FileUtils.deleteQuietly(file.toFile()));
+        }
+    }
+
+    /**
+     * Remove all indexes.
+     */
+    @PreDestroy
+    public synchronized void clear() {
+        entries.values().forEach(Entry::retire);
+        entries.clear();
+    }
+
+    /**
+     * Acquire the index of a lookup dataset, built with <code>builder</code> if no index exists for this dataset
+     * version. Returned reference must be closed once index is no longer used.
+     *
+     * @param dataSetId the lookup dataset id.
+     * @param joinOn the join column id.
+     * @param version the lookup dataset version (index is built again when version changes).
+     * @param builder the index builder.
+     * @return a reference to the index.
+     */
+    public Reference acquire(String dataSetId, String joinOn, String version, Builder builder) {
+        final String key = dataSetId + '/' + joinOn;
+        final Entry entry;
+        synchronized (this) {
+            final Entry current = entries.get(key);
+            if (current != null && current.version.equals(version)) {
+                entry = current;
+            } else {
+                if (current != null) {
+                    LOGGER.debug("Lookup dataset {} changed, removing previous index.", dataSetId);
+                    entries.remove(key);
+                    current.retire();
+                }
+                entry = new Entry(version, () -> {
+                    final Path file = location.resolve(UUID.randomUUID().toString());
+                    try {
+                        return builder.build(file);
+                    } catch (IOException | RuntimeException e) {
+                        Files.deleteIfExists(file);
+                        throw e;
+                    }
+                });
+                entries.put(key, entry);
+            }
+            entry.references++;
+        }
+
+        entry.task.run(); // Only builds the index once
+        try {
+            final LookupIndex index = entry.task.get();
+            synchronized (this) {
+                evictOverflow();
+            }
+            return new Reference(entry, index);
+        } catch (InterruptedException | ExecutionException e) {
+            synchronized (this) {
+                entries.remove(key, entry);
+                entry.references--;
+            }
+            if (e instanceof InterruptedException) {
+                Thread.currentThread().interrupt();
+            }
+            final Throwable cause = e instanceof ExecutionException ? e.getCause() : e;
+            if (cause instanceof TDPException) {
+                throw (TDPException) cause;
+            }
+            throw new TDPException(TransformationErrorCodes.UNABLE_TO_READ_LOOKUP_DATASET, cause,
+                    build().put("id", dataSetId));
+        }
+    }
+
+    /**
+     * Remove least recently used indexes that are not in use until total size fits the budget.
+     */
+    private void evictOverflow() {
+        long size = 0;
+        for (Entry entry : entries.values()) {
+            size += entry.getSize();
+        }
+        final Iterator<Entry> iterator = entries.values().iterator();
+        while (size > maxSize && iterator.hasNext()) {
+            final Entry entry = iterator.next();
+            if (entry.references == 0 && entry.task.isDone()) {
+                LOGGER.debug("Removing lookup index {} (total size {} exceeds {}).", entry, size, maxSize);
+                size -= entry.getSize();
+                iterator.remove();
+                entry.retire();
+            }
+        }
+        if (size > maxSize) {
+            LOGGER.info("Lookup indexes in use take {} bytes (more than {}).", size, maxSize);
+        }
+    }
+
+    private synchronized void release(Entry entry) {
+        entry.references--;
+        if (entry.references == 0) {
+            if (entry.retired) {
+                entry.close();
+            } else {
+                evictOverflow();
+            }
+        }
+    }
+
+    /**
+     * @return the number of indexes.
+     */
+    synchronized int size() {
+        return entries.size();
+    }
+
+    /**
+     * Builds the index of a lookup dataset.
+     */
+    @FunctionalInterface
+    public interface Builder {
+
+        /**
+         * @param file the index file to create.
+         * @return the built index.
+         * @throws IOException if the lookup dataset cannot be read or the index cannot be written.
+         */
+        LookupIndex build(Path file) throws IOException;
+    }
+
+    /**
+     * A reference to an index, to be closed once index is no longer used.
+     */
+    public class Reference implements Closeable {
+
+        private final Entry entry;
+
+        private final LookupIndex index;
+
+        private boolean closed;
+
+        private Reference(Entry entry, LookupIndex index) {
+            this.entry = entry;
+            this.index = index;
+        }
+
+        /**
+         * @return the index.
+         */
+        public LookupIndex getIndex() {
+            return index;
+        }
+
+        @Override
+        public synchronized void close() {
+            if (!closed) {
+                closed = true;
+                release(entry);
+            }
+        }
+    }
+
+    /**
+     * An index (possibly being built) and its usage.
+     */
+    private static class Entry {
+
+        private final String version;
+
+        private final FutureTask<LookupIndex> task;
+
+        /** Number of unreleased references (guarded by manager). */
+        private int references;
+
+        /** <code>true</code> if index is no longer managed and must be closed when no longer used. */
+        private boolean retired;
+
+        private Entry(String version, Callable<LookupIndex> builder) {
+            this.version = version;
+            this.task = new FutureTask<>(builder);
+        }
+
+        private long getSize() {
+            final LookupIndex index = getIndex();
+            return index == null ? 0 : index.getSizeInBytes();
+        }
+
+        private LookupIndex getIndex() {
+            if (!task.isDone()) {
+                return null;
+            }
+            try {
+                return task.get();
+            } catch (InterruptedException | ExecutionException e) {
+                return null;
+            }
+        }
+
+        private void retire() {
+            retired = true;
+            if (references == 0) {
+                close();
+            }
+        }
+
+        private void close() {
+            final LookupIndex index = getIndex();
+            if (index != null) {
+                index.close();
+            }
+        }
+
+        @Override
+        public String toString() {
+            return String.valueOf(getIndex());
+        }
+    }
+}
@@ -0,0 +1,331 @@
+//  ============================================================================
+//
+//  Copyright (C) 2006-2016 Talend Inc. - www.talend.com
+//
+//  This source code is available under agreement available at
+//  https://github.com/Talend/data-prep/blob/master/LICENSE
+//
+//  You should have received a copy of the agreement
+//  along with this program; if not, write to Talend SA
+//  9 rue Pages 92150 Suresnes, France
+//
+//  ============================================================================
+
+package org.talend.dataprep.transformation.aggregation.api;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.commons.lang.StringUtils;
+
+/**
+ * <p>
+ * Aggregates of a dataset precomputed once its content is analyzed: for each low cardinality column (the group by
+ * column), and for each of its values, the number of rows and the sum, min, max and number of numeric values of each
+ * numeric column.
+ * </p>
+ * <p>
+ * Aggregations of the dataset content (no preparation, no filter) on a single group by column can then be served
+ * without reading the dataset content.
+ * </p>
+ */
+public class DataSetAggregates implements Serializable {
+
+    /** Serialization UID. */
+    private static final long serialVersionUID = 1L;
+
+    /** The dataset id. */
+    private String dataSetId;
+
+    /** Last modification date of the dataset content these aggregates were computed from. */
+    private long lastModificationDate;
+
+    /**
+     * Version of the dataset content these aggregates were computed from (covers metadata updates that change content
+     * without changing the last modification date, e.g. import parameters).
+     */
+    private String contentVersion;
+
+    /** Ids of the aggregated columns, in the order of group values. */
+    private List<String> columns = new ArrayList<>();
+
+    /** Groups by group by column id. */
+    private Map<String, List<Group>> groups = new HashMap<>();
+
+    /**
+     * @param parameters the aggregation parameters.
+     * @return <code>true</code> if these aggregates hold the result of the given aggregation.
+     */
+    public boolean canServe(AggregationParameters parameters) {
+        if (StringUtils.isNotBlank(parameters.getPreparationId()) || parameters.getFilter() != null) {
+            return false;
+        }
+        if (parameters.getGroupBy().size() != 1 || !groups.containsKey(parameters.getGroupBy().get(0))) {
+            return false;
+        }
+        if (parameters.getOperations().isEmpty()) {
+            return false;
+        }
+        for (AggregationOperation operation : parameters.getOperations()) {
+            if (operation.getOperator() == null || operation.getColumnId() == null) {
+                return false;
+            }
+            if (operation.getOperator() != Operator.COUNT && !columns.contains(operation.getColumnId())) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @return the DataSetId
+     */
+    public String getDataSetId() {
+        return dataSetId;
+    }
+
+    /**
+     * @param dataSetId the dataSetId to set.
+     */
+    public void setDataSetId(String dataSetId) {
+        this.dataSetId = dataSetId;
+    }
+
+    /**
+     * @return the LastModificationDate
+     */
+    public long getLastModificationDate() {
+        return lastModificationDate;
+    }
+
+    /**
+     * @param lastModificationDate the lastModificationDate to set.
+     */
+    public void setLastModificationDate(long lastModificationDate) {
+        this.lastModificationDate = lastModificationDate;
+    }
+
+    /**
+     * @return the ContentVersion
+     */
+    public String getContentVersion() {
+        return contentVersion;
+    }
+
+    /**
+     * @param contentVersion the contentVersion to set.
+     */
+    public void setContentVersion(String contentVersion) {
+        this.contentVersion = contentVersion;
+    }
+
+    /**
+     * @return the Columns
+     */
+    public List<String> getColumns() {
+        return columns;
+    }
+
+    /**
+     * @param columns the columns to set.
+     */
+    public void setColumns(List<String> columns) {
+        this.columns = columns;
+    }
+
+    /**
+     * @return the Groups
+     */
+    public Map<String, List<Group>> getGroups() {
+        return groups;
+    }
+
+    /**
+     * @param groups the groups to set.
+     */
+    public void setGroups(Map<String, List<Group>> groups) {
+        this.groups = groups;
+    }
+
+    @Override
+    public String toString() {
+        return "DataSetAggregates{" + "dataSetId='" + dataSetId + '\'' + ", lastModificationDate=" + lastModificationDate
+                + ", contentVersion='" + contentVersion + '\'' + ", columns=" + columns + ", groupBy=" + groups.keySet() + '}';
+    }
+
+    /**
+     * Aggregates of the rows of a group by value. Values of aggregated columns are indexed as the aggregates columns.
+     */
+    public static class Group implements Serializable {
+
+        /** Serialization UID. */
+        private static final long serialVersionUID = 1L;
+
+        /** The group by value. */
+        private String value;
+
+        /** Number of rows. */
+        private long count;
+
+        /** Number of numeric values by column. */
+        private long[] numbers;
+
+        /** Sum of numeric values by column. */
+        private double[] sum;
+
+        /** Min of numeric values by column (0 if none). */
+        private double[] min;
+
+        /** Max of numeric values by column (0 if none). */
+        private double[] max;
+
+        /**
+         * Default empty constructor needed for json serialization.
+         */
+        public Group() {
+        }
+
+        /**
+         * Create an empty group.
+         *
+         * @param value the group by value.
+         * @param columnCount the number of aggregated columns.
+         */
+        public Group(String value, int columnCount) {
+            this.value = value;
+            this.numbers = new long[columnCount];
+            this.sum = new double[columnCount];
+            this.min = new double[columnCount];
+            this.max = new double[columnCount];
+        }
+
+        /**
+         * Add a numeric value of an aggregated column.
+         *
+         * @param column the column index.
+         * @param number the value.
+         */
+        public void add(int column, double number) {
+            final boolean first = numbers[column]++ == 0;
+            if (first || number < min[column]) {
+                min[column] = number;
+            }
+            if (first || number > max[column]) {
+                max[column] = number;
+            }
+            sum[column] += number;
+        }
+
+        /**
+         * @param column the column index.
+         * @param operator the aggregation operator.
+         * @return the value of the operator for the column, NaN if the column has no numeric value in this group.
+         */
+        public double get(int column, Operator operator) {
+            if (operator == Operator.COUNT) {
+                return count;
+            }
+            final long columnNumbers = numbers[column];
+            if (columnNumbers == 0) {
+                return Double.NaN;
+            }
+            switch (operator) {
+            case MIN:
+                return min[column];
+            case MAX:
+                return max[column];
+            case AVERAGE:
+                return sum[column] / columnNumbers;
+            default:
+                return sum[column];
+            }
+        }
+
+        /**
+         * @return the Value
+         */
+        public String getValue() {
+            return value;
+        }
+
+        /**
+         * @param value the value to set.
+         */
+        public void setValue(String value) {
+            this.value = value;
+        }
+
+        /**
+         * @return the Count
+         */
+        public long getCount() {
+            return count;
+        }
+
+        /**
+         * @param count the count to set.
+         */
+        public void setCount(long count) {
+            this.count = count;
+        }
+
+        /**
+         * @return the Numbers
+         */
+        public long[] getNumbers() {
+            return numbers;
+        }
+
+        /**
+         * @param numbers the numbers to set.
+         */
+        public void setNumbers(long[] numbers) {
+            this.numbers = numbers;
+        }
+
+        /**
+         * @return the Sum
+         */
+        public double[] getSum() {
+            return sum;
+        }
+
+        /**
+         * @param sum the sum to set.
+         */
+        public void setSum(double[] sum) {
+            this.sum = sum;
+        }
+
+        /**
+         * @return the Min
+         */
+        public double[] getMin() {
+            return min;
+        }
+
+        /**
+         * @param min the min to set.
+         */
+        public void setMin(double[] min) {
+            this.min = min;
+        }
+
+        /**
+         * @return the Max
+         */
+        public double[] getMax() {
+            return max;
+        }
+
+        /**
+         * @param max the max to set.
+         */
+        public void setMax(double[] max) {
+            this.max = max;
+        }
+    }
+}
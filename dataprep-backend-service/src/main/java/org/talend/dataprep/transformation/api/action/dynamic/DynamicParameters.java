@@ -17,5 +17,11 @@ import org.talend.dataprep.api.dataset.DataSet;
 
 public interface DynamicParameters {
 
-    GenericParameter getParameters(String columnId, DataSet dataSet);
+    /**
+     * @param columnId the column id.
+     * @param contentId the id of the content (dataset version or preparation step), <code>null</code> if unknown.
+     * @param dataSet the content.
+     * @return the dynamic parameters of the action on the column.
+     */
+    GenericParameter getParameters(String columnId, String contentId, DataSet dataSet);
 }
@@ -13,7 +13,10 @@
 
 package org.talend.dataprep.transformation.api.action.dynamic.cluster;
 
+import java.util.List;
+
 import org.apache.commons.lang.StringUtils;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 import org.talend.dataprep.api.dataset.DataSet;
 import org.talend.dataprep.i18n.DataprepBundle;
@@ -23,10 +26,6 @@ import org.talend.dataprep.parameters.Parameter;
 import org.talend.dataprep.parameters.ParameterType;
 import org.talend.dataprep.transformation.api.action.dynamic.DynamicParameters;
 import org.talend.dataprep.transformation.api.action.dynamic.GenericParameter;
-import org.talend.dataquality.record.linkage.analyzer.PostMerge;
-import org.talend.dataquality.record.linkage.analyzer.StringClusters;
-import org.talend.dataquality.record.linkage.analyzer.StringsClusterAnalyzer;
-import org.talend.dataquality.record.linkage.constant.AttributeMatcherType;
 
 /**
  * Cluster action dynamic parameter generator It takes an InputStream as argument, containing the dataset
@@ -34,31 +33,28 @@ import org.talend.dataquality.record.linkage.constant.AttributeMatcherType;
 @Component
 public class ClusterParameters implements DynamicParameters {
 
+    /** The clustering service. */
+    @Autowired
+    private TextClusteringService clusteringService;
+
     @Override
-    public GenericParameter getParameters(final String columnId, final DataSet content) {
+    public GenericParameter getParameters(final String columnId, final String contentId, final DataSet content) {
         // Analyze clusters service
-        StringsClusterAnalyzer clusterAnalyzer = new StringsClusterAnalyzer();
-        clusterAnalyzer.withPostMerges(new PostMerge(AttributeMatcherType.SOUNDEX, 0.8f));
-        clusterAnalyzer.init();
-        content.getRecords().forEach(row -> {
-            String value = row.get(columnId);
-            clusterAnalyzer.analyze(value);
-        });
-        clusterAnalyzer.end();
+        final List<TextClusteringService.Cluster> result = clusteringService.cluster(contentId, columnId,
+                content.getRecords().map(row -> row.get(columnId)));
         // Build results
         final Clusters.Builder builder = Clusters
                 .builder()
                 .title(DataprepBundle.message("parameter.textclustering.title.1"))
                 .title(DataprepBundle.message("parameter.textclustering.title.2"));
-        final StringClusters result = clusterAnalyzer.getResult().get(0);
-        for (StringClusters.StringCluster cluster : result) {
+        for (TextClusteringService.Cluster cluster : result) {
             // String clustering may cluster null / empty values, however not interesting for data prep.
-            if (!StringUtils.isEmpty(cluster.survivedValue)) {
+            if (!StringUtils.isEmpty(cluster.getSurvivedValue())) {
                 final ClusterItem.Builder currentCluster = ClusterItem.builder();
-                for (String value : cluster.originalValues) {
+                for (String value : cluster.getValues()) {
                     currentCluster.parameter(new ConstantParameter(value, ParameterType.BOOLEAN));
                 }
-                currentCluster.replace(new Parameter("replaceValue", ParameterType.STRING, cluster.survivedValue));
+                currentCluster.replace(new Parameter("replaceValue", ParameterType.STRING, cluster.getSurvivedValue()));
                 builder.cluster(currentCluster);
             }
         }
@@ -0,0 +1,169 @@
+// ============================================================================
+// Copyright (C) 2006-2016 Talend Inc. - www.talend.com
+//
+// This source code is available under agreement available at
+// https://github.com/Talend/data-prep/blob/master/LICENSE
+//
+// You should have received a copy of the agreement
+// along with this program; if not, write to Talend SA
+// 9 rue Pages 92150 Suresnes, France
+//
+// ============================================================================
+
+package org.talend.dataprep.transformation.api.action.dynamic.cluster;
+
+import java.util.*;
+import java.util.stream.Stream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.talend.dataquality.record.linkage.analyzer.PostMerge;
+import org.talend.dataquality.record.linkage.analyzer.StringClusters;
+import org.talend.dataquality.record.linkage.analyzer.StringsClusterAnalyzer;
+import org.talend.dataquality.record.linkage.constant.AttributeMatcherType;
+
+/**
+ * <p>
+ * Computes text clusters of a column. Values are first counted, then each distinct value is analyzed once: the value
+ * that survives in a cluster is its most frequent value.
+ * </p>
+ * <p>
+ * Results are cached by content (dataset version or preparation step) and column id, so clustering the same column
+ * again (e.g. opening the clustering dialog twice on the same dataset or preparation step) neither counts the values
+ * nor runs the analysis again.
+ * </p>
+ */
+@Component
+public class TextClusteringService {
+
+    /** This class' logger. */
+    private static final Logger LOGGER = LoggerFactory.getLogger(TextClusteringService.class);
+
+    /** Maximum number of distinct values for results to be cached (larger columns are not cached). */
+    private final int maxCachedValues;
+
+    /** Cached clusters by content id and column id, least recently used first. */
+    private final Map<String, List<Cluster>> cache;
+
+    /**
+     * Constructor.
+     *
+     * @param maxEntries maximum number of cached results.
+     * @param maxCachedValues maximum number of distinct values for results to be cached.
+     */
+    @Autowired
+    public TextClusteringService(@Value("${clustering.cache.max.entries:20}") int maxEntries,
+            @Value("${clustering.cache.max.values:100000}") int maxCachedValues) {
+        this.maxCachedValues = maxCachedValues;
+        this.cache = Collections.synchronizedMap(new LinkedHashMap<String, List<Cluster>>(16, 0.75f, true) {
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, List<Cluster>> eldest) {
+                return size() > maxEntries;
+            }
+        });
+    }
+
+    /**
+     * @param values the values of the column.
+     * @return the distinct values (in order of first occurrence) and their number of occurrences.
+     */
+    public static Map<String, Long> count(Stream<String> values) {
+        final Map<String, Long> occurrences = new LinkedHashMap<>();
+        values.forEach(value -> occurrences.merge(value, 1L, Long::sum));
+        return occurrences;
+    }
+
+    /**
+     * Compute the clusters of a column.
+     *
+     * @param contentId the id of the column content (dataset version or preparation step), <code>null</code> if content
+     * cannot be identified (result is then not cached).
+     * @param columnId the column id.
+     * @param values the values of the column, only read if clusters are not cached.
+     * @return the clusters.
+     */
+    public List<Cluster> cluster(String contentId, String columnId, Stream<String> values) {
+        final String key = contentId == null ? null : contentId + '/' + columnId;
+        if (key != null) {
+            final List<Cluster> cached = cache.get(key);
+            if (cached != null) {
+                LOGGER.debug("Clusters of column #{} in '{}' found in cache.", columnId, contentId);
+                return cached;
+            }
+        }
+
+        final Map<String, Long> occurrences = count(values);
+        final List<Cluster> result = cluster(occurrences);
+        if (key != null && occurrences.size() <= maxCachedValues) {
+            cache.put(key, result);
+        }
+        return result;
+    }
+
+    /**
+     * Compute the clusters of the given values.
+     *
+     * @param occurrences the distinct values and their number of occurrences (see {@link #count(Stream)}).
+     * @return the clusters.
+     */
+    List<Cluster> cluster(Map<String, Long> occurrences) {
+        final StringsClusterAnalyzer clusterAnalyzer = new StringsClusterAnalyzer();
+        clusterAnalyzer.withPostMerges(new PostMerge(AttributeMatcherType.SOUNDEX, 0.8f));
+        clusterAnalyzer.init();
+        // Clusters only depend on distinct values, occurrences are used below to select the survived value
+        occurrences.keySet().forEach(value -> clusterAnalyzer.analyze(value));
+        clusterAnalyzer.end();
+
+        final List<Cluster> result = new ArrayList<>();
+        for (StringClusters.StringCluster cluster : clusterAnalyzer.getResult().get(0)) {
+            final List<String> clusterValues = new ArrayList<>();
+            String survivedValue = cluster.survivedValue;
+            long survivedCount = occurrences.getOrDefault(survivedValue, 0L);
+            for (String value : cluster.originalValues) {
+                clusterValues.add(value);
+                final long count = occurrences.getOrDefault(value, 0L);
+                if (count > survivedCount) {
+                    survivedValue = value;
+                    survivedCount = count;
+                }
+            }
+            result.add(new Cluster(survivedValue, clusterValues));
+        }
+        return result;
+    }
+
+    /**
+     * A cluster of values.
+     */
+    public static class Cluster {
+
+        /** The value that replaces the values of the cluster (its most frequent value). */
+        private final String survivedValue;
+
+        /** The values of the cluster. */
+        private final List<String> values;
+
+        private Cluster(String survivedValue, List<String> values) {
+            this.survivedValue = survivedValue;
+            this.values = Collections.unmodifiableList(values);
+        }
+
+        /**
+         * @return the value that replaces the values of the cluster (its most frequent value).
+         */
+        public String getSurvivedValue() {
+            return survivedValue;
+        }
+
+        /**
+         * @return the values of the cluster.
+         */
+        public List<String> getValues() {
+            return values;
+        }
+    }
+}
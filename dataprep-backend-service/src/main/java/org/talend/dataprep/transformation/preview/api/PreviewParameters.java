@@ -38,6 +38,9 @@ public class PreviewParameters {
     /** Source type in case we want the preview on a specific sample */
     private ExportParameters.SourceType sourceType;
 
+    /** Optional step whose result is the base state of the preview (base actions are the actions of this step). */
+    private String referenceStepId;
+
     /**
      * Default empty constructor.
      */
@@ -65,6 +68,23 @@ public class PreviewParameters {
         this.sourceType = sourceType;
     }
 
+    /**
+     * Constructor with the step whose result is the base state of the preview.
+     *
+     * @param baseActions Actions to perform to get the base state of the preview.
+     * @param newActions Actions to perform to get the new state for the diff.
+     * @param datasetId Id of the dataset to perform the preview on.
+     * @param preparationId Id of the preparation to apply.
+     * @param tdpIds List of row ids to perform the preview on.
+     * @param sourceType The source type.
+     * @param referenceStepId Id of the preparation step with the base actions (may be null).
+     */
+    public PreviewParameters(String baseActions, String newActions, String datasetId, String preparationId,
+            String tdpIds, ExportParameters.SourceType sourceType, String referenceStepId) {
+        this(baseActions, newActions, datasetId, preparationId, tdpIds, sourceType);
+        this.referenceStepId = referenceStepId;
+    }
+
     /**
      * @return the BaseActions
      */
@@ -107,12 +127,20 @@ public class PreviewParameters {
         return sourceType;
     }
 
+    /**
+     * @return the id of the preparation step with the base actions (may be null)
+     */
+    public String getReferenceStepId() {
+        return referenceStepId;
+    }
+
     /**
      * @see Object#toString()
      */
     @Override
     public String toString() {
         return "PreviewParameters{" + "baseActions='" + baseActions + '\'' + ", newActions='" + newActions + '\'' + ", tdpIds='"
-                + tdpIds + '\'' + ", dataSetId='" + dataSetId + '\'' + '}';
+                + tdpIds + '\'' + ", dataSetId='" + dataSetId + '\'' + ", referenceStepId='" + referenceStepId + '\''
+                + '}';
     }
 }
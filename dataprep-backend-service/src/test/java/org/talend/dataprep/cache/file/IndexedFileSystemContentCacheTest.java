@@ -0,0 +1,248 @@
+// ============================================================================
+// Copyright (C) 2006-2016 Talend Inc. - www.talend.com
+//
+// This source code is available under agreement available at
+// https://github.com/Talend/data-prep/blob/master/LICENSE
+//
+// You should have received a copy of the agreement
+// along with this program; if not, write to Talend SA
+// 9 rue Pages 92150 Suresnes, France
+//
+// ============================================================================
+
+package org.talend.dataprep.cache.file;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.junit.Assert.*;
+import static org.talend.dataprep.cache.ContentCache.TimeToLive.*;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.stream.Stream;
+
+import org.apache.commons.io.IOUtils;
+import org.apache.commons.lang.StringUtils;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.talend.dataprep.cache.ContentCache;
+import org.talend.dataprep.cache.ContentCacheKey;
+import org.talend.dataprep.cache.ContentCacheStatistics;
+
+public class IndexedFileSystemContentCacheTest {
+
+    private static final String TEST_DIRECTORY = "target/cache/indexed";
+
+    /** The content cache to test. */
+    private IndexedFileSystemContentCache cache;
+
+    private FileSystemContentCacheJanitor janitor;
+
+    @Before
+    public void setUp() throws Exception {
+        cache = new IndexedFileSystemContentCache(TEST_DIRECTORY);
+        janitor = new FileSystemContentCacheJanitor(TEST_DIRECTORY, cache);
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        cache.clear();
+    }
+
+    @Test
+    public void testPutGet() throws Exception {
+        // given
+        final ContentCacheKey key = new DummyCacheKey("tata");
+        assertThat(cache.has(key), is(false));
+
+        // when
+        addCacheEntry(key, "yet another content...", DEFAULT);
+
+        // then
+        assertThat(cache.has(key), is(true));
+        assertThat(IOUtils.toString(cache.get(key)), is("yet another content..."));
+    }
+
+    @Test
+    public void testEntryNotVisibleUntilClosed() throws Exception {
+        // given
+        final ContentCacheKey key = new DummyCacheKey("tata");
+
+        // when
+        try (OutputStream entry = cache.put(key, DEFAULT)) {
+            entry.write("content".getBytes());
+            // then
+            assertThat(cache.has(key), is(false));
+        }
+        assertThat(cache.has(key), is(true));
+    }
+
+    @Test
+    public void testFailedWriteNotPublished() throws Exception {
+        // given
+        final ContentCacheKey key = new DummyCacheKey("tata");
+        addCacheEntry(key, "previous content", DEFAULT);
+
+        // when
+        try (OutputStream entry = cache.put(key, DEFAULT)) {
+            entry.write("content".getBytes());
+            entry.write(new byte[1], 0, 2); // write fails
+            fail("write should have failed");
+        } catch (IndexOutOfBoundsException e) {
+            // expected
+        }
+
+        // then (previous content is still served, incomplete content is deleted)
+        assertThat(IOUtils.toString(cache.get(key)), is("previous content"));
+        try (Stream<Path> files = Files.walk(Paths.get(TEST_DIRECTORY))) {
+            assertFalse(files.anyMatch(p -> p.toString().endsWith(".tmp")));
+        }
+    }
+
+    @Test
+    public void testReplaceEntry() throws Exception {
+        // given
+        final ContentCacheKey key = new DummyCacheKey("tata");
+        addCacheEntry(key, "first", DEFAULT);
+        final InputStream first = cache.get(key);
+
+        // when
+        addCacheEntry(key, "second", LONG);
+
+        // then
+        assertThat(IOUtils.toString(first), is("first")); // readers of previous content are not disturbed
+        assertThat(IOUtils.toString(cache.get(key)), is("second"));
+    }
+
+    @Test
+    public void testEvict() throws Exception {
+        // given
+        final ContentCacheKey key = new DummyCacheKey("tutu");
+        final ContentCacheKey other = new DummyCacheKey("titi");
+        addCacheEntry(key, "content", DEFAULT);
+        addCacheEntry(other, "content", DEFAULT);
+
+        // when
+        cache.evict(() -> "DummyCacheKey_tu"); // prefix of key
+
+        // then
+        assertThat(cache.has(key), is(false));
+        assertThat(cache.get(key), is(nullValue()));
+        assertThat(cache.has(other), is(true));
+    }
+
+    @Test
+    public void testEvictMatch() throws Exception {
+        // given
+        final ContentCacheKey key = new DummyCacheKey("youpala");
+        final ContentCacheKey other = new DummyCacheKey("youpi");
+        addCacheEntry(key, "content", DEFAULT);
+        addCacheEntry(other, "content", DEFAULT);
+
+        // when
+        cache.evictMatch(new DummyCacheKey("youpala"));
+
+        // then
+        assertThat(cache.has(key), is(false));
+        assertThat(cache.has(other), is(true));
+    }
+
+    @Test
+    public void testMove() throws Exception {
+        // given
+        final ContentCacheKey key1 = new DummyCacheKey("tata");
+        final ContentCacheKey key2 = new DummyCacheKey("tata2");
+        addCacheEntry(key1, "yet another content...", DEFAULT);
+
+        // when
+        cache.move(key1, key2, PERMANENT);
+
+        // then
+        assertFalse(cache.has(key1));
+        assertTrue(cache.has(key2));
+        assertThat(IOUtils.toString(cache.get(key2)), is("yet another content..."));
+    }
+
+    @Test
+    public void testIndexReloadedFromDisk() throws Exception {
+        // given
+        final ContentCacheKey live = new DummyCacheKey("live");
+        final ContentCacheKey permanent = new DummyCacheKey("permanent");
+        final ContentCacheKey evicted = new DummyCacheKey("evicted");
+        addCacheEntry(live, "live content", DEFAULT);
+        addCacheEntry(permanent, "permanent content", PERMANENT);
+        addCacheEntry(evicted, "evicted content", DEFAULT);
+        cache.evict(evicted);
+        cache.put(new DummyCacheKey("unfinished"), DEFAULT).write("partial".getBytes());
+
+        // when
+        final IndexedFileSystemContentCache reloaded = new IndexedFileSystemContentCache(TEST_DIRECTORY);
+
+        // then
+        assertThat(reloaded.size(), is(2));
+        assertThat(IOUtils.toString(reloaded.get(live)), is("live content"));
+        assertThat(IOUtils.toString(reloaded.get(permanent)), is("permanent content"));
+        assertThat(reloaded.has(evicted), is(false));
+    }
+
+    @Test
+    public void testJanitor() throws Exception {
+        // given
+        final ContentCacheKey evicted = new DummyCacheKey("janitor me");
+        final ContentCacheKey expired = new DummyCacheKey("janitor me too");
+        final ContentCacheKey kept = new DummyCacheKey("do not disturb");
+        addCacheEntry(evicted, "janitor content", DEFAULT);
+        addCacheEntry(expired, "janitor content", IMMEDIATE);
+        addCacheEntry(kept, "content", DEFAULT);
+        cache.evict(evicted);
+        Thread.sleep(ContentCache.TimeToLive.IMMEDIATE.getTime() + 500);
+
+        // when
+        janitor.janitor();
+
+        // then
+        assertThat(cache.size(), is(1));
+        assertThat(cache.has(kept), is(true));
+        try (Stream<Path> files = Files.list(Paths.get(TEST_DIRECTORY, "cache"))) {
+            assertThat(files.filter(f -> !StringUtils.contains(f.getFileName().toString(), ".nfs")).count(), is(1L));
+        }
+    }
+
+    @Test
+    public void testMaxSize() throws Exception {
+        // given
+        cache = new IndexedFileSystemContentCache(TEST_DIRECTORY, 20);
+        final ContentCacheKey hot = new DummyCacheKey("hot");
+        final ContentCacheKey cold = new DummyCacheKey("cold");
+        addCacheEntry(hot, "0123456789", DEFAULT);
+        addCacheEntry(cold, "0123456789", DEFAULT);
+        IOUtils.toString(cache.get(hot));
+
+        // when
+        final ContentCacheKey other = new DummyCacheKey("other");
+        addCacheEntry(other, "0123456789", DEFAULT);
+
+        // then
+        assertThat(cache.has(hot), is(true));
+        assertThat(cache.has(cold), is(false));
+        assertThat(cache.has(other), is(true));
+        final ContentCacheStatistics statistics = cache.getStatistics();
+        assertThat(statistics.getEvictions(), is(1L));
+        assertThat(statistics.getEntries(), is(2L));
+        assertThat(statistics.getBytesStored(), is(20L));
+        assertThat(statistics.getHits(), is(3L));
+        assertThat(statistics.getMisses(), is(1L));
+    }
+
+    private void addCacheEntry(ContentCacheKey key, String content, ContentCache.TimeToLive timeToLive) throws IOException {
+        try (OutputStream entry = cache.put(key, timeToLive)) {
+            entry.write(content.getBytes());
+            entry.flush();
+        }
+    }
+}
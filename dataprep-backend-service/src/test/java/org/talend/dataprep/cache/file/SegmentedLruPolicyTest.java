@@ -0,0 +1,85 @@
+// ============================================================================
+// Copyright (C) 2006-2016 Talend Inc. - www.talend.com
+//
+// This source code is available under agreement available at
+// https://github.com/Talend/data-prep/blob/master/LICENSE
+//
+// You should have received a copy of the agreement
+// along with this program; if not, write to Talend SA
+// 9 rue Pages 92150 Suresnes, France
+//
+// ============================================================================
+
+package org.talend.dataprep.cache.file;
+
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertThat;
+
+import org.junit.Test;
+
+public class SegmentedLruPolicyTest {
+
+    private final SegmentedLruPolicy policy = new SegmentedLruPolicy(100);
+
+    @Test
+    public void shouldEvictLeastRecentlyAddedFirst() throws Exception {
+        // given
+        policy.add("a", 40);
+        policy.add("b", 40);
+        assertThat(policy.victims(), empty());
+
+        // when
+        policy.add("c", 40);
+
+        // then
+        assertThat(policy.victims(), contains("a"));
+        assertEquals(80, policy.size());
+    }
+
+    @Test
+    public void shouldKeepAccessedEntries() throws Exception {
+        // given
+        policy.add("hot", 30);
+        policy.access("hot");
+
+        // when
+        policy.add("a", 30);
+        policy.add("b", 30);
+        policy.add("c", 30);
+
+        // then
+        assertThat(policy.victims(), contains("a"));
+    }
+
+    @Test
+    public void shouldDemoteWhenProtectedSegmentIsFull() throws Exception {
+        // given
+        policy.add("a", 50);
+        policy.add("b", 40);
+        policy.access("a");
+
+        // when (protected segment can't hold a and b)
+        policy.access("b");
+        policy.add("c", 20);
+
+        // then
+        assertThat(policy.victims(), contains("a"));
+    }
+
+    @Test
+    public void shouldUpdateSizeOnReplaceAndRemove() throws Exception {
+        // given
+        policy.add("a", 40);
+        policy.access("a");
+
+        // when
+        policy.add("a", 10);
+        policy.add("b", 10);
+        policy.remove("b");
+
+        // then
+        assertEquals(10, policy.size());
+    }
+}
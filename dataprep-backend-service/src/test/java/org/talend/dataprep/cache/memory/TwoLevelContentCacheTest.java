@@ -0,0 +1,130 @@
+// ============================================================================
+// Copyright (C) 2006-2016 Talend Inc. - www.talend.com
+//
+// This source code is available under agreement available at
+// https://github.com/Talend/data-prep/blob/master/LICENSE
+//
+// You should have received a copy of the agreement
+// along with this program; if not, write to Talend SA
+// 9 rue Pages 92150 Suresnes, France
+//
+// ============================================================================
+
+package org.talend.dataprep.cache.memory;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+import static org.talend.dataprep.cache.ContentCache.TimeToLive.DEFAULT;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.commons.io.IOUtils;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.talend.dataprep.cache.ContentCacheKey;
+import org.talend.dataprep.cache.file.DummyCacheKey;
+import org.talend.dataprep.cache.file.FileSystemContentCache;
+
+public class TwoLevelContentCacheTest {
+
+    private final AtomicInteger delegateReads = new AtomicInteger();
+
+    private FileSystemContentCache delegate;
+
+    private TwoLevelContentCache cache;
+
+    @Before
+    public void setUp() throws Exception {
+        delegate = new FileSystemContentCache("target/cache/two-level") {
+
+            @Override
+            public InputStream get(ContentCacheKey key) {
+                delegateReads.incrementAndGet();
+                return super.get(key);
+            }
+        };
+        cache = new TwoLevelContentCache(delegate, 20, 10);
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        cache.clear();
+    }
+
+    @Test
+    public void shouldServeSmallEntriesFromMemory() throws Exception {
+        // given
+        final ContentCacheKey key = new DummyCacheKey("small");
+        addCacheEntry(key, "content");
+
+        // when
+        final String content = IOUtils.toString(cache.get(key));
+
+        // then
+        assertThat(content, is("content"));
+        assertThat(delegateReads.get(), is(0));
+        assertThat(delegate.has(key), is(true));
+    }
+
+    @Test
+    public void shouldServeLargeEntriesFromDelegate() throws Exception {
+        // given
+        final ContentCacheKey key = new DummyCacheKey("large");
+        addCacheEntry(key, "a larger content");
+
+        // when
+        final String content = IOUtils.toString(cache.get(key));
+
+        // then
+        assertThat(content, is("a larger content"));
+        assertThat(delegateReads.get(), is(1));
+    }
+
+    @Test
+    public void shouldRemoveLeastRecentlyUsedEntries() throws Exception {
+        // given
+        final ContentCacheKey first = new DummyCacheKey("first");
+        final ContentCacheKey second = new DummyCacheKey("second");
+        final ContentCacheKey third = new DummyCacheKey("third");
+        addCacheEntry(first, "0123456789");
+        addCacheEntry(second, "0123456789");
+        IOUtils.toString(cache.get(first));
+
+        // when
+        addCacheEntry(third, "0123456789");
+
+        // then
+        IOUtils.toString(cache.get(first));
+        IOUtils.toString(cache.get(third));
+        assertThat(delegateReads.get(), is(0));
+        IOUtils.toString(cache.get(second));
+        assertThat(delegateReads.get(), is(1));
+    }
+
+    @Test
+    public void shouldEvictBothLevels() throws Exception {
+        // given
+        final ContentCacheKey key = new DummyCacheKey("evicted");
+        final ContentCacheKey matched = new DummyCacheKey("matched");
+        addCacheEntry(key, "content");
+        addCacheEntry(matched, "content");
+
+        // when
+        cache.evict(key);
+        cache.evictMatch(new DummyCacheKey("matched"));
+
+        // then
+        assertThat(cache.has(key), is(false));
+        assertThat(cache.has(matched), is(false));
+    }
+
+    private void addCacheEntry(ContentCacheKey key, String content) throws IOException {
+        try (OutputStream entry = cache.put(key, DEFAULT)) {
+            entry.write(content.getBytes());
+        }
+    }
+}
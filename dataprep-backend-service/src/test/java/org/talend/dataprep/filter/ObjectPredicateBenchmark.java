@@ -0,0 +1,94 @@
+// ============================================================================
+// Copyright (C) 2006-2016 Talend Inc. - www.talend.com
+//
+// This source code is available under agreement available at
+// https://github.com/Talend/data-prep/blob/master/LICENSE
+//
+// You should have received a copy of the agreement
+// along with this program; if not, write to Talend SA
+// 9 rue Pages 92150 Suresnes, France
+//
+// ============================================================================
+
+package org.talend.dataprep.filter;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.talend.dataprep.api.dataset.DataSetGovernance.Certification;
+import org.talend.dataprep.api.dataset.DataSetMetadata;
+import org.talend.dataprep.api.dataset.RowMetadata;
+import org.talend.dataprep.api.preparation.Preparation;
+import org.talend.tql.parser.Tql;
+
+/**
+ * Compares filtering of data set metadata and preparations (as done by object repositories) with a filter parsed and
+ * visited for each call, and with cached compiled predicates (see {@link ObjectPredicates}). Not run with unit tests,
+ * use {@link #main(String[])}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ObjectPredicateBenchmark {
+
+    private static final String DATA_SET_FILTER = "lifecycle.importing = false and governance.certificationStep = 'CERTIFIED' and name contains 'customers 1'";
+
+    private static final String PREPARATION_FILTER = "dataSetId = 'ds-42'";
+
+    private final List<DataSetMetadata> dataSets = new ArrayList<>();
+
+    private final List<Preparation> preparations = new ArrayList<>();
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(ObjectPredicateBenchmark.class.getSimpleName()).build()).run();
+    }
+
+    @Setup
+    public void setUp() {
+        for (int i = 0; i < 1000; i++) {
+            final DataSetMetadata metadata = new DataSetMetadata(String.valueOf(i), "Customers " + i, "author", 0, 0,
+                    new RowMetadata(), "1.0");
+            metadata.getLifecycle().setImporting(i % 10 == 0);
+            if (i % 2 == 0) {
+                metadata.getGovernance().setCertificationStep(Certification.CERTIFIED);
+            }
+            dataSets.add(metadata);
+            preparations.add(new Preparation(String.valueOf(i), "ds-" + (i % 100), "head", "1.0"));
+        }
+    }
+
+    @Benchmark
+    public long dataSetsParsedPerCall() {
+        return count(dataSets, (Predicate<Object>) Tql.parse(DATA_SET_FILTER)
+                .accept(new ObjectPredicateVisitor(DataSetMetadata.class)));
+    }
+
+    @Benchmark
+    public long dataSetsCompiled() {
+        return count(dataSets, ObjectPredicates.compile(DataSetMetadata.class, DATA_SET_FILTER));
+    }
+
+    @Benchmark
+    public long preparationsParsedPerCall() {
+        return count(preparations, (Predicate<Object>) Tql.parse(PREPARATION_FILTER)
+                .accept(new ObjectPredicateVisitor(Preparation.class)));
+    }
+
+    @Benchmark
+    public long preparationsCompiled() {
+        return count(preparations, ObjectPredicates.compile(Preparation.class, PREPARATION_FILTER));
+    }
+
+    private static long count(List<?> objects, Predicate<Object> predicate) {
+        return objects.stream().filter(predicate).count();
+    }
+}
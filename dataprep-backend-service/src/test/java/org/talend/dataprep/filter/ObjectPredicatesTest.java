@@ -0,0 +1,76 @@
+// ============================================================================
+// Copyright (C) 2006-2016 Talend Inc. - www.talend.com
+//
+// This source code is available under agreement available at
+// https://github.com/Talend/data-prep/blob/master/LICENSE
+//
+// You should have received a copy of the agreement
+// along with this program; if not, write to Talend SA
+// 9 rue Pages 92150 Suresnes, France
+//
+// ============================================================================
+
+package org.talend.dataprep.filter;
+
+import static org.junit.Assert.*;
+
+import java.util.function.Predicate;
+
+import org.junit.Test;
+import org.talend.dataprep.api.dataset.DataSetGovernance.Certification;
+import org.talend.dataprep.api.dataset.DataSetMetadata;
+import org.talend.dataprep.api.dataset.RowMetadata;
+import org.talend.dataprep.api.preparation.Preparation;
+
+public class ObjectPredicatesTest {
+
+    @Test
+    public void shouldCacheParsedFilter() throws Exception {
+        assertSame(ObjectPredicates.parse("name = 'test'"), ObjectPredicates.parse("name = 'test'"));
+    }
+
+    @Test
+    public void shouldCacheCompiledPredicatePerClass() throws Exception {
+        // When
+        final Predicate<Object> first = ObjectPredicates.compile(DataSetMetadata.class, "name = 'test'");
+        final Predicate<Object> second = ObjectPredicates.compile(DataSetMetadata.class, "name = 'test'");
+        final Predicate<Object> other = ObjectPredicates.compile(Preparation.class, "name = 'test'");
+
+        // Then
+        assertSame(first, second);
+        assertNotSame(first, other);
+    }
+
+    @Test
+    public void shouldEvaluateNestedAndPrimitiveGetters() throws Exception {
+        // Given
+        final DataSetMetadata metadata = new DataSetMetadata("1234", "Customers", "author", 0, 0, new RowMetadata(), "1.0");
+        metadata.getLifecycle().setImporting(false);
+        metadata.getGovernance().setCertificationStep(Certification.CERTIFIED);
+
+        // Then
+        assertTrue(ObjectPredicates.compile(DataSetMetadata.class, "lifecycle.importing = false").test(metadata));
+        assertTrue(ObjectPredicates.compile(DataSetMetadata.class, "governance.certificationStep = 'CERTIFIED'")
+                .test(metadata));
+        assertTrue(ObjectPredicates.compile(DataSetMetadata.class, "name = 'customers' and id in ['1', '1234']")
+                .test(metadata));
+        assertFalse(ObjectPredicates.compile(DataSetMetadata.class, "name contains 'prep' or lifecycle.importing = true")
+                .test(metadata));
+    }
+
+    @Test
+    public void shouldEvaluatePreparationGetters() throws Exception {
+        // Given
+        final Preparation preparation = new Preparation("1234", "ds-1", "head", "1.0");
+
+        // Then
+        assertTrue(ObjectPredicates.compile(Preparation.class, "dataSetId = 'ds-1'").test(preparation));
+        assertTrue(ObjectPredicates.compile(Preparation.class, "id = '1234'").test(preparation));
+        assertFalse(ObjectPredicates.compile(Preparation.class, "dataSetId = 'ds-2'").test(preparation));
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void shouldFailOnUnknownField() throws Exception {
+        ObjectPredicates.compile(DataSetMetadata.class, "unknown = 'value'");
+    }
+}
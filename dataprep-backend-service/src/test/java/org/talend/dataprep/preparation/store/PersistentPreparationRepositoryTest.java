@@ -0,0 +1,133 @@
+// ============================================================================
+// Copyright (C) 2006-2016 Talend Inc. - www.talend.com
+//
+// This source code is available under agreement available at
+// https://github.com/Talend/data-prep/blob/master/LICENSE
+//
+// You should have received a copy of the agreement
+// along with this program; if not, write to Talend SA
+// 9 rue Pages 92150 Suresnes, France
+//
+// ============================================================================
+
+package org.talend.dataprep.preparation.store;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.talend.dataprep.api.preparation.Action;
+import org.talend.dataprep.api.preparation.PreparationActions;
+import org.talend.dataprep.api.preparation.Step;
+import org.talend.dataprep.conversions.BeanConversionService;
+import org.talend.dataprep.preparation.store.inmemory.InMemoryPreparationRepository;
+
+/**
+ * Unit test for the storage of preparation actions.
+ *
+ * @see PersistentPreparationRepository
+ */
+public class PersistentPreparationRepositoryTest {
+
+    private PreparationRepository delegate;
+
+    private PersistentPreparationRepository repository;
+
+    @Before
+    public void setUp() {
+        delegate = new InMemoryPreparationRepository();
+        ReflectionTestUtils.setField(delegate, "rootContent", PreparationActions.ROOT_ACTIONS);
+        ReflectionTestUtils.setField(delegate, "rootStep", Step.ROOT_STEP);
+        repository = new PersistentPreparationRepository(delegate, new BeanConversionService(), 3, 10);
+    }
+
+    @Test
+    public void shouldStoreOnlyAppendedActions() {
+        // given
+        final List<PreparationActions> history = appendActions(7);
+
+        // then
+        final int[] expectedDepths = { 1, 2, 0, 1, 2, 0, 1 };
+        for (int i = 0; i < history.size(); i++) {
+            final PersistentPreparationActions stored = delegate.get(history.get(i).id(),
+                    PersistentPreparationActions.class);
+            assertEquals(expectedDepths[i], stored.getDepth());
+            assertEquals(i + 1, stored.getSize());
+            assertEquals(stored.getDepth() == 0 ? i + 1 : 1, stored.getActions().size());
+        }
+        for (PreparationActions actions : history) {
+            assertEquals(actions.getActions(), repository.get(actions.id(), PreparationActions.class).getActions());
+        }
+    }
+
+    @Test
+    public void shouldNotShareActionsWithCallers() {
+        // given
+        final List<PreparationActions> history = appendActions(2);
+        final PreparationActions actions = repository.get(history.get(1).id(), PreparationActions.class);
+
+        // when
+        actions.getActions().get(0).getParameters().put("column_id", "0042");
+
+        // then
+        assertEquals(history.get(1).getActions(), repository.get(history.get(1).id(), PreparationActions.class)
+                .getActions());
+    }
+
+    @Test
+    public void shouldMigrateActionsStoredAsAWhole() {
+        // given
+        final PreparationActions legacy = new PreparationActions(Collections.singletonList(action(0)), "1.0");
+        delegate.add(legacy);
+
+        // when
+        final PreparationActions actions = repository.get(legacy.id(), PreparationActions.class);
+
+        // then
+        assertEquals(legacy.getActions(), actions.getActions());
+        assertNotNull(delegate.get(legacy.id(), PersistentPreparationActions.class));
+        assertEquals(legacy.getActions(), repository.get(legacy.id(), PreparationActions.class).getActions());
+    }
+
+    @Test
+    public void shouldKeepDeltasOfRemovedActions() {
+        // given
+        final List<PreparationActions> history = appendActions(3);
+
+        // when
+        repository.remove(history.get(0));
+
+        // then
+        assertNull(repository.get(history.get(0).id(), PreparationActions.class));
+        assertEquals(history.get(1).getActions(), repository.get(history.get(1).id(), PreparationActions.class)
+                .getActions());
+        assertEquals(history.get(2).getActions(), repository.get(history.get(2).id(), PreparationActions.class)
+                .getActions());
+    }
+
+    private List<PreparationActions> appendActions(int count) {
+        final List<PreparationActions> history = new ArrayList<>();
+        PreparationActions current = PreparationActions.ROOT_ACTIONS;
+        for (int i = 0; i < count; i++) {
+            current = current.append(Collections.singletonList(action(i)));
+            repository.add(current);
+            history.add(current);
+        }
+        return history;
+    }
+
+    private static Action action(int column) {
+        final Map<String, String> parameters = new HashMap<>();
+        parameters.put("column_id", String.format("%04d", column));
+        return Action.Builder.builder().withName("uppercase").withParameters(parameters).build();
+    }
+}
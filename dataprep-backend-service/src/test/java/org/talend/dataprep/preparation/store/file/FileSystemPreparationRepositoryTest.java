@@ -16,6 +16,7 @@ import static org.junit.Assert.*;
 
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
 import java.util.UUID;
 import java.util.stream.Collectors;
@@ -187,6 +188,45 @@ public class FileSystemPreparationRepositoryTest extends PreparationRepositoryTe
     }
 
 
+    @Test
+    public void shouldUpdateIndexesWhenPreparationChanges() {
+        // given
+        final Preparation preparation = getPreparation("ds-1");
+        repository.add(preparation);
+        repository.add(getPreparation("ds-3"));
+
+        // when
+        preparation.setDataSetId("ds-2");
+        preparation.setName("Renamed");
+        repository.add(preparation);
+
+        // then
+        assertFalse(repository.exist(Preparation.class, "dataSetId = 'ds-1'"));
+        assertEquals(Collections.singletonList(preparation),
+                repository.list(Preparation.class, "dataSetId = 'ds-2'").collect(Collectors.toList()));
+        assertEquals(Collections.singletonList(preparation),
+                repository.list(Preparation.class, "name = 'renamed'").collect(Collectors.toList()));
+
+        repository.remove(preparation);
+        assertFalse(repository.exist(Preparation.class, "dataSetId = 'ds-2'"));
+    }
+
+    @Test
+    public void shouldListStepChildren() {
+        // given
+        final String version = versionService.version().getVersionId();
+        final Step parent = new Step(rootStep, new FixedIdPreparationContent("parent"), version);
+        final Step child = new Step(parent, new FixedIdPreparationContent("child"), version);
+        repository.add(child);
+
+        // when
+        final List<Step> children = repository.list(Step.class, "parentId = '" + parent.id() + "'")
+                .collect(Collectors.toList());
+
+        // then
+        assertEquals(Collections.singletonList(child), children);
+    }
+
     /**
      * @param datasetId the preparation id.
      * @return a preparation with a root step an a the given dataset id.
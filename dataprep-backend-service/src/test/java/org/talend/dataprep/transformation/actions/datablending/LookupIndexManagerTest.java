@@ -0,0 +1,142 @@
+// ============================================================================
+// Copyright (C) 2006-2016 Talend Inc. - www.talend.com
+//
+// This source code is available under agreement available at
+// https://github.com/Talend/data-prep/blob/master/LICENSE
+//
+// You should have received a copy of the agreement
+// along with this program; if not, write to Talend SA
+// 9 rue Pages 92150 Suresnes, France
+//
+// ============================================================================
+
+package org.talend.dataprep.transformation.actions.datablending;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.fail;
+import static org.talend.dataprep.transformation.actions.datablending.LookupIndexTest.ROW_METADATA;
+import static org.talend.dataprep.transformation.actions.datablending.LookupIndexTest.rows;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+import org.junit.After;
+import org.junit.Test;
+import org.talend.dataprep.exception.TDPException;
+
+public class LookupIndexManagerTest {
+
+    private static final String TEST_DIRECTORY = "target/lookup/manager";
+
+    private final AtomicInteger builds = new AtomicInteger();
+
+    private LookupIndexManager manager;
+
+    @After
+    public void tearDown() throws Exception {
+        manager.clear();
+    }
+
+    private LookupIndexManager manager(long maxSize) throws Exception {
+        manager = new LookupIndexManager(TEST_DIRECTORY, maxSize);
+        manager.init();
+        return manager;
+    }
+
+    private LookupIndexManager.Builder builder(String... values) {
+        return file -> {
+            builds.incrementAndGet();
+            return LookupIndex.build(file, "0000", ROW_METADATA, rows(values));
+        };
+    }
+
+    private long fileCount() throws Exception {
+        try (Stream<Path> files = Files.list(Paths.get(TEST_DIRECTORY))) {
+            return files.count();
+        }
+    }
+
+    @Test
+    public void shouldShareIndex() throws Exception {
+        // given
+        manager(Long.MAX_VALUE);
+
+        // when
+        final LookupIndexManager.Reference first = manager.acquire("states", "0000", "1", builder("CA", "California"));
+        final LookupIndexManager.Reference second = manager.acquire("states", "0000", "1", builder("CA", "California"));
+
+        // then
+        assertThat(builds.get(), is(1));
+        assertThat(first.getIndex(), sameInstance(second.getIndex()));
+        assertThat(second.getIndex().get("CA").get("0001"), is("California"));
+        first.close();
+        second.close();
+        assertThat(manager.size(), is(1));
+    }
+
+    @Test
+    public void shouldRebuildIndexWhenVersionChanges() throws Exception {
+        // given
+        manager(Long.MAX_VALUE);
+        final LookupIndexManager.Reference previous = manager.acquire("states", "0000", "1", builder("CA", "California"));
+
+        // when
+        final LookupIndexManager.Reference next = manager.acquire("states", "0000", "2", builder("CA", "Golden State"));
+
+        // then
+        assertThat(builds.get(), is(2));
+        assertThat(previous.getIndex(), not(sameInstance(next.getIndex())));
+        assertThat(previous.getIndex().get("CA").get("0001"), is("California")); // still usable until released
+        assertThat(next.getIndex().get("CA").get("0001"), is("Golden State"));
+        assertThat(fileCount(), is(2L));
+        previous.close();
+        assertThat(fileCount(), is(1L));
+        next.close();
+    }
+
+    @Test
+    public void shouldRemoveUnusedIndexesOverBudget() throws Exception {
+        // given
+        manager(0);
+        final LookupIndexManager.Reference states = manager.acquire("states", "0000", "1", builder("CA", "California"));
+        final LookupIndexManager.Reference cities = manager.acquire("cities", "0000", "1", builder("LA", "Los Angeles"));
+        assertThat(manager.size(), is(2)); // in use
+
+        // when
+        states.close();
+
+        // then
+        assertThat(manager.size(), is(1));
+        cities.close();
+        assertThat(manager.size(), is(0));
+        assertThat(fileCount(), is(0L));
+    }
+
+    @Test
+    public void shouldNotKeepFailedIndexes() throws Exception {
+        // given
+        manager(Long.MAX_VALUE);
+
+        // when
+        try {
+            manager.acquire("states", "0000", "1", file -> {
+                throw new IOException("unavailable");
+            });
+            fail("index should not be built");
+        } catch (TDPException e) {
+            // expected
+        }
+
+        // then
+        assertThat(manager.size(), is(0));
+        manager.acquire("states", "0000", "1", builder("CA", "California")).close();
+        assertThat(builds.get(), is(1));
+    }
+}
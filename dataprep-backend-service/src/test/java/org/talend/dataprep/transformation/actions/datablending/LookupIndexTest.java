@@ -0,0 +1,131 @@
+// ============================================================================
+// Copyright (C) 2006-2016 Talend Inc. - www.talend.com
+//
+// This source code is available under agreement available at
+// https://github.com/Talend/data-prep/blob/master/LICENSE
+//
+// You should have received a copy of the agreement
+// along with this program; if not, write to Talend SA
+// 9 rue Pages 92150 Suresnes, France
+//
+// ============================================================================
+
+package org.talend.dataprep.transformation.actions.datablending;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.junit.Assert.assertThat;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.*;
+
+import org.apache.commons.io.FileUtils;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.talend.dataprep.api.dataset.ColumnMetadata;
+import org.talend.dataprep.api.dataset.RowMetadata;
+import org.talend.dataprep.api.dataset.row.DataSetRow;
+import org.talend.dataprep.api.type.Type;
+
+public class LookupIndexTest {
+
+    private static final Path TEST_DIRECTORY = Paths.get("target/lookup/index");
+
+    static final RowMetadata ROW_METADATA = new RowMetadata(Arrays.asList( //
+            ColumnMetadata.Builder.column().type(Type.STRING).id(0).name("code").build(), //
+            ColumnMetadata.Builder.column().type(Type.STRING).id(1).name("state").build()));
+
+    private LookupIndex index;
+
+    @Before
+    public void setUp() throws Exception {
+        Files.createDirectories(TEST_DIRECTORY);
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        if (index != null) {
+            index.close();
+        }
+        FileUtils.deleteQuietly(TEST_DIRECTORY.toFile());
+    }
+
+    static Iterator<DataSetRow> rows(String... values) {
+        final List<DataSetRow> rows = new ArrayList<>();
+        for (int i = 0; i < values.length; i += 2) {
+            final Map<String, String> row = new HashMap<>();
+            row.put("0000", values[i]);
+            row.put("0001", values[i + 1]);
+            rows.add(new DataSetRow(ROW_METADATA, row));
+        }
+        return rows.iterator();
+    }
+
+    private LookupIndex build(Iterator<DataSetRow> rows) throws IOException {
+        return LookupIndex.build(TEST_DIRECTORY.resolve(UUID.randomUUID().toString()), "0000", ROW_METADATA, rows);
+    }
+
+    @Test
+    public void shouldGetRowsByJoinValue() throws Exception {
+        // when
+        index = build(rows("CA", "California", "NY", "New York", "WA", "Washington", "TX", null));
+
+        // then
+        assertThat(index.size(), is(4));
+        assertThat(index.get("NY").get("0001"), is("New York"));
+        assertThat(index.get("CA").get("0000"), is("CA"));
+        assertThat(index.get("TX").get("0001"), is(nullValue()));
+        assertThat(index.get("FL"), is(nullValue()));
+        assertThat(index.get(null), is(nullValue()));
+    }
+
+    @Test
+    public void shouldKeepFirstRowOfJoinValue() throws Exception {
+        // when
+        index = build(rows("CA", "California", "CA", "Not California", "", "Empty", "été", "Summer"));
+
+        // then
+        assertThat(index.size(), is(3));
+        assertThat(index.get("CA").get("0001"), is("California"));
+        assertThat(index.get("").get("0001"), is("Empty"));
+        assertThat(index.get("été").get("0001"), is("Summer"));
+    }
+
+    @Test
+    public void shouldIndexManyRows() throws Exception {
+        // given
+        final String[] values = new String[20000];
+        for (int i = 0; i < values.length; i += 2) {
+            values[i] = "key" + i;
+            values[i + 1] = "value" + i;
+        }
+
+        // when
+        index = build(rows(values));
+
+        // then
+        assertThat(index.size(), is(10000));
+        for (int i = 0; i < values.length; i += 2) {
+            assertThat(index.get("key" + i).get("0001"), is("value" + i));
+            assertThat(index.get("value" + i), is(nullValue()));
+        }
+    }
+
+    @Test
+    public void shouldDeleteFileOnClose() throws Exception {
+        // given
+        final Path file = TEST_DIRECTORY.resolve("closed");
+        index = LookupIndex.build(file, "0000", ROW_METADATA, rows("CA", "California"));
+        assertThat(Files.exists(file), is(true));
+
+        // when
+        index.close();
+
+        // then
+        assertThat(Files.exists(file), is(false));
+    }
+}
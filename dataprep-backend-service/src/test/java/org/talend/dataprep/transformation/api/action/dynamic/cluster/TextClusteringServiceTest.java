@@ -0,0 +1,113 @@
+// ============================================================================
+// Copyright (C) 2006-2016 Talend Inc. - www.talend.com
+//
+// This source code is available under agreement available at
+// https://github.com/Talend/data-prep/blob/master/LICENSE
+//
+// You should have received a copy of the agreement
+// along with this program; if not, write to Talend SA
+// 9 rue Pages 92150 Suresnes, France
+//
+// ============================================================================
+
+package org.talend.dataprep.transformation.api.action.dynamic.cluster;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.junit.Assert.assertThat;
+
+import java.util.*;
+import java.util.stream.Stream;
+
+import org.junit.Test;
+
+/**
+ * Unit test for the text clustering service.
+ */
+public class TextClusteringServiceTest {
+
+    private static final String[] VALUES = { "Tixass", "Tex@s", "Tex@s", "Tixass", "Texas", "Massachusetts",
+            "Masachussets", "Massachusets", "Massachussetts", "Masachusetts", "Tata", "tata", "t@t@", "T@T@", "tata" };
+
+    private final TextClusteringService service = new TextClusteringService(2, 100);
+
+    @Test
+    public void shouldCountDistinctValues() {
+        // when
+        final Map<String, Long> occurrences = TextClusteringService.count(Stream.of("b", "a", null, "b", null, "b"));
+
+        // then
+        assertThat(new ArrayList<>(occurrences.keySet()), is(Arrays.asList("b", "a", null)));
+        assertThat(occurrences.get("b"), is(3L));
+        assertThat(occurrences.get("a"), is(1L));
+        assertThat(occurrences.get(null), is(2L));
+    }
+
+    @Test
+    public void shouldClusterWithOccurrences() {
+        // when
+        final List<TextClusteringService.Cluster> clusters = service.cluster(null, "0000", Stream.of(VALUES));
+
+        // then
+        final Map<String, Set<String>> clusterValues = new HashMap<>();
+        for (TextClusteringService.Cluster cluster : clusters) {
+            clusterValues.put(cluster.getSurvivedValue(), new HashSet<>(cluster.getValues()));
+        }
+        assertThat(clusterValues.get("Tixass"), is(new HashSet<>(Arrays.asList("Tixass", "Texas"))));
+        assertThat(clusterValues.get("tata"), is(new HashSet<>(Arrays.asList("tata", "Tata"))));
+    }
+
+    @Test
+    public void shouldSurviveMostFrequentValue() {
+        // when
+        final List<TextClusteringService.Cluster> clusters = service.cluster(null, "0000",
+                Stream.of("Texas", "Tixass", "Texas", "Texas", "Tixass"));
+
+        // then
+        assertThat(clusters.size(), is(1));
+        assertThat(clusters.get(0).getSurvivedValue(), is("Texas"));
+    }
+
+    @Test
+    public void shouldCacheClustersByContentAndColumn() {
+        // given
+        final List<TextClusteringService.Cluster> clusters = service.cluster("dataset/1", "0000", Stream.of(VALUES));
+
+        // when
+        final List<TextClusteringService.Cluster> cached = service.cluster("dataset/1", "0000", Stream.empty());
+        final List<TextClusteringService.Cluster> otherColumn = service.cluster("dataset/1", "0001", Stream.of(VALUES));
+        final List<TextClusteringService.Cluster> otherContent = service.cluster("dataset/2", "0000", Stream.of(VALUES));
+
+        // then
+        assertThat(cached, sameInstance(clusters));
+        assertThat(otherColumn, not(sameInstance(clusters)));
+        assertThat(otherContent, not(sameInstance(clusters)));
+    }
+
+    @Test
+    public void shouldNotCacheUnidentifiedContent() {
+        // given
+        final List<TextClusteringService.Cluster> clusters = service.cluster(null, "0000", Stream.of(VALUES));
+
+        // when
+        final List<TextClusteringService.Cluster> computed = service.cluster(null, "0000", Stream.of(VALUES));
+
+        // then
+        assertThat(computed, not(sameInstance(clusters)));
+    }
+
+    @Test
+    public void shouldNotCacheLargeColumns() {
+        // given
+        final String[] values = new String[101];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = "value" + i;
+        }
+        final List<TextClusteringService.Cluster> clusters = service.cluster("dataset/1", "0000", Stream.of(values));
+
+        // when
+        final List<TextClusteringService.Cluster> computed = service.cluster("dataset/1", "0000", Stream.of(values));
+
+        // then
+        assertThat(computed, not(sameInstance(clusters)));
+    }
+}
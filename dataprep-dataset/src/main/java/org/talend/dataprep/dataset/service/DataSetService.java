@@ -60,10 +60,12 @@ import org.talend.dataprep.dataset.DataSetMetadataBuilder;
 import org.talend.dataprep.dataset.StatisticsAdapter;
 import org.talend.dataprep.dataset.event.DataSetMetadataBeforeUpdateEvent;
 import org.talend.dataprep.dataset.event.DataSetRawContentUpdateEvent;
+import org.talend.dataprep.dataset.service.analysis.asynchronous.AggregatesAnalysis;
 import org.talend.dataprep.dataset.service.analysis.synchronous.ContentAnalysis;
 import org.talend.dataprep.dataset.service.analysis.synchronous.FormatAnalysis;
 import org.talend.dataprep.dataset.service.analysis.synchronous.SchemaAnalysis;
 import org.talend.dataprep.dataset.service.api.UpdateColumnParameters;
+import org.talend.dataprep.dataset.store.aggregates.DataSetAggregatesStore;
 import org.talend.dataprep.dataset.store.content.StrictlyBoundedInputStream;
 import org.talend.dataprep.exception.TDPException;
 import org.talend.dataprep.exception.error.DataSetErrorCodes;
@@ -83,6 +85,7 @@ import org.talend.dataprep.schema.FormatFamilyFactory;
 import org.talend.dataprep.schema.Schema;
 import org.talend.dataprep.security.PublicAPI;
 import org.talend.dataprep.security.Security;
+import org.talend.dataprep.transformation.aggregation.api.DataSetAggregates;
 import org.talend.dataprep.user.store.UserDataRepository;
 import org.talend.dataprep.util.SortAndOrderHelper;
 import org.talend.dataprep.util.SortAndOrderHelper.Order;
@@ -161,6 +164,12 @@ public class DataSetService extends BaseDataSetService {
     @Autowired
     private BeanConversionService conversionService;
 
+    /**
+     * Precomputed chart aggregates.
+     */
+    @Autowired
+    private DataSetAggregatesStore aggregatesStore;
+
     @Value("#{'${dataset.imports}'.split(',')}")
     private Set<String> enabledImports;
 
@@ -337,6 +346,7 @@ public class DataSetService extends BaseDataSetService {
         if (dataSetMetadata != null) {
             contentStore.delete(dataSetMetadata);
         }
+        aggregatesStore.remove(id);
         throw hypotheticalException;
     }
 
@@ -423,6 +433,30 @@ public class DataSetService extends BaseDataSetService {
         return dataSet;
     }
 
+    /**
+     * Returns the precomputed chart aggregates of a data set (computed once data set is analyzed).
+     *
+     * @param dataSetId A data set id.
+     * @return The aggregates, or {@link HttpStatus#NO_CONTENT} if there are no aggregates for the current data set
+     * content.
+     */
+    @RequestMapping(value = "/datasets/{id}/aggregates", method = RequestMethod.GET, produces = APPLICATION_JSON_VALUE)
+    @ApiOperation(value = "Get precomputed aggregates of a data set by id", notes = "Get aggregates of numeric columns by value of low cardinality columns. Returns empty content if aggregates are not (yet) computed.")
+    @Timed
+    @ResponseBody
+    public DataSetAggregates getAggregates(
+            @PathVariable(value = "id") @ApiParam(name = "id", value = "Id of the data set") String dataSetId) {
+        final DataSetMetadata metadata = dataSetMetadataRepository.get(dataSetId);
+        final DataSetAggregates aggregates = metadata == null ? null : aggregatesStore.get(dataSetId);
+        if (aggregates == null
+                || !StringUtils.equals(aggregates.getContentVersion(), AggregatesAnalysis.contentVersion(metadata))) {
+            LOG.debug("No up to date aggregates for data set #{}", dataSetId);
+            HttpResponseContext.status(HttpStatus.NO_CONTENT);
+            return null;
+        }
+        return aggregates;
+    }
+
     /**
      * Deletes a data set with provided id.
      *
@@ -440,6 +474,7 @@ public class DataSetService extends BaseDataSetService {
             if (metadata != null) {
                 dataSetMetadataRepository.remove(dataSetId); // first remove the metadata as there may be additional check
                 contentStore.delete(metadata);
+                aggregatesStore.remove(dataSetId);
             } // do nothing if the dataset does not exists
         } finally {
             lock.unlock();
@@ -770,6 +805,8 @@ public class DataSetService extends BaseDataSetService {
 
                 // save the result
                 dataSetMetadataRepository.save(metadataForUpdate);
+                // content may have changed (import parameters, sheet...), aggregates are computed again by the analysis
+                aggregatesStore.remove(dataSetId);
 
                 // all good mate!! so send that to jms
                 // Asks for a in depth schema analysis (for column type information).
@@ -0,0 +1,182 @@
+// ============================================================================
+//
+// Copyright (C) 2006-2016 Talend Inc. - www.talend.com
+//
+// This source code is available under agreement available at
+// https://github.com/Talend/data-prep/blob/master/LICENSE
+//
+// You should have received a copy of the agreement
+// along with this program; if not, write to Talend SA
+// 9 rue Pages 92150 Suresnes, France
+//
+// ============================================================================
+
+package org.talend.dataprep.dataset.service.analysis.asynchronous;
+
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.apache.commons.lang.StringUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.talend.dataprep.api.dataset.ColumnMetadata;
+import org.talend.dataprep.api.dataset.DataSetContent;
+import org.talend.dataprep.api.dataset.DataSetMetadata;
+import org.talend.dataprep.api.dataset.row.DataSetRow;
+import org.talend.dataprep.api.type.Type;
+import org.talend.dataprep.dataset.store.aggregates.DataSetAggregatesStore;
+import org.talend.dataprep.dataset.store.content.ContentStoreRouter;
+import org.talend.dataprep.transformation.aggregation.api.DataSetAggregates;
+import org.talend.dataprep.util.NumericHelper;
+
+/**
+ * Precompute the {@link DataSetAggregates aggregates} of an analyzed dataset: for each low cardinality column (based
+ * on the distinct count statistics), aggregates of all numeric columns by value of this column.
+ */
+@Component
+public class AggregatesAnalysis {
+
+    /** This class' logger. */
+    private static final Logger LOGGER = LoggerFactory.getLogger(AggregatesAnalysis.class);
+
+    /** DataSet content store. */
+    @Autowired
+    ContentStoreRouter store;
+
+    /** Aggregates store. */
+    @Autowired
+    DataSetAggregatesStore aggregatesStore;
+
+    /** <code>true</code> to precompute aggregates once dataset is analyzed. */
+    @Value("${dataset.aggregates.enabled:true}")
+    boolean enabled;
+
+    /** Max number of distinct values of a group by column. */
+    @Value("${dataset.aggregates.max.groups:100}")
+    int maxGroups;
+
+    /**
+     * Compute and save the aggregates of a dataset (its statistics must be computed).
+     *
+     * @param metadata the dataset metadata.
+     */
+    public void analyze(DataSetMetadata metadata) {
+        if (!enabled) {
+            return;
+        }
+        final String dataSetId = metadata.getId();
+        final List<ColumnMetadata> columns = metadata.getRowMetadata().getColumns();
+        final List<String> groupBy = columns.stream() //
+                .filter(c -> c.getStatistics().getDistinctCount() > 0) //
+                .filter(c -> c.getStatistics().getDistinctCount() <= maxGroups) //
+                .map(ColumnMetadata::getId) //
+                .collect(Collectors.toList());
+        final List<String> aggregated = columns.stream() //
+                .filter(c -> Type.NUMERIC.isAssignableFrom(Type.get(c.getType()))) //
+                .map(ColumnMetadata::getId) //
+                .collect(Collectors.toList());
+        if (groupBy.isEmpty() || aggregated.isEmpty()) {
+            LOGGER.debug("No aggregates for {} (no low cardinality or no numeric column).", dataSetId);
+            aggregatesStore.remove(dataSetId);
+            return;
+        }
+
+        try (Stream<DataSetRow> rows = store.stream(metadata, -1)) {
+            final DataSetAggregates aggregates = compute(groupBy, aggregated, rows, maxGroups);
+            aggregates.setDataSetId(dataSetId);
+            aggregates.setLastModificationDate(metadata.getLastModificationDate());
+            aggregates.setContentVersion(contentVersion(metadata));
+            aggregatesStore.save(aggregates);
+            LOGGER.debug("Aggregates of {} computed: {}", dataSetId, aggregates);
+        }
+    }
+
+    /**
+     * Computes the version of a dataset content: aggregates are up to date as long as version remains the same. Version
+     * covers content updates (last modification date), the content format (format, parameters, encoding, sheet,
+     * limit...) and the columns.
+     *
+     * @param metadata the dataset metadata.
+     * @return the version of the dataset content.
+     */
+    public static String contentVersion(DataSetMetadata metadata) {
+        final DataSetContent content = metadata.getContent();
+        final Map<String, String> parameters = content.getParameters() == null ? Collections.emptyMap()
+                : new TreeMap<>(content.getParameters());
+        final String columns = metadata.getRowMetadata() == null ? StringUtils.EMPTY
+                : metadata.getRowMetadata().getColumns().stream().map(ColumnMetadata::getId).collect(Collectors.joining(","));
+        return String.valueOf(metadata.getLastModificationDate()) + ';' //
+                + content.getFormatFamilyId() + ';' //
+                + content.getMediaType() + ';' //
+                + parameters + ';' //
+                + metadata.getEncoding() + ';' //
+                + metadata.getSheetName() + ';' //
+                + content.getLimit().orElse(null) + ';' //
+                + content.getNbLinesInHeader() + ';' //
+                + content.getNbLinesInFooter() + ';' //
+                + columns;
+    }
+
+    /**
+     * Compute aggregates of rows. Empty group by values are skipped, as are values that are not numbers.
+     *
+     * @param groupBy the group by column ids.
+     * @param columns the aggregated column ids.
+     * @param rows the rows.
+     * @param maxGroups max number of groups of a group by column (columns with more values are discarded).
+     * @return the aggregates.
+     */
+    static DataSetAggregates compute(List<String> groupBy, List<String> columns, Stream<DataSetRow> rows,
+            int maxGroups) {
+        final Map<String, Map<String, DataSetAggregates.Group>> groups = new LinkedHashMap<>();
+        groupBy.forEach(column -> groups.put(column, new LinkedHashMap<>()));
+        final double[] numbers = new double[columns.size()];
+
+        rows.forEach(row -> {
+            for (int i = 0; i < numbers.length; i++) {
+                numbers[i] = NumericHelper.parseDouble(row.get(columns.get(i)));
+            }
+            final Iterator<Map.Entry<String, Map<String, DataSetAggregates.Group>>> iterator = groups.entrySet()
+                    .iterator();
+            while (iterator.hasNext()) {
+                final Map.Entry<String, Map<String, DataSetAggregates.Group>> entry = iterator.next();
+                final String value = row.get(entry.getKey());
+                if (StringUtils.isEmpty(value)) {
+                    continue;
+                }
+                final Map<String, DataSetAggregates.Group> columnGroups = entry.getValue();
+                DataSetAggregates.Group group = columnGroups.get(value);
+                if (group == null) {
+                    if (columnGroups.size() == maxGroups) {
+                        LOGGER.debug("Column {} has more than {} values, no aggregates.", entry.getKey(), maxGroups);
+                        iterator.remove();
+                        continue;
+                    }
+                    group = new DataSetAggregates.Group(value, numbers.length);
+                    columnGroups.put(value, group);
+                }
+                group.setCount(group.getCount() + 1);
+                for (int i = 0; i < numbers.length; i++) {
+                    if (!Double.isNaN(numbers[i])) {
+                        group.add(i, numbers[i]);
+                    }
+                }
+            }
+        });
+
+        final DataSetAggregates aggregates = new DataSetAggregates();
+        aggregates.setColumns(columns);
+        groups.forEach((column, columnGroups) -> aggregates.getGroups().put(column,
+                columnGroups.values().stream().collect(Collectors.toList())));
+        return aggregates;
+    }
+}
@@ -16,12 +16,14 @@ package org.talend.dataprep.dataset.service.analysis.asynchronous;
 import static org.talend.dataprep.exception.error.DataSetErrorCodes.UNABLE_TO_ANALYZE_DATASET_QUALITY;
 
 import java.util.List;
+import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 import org.apache.commons.lang.StringUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 import org.talend.dataprep.api.dataset.ColumnMetadata;
 import org.talend.dataprep.api.dataset.DataSetMetadata;
@@ -29,6 +31,7 @@ import org.talend.dataprep.api.dataset.row.DataSetRow;
 import org.talend.dataprep.dataset.StatisticsAdapter;
 import org.talend.dataprep.dataset.service.analysis.DataSetAnalyzer;
 import org.talend.dataprep.dataset.store.content.ContentStoreRouter;
+import org.talend.dataprep.dataset.store.content.DataSetContentStore;
 import org.talend.dataprep.dataset.store.metadata.DataSetMetadataRepository;
 import org.talend.dataprep.exception.TDPException;
 import org.talend.dataprep.lock.DistributedLock;
@@ -62,6 +65,14 @@ public class BackgroundAnalysis {
     @Autowired
     StatisticsAdapter adapter;
 
+    /** Chart aggregates analysis. */
+    @Autowired
+    AggregatesAnalysis aggregatesAnalysis;
+
+    /** <code>true</code> to compute base and advanced statistics with a single read of the dataset content. */
+    @Value("${dataset.analysis.single.scan:false}")
+    boolean singleScan;
+
     /**
      * @see DataSetAnalyzer#analyze
      */
@@ -86,30 +97,15 @@ public class BackgroundAnalysis {
             if (columns.isEmpty()) {
                 LOGGER.debug("Skip statistics of {} (no column information).", metadata.getId());
             } else {
-                // base analysis
-                try (final Stream<DataSetRow> stream = store.stream(metadata)) {
-                    try (Analyzer<Analyzers.Result> analyzer = analyzerService.schemaAnalysis(columns)) {
-                        computeStatistics(analyzer, columns, stream);
-                        LOGGER.debug("Base statistics analysis done for{}", dataSetId);
-                        // Save base analysis
-                        saveAnalyzerResults(dataSetId, analyzer);
-                    }
-                } catch (Exception e) {
-                    LOGGER.warn("Base statistics analysis, dataset {} generates an error", dataSetId, e);
-                    throw new TDPException(UNABLE_TO_ANALYZE_DATASET_QUALITY, e);
+                final boolean fullAnalysisDone;
+                if (singleScan) {
+                    fullAnalysisDone = singleScanAnalysis(metadata, columns);
+                } else {
+                    baseAnalysis(metadata, columns);
+                    fullAnalysisDone = false;
                 }
-                // advanced analysis
-                try (final Stream<DataSetRow> stream = store.stream(metadata)) {
-                    try (Analyzer<Analyzers.Result> analyzer = analyzerService.full(columns)) {
-                        computeStatistics(analyzer, columns, stream);
-                        updateNbRecords(metadata, analyzer.getResult());
-                        LOGGER.debug("Advanced statistics analysis done for{}", dataSetId);
-                        // Save advanced analysis
-                        saveAnalyzerResults(dataSetId, analyzer);
-                    }
-                } catch (Exception e) {
-                    LOGGER.warn("Advanced statistics analysis, dataset {} generates an error", dataSetId, e);
-                    throw new TDPException(UNABLE_TO_ANALYZE_DATASET_QUALITY, e);
+                if (!fullAnalysisDone) {
+                    advancedAnalysis(metadata, columns);
                 }
                 // Tag data set quality: now analyzed
                 DistributedLock datasetLock = repository.createDatasetMetadataLock(metadata.getId());
@@ -123,6 +119,36 @@ public class BackgroundAnalysis {
                 } finally {
                     datasetLock.unlock();
                 }
+                // Columns are now fully analyzed, content can be stored in a ready-to-serve format: normalization reads
+                // the whole content so it runs without lock, lock is only held to check data set did not change and to
+                // publish normalized content.
+                final DataSetContentStore.NormalizedContent normalizedContent = normalize(dataSetId);
+                final DataSetMetadata analyzedMetadata;
+                final DistributedLock normalizeLock = repository.createDatasetMetadataLock(metadata.getId());
+                try {
+                    normalizeLock.lock();
+                    analyzedMetadata = repository.get(dataSetId);
+                    if (analyzedMetadata != null) {
+                        try {
+                            normalizedContent.publish(analyzedMetadata);
+                        } catch (Exception e) {
+                            LOGGER.warn("Unable to publish normalized content of dataset {}", dataSetId, e);
+                            normalizedContent.discard();
+                        }
+                    } else {
+                        normalizedContent.discard();
+                    }
+                } finally {
+                    normalizeLock.unlock();
+                }
+                if (analyzedMetadata != null) {
+                    // Statistics are known, chart aggregates can be precomputed
+                    try {
+                        aggregatesAnalysis.analyze(analyzedMetadata);
+                    } catch (Exception e) {
+                        LOGGER.warn("Unable to compute aggregates of dataset {}", dataSetId, e);
+                    }
+                }
                 LOGGER.info("Statistics analysis done for {}", dataSetId);
             }
         } else {
@@ -130,6 +156,122 @@ public class BackgroundAnalysis {
         }
     }
 
+    /**
+     * Normalizes data set content (without holding data set lock).
+     *
+     * @param dataSetId The data set id.
+     * @return The normalized content to be published, {@link DataSetContentStore.NormalizedContent#NONE} if data set no
+     * longer exists or normalization failed.
+     */
+    private DataSetContentStore.NormalizedContent normalize(String dataSetId) {
+        try {
+            final DataSetMetadata metadata = repository.get(dataSetId);
+            if (metadata != null) {
+                return store.normalize(metadata);
+            }
+        } catch (Exception e) {
+            LOGGER.warn("Unable to normalize content of dataset {}", dataSetId, e);
+        }
+        return DataSetContentStore.NormalizedContent.NONE;
+    }
+
+    /**
+     * Computes base (schema) statistics: semantic domains and data types.
+     *
+     * @param metadata the dataset metadata.
+     * @param columns the dataset columns (updated with analysis results).
+     */
+    private void baseAnalysis(DataSetMetadata metadata, List<ColumnMetadata> columns) {
+        final String dataSetId = metadata.getId();
+        try (final Stream<DataSetRow> stream = store.stream(metadata)) {
+            try (Analyzer<Analyzers.Result> analyzer = analyzerService.schemaAnalysisPartitioned(columns)) {
+                computeStatistics(analyzer, columns, stream);
+                LOGGER.debug("Base statistics analysis done for{}", dataSetId);
+                // Save base analysis
+                saveAnalyzerResults(dataSetId, analyzer);
+            }
+        } catch (Exception e) {
+            LOGGER.warn("Base statistics analysis, dataset {} generates an error", dataSetId, e);
+            throw new TDPException(UNABLE_TO_ANALYZE_DATASET_QUALITY, e);
+        }
+    }
+
+    /**
+     * Computes advanced statistics (quality, patterns, histograms...) based on current columns types and domains.
+     *
+     * @param metadata the dataset metadata.
+     * @param columns the dataset columns (updated with analysis results).
+     */
+    private void advancedAnalysis(DataSetMetadata metadata, List<ColumnMetadata> columns) {
+        final String dataSetId = metadata.getId();
+        try (final Stream<DataSetRow> stream = store.stream(metadata)) {
+            try (Analyzer<Analyzers.Result> analyzer = analyzerService.fullPartitioned(columns)) {
+                computeStatistics(analyzer, columns, stream);
+                updateNbRecords(metadata, analyzer.getResult());
+                LOGGER.debug("Advanced statistics analysis done for{}", dataSetId);
+                // Save advanced analysis
+                saveAnalyzerResults(dataSetId, analyzer);
+            }
+        } catch (Exception e) {
+            LOGGER.warn("Advanced statistics analysis, dataset {} generates an error", dataSetId, e);
+            throw new TDPException(UNABLE_TO_ANALYZE_DATASET_QUALITY, e);
+        }
+    }
+
+    /**
+     * Computes base and advanced statistics with a single read of the dataset content. Advanced statistics depend on
+     * the types and domains found by base statistics: advanced statistics are computed with the types and domains known
+     * before the scan and are only kept if base statistics did not change any of them.
+     *
+     * @param metadata the dataset metadata.
+     * @param columns the dataset columns (updated with analysis results).
+     * @return <code>true</code> if advanced statistics were saved, <code>false</code> if base statistics changed the
+     * schema and advanced statistics must be computed again.
+     */
+    private boolean singleScanAnalysis(DataSetMetadata metadata, List<ColumnMetadata> columns) {
+        final String dataSetId = metadata.getId();
+        final List<String> schemaBefore = schema(columns);
+        try (final Stream<DataSetRow> stream = store.stream(metadata);
+                Analyzer<Analyzers.Result> baseAnalyzer = analyzerService.schemaAnalysisPartitioned(columns);
+                Analyzer<Analyzers.Result> fullAnalyzer = analyzerService.fullPartitioned(columns)) {
+            stream.map(row -> row.toArray(DataSetRow.SKIP_TDP_ID)).forEach(values -> {
+                baseAnalyzer.analyze(values);
+                fullAnalyzer.analyze(values);
+            });
+            baseAnalyzer.end();
+            fullAnalyzer.end();
+
+            // Save base analysis first
+            adapter.adapt(columns, baseAnalyzer.getResult());
+            saveAnalyzerResults(dataSetId, baseAnalyzer);
+            LOGGER.debug("Base statistics analysis done for{}", dataSetId);
+
+            if (!schemaBefore.equals(schema(columns))) {
+                LOGGER.debug("Schema of {} changed during analysis, advanced statistics must be computed again.", dataSetId);
+                return false;
+            }
+            // ... then advanced analysis
+            adapter.adapt(columns, fullAnalyzer.getResult());
+            updateNbRecords(metadata, fullAnalyzer.getResult());
+            saveAnalyzerResults(dataSetId, fullAnalyzer);
+            LOGGER.debug("Advanced statistics analysis done for{}", dataSetId);
+            return true;
+        } catch (Exception e) {
+            LOGGER.warn("Single scan statistics analysis, dataset {} generates an error", dataSetId, e);
+            throw new TDPException(UNABLE_TO_ANALYZE_DATASET_QUALITY, e);
+        }
+    }
+
+    /**
+     * @param columns the dataset columns.
+     * @return The type and domain of each column (the information advanced statistics depend on).
+     */
+    private static List<String> schema(List<ColumnMetadata> columns) {
+        return columns.stream() //
+                .map(c -> c.getType() + ':' + c.getDomain()) //
+                .collect(Collectors.toList());
+    }
+
     private void saveAnalyzerResults(String id, Analyzer<Analyzers.Result> analyzer) {
         DistributedLock datasetLock = repository.createDatasetMetadataLock(id);
         try {
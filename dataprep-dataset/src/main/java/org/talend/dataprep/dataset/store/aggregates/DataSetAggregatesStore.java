@@ -0,0 +1,144 @@
+// ============================================================================
+//
+// Copyright (C) 2006-2016 Talend Inc. - www.talend.com
+//
+// This source code is available under agreement available at
+// https://github.com/Talend/data-prep/blob/master/LICENSE
+//
+// You should have received a copy of the agreement
+// along with this program; if not, write to Talend SA
+// 9 rue Pages 92150 Suresnes, France
+//
+// ============================================================================
+
+package org.talend.dataprep.dataset.store.aggregates;
+
+import static java.nio.file.StandardCopyOption.ATOMIC_MOVE;
+import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.UUID;
+import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import javax.annotation.PostConstruct;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.talend.dataprep.transformation.aggregation.api.DataSetAggregates;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Stores the precomputed {@link DataSetAggregates aggregates} of datasets as gzipped json files (one file per dataset).
+ * Aggregates are only a shortcut to aggregations of the dataset content: a missing or unreadable file means aggregates
+ * must be computed from the content.
+ */
+@Component
+public class DataSetAggregatesStore {
+
+    /** This class' logger. */
+    private static final Logger LOG = LoggerFactory.getLogger(DataSetAggregatesStore.class);
+
+    /** The dataprep ready jackson builder. */
+    @Autowired
+    private ObjectMapper mapper;
+
+    /** Where to store the aggregates. */
+    @Value("${dataset.aggregates.store.file.location:/tmp/dataprep/store/datasets/aggregates}")
+    private String storeLocation;
+
+    @PostConstruct
+    private void init() {
+        try {
+            Files.createDirectories(getRootFolder());
+        } catch (IOException e) {
+            throw new IllegalStateException("unable to create dataset aggregates store folder", e);
+        }
+    }
+
+    /**
+     * Save (or replace) the aggregates of a dataset.
+     *
+     * @param aggregates the aggregates to save.
+     */
+    public void save(DataSetAggregates aggregates) {
+        final Path file = getFile(aggregates.getDataSetId());
+        final Path temp = getRootFolder().resolve('.' + UUID.randomUUID().toString());
+        try {
+            try (OutputStream output = new GZIPOutputStream(Files.newOutputStream(temp))) {
+                mapper.writer().writeValue(output, aggregates);
+            }
+            // Readers never see a partially written file
+            Files.move(temp, file, REPLACE_EXISTING, ATOMIC_MOVE);
+        } catch (IOException e) {
+            LOG.warn("Unable to save aggregates of dataset #{}", aggregates.getDataSetId(), e);
+            deleteQuietly(temp);
+        }
+    }
+
+    /**
+     * @param dataSetId the dataset id.
+     * @return the aggregates of the dataset or <code>null</code> if there are none.
+     */
+    public DataSetAggregates get(String dataSetId) {
+        try (InputStream input = new GZIPInputStream(Files.newInputStream(getFile(dataSetId)))) {
+            return mapper.readerFor(DataSetAggregates.class).readValue(input);
+        } catch (NoSuchFileException e) {
+            return null;
+        } catch (IOException e) {
+            LOG.warn("Unable to read aggregates of dataset #{}", dataSetId, e);
+            return null;
+        }
+    }
+
+    /**
+     * Remove the aggregates of a dataset (if any).
+     *
+     * @param dataSetId the dataset id.
+     */
+    public void remove(String dataSetId) {
+        deleteQuietly(getFile(dataSetId));
+    }
+
+    /**
+     * Remove all aggregates.
+     */
+    public void clear() {
+        try (Stream<Path> files = Files.list(getRootFolder())) {
+            files.forEach(DataSetAggregatesStore::deleteQuietly);
+        } catch (IOException e) {
+            LOG.warn("Unable to clear dataset aggregates store", e);
+        }
+    }
+
+    private static void deleteQuietly(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            LOG.warn("Unable to delete {}", file, e);
+        }
+    }
+
+    /**
+     * @param dataSetId the dataset id.
+     * @return the file of the aggregates of the dataset.
+     */
+    private Path getFile(String dataSetId) {
+        return getRootFolder().resolve(dataSetId);
+    }
+
+    private Path getRootFolder() {
+        return Paths.get(storeLocation);
+    }
+}
@@ -97,6 +97,21 @@ public class ContentStoreRouter extends DataSetContentStore {
         return target.stream(dataSetMetadata);
     }
 
+    @Override
+    public Stream<DataSetRow> stream(DataSetMetadata dataSetMetadata, long limit) {
+        DataSetContentStore target = wrapStore(dataSetMetadata);
+        return target.stream(dataSetMetadata, limit);
+    }
+
+    /**
+     * @see DataSetContentStore#normalize(DataSetMetadata)
+     */
+    @Override
+    public NormalizedContent normalize(DataSetMetadata dataSetMetadata) {
+        DataSetContentStore target = wrapStore(dataSetMetadata);
+        return target.normalize(dataSetMetadata);
+    }
+
     /**
      * @see DataSetContentStore#clear()
      */
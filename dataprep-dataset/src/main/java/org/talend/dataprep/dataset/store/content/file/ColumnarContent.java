@@ -0,0 +1,403 @@
+//  ============================================================================
+//
+//  Copyright (C) 2006-2016 Talend Inc. - www.talend.com
+//
+//  This source code is available under agreement available at
+//  https://github.com/Talend/data-prep/blob/master/LICENSE
+//
+//  You should have received a copy of the agreement
+//  along with this program; if not, write to Talend SA
+//  9 rue Pages 92150 Suresnes, France
+//
+//  ============================================================================
+
+package org.talend.dataprep.dataset.store.content.file;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.stream.Collectors.joining;
+
+import java.io.*;
+import java.util.*;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import org.talend.dataprep.api.dataset.ColumnMetadata;
+import org.talend.dataprep.api.dataset.DataSetContent;
+import org.talend.dataprep.api.dataset.DataSetMetadata;
+import org.talend.dataprep.api.dataset.RowMetadata;
+import org.talend.dataprep.api.dataset.row.DataSetRow;
+
+/**
+ * <p>
+ * A normalized binary representation of a data set content. Content is stored in row groups (blocks) of at most
+ * {@link #BLOCK_SIZE} rows, each block being laid out column by column:
+ * </p>
+ * <ul>
+ * <li>a dictionary of the distinct values of the column within the block,</li>
+ * <li>the dictionary index of each row value,</li>
+ * <li>a bitmap of the rows where the column value is invalid.</li>
+ * </ul>
+ * <p>
+ * File starts with a header that contains a signature (see {@link #signature(DataSetMetadata)}): content is only valid
+ * for data set metadata that share the same signature (content depends on how raw content is parsed, invalid flags
+ * depend on column types and domains).
+ * </p>
+ */
+class ColumnarContent {
+
+    /** Max number of rows in a block. */
+    static final int BLOCK_SIZE = 4096;
+
+    /** Magic number at the beginning of each columnar content ("TDPC"). */
+    private static final int MAGIC = 0x54445043;
+
+    /** Version of the format. */
+    private static final int VERSION = 1;
+
+    /** Length used to encode a <code>null</code> string. */
+    private static final int NULL_LENGTH = -1;
+
+    private ColumnarContent() {
+    }
+
+    /**
+     * Computes the signature of a data set: columnar content is valid as long as signature remains the same. Signature
+     * covers the content format (format, parameters, encoding, sheet, limit...) and the columns.
+     *
+     * @param metadata The data set metadata.
+     * @return A signature for the provided data set metadata.
+     */
+    static String signature(DataSetMetadata metadata) {
+        final DataSetContent content = metadata.getContent();
+        final Map<String, String> parameters = content.getParameters() == null ? Collections.emptyMap()
+                : new TreeMap<>(content.getParameters());
+        return content.getFormatFamilyId() + ';' //
+                + content.getMediaType() + ';' //
+                + parameters + ';' //
+                + metadata.getEncoding() + ';' //
+                + metadata.getSheetName() + ';' //
+                + content.getLimit().orElse(null) + ';' //
+                + content.getNbLinesInHeader() + ';' //
+                + content.getNbLinesInFooter() + ';' //
+                + signature(metadata.getRowMetadata().getColumns());
+    }
+
+    /**
+     * Computes the signature of a schema.
+     *
+     * @param columns The data set columns.
+     * @return A signature for the provided columns.
+     */
+    static String signature(List<ColumnMetadata> columns) {
+        return columns.stream() //
+                .map(c -> c.getId() + ':' + c.getType() + ':' + c.getDomain()) //
+                .collect(joining(","));
+    }
+
+    /**
+     * Reads the signature stored in the header of columnar content.
+     *
+     * @param file The columnar content file.
+     * @return The schema signature stored in file.
+     * @throws IOException In case of read error or if file is not a columnar content.
+     */
+    static String readSignature(File file) throws IOException {
+        try (DataInputStream input = new DataInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+            return readHeader(input);
+        }
+    }
+
+    /**
+     * Writes the <code>rows</code> to <code>output</code> in columnar format.
+     *
+     * @param output Where to write the content to (stream is not closed by this method).
+     * @param signature The signature of the written content (see {@link #signature(DataSetMetadata)}).
+     * @param columns The data set columns.
+     * @param rows The rows (with invalid flags already set) to be written.
+     * @return The number of rows written.
+     * @throws IOException In case of write error.
+     */
+    static long write(OutputStream output, String signature, List<ColumnMetadata> columns, Stream<DataSetRow> rows)
+            throws IOException {
+        final DataOutputStream dataOutput = new DataOutputStream(output);
+        dataOutput.writeInt(MAGIC);
+        dataOutput.writeInt(VERSION);
+        writeString(dataOutput, signature);
+        dataOutput.writeInt(columns.size());
+        for (ColumnMetadata column : columns) {
+            writeString(dataOutput, column.getId());
+        }
+
+        final BlockWriter blockWriter = new BlockWriter(dataOutput, columns);
+        final Iterator<DataSetRow> iterator = rows.iterator();
+        while (iterator.hasNext()) {
+            blockWriter.add(iterator.next());
+        }
+        blockWriter.flush();
+        dataOutput.writeInt(0); // End of content
+        dataOutput.flush();
+        return blockWriter.count;
+    }
+
+    /**
+     * Reads columnar content as a stream of rows. Returned stream closes the input when closed.
+     *
+     * @param input The columnar content.
+     * @return The content rows, with invalid flags and TDP ids set.
+     * @throws IOException In case of read error or if input is not a columnar content.
+     */
+    static Stream<DataSetRow> read(InputStream input) throws IOException {
+        final DataInputStream dataInput = new DataInputStream(input);
+        readHeader(dataInput);
+        final int columnCount = dataInput.readInt();
+        final String[] columnIds = new String[columnCount];
+        for (int i = 0; i < columnCount; i++) {
+            columnIds[i] = readString(dataInput);
+        }
+        final Iterable<DataSetRow> rowIterable = () -> new BlockIterator(dataInput, columnIds);
+        return StreamSupport.stream(rowIterable.spliterator(), false).onClose(() -> {
+            try {
+                input.close();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    private static String readHeader(DataInputStream input) throws IOException {
+        if (input.readInt() != MAGIC) {
+            throw new IOException("Not a columnar content.");
+        }
+        final int version = input.readInt();
+        if (version != VERSION) {
+            throw new IOException("Unsupported columnar content version: " + version);
+        }
+        return readString(input);
+    }
+
+    private static void writeString(DataOutput output, String value) throws IOException {
+        if (value == null) {
+            output.writeInt(NULL_LENGTH);
+        } else {
+            final byte[] bytes = value.getBytes(UTF_8);
+            output.writeInt(bytes.length);
+            output.write(bytes);
+        }
+    }
+
+    private static String readString(DataInput input) throws IOException {
+        final int length = input.readInt();
+        if (length == NULL_LENGTH) {
+            return null;
+        }
+        final byte[] bytes = new byte[length];
+        input.readFully(bytes);
+        return new String(bytes, UTF_8);
+    }
+
+    /**
+     * Accumulates rows and writes them as blocks once {@link #BLOCK_SIZE} is reached.
+     */
+    private static class BlockWriter {
+
+        private final DataOutputStream output;
+
+        private final String[] columnIds;
+
+        /** Per column dictionary (value -> index in dictionary). */
+        private final List<Map<String, Integer>> dictionaries;
+
+        /** Per column, dictionary index of each row in block. */
+        private final int[][] indexes;
+
+        /** Per column, invalid rows in block. */
+        private final BitSet[] invalids;
+
+        /** Number of rows in current block. */
+        private int size;
+
+        /** Total number of rows written. */
+        private long count;
+
+        private BlockWriter(DataOutputStream output, List<ColumnMetadata> columns) {
+            this.output = output;
+            this.columnIds = columns.stream().map(ColumnMetadata::getId).toArray(String[]::new);
+            this.dictionaries = new ArrayList<>(columnIds.length);
+            this.indexes = new int[columnIds.length][BLOCK_SIZE];
+            this.invalids = new BitSet[columnIds.length];
+            for (int i = 0; i < columnIds.length; i++) {
+                dictionaries.add(new LinkedHashMap<>());
+                invalids[i] = new BitSet(BLOCK_SIZE);
+            }
+        }
+
+        private void add(DataSetRow row) throws IOException {
+            for (int i = 0; i < columnIds.length; i++) {
+                final Map<String, Integer> dictionary = dictionaries.get(i);
+                final String value = row.get(columnIds[i]);
+                Integer index = dictionary.get(value);
+                if (index == null) {
+                    index = dictionary.size();
+                    dictionary.put(value, index);
+                }
+                indexes[i][size] = index;
+                if (row.isInvalid(columnIds[i])) {
+                    invalids[i].set(size);
+                }
+            }
+            size++;
+            count++;
+            if (size == BLOCK_SIZE) {
+                flush();
+            }
+        }
+
+        private void flush() throws IOException {
+            if (size == 0) {
+                return;
+            }
+            output.writeInt(size);
+            for (int i = 0; i < columnIds.length; i++) {
+                final Map<String, Integer> dictionary = dictionaries.get(i);
+                output.writeInt(dictionary.size());
+                for (String value : dictionary.keySet()) {
+                    writeString(output, value);
+                }
+                final int dictionarySize = dictionary.size();
+                for (int row = 0; row < size; row++) {
+                    writeIndex(output, dictionarySize, indexes[i][row]);
+                }
+                final long[] words = invalids[i].toLongArray();
+                output.writeInt(words.length);
+                for (long word : words) {
+                    output.writeLong(word);
+                }
+                dictionary.clear();
+                invalids[i].clear();
+            }
+            size = 0;
+        }
+    }
+
+    /**
+     * Indexes are written with the smallest width allowed by dictionary size.
+     */
+    private static void writeIndex(DataOutput output, int dictionarySize, int index) throws IOException {
+        if (dictionarySize <= 0xFF) {
+            output.writeByte(index);
+        } else if (dictionarySize <= 0xFFFF) {
+            output.writeShort(index);
+        } else {
+            output.writeInt(index);
+        }
+    }
+
+    private static int readIndex(DataInput input, int dictionarySize) throws IOException {
+        if (dictionarySize <= 0xFF) {
+            return input.readUnsignedByte();
+        } else if (dictionarySize <= 0xFFFF) {
+            return input.readUnsignedShort();
+        } else {
+            return input.readInt();
+        }
+    }
+
+    /**
+     * Decodes one block at a time and iterates over its rows. As {@link org.talend.dataprep.api.dataset.json.DataSetRowIterator},
+     * the same {@link DataSetRow} instance is reused for each row.
+     */
+    private static class BlockIterator implements Iterator<DataSetRow> {
+
+        private final DataInputStream input;
+
+        private final String[] columnIds;
+
+        private final DataSetRow row = new DataSetRow(new RowMetadata());
+
+        /** Per column, values of each row in current block. */
+        private final String[][] values;
+
+        /** Per column, invalid rows in current block. */
+        private final BitSet[] invalids;
+
+        /** Number of rows in current block. */
+        private int size;
+
+        /** Position of next row in current block. */
+        private int position;
+
+        /** TDP id of the next row. */
+        private long tdpId = 1;
+
+        private boolean ended;
+
+        private BlockIterator(DataInputStream input, String[] columnIds) {
+            this.input = input;
+            this.columnIds = columnIds;
+            this.values = new String[columnIds.length][];
+            this.invalids = new BitSet[columnIds.length];
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (position < size) {
+                return true;
+            }
+            if (ended) {
+                return false;
+            }
+            try {
+                readBlock();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            return position < size;
+        }
+
+        private void readBlock() throws IOException {
+            position = 0;
+            size = input.readInt();
+            if (size == 0) {
+                ended = true;
+                return;
+            }
+            for (int i = 0; i < columnIds.length; i++) {
+                final int dictionarySize = input.readInt();
+                final String[] dictionary = new String[dictionarySize];
+                for (int j = 0; j < dictionarySize; j++) {
+                    dictionary[j] = readString(input);
+                }
+                final String[] columnValues = new String[size];
+                for (int row = 0; row < size; row++) {
+                    columnValues[row] = dictionary[readIndex(input, dictionarySize)];
+                }
+                values[i] = columnValues;
+                final long[] words = new long[input.readInt()];
+                for (int j = 0; j < words.length; j++) {
+                    words[j] = input.readLong();
+                }
+                invalids[i] = BitSet.valueOf(words);
+            }
+        }
+
+        @Override
+        public DataSetRow next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            row.clear();
+            for (int i = 0; i < columnIds.length; i++) {
+                final String value = values[i][position];
+                if (value != null) {
+                    row.set(columnIds[i], value);
+                }
+                if (invalids[i].get(position)) {
+                    row.setInvalid(columnIds[i]);
+                }
+            }
+            row.setTdpId(tdpId++);
+            position++;
+            return row;
+        }
+    }
+}
@@ -18,6 +18,8 @@ import static org.talend.daikon.exception.ExceptionContext.build;
 import java.io.*;
 import java.nio.file.*;
 import java.nio.file.attribute.BasicFileAttributes;
+import java.util.List;
+import java.util.stream.Stream;
 
 import javax.annotation.PostConstruct;
 
@@ -29,7 +31,9 @@ import org.slf4j.Marker;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.stereotype.Component;
+import org.talend.dataprep.api.dataset.ColumnMetadata;
 import org.talend.dataprep.api.dataset.DataSetMetadata;
+import org.talend.dataprep.api.dataset.row.DataSetRow;
 import org.talend.dataprep.dataset.store.content.DataSetContentStore;
 import org.talend.dataprep.exception.TDPException;
 import org.talend.dataprep.exception.error.DataSetErrorCodes;
@@ -46,9 +50,16 @@ public class LocalFileContentStore extends DataSetContentStore {
     /** This class' logger. */
     private static final Logger LOGGER = LoggerFactory.getLogger(LocalFileContentStore.class);
 
+    /** Suffix of the files that contain the normalized (columnar) content. */
+    private static final String COLUMNAR_SUFFIX = ".columnar"; //$NON-NLS-1$
+
     @Value("${dataset.content.store.file.location}")
     private String storeLocation;
 
+    /** <code>true</code> if data set content should be normalized (see {@link ColumnarContent}) once analyzed. */
+    @Value("${dataset.content.store.file.normalized:false}")
+    private boolean normalized;
+
     @PostConstruct
     public void init() {
         if (storeLocation == null) {
@@ -64,10 +75,16 @@ public class LocalFileContentStore extends DataSetContentStore {
         return new File(storeLocation + dataSetMetadata.getId());
     }
 
+    private File getColumnarFile(DataSetMetadata dataSetMetadata) {
+        return new File(storeLocation + dataSetMetadata.getId() + COLUMNAR_SUFFIX);
+    }
+
     @Override
     public void storeAsRaw(DataSetMetadata dataSetMetadata, InputStream dataSetContent) {
         final Marker marker = Markers.dataset(dataSetMetadata.getId());
         try {
+            // Raw content changes, any previously normalized content is now obsolete.
+            FilesHelper.delete(getColumnarFile(dataSetMetadata));
             File dataSetFile = getFile(dataSetMetadata);
             FileUtils.touch(dataSetFile);
             FileOutputStream fos = new FileOutputStream(dataSetFile);
@@ -88,9 +105,64 @@ public class LocalFileContentStore extends DataSetContentStore {
         }
     }
 
+    @Override
+    public Stream<DataSetRow> stream(DataSetMetadata dataSetMetadata, long limit) {
+        final File columnarFile = getColumnarFile(dataSetMetadata);
+        if (normalized && columnarFile.exists()) {
+            final Marker marker = Markers.dataset(dataSetMetadata.getId());
+            try {
+                final String signature = ColumnarContent.signature(dataSetMetadata);
+                if (signature.equals(ColumnarContent.readSignature(columnarFile))) {
+                    LOGGER.debug(marker, "Serving normalized content from '{}'.", columnarFile);
+                    final Stream<DataSetRow> rows = ColumnarContent
+                            .read(new BufferedInputStream(new FileInputStream(columnarFile)));
+                    return limit > 0 ? rows.limit(limit) : rows;
+                }
+                LOGGER.debug(marker, "Normalized content in '{}' does not match metadata, using raw content.", columnarFile);
+            } catch (IOException e) {
+                LOGGER.warn(marker, "Unable to read normalized content in '{}', using raw content.", columnarFile, e);
+            }
+        }
+        return super.stream(dataSetMetadata, limit);
+    }
+
+    @Override
+    public NormalizedContent normalize(DataSetMetadata dataSetMetadata) {
+        if (!normalized) {
+            return NormalizedContent.NONE;
+        }
+        final Marker marker = Markers.dataset(dataSetMetadata.getId());
+        final List<ColumnMetadata> columns = dataSetMetadata.getRowMetadata().getColumns();
+        final File rawFile = getFile(dataSetMetadata);
+        final File columnarFile = getColumnarFile(dataSetMetadata);
+        // Raw content state before read: publish is refused if raw content changed during normalization
+        final long rawLastModified = rawFile.lastModified();
+        final long rawLength = rawFile.length();
+        final File tempFile;
+        try {
+            // Temporary file in same directory (for an atomic move), unique for concurrent normalizations
+            tempFile = File.createTempFile(columnarFile.getName(), ".tmp", columnarFile.getParentFile()); //$NON-NLS-1$
+        } catch (IOException e) {
+            LOGGER.warn(marker, "Unable to normalize content, raw content will be used.", e);
+            return NormalizedContent.NONE;
+        }
+        final String signature = ColumnarContent.signature(dataSetMetadata);
+        try (Stream<DataSetRow> rows = super.stream(dataSetMetadata, -1);
+                OutputStream output = new BufferedOutputStream(new FileOutputStream(tempFile))) {
+            final long count = ColumnarContent.write(output, signature, columns, rows);
+            LOGGER.debug(marker, "Normalized {} rows to '{}'.", count, tempFile);
+        } catch (IOException e) {
+            LOGGER.warn(marker, "Unable to normalize content, raw content will be used.", e);
+            FilesHelper.deleteQuietly(tempFile);
+            return NormalizedContent.NONE;
+        }
+        return new ColumnarNormalizedContent(marker, tempFile, columnarFile, signature, rawFile, rawLastModified, rawLength);
+    }
+
     @Override
     public void delete(DataSetMetadata dataSetMetadata) {
         try {
+            FilesHelper.delete(getColumnarFile(dataSetMetadata));
             FilesHelper.delete(getFile(dataSetMetadata));
         } catch (IOException e) {
             throw new TDPException(DataSetErrorCodes.UNABLE_TO_DELETE_DATASET, e, build().put("dataSetId", dataSetMetadata.getId()));
@@ -143,4 +215,65 @@ public class LocalFileContentStore extends DataSetContentStore {
         }
     }
 
+    /**
+     * A columnar content written to a temporary file, tagged with the signature of the metadata it was computed for.
+     */
+    private static class ColumnarNormalizedContent implements NormalizedContent {
+
+        private final Marker marker;
+
+        private final File tempFile;
+
+        private final File columnarFile;
+
+        /** The signature of the metadata used for normalization (also stored in temporary file header). */
+        private final String signature;
+
+        private final File rawFile;
+
+        private final long rawLastModified;
+
+        private final long rawLength;
+
+        private ColumnarNormalizedContent(Marker marker, File tempFile, File columnarFile, String signature, File rawFile,
+                long rawLastModified, long rawLength) {
+            this.marker = marker;
+            this.tempFile = tempFile;
+            this.columnarFile = columnarFile;
+            this.signature = signature;
+            this.rawFile = rawFile;
+            this.rawLastModified = rawLastModified;
+            this.rawLength = rawLength;
+        }
+
+        @Override
+        public boolean publish(DataSetMetadata dataSetMetadata) {
+            if (!signature.equals(ColumnarContent.signature(dataSetMetadata))) {
+                LOGGER.debug(marker, "Data set metadata changed during normalization, discard '{}'.", tempFile);
+                discard();
+                return false;
+            }
+            if (rawFile.lastModified() != rawLastModified || rawFile.length() != rawLength) {
+                LOGGER.debug(marker, "Data set content changed during normalization, discard '{}'.", tempFile);
+                discard();
+                return false;
+            }
+            try {
+                Files.move(tempFile.toPath(), columnarFile.toPath(), StandardCopyOption.REPLACE_EXISTING,
+                        StandardCopyOption.ATOMIC_MOVE);
+                LOGGER.debug(marker, "Normalized content published to '{}'.", columnarFile);
+                return true;
+            } catch (IOException e) {
+                LOGGER.warn(marker, "Unable to move normalized content to '{}', raw content will be used.", columnarFile, e);
+                discard();
+                return false;
+            }
+        }
+
+        @Override
+        public void discard() {
+            FilesHelper.deleteQuietly(tempFile);
+        }
+    }
+
 }
@@ -0,0 +1,396 @@
+// ============================================================================
+//
+// Copyright (C) 2006-2016 Talend Inc. - www.talend.com
+//
+// This source code is available under agreement available at
+// https://github.com/Talend/data-prep/blob/master/LICENSE
+//
+// You should have received a copy of the agreement
+// along with this program; if not, write to Talend SA
+// 9 rue Pages 92150 Suresnes, France
+//
+// ============================================================================
+
+package org.talend.dataprep.dataset.store.metadata;
+
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+import org.apache.commons.lang.StringUtils;
+import org.talend.dataprep.api.dataset.DataSetMetadata;
+import org.talend.dataprep.filter.ObjectPredicateVisitor;
+import org.talend.dataprep.filter.ObjectPredicates;
+import org.talend.tql.model.*;
+import org.talend.tql.visitor.IASTVisitor;
+
+/**
+ * <p>
+ * An in-memory index of {@link DataSetMetadata}, with secondary indexes on the fields used by data set list filters:
+ * <code>id</code>, <code>name</code>, <code>lifecycle.importing</code> and <code>governance.certificationStep</code>.
+ * </p>
+ * <p>
+ * TQL filters made of equality, <code>in</code> and <code>contains</code> (for name) conditions on these fields,
+ * combined with <code>and</code>/<code>or</code>, are fully served by indexes. Other conditions are evaluated (see
+ * {@link ObjectPredicateVisitor}) on the metadata selected by the indexable part of the filter. As for
+ * {@link ObjectPredicateVisitor}, comparisons ignore case.
+ * </p>
+ * <p>
+ * This class is thread safe. Indexed metadata are shared with callers and must be considered as read only.
+ * </p>
+ */
+public class DataSetMetadataIndex {
+
+    private static final String ID = "id";
+
+    private static final String NAME = "name";
+
+    private static final String IMPORTING = "lifecycle.importing";
+
+    private static final String CERTIFICATION = "governance.certificationStep";
+
+    /**
+     * Index fields with the function to get the indexed value, as seen by {@link ObjectPredicateVisitor} (a
+     * <code>null</code> value means field can't be read and is not indexed).
+     */
+    private static final Map<String, Function<DataSetMetadata, String>> FIELDS = new HashMap<>();
+
+    static {
+        FIELDS.put(ID, m -> String.valueOf(m.getId()));
+        FIELDS.put(NAME, m -> String.valueOf(m.getName()));
+        FIELDS.put(IMPORTING, m -> m.getLifecycle() == null ? null : String.valueOf(m.getLifecycle().isImporting()));
+        FIELDS.put(CERTIFICATION,
+                m -> m.getGovernance() == null ? null : String.valueOf(m.getGovernance().getCertificationStep()));
+    }
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    /** All metadata by id (in insertion order). */
+    private final Map<String, DataSetMetadata> metadata = new LinkedHashMap<>();
+
+    /** For each indexed field: index key (see {@link #key(String)}) to metadata ids. */
+    private final Map<String, Map<String, Set<String>>> indexes = new HashMap<>();
+
+    public DataSetMetadataIndex() {
+        for (String field : FIELDS.keySet()) {
+            indexes.put(field, new HashMap<>());
+        }
+    }
+
+    /**
+     * Adds or replaces a metadata in index.
+     *
+     * @param dataSetMetadata The metadata to index.
+     */
+    public void put(DataSetMetadata dataSetMetadata) {
+        lock.writeLock().lock();
+        try {
+            unindex(metadata.put(dataSetMetadata.getId(), dataSetMetadata));
+            for (Map.Entry<String, Function<DataSetMetadata, String>> field : FIELDS.entrySet()) {
+                final String value = field.getValue().apply(dataSetMetadata);
+                if (value != null) {
+                    indexes.get(field.getKey()).computeIfAbsent(key(value), k -> new HashSet<>()).add(dataSetMetadata.getId());
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Removes a metadata from index.
+     *
+     * @param id The metadata id.
+     */
+    public void remove(String id) {
+        lock.writeLock().lock();
+        try {
+            unindex(metadata.remove(id));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void unindex(DataSetMetadata previous) {
+        if (previous == null) {
+            return;
+        }
+        for (Map.Entry<String, Function<DataSetMetadata, String>> field : FIELDS.entrySet()) {
+            final String value = field.getValue().apply(previous);
+            if (value != null) {
+                final Map<String, Set<String>> index = indexes.get(field.getKey());
+                final String key = key(value);
+                final Set<String> ids = index.get(key);
+                if (ids != null) {
+                    ids.remove(previous.getId());
+                    if (ids.isEmpty()) {
+                        index.remove(key);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Removes all metadata from index.
+     */
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            metadata.clear();
+            indexes.values().forEach(Map::clear);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * @return The number of indexed metadata.
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return metadata.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * @return All indexed metadata.
+     */
+    public List<DataSetMetadata> values() {
+        lock.readLock().lock();
+        try {
+            return new ArrayList<>(metadata.values());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * @param filter A TQL filter on metadata.
+     * @return All indexed metadata that match <code>filter</code>.
+     */
+    public List<DataSetMetadata> select(String filter) {
+        final TqlElement tql = ObjectPredicates.parse(filter);
+        final List<DataSetMetadata> candidates;
+        final IndexMatch match;
+        lock.readLock().lock();
+        try {
+            match = (IndexMatch) tql.accept(new IndexVisitor());
+            if (match == null) {
+                candidates = new ArrayList<>(metadata.values());
+            } else {
+                candidates = new ArrayList<>(match.ids.size());
+                for (String id : match.ids) {
+                    final DataSetMetadata dataSetMetadata = metadata.get(id);
+                    if (dataSetMetadata != null) {
+                        candidates.add(dataSetMetadata);
+                    }
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        if (match != null && match.exact) {
+            return candidates;
+        }
+        // Part of filter could not be served by indexes
+        final Predicate<Object> accept = ObjectPredicates.compile(DataSetMetadata.class, filter);
+        final List<DataSetMetadata> selected = new ArrayList<>(candidates.size());
+        for (DataSetMetadata candidate : candidates) {
+            if (accept.test(candidate)) {
+                selected.add(candidate);
+            }
+        }
+        return selected;
+    }
+
+    /**
+     * @return The index key for a value: each character is normalized the way {@link String#equalsIgnoreCase(String)}
+     * compares characters, so two values have the same key iff they are equal ignoring case.
+     */
+    private static String key(String value) {
+        final char[] chars = new char[value.length()];
+        for (int i = 0; i < chars.length; i++) {
+            chars[i] = Character.toLowerCase(Character.toUpperCase(value.charAt(i)));
+        }
+        return new String(chars);
+    }
+
+    /**
+     * Ids selected by indexes for a (part of a) filter.
+     */
+    private static class IndexMatch {
+
+        private final Set<String> ids;
+
+        /** <code>true</code> if ids are exactly the ones matching the filter (no further evaluation needed). */
+        private final boolean exact;
+
+        private IndexMatch(Set<String> ids, boolean exact) {
+            this.ids = ids;
+            this.exact = exact;
+        }
+    }
+
+    /**
+     * Computes the {@link IndexMatch} of a filter, or <code>null</code> if indexes can't narrow the selection. Must be
+     * used under index read lock.
+     */
+    private class IndexVisitor implements IASTVisitor {
+
+        @Override
+        public IndexMatch visit(TqlElement tqlElement) {
+            return null;
+        }
+
+        @Override
+        public IndexMatch visit(ComparisonOperator comparisonOperator) {
+            return null;
+        }
+
+        @Override
+        public IndexMatch visit(LiteralValue literalValue) {
+            return null;
+        }
+
+        @Override
+        public IndexMatch visit(FieldReference fieldReference) {
+            return null;
+        }
+
+        @Override
+        public IndexMatch visit(Expression expression) {
+            return null;
+        }
+
+        @Override
+        public IndexMatch visit(AndExpression andExpression) {
+            Set<String> ids = null;
+            boolean exact = true;
+            for (Expression expression : andExpression.getExpressions()) {
+                final IndexMatch match = (IndexMatch) expression.accept(this);
+                if (match == null) {
+                    exact = false;
+                } else {
+                    exact &= match.exact;
+                    if (ids == null) {
+                        ids = new HashSet<>(match.ids);
+                    } else {
+                        ids.retainAll(match.ids);
+                    }
+                }
+            }
+            if (ids == null) {
+                return andExpression.getExpressions().length == 0 ? new IndexMatch(metadata.keySet(), true) : null;
+            }
+            return new IndexMatch(ids, exact);
+        }
+
+        @Override
+        public IndexMatch visit(OrExpression orExpression) {
+            final Expression[] expressions = orExpression.getExpressions();
+            if (expressions.length == 1) {
+                return (IndexMatch) expressions[0].accept(this);
+            }
+            final Set<String> ids = new HashSet<>();
+            boolean exact = true;
+            for (Expression expression : expressions) {
+                final IndexMatch match = (IndexMatch) expression.accept(this);
+                if (match == null) {
+                    return null;
+                }
+                exact &= match.exact;
+                ids.addAll(match.ids);
+            }
+            return expressions.length == 0 ? new IndexMatch(metadata.keySet(), true) : new IndexMatch(ids, exact);
+        }
+
+        @Override
+        public IndexMatch visit(ComparisonExpression comparisonExpression) {
+            final Map<String, Set<String>> index = indexes.get(comparisonExpression.getField().getPath());
+            if (index == null || !(comparisonExpression.getValueOrField() instanceof LiteralValue)) {
+                return null;
+            }
+            switch (comparisonExpression.getOperator().getOperator()) {
+            case EQ:
+                final String value = ((LiteralValue) comparisonExpression.getValueOrField()).getValue();
+                return new IndexMatch(index.getOrDefault(key(value), Collections.emptySet()), true);
+            default:
+                return null;
+            }
+        }
+
+        @Override
+        public IndexMatch visit(FieldInExpression fieldInExpression) {
+            final Map<String, Set<String>> index = indexes.get(fieldInExpression.getFieldName());
+            if (index == null) {
+                return null;
+            }
+            final LiteralValue[] values = fieldInExpression.getValues();
+            if (values.length == 0) {
+                return new IndexMatch(metadata.keySet(), true);
+            }
+            final Set<String> ids = new HashSet<>();
+            for (LiteralValue value : values) {
+                ids.addAll(index.getOrDefault(key(value.getValue()), Collections.emptySet()));
+            }
+            return new IndexMatch(ids, true);
+        }
+
+        @Override
+        public IndexMatch visit(FieldContainsExpression fieldContainsExpression) {
+            if (!NAME.equals(fieldContainsExpression.getFieldName())) {
+                return null;
+            }
+            // No reflection needed, but still a scan of all names.
+            final Function<DataSetMetadata, String> name = FIELDS.get(NAME);
+            final Set<String> ids = new HashSet<>();
+            for (DataSetMetadata dataSetMetadata : metadata.values()) {
+                if (StringUtils.containsIgnoreCase(name.apply(dataSetMetadata), fieldContainsExpression.getValue())) {
+                    ids.add(dataSetMetadata.getId());
+                }
+            }
+            return new IndexMatch(ids, true);
+        }
+
+        @Override
+        public IndexMatch visit(FieldIsEmptyExpression fieldIsEmptyExpression) {
+            return null;
+        }
+
+        @Override
+        public IndexMatch visit(FieldIsValidExpression fieldIsValidExpression) {
+            return null;
+        }
+
+        @Override
+        public IndexMatch visit(FieldIsInvalidExpression fieldIsInvalidExpression) {
+            return null;
+        }
+
+        @Override
+        public IndexMatch visit(FieldMatchesRegex fieldMatchesRegex) {
+            return null;
+        }
+
+        @Override
+        public IndexMatch visit(FieldCompliesPattern fieldCompliesPattern) {
+            return null;
+        }
+
+        @Override
+        public IndexMatch visit(FieldBetweenExpression fieldBetweenExpression) {
+            return null;
+        }
+
+        @Override
+        public IndexMatch visit(NotExpression notExpression) {
+            return null;
+        }
+    }
+}
@@ -9,11 +9,10 @@ import java.util.stream.Stream;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.talend.dataprep.api.dataset.DataSetMetadata;
-import org.talend.dataprep.filter.ObjectPredicateVisitor;
+import org.talend.dataprep.filter.ObjectPredicates;
 import org.talend.dataprep.lock.DistributedLock;
 import org.talend.dataprep.util.SortAndOrderHelper.Order;
 import org.talend.dataprep.util.SortAndOrderHelper.Sort;
-import org.talend.tql.parser.Tql;
 
 public abstract class ObjectDataSetMetadataRepository extends DataSetMetadataRepositoryAdapter {
 
@@ -21,11 +20,18 @@ public abstract class ObjectDataSetMetadataRepository extends DataSetMetadataRep
 
     protected abstract Stream<DataSetMetadata> source();
 
+    /**
+     * @param filter A TQL filter.
+     * @return All metadata from {@link #source()} that match <code>filter</code>.
+     */
+    protected Stream<DataSetMetadata> source(String filter) {
+        final Predicate<Object> accept = ObjectPredicates.compile(DataSetMetadata.class, filter);
+        return source().filter(accept);
+    }
+
     @Override
     public boolean exist(String filter) {
-        final Predicate<Object> accept = (Predicate<Object>) Tql.parse(filter)
-                .accept(new ObjectPredicateVisitor(DataSetMetadata.class));
-        return source().filter(accept).findAny().isPresent();
+        return source(filter).findAny().isPresent();
     }
 
     @Override
@@ -35,9 +41,7 @@ public abstract class ObjectDataSetMetadataRepository extends DataSetMetadataRep
 
     @Override
     public Stream<DataSetMetadata> list(String filter, Sort sortField, Order sortDirection) {
-        final Predicate<Object> accept = (Predicate<Object>) Tql.parse(filter)
-                .accept(new ObjectPredicateVisitor(DataSetMetadata.class));
-        final Stream<DataSetMetadata> stream = source().filter(accept);
+        final Stream<DataSetMetadata> stream = source(filter);
         if (sortField != null) {
             final Comparator<DataSetMetadata> dataSetMetadataComparator = getDataSetMetadataComparator(sortField, sortDirection);
             return stream.sorted(dataSetMetadataComparator);
@@ -18,7 +18,6 @@ import java.io.FileInputStream;
 import java.io.FileOutputStream;
 import java.io.IOException;
 import java.nio.file.Files;
-import java.util.Arrays;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
 import java.util.stream.Stream;
 import java.util.zip.GZIPInputStream;
@@ -34,6 +33,7 @@ import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.stereotype.Component;
 import org.talend.daikon.exception.ExceptionContext;
 import org.talend.dataprep.api.dataset.DataSetMetadata;
+import org.talend.dataprep.dataset.store.metadata.DataSetMetadataIndex;
 import org.talend.dataprep.dataset.store.metadata.DataSetMetadataRepository;
 import org.talend.dataprep.dataset.store.metadata.ObjectDataSetMetadataRepository;
 import org.talend.dataprep.exception.TDPException;
@@ -46,7 +46,9 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 /**
  * File system implementation of the DataSetMetadataRepository.
  *
- * DatasetMetadata are saved as gzipped json files.
+ * DatasetMetadata are saved as gzipped json files. All metadata are also kept in an in-memory index (loaded from files
+ * on first access and updated by {@link #save(DataSetMetadata)} and {@link #remove(String)}) used by list, filter and
+ * size operations, so files are not expected to be modified by another process.
  */
 @Component
 @ConditionalOnProperty(name = "dataset.metadata.store", havingValue = "file")
@@ -68,6 +70,11 @@ public class FileSystemDataSetMetadataRepository extends ObjectDataSetMetadataRe
     @Value("${dataset.metadata.store.file.location}")
     private String storeLocation;
 
+    /** Write-through in-memory index of all stored metadata (see {@link #index()}). */
+    private final DataSetMetadataIndex index = new DataSetMetadataIndex();
+
+    private volatile boolean indexLoaded;
+
     @PostConstruct
     private void init() {
         try {
@@ -87,7 +94,10 @@ public class FileSystemDataSetMetadataRepository extends ObjectDataSetMetadataRe
 
         lock.writeLock().lock();
         try (GZIPOutputStream output = new GZIPOutputStream(new FileOutputStream(file))) {
-            mapper.writer().writeValue(output, metadata);
+            final byte[] json = mapper.writer().writeValueAsBytes(metadata);
+            output.write(json);
+            // Index its own copy, caller may still modify saved instance
+            index.put(mapper.readerFor(DataSetMetadata.class).readValue(json));
         } catch (IOException e) {
             LOG.error("Error saving {}", metadata, e);
             throw new TDPException(DataSetErrorCodes.UNABLE_TO_STORE_DATASET_METADATA, e,  ExceptionContext.build().put("id", metadata.getId()));
@@ -114,13 +124,20 @@ public class FileSystemDataSetMetadataRepository extends ObjectDataSetMetadataRe
         ReentrantReadWriteLock lock = locks.getLock(id);
 
         lock.readLock().lock();
+        try {
+            return read(id, file);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Read metadata file (caller is expected to hold the metadata lock)
+    private DataSetMetadata read(String id, File file) {
         try (GZIPInputStream input = new GZIPInputStream(new FileInputStream(file))) {
             return mapper.readerFor(DataSetMetadata.class).readValue(input);
         } catch (IOException e) {
             LOG.error("unable to load dataset {}", id, e);
             return null;
-        } finally {
-            lock.readLock().unlock();
         }
     }
 
@@ -130,19 +147,72 @@ public class FileSystemDataSetMetadataRepository extends ObjectDataSetMetadataRe
     @Override
     public void remove(String id) {
         final File file = getFile(id);
-        FilesHelper.deleteQuietly(file);
+        ReentrantReadWriteLock lock = locks.getLock(id);
+        lock.writeLock().lock();
+        try {
+            FilesHelper.deleteQuietly(file);
+            index.remove(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
         LOG.debug("metadata {} successfully deleted", id);
     }
 
+    /**
+     * @return The metadata index, loaded from files on first call.
+     */
+    private DataSetMetadataIndex index() {
+        if (!indexLoaded) {
+            synchronized (index) {
+                if (!indexLoaded) {
+                    final File[] files = getRootFolder().listFiles();
+                    if (files != null) {
+                        for (File file : files) {
+                            load(file);
+                        }
+                    }
+                    indexLoaded = true;
+                    LOG.info("{} dataset metadata loaded from file system.", index.size());
+                }
+            }
+        }
+        return index;
+    }
+
+    private void load(File file) {
+        final String id = file.getName();
+        if (id.startsWith(".")) {
+            LOG.info("Ignore hidden file {}", id);
+            return;
+        }
+        // Read and index under lock so that a concurrent save is not overwritten by its previous version
+        ReentrantReadWriteLock lock = locks.getLock(id);
+        lock.readLock().lock();
+        try {
+            if (file.exists()) {
+                final DataSetMetadata metadata = read(id, file);
+                if (metadata != null) {
+                    index.put(metadata);
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
     @Override
     public Stream<DataSetMetadata> source() {
-        final File folder = getRootFolder();
-        final File[] files = folder.listFiles();
-        if (files == null) {
-            return Stream.empty();
-        }
+        return index().values().stream();
+    }
 
-        return Arrays.stream(files).map(f -> get(f.getName())).filter(m -> m != null);
+    @Override
+    protected Stream<DataSetMetadata> source(String filter) {
+        return index().select(filter).stream();
+    }
+
+    @Override
+    public int size() {
+        return index().size();
     }
 
     /**
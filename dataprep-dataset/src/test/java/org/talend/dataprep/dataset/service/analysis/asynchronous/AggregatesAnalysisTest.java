@@ -0,0 +1,124 @@
+//  ============================================================================
+//
+//  Copyright (C) 2006-2016 Talend Inc. - www.talend.com
+//
+//  This source code is available under agreement available at
+//  https://github.com/Talend/data-prep/blob/master/LICENSE
+//
+//  You should have received a copy of the agreement
+//  along with this program; if not, write to Talend SA
+//  9 rue Pages 92150 Suresnes, France
+//
+//  ============================================================================
+
+
+package org.talend.dataprep.dataset.service.analysis.asynchronous;
+
+import static java.util.Arrays.asList;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import org.junit.Test;
+import org.talend.dataprep.api.dataset.ColumnMetadata;
+import org.talend.dataprep.api.dataset.DataSetMetadata;
+import org.talend.dataprep.api.dataset.RowMetadata;
+import org.talend.dataprep.api.dataset.row.DataSetRow;
+import org.talend.dataprep.api.type.Type;
+import org.talend.dataprep.transformation.aggregation.api.DataSetAggregates;
+import org.talend.dataprep.transformation.aggregation.api.Operator;
+
+/**
+ * Unit test for the precomputation of dataset aggregates.
+ *
+ * @see AggregatesAnalysis
+ */
+public class AggregatesAnalysisTest {
+
+    @Test
+    public void shouldAggregateNumericColumnsByGroupByColumn() {
+        // given
+        final Stream<DataSetRow> rows = Stream.of( //
+                getRow("toto", "A", "1", "10"), //
+                getRow("toto", "B", "2.5", "not a number"), //
+                getRow("toto", "A", "-4", "20"), //
+                getRow("tata", "", "", "5"), //
+                getRow("", "B", "100", "100"));
+
+        // when
+        final DataSetAggregates aggregates = AggregatesAnalysis.compute(asList("0000", "0001"), asList("0002", "0003"),
+                rows, 10);
+
+        // then
+        assertEquals(asList("0002", "0003"), aggregates.getColumns());
+        final List<DataSetAggregates.Group> groups = aggregates.getGroups().get("0000");
+        assertEquals(2, groups.size());
+        final DataSetAggregates.Group toto = groups.get(0);
+        assertEquals("toto", toto.getValue());
+        assertEquals(3, toto.get(0, Operator.COUNT), 0);
+        assertEquals(-0.5, toto.get(0, Operator.SUM), 0);
+        assertEquals(-4, toto.get(0, Operator.MIN), 0);
+        assertEquals(20, toto.get(1, Operator.MAX), 0);
+        assertEquals(15, toto.get(1, Operator.AVERAGE), 0);
+        final DataSetAggregates.Group tata = groups.get(1);
+        assertEquals("tata", tata.getValue());
+        assertEquals(Double.NaN, tata.get(0, Operator.SUM), 0);
+        assertEquals(5, tata.get(1, Operator.SUM), 0);
+        assertEquals(2, aggregates.getGroups().get("0001").size());
+    }
+
+    @Test
+    public void shouldDiscardColumnsWithTooManyValues() {
+        // given
+        final Stream.Builder<DataSetRow> rows = Stream.builder();
+        for (int i = 0; i < 100; i++) {
+            rows.add(getRow("group " + i % 5, "value " + i, String.valueOf(i), ""));
+        }
+
+        // when
+        final DataSetAggregates aggregates = AggregatesAnalysis.compute(asList("0000", "0001"), asList("0002", "0003"),
+                rows.build(), 10);
+
+        // then
+        assertTrue(aggregates.getGroups().containsKey("0000"));
+        assertFalse(aggregates.getGroups().containsKey("0001"));
+        // 0 + 5 + ... + 95
+        assertEquals(950, aggregates.getGroups().get("0000").get(0).get(0, Operator.SUM), 0);
+    }
+
+    @Test
+    public void contentVersionShouldChangeWithContentOrFormat() {
+        // given
+        final DataSetMetadata metadata = getMetadata(1000L, ";");
+        final String version = AggregatesAnalysis.contentVersion(metadata);
+
+        // then
+        assertEquals(version, AggregatesAnalysis.contentVersion(getMetadata(1000L, ";")));
+        assertNotEquals(version, AggregatesAnalysis.contentVersion(getMetadata(2000L, ";")));
+        assertNotEquals(version, AggregatesAnalysis.contentVersion(getMetadata(1000L, ",")));
+    }
+
+    private DataSetMetadata getMetadata(long lastModificationDate, String separator) {
+        final ColumnMetadata column = ColumnMetadata.Builder.column().id(0).name("name").type(Type.STRING).build();
+        final DataSetMetadata metadata = new DataSetMetadata("ds", "name", "author", 0L, lastModificationDate,
+                new RowMetadata(Collections.singletonList(column)), "1.0");
+        metadata.getContent().setParameters(Collections.singletonMap("SEPARATOR_PARAMETER", separator));
+        return metadata;
+    }
+
+    private DataSetRow getRow(String groupBy, String otherGroupBy, String first, String second) {
+        Map<String, String> values = new HashMap<>();
+        values.put("0000", groupBy);
+        values.put("0001", otherGroupBy);
+        values.put("0002", first);
+        values.put("0003", second);
+        return new DataSetRow(values);
+    }
+}
@@ -0,0 +1,23 @@
+// ============================================================================
+//
+// Copyright (C) 2006-2016 Talend Inc. - www.talend.com
+//
+// This source code is available under agreement available at
+// https://github.com/Talend/data-prep/blob/master/LICENSE
+//
+// You should have received a copy of the agreement
+// along with this program; if not, write to Talend SA
+// 9 rue Pages 92150 Suresnes, France
+//
+// ============================================================================
+
+package org.talend.dataprep.dataset.service.analysis.asynchronous;
+
+import org.springframework.test.context.TestPropertySource;
+
+/**
+ * Same tests as {@link StatisticsAnalysisTest} but with base and advanced statistics computed in a single scan.
+ */
+@TestPropertySource(properties = { "dataset.analysis.single.scan=true" })
+public class SingleScanStatisticsAnalysisTest extends StatisticsAnalysisTest {
+}
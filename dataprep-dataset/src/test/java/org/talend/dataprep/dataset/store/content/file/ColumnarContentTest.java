@@ -0,0 +1,123 @@
+//  ============================================================================
+//
+//  Copyright (C) 2006-2016 Talend Inc. - www.talend.com
+//
+//  This source code is available under agreement available at
+//  https://github.com/Talend/data-prep/blob/master/LICENSE
+//
+//  You should have received a copy of the agreement
+//  along with this program; if not, write to Talend SA
+//  9 rue Pages 92150 Suresnes, France
+//
+//  ============================================================================
+
+package org.talend.dataprep.dataset.store.content.file;
+
+import static org.junit.Assert.*;
+import static org.talend.dataprep.api.dataset.ColumnMetadata.Builder.column;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import org.junit.Test;
+import org.talend.dataprep.api.dataset.ColumnMetadata;
+import org.talend.dataprep.api.dataset.DataSetMetadata;
+import org.talend.dataprep.api.dataset.RowMetadata;
+import org.talend.dataprep.api.dataset.row.DataSetRow;
+import org.talend.dataprep.api.type.Type;
+
+public class ColumnarContentTest {
+
+    private final List<ColumnMetadata> columns = Arrays.asList( //
+            column().id(0).name("name").type(Type.STRING).build(), //
+            column().id(1).name("age").type(Type.INTEGER).build());
+
+    @Test
+    public void shouldReadWrittenRows() throws Exception {
+        // given
+        final List<DataSetRow> rows = IntStream.range(0, ColumnarContent.BLOCK_SIZE + 10) //
+                .mapToObj(i -> {
+                    final DataSetRow row = new DataSetRow(new RowMetadata(columns));
+                    row.set("0000", "name" + (i % 3));
+                    row.set("0001", i % 2 == 0 ? String.valueOf(i) : "NaN");
+                    if (i % 2 != 0) {
+                        row.setInvalid("0001");
+                    }
+                    return row;
+                }) //
+                .collect(Collectors.toList());
+        final ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        // when
+        final long count = ColumnarContent.write(output, ColumnarContent.signature(columns), columns, rows.stream());
+        final List<DataSetRow> read = new ArrayList<>();
+        try (Stream<DataSetRow> stream = ColumnarContent.read(new ByteArrayInputStream(output.toByteArray()))) {
+            stream.forEach(r -> read.add(r.clone()));
+        }
+
+        // then
+        assertEquals(rows.size(), count);
+        assertEquals(rows.size(), read.size());
+        for (int i = 0; i < rows.size(); i++) {
+            final DataSetRow expected = rows.get(i);
+            final DataSetRow actual = read.get(i);
+            assertEquals(expected.get("0000"), actual.get("0000"));
+            assertEquals(expected.get("0001"), actual.get("0001"));
+            assertEquals(expected.isInvalid("0001"), actual.isInvalid("0001"));
+            assertFalse(actual.isInvalid("0000"));
+            assertEquals(Long.valueOf(i + 1), actual.getTdpId());
+        }
+    }
+
+    @Test
+    public void shouldReadEmptyContent() throws Exception {
+        // given
+        final ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        // when
+        ColumnarContent.write(output, ColumnarContent.signature(columns), columns, Stream.empty());
+
+        // then
+        try (Stream<DataSetRow> stream = ColumnarContent.read(new ByteArrayInputStream(output.toByteArray()))) {
+            assertEquals(0, stream.count());
+        }
+    }
+
+    @Test
+    public void signatureShouldChangeWithType() throws Exception {
+        // given
+        final String signature = ColumnarContent.signature(columns);
+
+        // when
+        columns.get(1).setType(Type.STRING.getName());
+
+        // then
+        assertNotEquals(signature, ColumnarContent.signature(columns));
+    }
+
+    @Test
+    public void signatureShouldChangeWithContentFormat() throws Exception {
+        // given
+        final DataSetMetadata metadata = new DataSetMetadata();
+        metadata.setRowMetadata(new RowMetadata(columns));
+        metadata.getContent().addParameter("SEPARATOR", ";");
+        metadata.setEncoding("UTF-8");
+        final String signature = ColumnarContent.signature(metadata);
+
+        // when
+        metadata.getContent().addParameter("SEPARATOR", ",");
+        final String separatorSignature = ColumnarContent.signature(metadata);
+        metadata.setEncoding("ISO-8859-1");
+        final String encodingSignature = ColumnarContent.signature(metadata);
+
+        // then
+        assertNotEquals(signature, separatorSignature);
+        assertNotEquals(separatorSignature, encodingSignature);
+    }
+}
@@ -0,0 +1,94 @@
+// ============================================================================
+//
+// Copyright (C) 2006-2016 Talend Inc. - www.talend.com
+//
+// This source code is available under agreement available at
+// https://github.com/Talend/data-prep/blob/master/LICENSE
+//
+// You should have received a copy of the agreement
+// along with this program; if not, write to Talend SA
+// 9 rue Pages 92150 Suresnes, France
+//
+// ============================================================================
+
+package org.talend.dataprep.dataset.store.metadata;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.function.Predicate;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.talend.dataprep.api.dataset.DataSetGovernance.Certification;
+import org.talend.dataprep.api.dataset.DataSetMetadata;
+import org.talend.dataprep.api.dataset.RowMetadata;
+import org.talend.dataprep.filter.ObjectPredicateVisitor;
+import org.talend.tql.parser.Tql;
+
+public class DataSetMetadataIndexTest {
+
+    private final DataSetMetadataIndex index = new DataSetMetadataIndex();
+
+    private final List<DataSetMetadata> all = new ArrayList<>();
+
+    @Before
+    public void setUp() {
+        for (int i = 0; i < 20; i++) {
+            final DataSetMetadata metadata = new DataSetMetadata(String.valueOf(i), "Customers " + i, "author", 0, 0,
+                    new RowMetadata(), "1.0");
+            metadata.getLifecycle().setImporting(i % 5 == 0);
+            if (i % 3 == 0) {
+                metadata.getGovernance().setCertificationStep(Certification.CERTIFIED);
+            }
+            all.add(metadata);
+            index.put(metadata);
+        }
+    }
+
+    @Test
+    public void should_select_as_predicate() {
+        assertSameSelection("lifecycle.importing = false");
+        assertSameSelection("lifecycle.importing = false and id in ['1', '3', '5', '6']");
+        assertSameSelection("lifecycle.importing = false and governance.certificationStep = 'CERTIFIED'");
+        assertSameSelection("lifecycle.importing = false and name contains 'MERS 1'");
+        assertSameSelection("name = 'customers 12'");
+        assertSameSelection("name = 'customers 12' or id = '4'");
+        // Not (fully) served by indexes
+        assertSameSelection("lifecycle.importing = false and author = 'author'");
+        assertSameSelection("name = 'customers 12' or author = 'nobody'");
+        assertSameSelection("id > 15");
+    }
+
+    @Test
+    public void should_update_indexes_on_put_and_remove() {
+        // given
+        final DataSetMetadata updated = new DataSetMetadata("1", "Renamed", "author", 0, 0, new RowMetadata(), "1.0");
+        updated.getLifecycle().setImporting(true);
+
+        // when
+        index.put(updated);
+        index.remove("2");
+
+        // then
+        assertEquals(19, index.size());
+        assertEquals(0, index.select("name = 'Customers 1'").size());
+        assertEquals(1, index.select("name = 'renamed' and lifecycle.importing = true").size());
+        assertEquals(0, index.select("id = '2'").size());
+    }
+
+    private void assertSameSelection(String filter) {
+        final Predicate<Object> accept = (Predicate<Object>) Tql.parse(filter)
+                .accept(new ObjectPredicateVisitor(DataSetMetadata.class));
+        final Set<String> expected = new TreeSet<>();
+        all.stream().filter(accept).forEach(m -> expected.add(m.getId()));
+
+        final Set<String> actual = new TreeSet<>();
+        index.select(filter).forEach(m -> actual.add(m.getId()));
+
+        assertEquals(filter, expected, actual);
+    }
+}
@@ -75,6 +75,20 @@ public class FileSystemDataSetMetadataRepositoryTest extends DataSetBaseTest {
         assertFalse(noMatch);
     }
 
+    @Test
+    public void shouldNotListChangesOfSavedInstance() throws Exception {
+        // given
+        final DataSetMetadata metadata = getMetadata("456789");
+        repository.save(metadata);
+
+        // when
+        metadata.getLifecycle().setImporting(true);
+
+        // then
+        assertTrue(repository.exist("lifecycle.importing = false and id = '456789'"));
+        assertFalse(repository.exist("lifecycle.importing = true"));
+    }
+
     @After
     public void clear() {
         repository.clear();
@@ -13,6 +13,7 @@
 
 package org.talend.dataprep.transformation.aggregation;
 
+import java.util.List;
 import java.util.function.Predicate;
 
 import org.springframework.beans.factory.annotation.Autowired;
@@ -24,8 +25,11 @@ import org.talend.dataprep.api.dataset.row.DataSetRow;
 import org.talend.dataprep.api.filter.FilterService;
 import org.talend.dataprep.exception.TDPException;
 import org.talend.dataprep.exception.error.CommonErrorCodes;
+import org.talend.dataprep.transformation.aggregation.api.AggregationOperation;
 import org.talend.dataprep.transformation.aggregation.api.AggregationParameters;
 import org.talend.dataprep.transformation.aggregation.api.AggregationResult;
+import org.talend.dataprep.transformation.aggregation.api.DataSetAggregates;
+import org.talend.dataprep.transformation.aggregation.api.GroupContext;
 import org.talend.dataprep.transformation.aggregation.operation.Aggregator;
 import org.talend.dataprep.transformation.aggregation.operation.AggregatorFactory;
 
@@ -51,27 +55,66 @@ public class AggregationService {
      */
     public AggregationResult aggregate(AggregationParameters parameters, DataSet dataset) {
 
-        // check the parameters
-        if (parameters.getOperations().isEmpty() || parameters.getGroupBy().isEmpty()) {
-            throw new TDPException(CommonErrorCodes.BAD_AGGREGATION_PARAMETERS);
-        }
-
-        AggregationResult result = new AggregationResult(parameters.getOperations().get(0).getOperator());
-
         // get the aggregator
-        Aggregator aggregator = factory.get(parameters);
+        final Aggregator aggregator = getAggregator(parameters);
 
         // Build optional filter
         final DataSetMetadata metadata = dataset.getMetadata();
         final RowMetadata rowMetadata = metadata != null ? metadata.getRowMetadata() : new RowMetadata();
         final Predicate<DataSetRow> filter = filterService.build(parameters.getFilter(), rowMetadata);
 
-        // process the dataset
-        dataset.getRecords().filter(filter).forEach(row -> aggregator.accept(row, result));
+        // process the dataset (all operations in a single pass)
+        dataset.getRecords().filter(filter).forEach(aggregator);
+
+        return aggregator.getResult();
+    }
+
+    /**
+     * Returns the aggregator for the given parameters, to aggregate rows as they come (e.g. at the end of a
+     * transformation pipeline). Parameters filter is not applied by the aggregator.
+     *
+     * @param parameters the aggregation parameters.
+     * @return the aggregator of all operations and group by columns of the parameters.
+     */
+    public Aggregator getAggregator(AggregationParameters parameters) {
+        // check the parameters
+        if (parameters.getOperations().isEmpty() || parameters.getGroupBy().isEmpty()) {
+            throw new TDPException(CommonErrorCodes.BAD_AGGREGATION_PARAMETERS);
+        }
+        try {
+            return factory.get(parameters);
+        } catch (IllegalArgumentException e) {
+            throw new TDPException(CommonErrorCodes.BAD_AGGREGATION_PARAMETERS, e);
+        }
+    }
 
-        // Normalize result (perform clean / optimization now that all input was processed).
-        aggregator.normalize(result);
+    /**
+     * Process an aggregation from precomputed dataset aggregates.
+     *
+     * @param parameters the aggregation parameters.
+     * @param aggregates the dataset aggregates, that must {@link DataSetAggregates#canServe(AggregationParameters) serve}
+     * these parameters.
+     * @return the aggregation result (same as aggregating the dataset content).
+     */
+    public AggregationResult aggregate(AggregationParameters parameters, DataSetAggregates aggregates) {
+        final List<String> groupBy = parameters.getGroupBy();
+        final List<AggregationOperation> operations = parameters.getOperations();
+        final List<String> columns = aggregates.getColumns();
 
+        final AggregationResult result = new AggregationResult(groupBy, operations);
+        for (DataSetAggregates.Group group : aggregates.getGroups().get(groupBy.get(0))) {
+            final double[] groupValues = new double[operations.size()];
+            boolean hasValue = false;
+            for (int i = 0; i < groupValues.length; i++) {
+                final AggregationOperation operation = operations.get(i);
+                groupValues[i] = group.get(columns.indexOf(operation.getColumnId()), operation.getOperator());
+                hasValue |= !Double.isNaN(groupValues[i]);
+            }
+            // as when aggregating content, groups without any value are not part of the result
+            if (hasValue) {
+                result.put(group.getValue(), new GroupContext(new String[] { group.getValue() }, groupValues));
+            }
+        }
         return result;
     }
 }
@@ -13,7 +13,9 @@
 
 package org.talend.dataprep.transformation.aggregation.api;
 
-import java.util.HashMap;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
@@ -27,9 +29,15 @@ import com.fasterxml.jackson.databind.annotation.JsonSerialize;
 @JsonSerialize(using = AggregationResultSerializer.class)
 public class AggregationResult {
 
-    /** The aggregation operator. */
+    /** The aggregation operator (of the first operation). */
     private Operator operator;
 
+    /** The group by column ids. */
+    private List<String> groupBy;
+
+    /** The aggregation operations. */
+    private List<AggregationOperation> operations;
+
     /** Where all the results are stored. */
     private Map<String, WorkingContext> results;
 
@@ -39,8 +47,20 @@ public class AggregationResult {
      * @param operator the aggregation operator.
      */
     public AggregationResult(Operator operator) {
-        results = new HashMap<>();
-        this.operator = operator;
+        this(Collections.emptyList(), Collections.singletonList(new AggregationOperation(null, operator)));
+    }
+
+    /**
+     * Constructor for the result of several operations (results are then {@link GroupContext group contexts}).
+     *
+     * @param groupBy the group by column ids.
+     * @param operations the aggregation operations.
+     */
+    public AggregationResult(List<String> groupBy, List<AggregationOperation> operations) {
+        results = new LinkedHashMap<>();
+        this.groupBy = groupBy;
+        this.operations = operations;
+        this.operator = operations.get(0).getOperator();
     }
 
     /**
@@ -78,6 +98,20 @@ public class AggregationResult {
         return operator;
     }
 
+    /**
+     * @return the group by column ids.
+     */
+    public List<String> getGroupBy() {
+        return groupBy;
+    }
+
+    /**
+     * @return the aggregation operations.
+     */
+    public List<AggregationOperation> getOperations() {
+        return operations;
+    }
+
     /**
      * @return the result entries.
      */
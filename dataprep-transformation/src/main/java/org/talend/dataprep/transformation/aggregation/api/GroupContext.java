@@ -0,0 +1,60 @@
+//  ============================================================================
+//
+//  Copyright (C) 2006-2016 Talend Inc. - www.talend.com
+//
+//  This source code is available under agreement available at
+//  https://github.com/Talend/data-prep/blob/master/LICENSE
+//
+//  You should have received a copy of the agreement
+//  along with this program; if not, write to Talend SA
+//  9 rue Pages 92150 Suresnes, France
+//
+//  ============================================================================
+
+package org.talend.dataprep.transformation.aggregation.api;
+
+/**
+ * Working context of a group: the values of the group by columns and the value of each aggregation operation.
+ */
+public class GroupContext implements WorkingContext {
+
+    /** The group by values. */
+    private final String[] keys;
+
+    /** The operation values (NaN if an operation has no value for this group). */
+    private final double[] values;
+
+    /**
+     * Constructor.
+     *
+     * @param keys the group by values (in the order of the group by columns).
+     * @param values the operation values (in the order of the operations).
+     */
+    public GroupContext(String[] keys, double[] values) {
+        this.keys = keys;
+        this.values = values;
+    }
+
+    /**
+     * @return the group by values.
+     */
+    public String[] getKeys() {
+        return keys;
+    }
+
+    /**
+     * @return the operation values (NaN if an operation has no value for this group).
+     */
+    public double[] getValues() {
+        return values;
+    }
+
+    /**
+     * @return the value of the first operation.
+     * @see WorkingContext#getValue()
+     */
+    @Override
+    public double getValue() {
+        return values[0];
+    }
+}
@@ -19,7 +19,9 @@ import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
 
+import org.talend.dataprep.transformation.aggregation.api.AggregationOperation;
 import org.talend.dataprep.transformation.aggregation.api.AggregationResult;
+import org.talend.dataprep.transformation.aggregation.api.GroupContext;
 import org.talend.dataprep.transformation.aggregation.api.WorkingContext;
 
 import com.fasterxml.jackson.core.JsonGenerator;
@@ -27,7 +29,10 @@ import com.fasterxml.jackson.databind.JsonSerializer;
 import com.fasterxml.jackson.databind.SerializerProvider;
 
 /**
- * Serialize Aggregation in json.
+ * Serialize Aggregation in json: an array of groups sorted by (first operation) value, each group having a "data" field
+ * with the group by value (or values if several group by columns) and a field per operation. The field of an operation
+ * is named after its operator (e.g. "SUM"), or after its operator and column if there are several operations (e.g.
+ * "SUM_0001").
  */
 public class AggregationResultSerializer extends JsonSerializer<AggregationResult> {
 
@@ -37,19 +42,52 @@ public class AggregationResultSerializer extends JsonSerializer<AggregationResul
     @Override
     public void serialize(AggregationResult result, JsonGenerator gen, SerializerProvider provider) throws IOException {
 
-        // sort the results first
-        Comparator<Map.Entry<String, WorkingContext>> comparator = (e1, e2) -> Double.compare(e2.getValue().getValue(),
-                e1.getValue().getValue());
+        // sort the results first (groups without value last)
+        Comparator<Map.Entry<String, WorkingContext>> comparator = (e1, e2) -> {
+            final double value1 = e1.getValue().getValue();
+            final double value2 = e2.getValue().getValue();
+            if (Double.isNaN(value1) || Double.isNaN(value2)) {
+                return Boolean.compare(Double.isNaN(value1), Double.isNaN(value2));
+            }
+            return Double.compare(value2, value1);
+        };
         final List<Map.Entry<String, WorkingContext>> entries = result.entries().stream().sorted(comparator)
                 .collect(Collectors.toList());
 
+        final List<AggregationOperation> operations = result.getOperations();
+        final String[] fieldNames = new String[operations.size()];
+        for (int i = 0; i < fieldNames.length; i++) {
+            final AggregationOperation operation = operations.get(i);
+            fieldNames[i] = fieldNames.length == 1 ? operation.getOperator().name()
+                    : operation.getOperator().name() + '_' + operation.getColumnId();
+        }
+
         // then write it
         gen.writeStartArray();
         for (Map.Entry<String, WorkingContext> entry : entries) {
-            String key = entry.getKey();
+            final WorkingContext context = entry.getValue();
             gen.writeStartObject();
-            gen.writeStringField("data", key);
-            gen.writeNumberField(result.getOperator().name(), entry.getValue().getValue());
+            if (context instanceof GroupContext && ((GroupContext) context).getKeys().length > 1) {
+                gen.writeArrayFieldStart("data");
+                for (String key : ((GroupContext) context).getKeys()) {
+                    gen.writeString(key);
+                }
+                gen.writeEndArray();
+            } else {
+                gen.writeStringField("data", entry.getKey());
+            }
+            if (context instanceof GroupContext) {
+                final double[] values = ((GroupContext) context).getValues();
+                for (int i = 0; i < fieldNames.length; i++) {
+                    if (Double.isNaN(values[i])) {
+                        gen.writeNullField(fieldNames[i]);
+                    } else {
+                        gen.writeNumberField(fieldNames[i], values[i]);
+                    }
+                }
+            } else {
+                gen.writeNumberField(fieldNames[0], context.getValue());
+            }
             gen.writeEndObject();
         }
         gen.writeEndArray();
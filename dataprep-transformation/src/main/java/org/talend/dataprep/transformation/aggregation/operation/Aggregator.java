@@ -13,22 +13,21 @@
 
 package org.talend.dataprep.transformation.aggregation.operation;
 
-import java.util.function.BiConsumer;
+import java.util.function.Consumer;
 
 import org.talend.dataprep.api.dataset.row.DataSetRow;
 import org.talend.dataprep.transformation.aggregation.api.AggregationResult;
 
 /**
- * Base interface for all aggregators.
+ * Base interface for all aggregators: rows are aggregated one by one, then the result is computed once all rows are
+ * processed.
  *
  * So far, Aggregators are stateful hence not meant to be used across multiple aggregations at the same time.
  */
-public interface Aggregator extends BiConsumer<DataSetRow, AggregationResult> {
+public interface Aggregator extends Consumer<DataSetRow> {
 
     /**
-     * Allow aggregators to perform normalization operations on result (e.g. remove invalid values that can only be
-     * detected at end of aggregation).
-     * @param result The {@link AggregationResult result} to normalize.
+     * @return the {@link AggregationResult result} of the aggregation of all rows accepted so far.
      */
-    void normalize(AggregationResult result);
+    AggregationResult getResult();
 }
@@ -24,32 +24,24 @@ import org.talend.dataprep.transformation.aggregation.api.AggregationParameters;
 public class AggregatorFactory {
 
     /**
-     * Return the first aggregator out of the given parameters.
+     * Return the aggregator of all operations and group by columns of the given parameters.
      *
      * @param parameters the aggregation parameters.
-     * @return the first aggregator out of the given parameters or an empty aggregator if there's none.
+     * @return the aggregator of the given parameters.
      */
     public Aggregator get(AggregationParameters parameters) {
 
-        // return empty aggregator if empty
+        // there must be something to aggregate
         if (parameters.getOperations().isEmpty() || parameters.getGroupBy().isEmpty()) {
             throw new IllegalArgumentException("Invalid aggregation parameters");
         }
 
-        final AggregationOperation operation = parameters.getOperations().get(0);
-        String groupBy = parameters.getGroupBy().get(0);
-
-        switch (operation.getOperator()) {
-        case AVERAGE:
-            return new Average(groupBy, operation.getColumnId());
-        case MIN:
-            return new Min(groupBy, operation.getColumnId());
-        case MAX:
-            return new Max(groupBy, operation.getColumnId());
-        case SUM:
-            return new Sum(groupBy, operation.getColumnId());
-        default:
-            throw new IllegalArgumentException("Operation '" + operation.getOperator() + "' not supported");
+        for (AggregationOperation operation : parameters.getOperations()) {
+            if (operation.getOperator() == null || operation.getColumnId() == null) {
+                throw new IllegalArgumentException("Operation '" + operation + "' not supported");
+            }
         }
+
+        return new GroupByAggregator(parameters.getGroupBy(), parameters.getOperations());
     }
 }
@@ -0,0 +1,170 @@
+//  ============================================================================
+//
+//  Copyright (C) 2006-2016 Talend Inc. - www.talend.com
+//
+//  This source code is available under agreement available at
+//  https://github.com/Talend/data-prep/blob/master/LICENSE
+//
+//  You should have received a copy of the agreement
+//  along with this program; if not, write to Talend SA
+//  9 rue Pages 92150 Suresnes, France
+//
+//  ============================================================================
+
+package org.talend.dataprep.transformation.aggregation.operation;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.apache.commons.lang.StringUtils;
+import org.talend.dataprep.api.dataset.row.DataSetRow;
+import org.talend.dataprep.transformation.aggregation.api.AggregationOperation;
+import org.talend.dataprep.transformation.aggregation.api.AggregationResult;
+import org.talend.dataprep.transformation.aggregation.api.GroupContext;
+import org.talend.dataprep.transformation.aggregation.api.Operator;
+import org.talend.dataprep.util.NumericHelper;
+
+/**
+ * <p>
+ * Aggregator that computes all operations for all group by columns in a single pass: groups are numbered by an open
+ * addressing hash table and operation values are accumulated in arrays of primitives (no object per group and value).
+ * </p>
+ * <p>
+ * Rows with an empty group by value are skipped, as well as values that are not numbers (except for
+ * {@link Operator#COUNT count} that counts rows). Groups without any value are not part of the result.
+ * </p>
+ */
+public class GroupByAggregator implements Aggregator {
+
+    /** Separator of group by values in result keys when there are several group by columns. */
+    private static final char KEY_SEPARATOR = '\u0000';
+
+    /** The group by column ids. */
+    private final List<String> groupBy;
+
+    /** The aggregation operations. */
+    private final List<AggregationOperation> operations;
+
+    /** Column ids of the operations. */
+    private final String[] columns;
+
+    /** Operators of the operations. */
+    private final Operator[] operators;
+
+    /** The group of each key. */
+    private final GroupKeys groups;
+
+    /** Key of the current row (reused for each row). */
+    private final String[] key;
+
+    /** Accumulated value (sum, min or max) by operation and group. */
+    private double[][] values;
+
+    /** Number of values (or rows for count) by operation and group. */
+    private long[][] counts;
+
+    /**
+     * Constructor. Package visible to ensure the use of the factory.
+     *
+     * @param groupBy the group by column ids.
+     * @param operations the aggregation operations.
+     */
+    GroupByAggregator(List<String> groupBy, List<AggregationOperation> operations) {
+        this.groupBy = groupBy;
+        this.operations = operations;
+        this.columns = new String[operations.size()];
+        this.operators = new Operator[operations.size()];
+        for (int i = 0; i < columns.length; i++) {
+            columns[i] = operations.get(i).getColumnId();
+            operators[i] = operations.get(i).getOperator();
+        }
+        this.groups = new GroupKeys(groupBy.size());
+        this.key = new String[groupBy.size()];
+        this.values = new double[columns.length][16];
+        this.counts = new long[columns.length][16];
+    }
+
+    /**
+     * @see java.util.function.Consumer#accept(Object)
+     */
+    @Override
+    public void accept(DataSetRow row) {
+        for (int i = 0; i < key.length; i++) {
+            final String value = row.get(groupBy.get(i));
+            // skip value not found
+            if (StringUtils.isEmpty(value)) {
+                return;
+            }
+            key[i] = value;
+        }
+
+        final int group = groups.add(key);
+        if (group == counts[0].length) {
+            for (int i = 0; i < columns.length; i++) {
+                values[i] = Arrays.copyOf(values[i], group * 2);
+                counts[i] = Arrays.copyOf(counts[i], group * 2);
+            }
+        }
+
+        for (int i = 0; i < columns.length; i++) {
+            if (operators[i] == Operator.COUNT) {
+                counts[i][group]++;
+                continue;
+            }
+            final double value = NumericHelper.parseDouble(row.get(columns[i]));
+            // skip non number
+            if (Double.isNaN(value)) {
+                continue;
+            }
+            final double[] operationValues = values[i];
+            final boolean first = counts[i][group]++ == 0;
+            switch (operators[i]) {
+            case MIN:
+                if (first || value < operationValues[group]) {
+                    operationValues[group] = value;
+                }
+                break;
+            case MAX:
+                if (first || value > operationValues[group]) {
+                    operationValues[group] = value;
+                }
+                break;
+            default: // SUM and AVERAGE
+                operationValues[group] += value;
+                break;
+            }
+        }
+    }
+
+    /**
+     * @see Aggregator#getResult()
+     */
+    @Override
+    public AggregationResult getResult() {
+        final AggregationResult result = new AggregationResult(groupBy, operations);
+        for (int group = 0; group < groups.size(); group++) {
+            final double[] groupValues = new double[columns.length];
+            boolean hasValue = false;
+            for (int i = 0; i < columns.length; i++) {
+                final long count = counts[i][group];
+                if (count == 0) {
+                    groupValues[i] = Double.NaN;
+                    continue;
+                }
+                hasValue = true;
+                if (operators[i] == Operator.COUNT) {
+                    groupValues[i] = count;
+                } else if (operators[i] == Operator.AVERAGE) {
+                    groupValues[i] = values[i][group] / count;
+                } else {
+                    groupValues[i] = values[i][group];
+                }
+            }
+            if (hasValue) {
+                final String[] groupKey = groups.get(group);
+                result.put(StringUtils.join(groupKey, KEY_SEPARATOR), new GroupContext(groupKey, groupValues));
+            }
+        }
+        return result;
+    }
+}
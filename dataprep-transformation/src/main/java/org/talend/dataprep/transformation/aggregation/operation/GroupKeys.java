@@ -0,0 +1,121 @@
+//  ============================================================================
+//
+//  Copyright (C) 2006-2016 Talend Inc. - www.talend.com
+//
+//  This source code is available under agreement available at
+//  https://github.com/Talend/data-prep/blob/master/LICENSE
+//
+//  You should have received a copy of the agreement
+//  along with this program; if not, write to Talend SA
+//  9 rue Pages 92150 Suresnes, France
+//
+//  ============================================================================
+
+package org.talend.dataprep.transformation.aggregation.operation;
+
+import java.util.Arrays;
+
+/**
+ * Assigns a number (0, 1, 2...) to each distinct group key (values of the group by columns) with an open addressing
+ * hash table, so aggregated values can be kept in arrays of primitives indexed by group.
+ */
+class GroupKeys {
+
+    /** Number of values of a key. */
+    private final int width;
+
+    /** Values of the keys, <code>width</code> values per group. */
+    private String[] keys;
+
+    /** Hash of the keys, by group. */
+    private int[] hashes;
+
+    /** Hash table of (group + 1), 0 for empty slots. Its length is a power of 2. */
+    private int[] table;
+
+    /** Number of groups. */
+    private int size;
+
+    /**
+     * @param width number of values of a key.
+     */
+    GroupKeys(int width) {
+        this.width = width;
+        this.hashes = new int[16];
+        this.keys = new String[hashes.length * width];
+        this.table = new int[hashes.length * 2];
+    }
+
+    /**
+     * @param key the values of the key (copied when the key is added).
+     * @return the group of the key, added if the key was not already known.
+     */
+    int add(String[] key) {
+        final int hash = hash(key);
+        int slot = hash & (table.length - 1);
+        for (int entry = table[slot]; entry != 0; entry = table[slot]) {
+            final int group = entry - 1;
+            if (hashes[group] == hash && matches(group, key)) {
+                return group;
+            }
+            slot = (slot + 1) & (table.length - 1);
+        }
+
+        final int group = size++;
+        if (group == hashes.length) {
+            hashes = Arrays.copyOf(hashes, hashes.length * 2);
+            keys = Arrays.copyOf(keys, hashes.length * width);
+        }
+        hashes[group] = hash;
+        System.arraycopy(key, 0, keys, group * width, width);
+        table[slot] = group + 1;
+        if (size * 4 > table.length * 3) {
+            rehash();
+        }
+        return group;
+    }
+
+    /**
+     * @param group a group.
+     * @return the values of the key of the group.
+     */
+    String[] get(int group) {
+        return Arrays.copyOfRange(keys, group * width, (group + 1) * width);
+    }
+
+    /**
+     * @return the number of groups.
+     */
+    int size() {
+        return size;
+    }
+
+    private boolean matches(int group, String[] key) {
+        final int offset = group * width;
+        for (int i = 0; i < width; i++) {
+            if (!keys[offset + i].equals(key[i])) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void rehash() {
+        table = new int[table.length * 2];
+        for (int group = 0; group < size; group++) {
+            int slot = hashes[group] & (table.length - 1);
+            while (table[slot] != 0) {
+                slot = (slot + 1) & (table.length - 1);
+            }
+            table[slot] = group + 1;
+        }
+    }
+
+    private static int hash(String[] key) {
+        int hash = 1;
+        for (String value : key) {
+            hash = 31 * hash + value.hashCode();
+        }
+        return hash ^ (hash >>> 16);
+    }
+}
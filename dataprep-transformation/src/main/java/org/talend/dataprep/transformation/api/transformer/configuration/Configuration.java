@@ -67,6 +67,23 @@ public class Configuration {
      */
     private final OutputStream output;
 
+    /**
+     * Creates the last node of the transformation (instead of writing content to {@link #output}), may be
+     * <code>null</code>.
+     */
+    private Supplier<Node> outputNode;
+
+    /**
+     * Row metadata before the first of {@link #postStatisticsActions}, may be <code>null</code>.
+     */
+    private RowMetadata postStatisticsMetadata;
+
+    /**
+     * The actions (in JSON string format) whose changes global statistics cover, <code>null</code> to cover the changes
+     * of {@link #actions}.
+     */
+    private String postStatisticsActions;
+
     private final boolean allowMetadataChange;
 
     private final boolean globalStatistics;
@@ -119,6 +136,29 @@ public class Configuration {
         return monitorSupplier;
     }
 
+    /**
+     * @return The supplier of the last node of the transformation, <code>null</code> if transformed content is
+     * written to {@link #output()}.
+     */
+    public Supplier<Node> getOutputNode() {
+        return outputNode;
+    }
+
+    /**
+     * @return The row metadata before the first of {@link #getPostStatisticsActions() post statistics actions}.
+     */
+    public RowMetadata getPostStatisticsMetadata() {
+        return postStatisticsMetadata;
+    }
+
+    /**
+     * @return The actions (as JSON string) whose changes global statistics cover, <code>null</code> if statistics cover
+     * the changes of the {@link #getActions() applied actions}.
+     */
+    public String getPostStatisticsActions() {
+        return postStatisticsActions;
+    }
+
     public String stepId() {
         return stepId;
     }
@@ -237,11 +277,39 @@ public class Configuration {
 
         private boolean globalStatistics = true;
 
+        private Supplier<Node> outputNode;
+
+        private RowMetadata postStatisticsMetadata;
+
+        private String postStatisticsActions;
+
         public Builder monitor(Supplier<Node> monitorSupplier) {
             this.monitorSupplier = monitorSupplier;
             return this;
         }
 
+        /**
+         * @param outputNode creates the last node of the transformation, that receives transformed rows (no content is
+         * written to output).
+         * @return the mapper to chain calls.
+         */
+        public Builder outputNode(Supplier<Node> outputNode) {
+            this.outputNode = outputNode;
+            return this;
+        }
+
+        /**
+         * @param rowMetadata the row metadata before the first of the actions.
+         * @param actions the actions (in JSON string format) whose changes global statistics cover, e.g. all the
+         * actions of the preparation when transformation starts from a step kept in cache.
+         * @return the mapper to chain calls.
+         */
+        public Builder postStatisticsScope(final RowMetadata rowMetadata, final String actions) {
+            this.postStatisticsMetadata = rowMetadata;
+            this.postStatisticsActions = actions;
+            return this;
+        }
+
         /**
          * @param output where to write the transformed dataset.
          * @return the mapper to chain calls.
@@ -255,7 +323,11 @@ public class Configuration {
          * @return a new {@link Configuration} from the mapper setup.
          */
         public Configuration build() {
-            return new Configuration(output, filter, outFilter, monitorSupplier, sourceType, format, actions, arguments, preparation, stepId, allowMetadataChange, globalStatistics, dataVolume);
+            final Configuration configuration = new Configuration(output, filter, outFilter, monitorSupplier, sourceType, format, actions, arguments, preparation, stepId, allowMetadataChange, globalStatistics, dataVolume);
+            configuration.outputNode = outputNode;
+            configuration.postStatisticsMetadata = postStatisticsMetadata;
+            configuration.postStatisticsActions = postStatisticsActions;
+            return configuration;
         }
 
         /**
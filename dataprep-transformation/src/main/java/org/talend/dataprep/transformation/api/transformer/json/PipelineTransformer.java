@@ -14,13 +14,25 @@ package org.talend.dataprep.transformation.api.transformer.json;
 
 import static org.talend.dataprep.cache.ContentCache.TimeToLive.DEFAULT;
 import static org.talend.dataprep.transformation.api.transformer.configuration.Configuration.Volume.SMALL;
+import static org.talend.dataprep.transformation.format.JsonFormat.JSON;
 
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Supplier;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 import org.talend.dataprep.api.dataset.DataSet;
 import org.talend.dataprep.api.dataset.RowMetadata;
@@ -35,11 +47,14 @@ import org.talend.dataprep.transformation.api.transformer.Transformer;
 import org.talend.dataprep.transformation.api.transformer.TransformerWriter;
 import org.talend.dataprep.transformation.api.transformer.configuration.Configuration;
 import org.talend.dataprep.transformation.cache.CacheKeyGenerator;
+import org.talend.dataprep.transformation.cache.StepCheckpoints;
 import org.talend.dataprep.transformation.cache.TransformationMetadataCacheKey;
 import org.talend.dataprep.transformation.format.WriterRegistrationService;
 import org.talend.dataprep.transformation.pipeline.ActionRegistry;
+import org.talend.dataprep.transformation.pipeline.Node;
 import org.talend.dataprep.transformation.pipeline.Pipeline;
 import org.talend.dataprep.transformation.pipeline.Visitor;
+import org.talend.dataprep.transformation.pipeline.model.CheckpointNode;
 import org.talend.dataprep.transformation.pipeline.model.WriterNode;
 import org.talend.dataprep.transformation.pipeline.node.StepNode;
 import org.talend.dataprep.transformation.service.PreparationUpdater;
@@ -71,12 +86,52 @@ public class PipelineTransformer implements Transformer {
     @Autowired
     CacheKeyGenerator cacheKeyGenerator;
 
+    @Autowired
+    StepCheckpoints stepCheckpoints;
+
     @Autowired
     private TransformationRowMetadataUtils transformationRowMetadataUtils;
 
     @Autowired
     private PreparationUpdater preparationUpdater;
 
+    /** Max number of rows kept in memory by nodes that hold rows until end of stream. */
+    @Value("${pipeline.reservoir.memory.threshold:10000}")
+    private int reservoirMemoryThreshold;
+
+    /** <code>true</code> to compress rows spilled to disk by nodes that hold rows until end of stream. */
+    @Value("${pipeline.reservoir.compress:true}")
+    private boolean compressReservoir;
+
+    /** Number of rows submitted at once to pipeline nodes (1 to submit rows one by one). */
+    @Value("${pipeline.batch.size:1}")
+    private int batchSize;
+
+    /** Number of threads running row-local actions in parallel (1 or less to run actions on the caller thread). */
+    @Value("${pipeline.parallelism:1}")
+    private int parallelism;
+
+    /** Number of rows handed to a thread at once when actions run in parallel. */
+    @Value("${pipeline.parallel.chunk.size:1024}")
+    private int parallelChunkSize;
+
+    private ExecutorService parallelExecutor;
+
+    @PostConstruct
+    private void init() {
+        if (parallelism > 1) {
+            LOGGER.info("Parallel execution of row-local actions enabled ({} threads).", parallelism);
+            parallelExecutor = Executors.newFixedThreadPool(parallelism);
+        }
+    }
+
+    @PreDestroy
+    private void shutdown() {
+        if (parallelExecutor != null) {
+            parallelExecutor.shutdownNow();
+        }
+    }
+
     @Override
     public void transform(DataSet input, Configuration configuration) {
         final RowMetadata rowMetadata = input.getMetadata().getRowMetadata();
@@ -84,12 +139,19 @@ public class PipelineTransformer implements Transformer {
         // prepare the fallback row metadata
         RowMetadata fallBackRowMetadata = transformationRowMetadataUtils.getMatchingEmptyRowMetadata(rowMetadata);
 
-        final TransformerWriter writer = writerRegistrationService.getWriter(configuration.formatId(), configuration.output(),
-                configuration.getArguments());
-        final ConfiguredCacheWriter metadataWriter = new ConfiguredCacheWriter(contentCache, DEFAULT);
-        final TransformationMetadataCacheKey metadataKey = cacheKeyGenerator.generateMetadataKey(configuration.getPreparationId(),
-                configuration.stepId(), configuration.getSourceType());
+        final Supplier<Node> output;
+        if (configuration.getOutputNode() != null) {
+            output = configuration.getOutputNode();
+        } else {
+            final TransformerWriter writer = writerRegistrationService.getWriter(configuration.formatId(),
+                    configuration.output(), configuration.getArguments());
+            final ConfiguredCacheWriter metadataWriter = new ConfiguredCacheWriter(contentCache, DEFAULT);
+            final TransformationMetadataCacheKey metadataKey = cacheKeyGenerator.generateMetadataKey(
+                    configuration.getPreparationId(), configuration.stepId(), configuration.getSourceType());
+            output = () -> new WriterNode(writer, metadataWriter, metadataKey, fallBackRowMetadata);
+        }
         final PreparationMessage preparation = configuration.getPreparation();
+        final Set<String> checkpoints = selectCheckpoints(preparation, configuration);
         final Pipeline pipeline = Pipeline.Builder.builder().withAnalyzerService(analyzerService) //
                 .withActionRegistry(actionRegistry) //
                 .withPreparation(preparation) //
@@ -98,33 +160,75 @@ public class PipelineTransformer implements Transformer {
                 .withMonitor(configuration.getMonitor()) //
                 .withFilter(configuration.getFilter()) //
                 .withFilterOut(configuration.getOutFilter()) //
-                .withOutput(() -> new WriterNode(writer, metadataWriter, metadataKey, fallBackRowMetadata)) //
+                .withOutput(output) //
                 .withStatisticsAdapter(adapter) //
                 .withGlobalStatistics(configuration.isGlobalStatistics()) //
                 .allowMetadataChange(configuration.isAllowMetadataChange()) //
+                .withReservoir(reservoirMemoryThreshold, compressReservoir) //
+                .withBatchSize(batchSize) //
+                .withParallelism(parallelExecutor, parallelism, parallelChunkSize) //
+                .withStepCheckpoints(step -> checkpoints.contains(step.id()) ? checkpoint(preparation, step, configuration)
+                        : null) //
+                .withPostStatisticsScope(configuration.getPostStatisticsMetadata(),
+                        configuration.getPostStatisticsActions() == null ? null
+                                : actionParser.parse(configuration.getPostStatisticsActions())) //
                 .build();
         try {
             LOGGER.debug("Before transformation: {}", pipeline);
             pipeline.execute(input);
         } finally {
+            // A failed transformation never sends the end of stream: release step checkpoints that are not written
+            pipeline.accept(new Visitor() {
+
+                @Override
+                public void visitNode(Node node) {
+                    if (node instanceof CheckpointNode) {
+                        ((CheckpointNode) node).abort();
+                    }
+                    super.visitNode(node);
+                }
+            });
             LOGGER.debug("After transformation: {}", pipeline);
         }
 
         if (preparation != null) {
             List<Step> stepsToUpdate = new ArrayList<>();
+            Map<String, Long> stepCosts = new HashMap<>();
             pipeline.accept(new Visitor() {
                 @Override
                 public void visitStepNode(StepNode stepNode) {
                     stepsToUpdate.add(stepNode.getStep());
+                    stepCosts.put(stepNode.getStep().id(), stepNode.getTotalTime());
                     super.visitStepNode(stepNode);
                 }
             });
 
+            stepCheckpoints.recordCosts(stepCosts);
             preparation.setSteps(stepsToUpdate);
             preparationUpdater.update(preparation.getId(), preparation.getSteps());
         }
     }
 
+    /**
+     * @return the ids of the steps to keep in cache during the transformation (empty if none).
+     */
+    private Set<String> selectCheckpoints(PreparationMessage preparation, Configuration configuration) {
+        if (preparation == null || configuration.getFilter() != null) {
+            // Content of a filtered transformation is not the content of the steps
+            return Collections.emptySet();
+        }
+        return stepCheckpoints.select(preparation.getDataSetId(), preparation.getId(), preparation.getSteps(),
+                configuration.stepId(), configuration.getSourceType());
+    }
+
+    private CheckpointNode checkpoint(PreparationMessage preparation, Step step, Configuration configuration) {
+        return new CheckpointNode(contentCache, //
+                stepCheckpoints.contentKey(preparation.getDataSetId(), preparation.getId(), step.id(),
+                        configuration.getSourceType()), //
+                stepCheckpoints.metadataKey(preparation.getId(), step.id(), configuration.getSourceType()), //
+                output -> writerRegistrationService.getWriter(JSON, output, Collections.emptyMap()));
+    }
+
     @Override
     public boolean accept(Configuration configuration) {
         return Configuration.class.equals(configuration.getClass());
@@ -0,0 +1,219 @@
+// ============================================================================
+//
+// Copyright (C) 2006-2016 Talend Inc. - www.talend.com
+//
+// This source code is available under agreement available at
+// https://github.com/Talend/data-prep/blob/master/LICENSE
+//
+// You should have received a copy of the agreement
+// along with this program; if not, write to Talend SA
+// 9 rue Pages 92150 Suresnes, France
+//
+// ============================================================================
+
+package org.talend.dataprep.transformation.cache;
+
+import static com.fasterxml.jackson.core.JsonToken.*;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+
+import org.apache.commons.io.IOUtils;
+import org.talend.dataprep.api.dataset.RowMetadata;
+import org.talend.dataprep.api.dataset.json.DataSetRowIterator;
+import org.talend.dataprep.api.dataset.row.DataSetRow;
+import org.talend.dataprep.api.dataset.row.FlagNames;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
+/**
+ * <p>
+ * Index of the records of a cached JSON content (as written by the JSON writer): for each TDP_ID, the byte offset and
+ * length of the record in the content. Records can then be read without parsing the records before them.
+ * </p>
+ * <p>
+ * This class is immutable and thread safe.
+ * </p>
+ */
+public class RecordIndex {
+
+    /** Indexed TDP_IDs, in ascending order. */
+    private final long[] tdpIds;
+
+    /** Byte offsets of records (same order as {@link #tdpIds}). */
+    private final long[] offsets;
+
+    /** Byte lengths of records (same order as {@link #tdpIds}). */
+    private final int[] lengths;
+
+    private RecordIndex(long[] tdpIds, long[] offsets, int[] lengths) {
+        this.tdpIds = tdpIds;
+        this.offsets = offsets;
+        this.lengths = lengths;
+    }
+
+    /**
+     * Build the index of a JSON content.
+     *
+     * @param content the content (a JSON object with a <code>records</code> array), not closed by this method.
+     * @return the index of records.
+     * @throws IOException if content cannot be read or parsed.
+     */
+    public static RecordIndex build(InputStream content) throws IOException {
+        long[] tdpIds = new long[1024];
+        long[] offsets = new long[1024];
+        int[] lengths = new int[1024];
+        int size = 0;
+        boolean sorted = true;
+        final JsonFactory factory = new JsonFactory().disable(JsonParser.Feature.AUTO_CLOSE_SOURCE);
+        try (JsonParser parser = factory.createParser(content)) {
+            if (parser.nextToken() != START_OBJECT) {
+                throw new IOException("Content is not a JSON object.");
+            }
+            JsonToken token;
+            while ((token = parser.nextToken()) == FIELD_NAME) {
+                final boolean records = "records".equals(parser.getCurrentName());
+                token = parser.nextToken();
+                if (!records || token != START_ARRAY) {
+                    parser.skipChildren();
+                    continue;
+                }
+                while (parser.nextToken() == START_OBJECT) {
+                    final long start = parser.getTokenLocation().getByteOffset();
+                    final long tdpId = readTdpId(parser);
+                    final long end = parser.getTokenLocation().getByteOffset() + 1;
+                    if (size == tdpIds.length) {
+                        tdpIds = Arrays.copyOf(tdpIds, size * 2);
+                        offsets = Arrays.copyOf(offsets, size * 2);
+                        lengths = Arrays.copyOf(lengths, size * 2);
+                    }
+                    sorted &= size == 0 || tdpIds[size - 1] < tdpId;
+                    tdpIds[size] = tdpId;
+                    offsets[size] = start;
+                    lengths[size] = (int) (end - start);
+                    size++;
+                }
+            }
+            if (token != END_OBJECT) {
+                throw new IOException("Unexpected token " + token + " in content.");
+            }
+        }
+        if (!sorted) {
+            return sort(tdpIds, offsets, lengths, size);
+        }
+        return new RecordIndex(Arrays.copyOf(tdpIds, size), Arrays.copyOf(offsets, size), Arrays.copyOf(lengths, size));
+    }
+
+    /**
+     * Read the TDP_ID of the current record and move the parser to the end of the record.
+     */
+    private static long readTdpId(JsonParser parser) throws IOException {
+        Long tdpId = null;
+        while (parser.nextToken() == FIELD_NAME) {
+            final boolean isTdpId = FlagNames.TDP_ID.equals(parser.getCurrentName());
+            final JsonToken value = parser.nextToken();
+            if (isTdpId && (value == VALUE_NUMBER_INT || value == VALUE_STRING)) {
+                tdpId = Long.parseLong(parser.getText());
+            } else {
+                parser.skipChildren();
+            }
+        }
+        if (tdpId == null) {
+            throw new IOException("Record without " + FlagNames.TDP_ID + " at " + parser.getTokenLocation());
+        }
+        return tdpId;
+    }
+
+    private static RecordIndex sort(long[] tdpIds, long[] offsets, int[] lengths, int size) throws IOException {
+        final Integer[] order = new Integer[size];
+        for (int i = 0; i < size; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, (i1, i2) -> Long.compare(tdpIds[i1], tdpIds[i2]));
+        final long[] sortedTdpIds = new long[size];
+        final long[] sortedOffsets = new long[size];
+        final int[] sortedLengths = new int[size];
+        for (int i = 0; i < size; i++) {
+            sortedTdpIds[i] = tdpIds[order[i]];
+            sortedOffsets[i] = offsets[order[i]];
+            sortedLengths[i] = lengths[order[i]];
+            if (i > 0 && sortedTdpIds[i] == sortedTdpIds[i - 1]) {
+                throw new IOException("Duplicate " + FlagNames.TDP_ID + " " + sortedTdpIds[i] + " in content.");
+            }
+        }
+        return new RecordIndex(sortedTdpIds, sortedOffsets, sortedLengths);
+    }
+
+    /**
+     * @param tdpId a TDP_ID.
+     * @return <code>true</code> if the content has a record with this TDP_ID.
+     */
+    public boolean contains(long tdpId) {
+        return Arrays.binarySearch(tdpIds, tdpId) >= 0;
+    }
+
+    /**
+     * @return the number of indexed records.
+     */
+    public int size() {
+        return tdpIds.length;
+    }
+
+    /**
+     * Read the records with the given TDP_IDs, skipping all other records of the content.
+     *
+     * @param content the indexed content (read from its start), not closed by this method.
+     * @param wanted the TDP_IDs of the records to read, all {@link #contains(long) indexed}.
+     * @param rowMetadata the row metadata of the content.
+     * @return the records, in content order.
+     * @throws IOException if the content cannot be read or does not match this index.
+     */
+    public List<DataSetRow> read(InputStream content, Collection<Long> wanted, RowMetadata rowMetadata)
+            throws IOException {
+        final int[] positions = wanted.stream() //
+                .mapToInt(tdpId -> Arrays.binarySearch(tdpIds, tdpId)) //
+                .distinct() //
+                .peek(position -> {
+                    if (position < 0) {
+                        throw new IllegalArgumentException("Not all records are indexed.");
+                    }
+                }) //
+                .boxed() //
+                .sorted(Comparator.comparingLong(position -> offsets[position])) //
+                .mapToInt(Integer::intValue) //
+                .toArray();
+        final List<DataSetRow> rows = new ArrayList<>(positions.length);
+        final JsonFactory factory = new JsonFactory();
+        long offset = 0;
+        for (int position : positions) {
+            IOUtils.skipFully(content, offsets[position] - offset);
+            final byte[] record = new byte[lengths[position]];
+            IOUtils.readFully(content, record);
+            offset = offsets[position] + record.length;
+
+            try (JsonParser parser = factory.createParser(record)) {
+                if (parser.nextToken() != START_OBJECT) {
+                    throw new IOException("Content does not match index at offset " + offsets[position]);
+                }
+                final DataSetRow row = new DataSetRowIterator(parser, rowMetadata).next();
+                if (row.getTdpId() == null || row.getTdpId() != tdpIds[position]) {
+                    throw new IOException("Content does not match index at offset " + offsets[position]);
+                }
+                rows.add(row);
+            }
+        }
+        return rows;
+    }
+
+    @Override
+    public String toString() {
+        return "RecordIndex{size=" + tdpIds.length + '}';
+    }
+}
@@ -0,0 +1,113 @@
+// ============================================================================
+//
+// Copyright (C) 2006-2016 Talend Inc. - www.talend.com
+//
+// This source code is available under agreement available at
+// https://github.com/Talend/data-prep/blob/master/LICENSE
+//
+// You should have received a copy of the agreement
+// along with this program; if not, write to Talend SA
+// 9 rue Pages 92150 Suresnes, France
+//
+// ============================================================================
+
+package org.talend.dataprep.transformation.cache;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Predicate;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.talend.dataprep.cache.ContentCache;
+import org.talend.dataprep.cache.ContentCacheKey;
+
+/**
+ * Keeps the {@link RecordIndex record indexes} of cached JSON contents, so records of a cached step content can be read
+ * without parsing the whole content (e.g. to preview an action on the rows displayed by the grid).
+ */
+@Component
+public class RecordIndexCache {
+
+    /** This class' logger. */
+    private static final Logger LOGGER = LoggerFactory.getLogger(RecordIndexCache.class);
+
+    /** The content cache (where indexed contents are read). */
+    private final ContentCache contentCache;
+
+    /** Indexes by content key, least recently used first. */
+    private final Map<String, RecordIndex> indexes;
+
+    /**
+     * Constructor.
+     *
+     * @param contentCache the content cache.
+     * @param maxEntries maximum number of indexes.
+     */
+    @Autowired
+    public RecordIndexCache(ContentCache contentCache,
+            @Value("${preview.record.index.cache.size:100}") int maxEntries) {
+        this.contentCache = contentCache;
+        this.indexes = Collections.synchronizedMap(new LinkedHashMap<String, RecordIndex>(16, 0.75f, true) {
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, RecordIndex> eldest) {
+                return size() > maxEntries;
+            }
+        });
+    }
+
+    /**
+     * @param key the key of a cached JSON content.
+     * @return the index of the content records (built if needed), or <code>null</code> if content is not cached or
+     * cannot be indexed.
+     */
+    public RecordIndex get(ContentCacheKey key) {
+        final RecordIndex cached = indexes.get(key.getKey());
+        if (cached != null) {
+            return cached;
+        }
+        if (!contentCache.has(key)) {
+            return null;
+        }
+        try (InputStream content = contentCache.get(key)) {
+            if (content == null) {
+                return null;
+            }
+            final RecordIndex index = RecordIndex.build(content);
+            LOGGER.debug("{} built for {}", index, key);
+            indexes.put(key.getKey(), index);
+            return index;
+        } catch (IOException e) {
+            LOGGER.debug("Unable to index content {}.", key, e);
+            return null;
+        }
+    }
+
+    /**
+     * Remove the index of a content (e.g. when content no longer matches its index).
+     *
+     * @param key the content key.
+     */
+    public void evict(ContentCacheKey key) {
+        indexes.remove(key.getKey());
+    }
+
+    /**
+     * Remove the indexes of all contents matching the key.
+     *
+     * @param key the content key (see {@link ContentCacheKey#getMatcher()}).
+     */
+    public void evictMatch(ContentCacheKey key) {
+        final Predicate<String> matcher = key.getMatcher();
+        synchronized (indexes) {
+            indexes.keySet().removeIf(matcher);
+        }
+    }
+}
@@ -0,0 +1,254 @@
+// ============================================================================
+//
+// Copyright (C) 2006-2016 Talend Inc. - www.talend.com
+//
+// This source code is available under agreement available at
+// https://github.com/Talend/data-prep/blob/master/LICENSE
+//
+// You should have received a copy of the agreement
+// along with this program; if not, write to Talend SA
+// 9 rue Pages 92150 Suresnes, France
+//
+// ============================================================================
+
+package org.talend.dataprep.transformation.cache;
+
+import static org.talend.dataprep.transformation.format.JsonFormat.JSON;
+
+import java.util.*;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.talend.dataprep.api.export.ExportParameters;
+import org.talend.dataprep.api.preparation.Step;
+import org.talend.dataprep.cache.ContentCache;
+import org.talend.dataprep.cache.ContentCacheKey;
+
+/**
+ * <p>
+ * Selects the steps of a preparation whose content is kept in cache (the step checkpoints) during a transformation,
+ * so a later transformation of the preparation can start from the nearest cached step instead of the dataset.
+ * </p>
+ * <p>
+ * Steps are selected by cost: time spent in steps (as measured by the step nodes of previous transformations) is
+ * summed up from the last checkpoint, and a step is selected once this time exceeds the minimum cost of a checkpoint.
+ * When time of a step is unknown (not yet transformed), a checkpoint is selected every <i>interval</i> steps.
+ * </p>
+ * <p>
+ * Step ids change when the preparation history is rewritten (e.g. a step is updated or deleted), checkpoints of the
+ * steps no longer in the preparation are then {@link #prune(String, Collection) removed}.
+ * </p>
+ */
+@Component
+public class StepCheckpoints {
+
+    /** This class' logger. */
+    private static final Logger LOGGER = LoggerFactory.getLogger(StepCheckpoints.class);
+
+    /** The content cache (where checkpoints are kept). */
+    private final ContentCache contentCache;
+
+    /** The cache key generator. */
+    private final CacheKeyGenerator cacheKeyGenerator;
+
+    /** <code>true</code> if step checkpoints are enabled. */
+    private final boolean enabled;
+
+    /** The minimum time (in ms) spent in steps since the last checkpoint for a step to be selected. */
+    private final long minCost;
+
+    /** The number of steps between checkpoints when time spent in steps is unknown. */
+    private final int interval;
+
+    /** Time spent in steps (in ms) by step id, least recently used first. */
+    private final Map<String, Long> costs;
+
+    /**
+     * Keys of the checkpoints (content and metadata) by step id, by preparation id, least recently used preparation
+     * first (checkpoints of evicted preparations are no longer pruned, their entries expire with the cache).
+     */
+    private final Map<String, Map<String, List<ContentCacheKey>>> checkpoints;
+
+    /**
+     * Constructor.
+     *
+     * @param contentCache the content cache.
+     * @param cacheKeyGenerator the cache key generator.
+     * @param enabled <code>true</code> if step checkpoints are enabled.
+     * @param minCost the minimum time (in ms) spent in steps since the last checkpoint for a step to be selected.
+     * @param interval the number of steps between checkpoints when time spent in steps is unknown.
+     * @param maxCosts maximum number of steps whose time is kept.
+     * @param maxPreparations maximum number of preparations whose checkpoints are kept.
+     */
+    @Autowired
+    public StepCheckpoints(ContentCache contentCache, CacheKeyGenerator cacheKeyGenerator,
+            @Value("${transformation.checkpoint.enabled:true}") boolean enabled,
+            @Value("${transformation.checkpoint.min.cost:2000}") long minCost,
+            @Value("${transformation.checkpoint.interval:20}") int interval,
+            @Value("${transformation.checkpoint.costs.size:10000}") int maxCosts,
+            @Value("${transformation.checkpoint.preparations.size:1000}") int maxPreparations) {
+        this.contentCache = contentCache;
+        this.cacheKeyGenerator = cacheKeyGenerator;
+        this.enabled = enabled;
+        this.minCost = minCost;
+        this.interval = Math.max(1, interval);
+        this.costs = Collections.synchronizedMap(new LinkedHashMap<String, Long>(16, 0.75f, true) {
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Long> eldest) {
+                return size() > maxCosts;
+            }
+        });
+        this.checkpoints = new LinkedHashMap<String, Map<String, List<ContentCacheKey>>>(16, 0.75f, true) {
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Map<String, List<ContentCacheKey>>> eldest) {
+                return size() > maxPreparations;
+            }
+        };
+    }
+
+    /**
+     * Select the steps to keep in cache during the transformation of the given steps.
+     *
+     * @param dataSetId the dataset id.
+     * @param preparationId the preparation id.
+     * @param steps the transformed steps (in preparation order).
+     * @param stepId the id of the transformed step (already kept in cache by the transformation), the last step is
+     * never selected either.
+     * @param sourceType the source type of the transformation.
+     * @return the ids of the selected steps (empty if none).
+     */
+    public Set<String> select(String dataSetId, String preparationId, List<Step> steps, String stepId,
+            ExportParameters.SourceType sourceType) {
+        if (!enabled || steps == null) {
+            return Collections.emptySet();
+        }
+        final Set<String> selected = new HashSet<>();
+        final long unknownCost = minCost / interval;
+        long cost = 0;
+        for (Step step : steps.subList(0, Math.max(0, steps.size() - 1))) {
+            if (Step.ROOT_STEP.id().equals(step.id())) {
+                continue;
+            }
+            if (step.id().equals(stepId)) {
+                break;
+            }
+            final Long stepCost = costs.get(step.id());
+            cost += stepCost == null ? unknownCost : stepCost;
+            if (cost < minCost) {
+                continue;
+            }
+            cost = 0;
+            final ContentCacheKey contentKey = contentKey(dataSetId, preparationId, step.id(), sourceType);
+            final ContentCacheKey metadataKey = metadataKey(preparationId, step.id(), sourceType);
+            if (contentCache.has(contentKey) && contentCache.has(metadataKey)) {
+                // Already cached, but still a good place to start from
+                continue;
+            }
+            selected.add(step.id());
+            register(preparationId, step.id(), contentKey, metadataKey);
+        }
+        LOGGER.debug("Step checkpoints of preparation #{}: {}", preparationId, selected);
+        return selected;
+    }
+
+    private void register(String preparationId, String stepId, ContentCacheKey... keys) {
+        synchronized (checkpoints) {
+            checkpoints.computeIfAbsent(preparationId, id -> new HashMap<>()).putIfAbsent(stepId, Arrays.asList(keys));
+        }
+    }
+
+    /**
+     * Keep the time spent in steps by a transformation (used to select the next checkpoints).
+     *
+     * @param stepCosts the time spent (in ms) by step id.
+     */
+    public void recordCosts(Map<String, Long> stepCosts) {
+        costs.putAll(stepCosts);
+    }
+
+    /**
+     * Find the nearest step (before the given one) with both content and metadata in cache.
+     *
+     * @param dataSetId the dataset id.
+     * @param preparationId the preparation id.
+     * @param stepIds the ids of all the preparation steps (in preparation order).
+     * @param stepId the id of the step to transform.
+     * @param sourceType the source type of the transformation.
+     * @return the nearest cached step id, or <code>null</code> if none is cached.
+     */
+    public String findNearest(String dataSetId, String preparationId, List<String> stepIds, String stepId,
+            ExportParameters.SourceType sourceType) {
+        final int index = stepIds.indexOf(stepId);
+        for (int i = index - 1; i > 0; i--) {
+            final String candidate = stepIds.get(i);
+            if (contentCache.has(metadataKey(preparationId, candidate, sourceType))
+                    && contentCache.has(contentKey(dataSetId, preparationId, candidate, sourceType))) {
+                LOGGER.debug("Step #{} of preparation #{} is {} step(s) before step #{}.", candidate, preparationId,
+                        index - i, stepId);
+                return candidate;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Remove the checkpoints of the steps that no longer exist in the preparation (history was rewritten).
+     *
+     * @param preparationId the preparation id.
+     * @param stepIds the ids of all the preparation steps.
+     */
+    public void prune(String preparationId, Collection<String> stepIds) {
+        final List<ContentCacheKey> staleKeys = new ArrayList<>();
+        synchronized (checkpoints) {
+            final Map<String, List<ContentCacheKey>> preparationCheckpoints = checkpoints.get(preparationId);
+            if (preparationCheckpoints == null) {
+                return;
+            }
+            final Iterator<Map.Entry<String, List<ContentCacheKey>>> iterator = preparationCheckpoints.entrySet()
+                    .iterator();
+            while (iterator.hasNext()) {
+                final Map.Entry<String, List<ContentCacheKey>> checkpoint = iterator.next();
+                if (!stepIds.contains(checkpoint.getKey())) {
+                    staleKeys.addAll(checkpoint.getValue());
+                    costs.remove(checkpoint.getKey());
+                    iterator.remove();
+                }
+            }
+        }
+        if (!staleKeys.isEmpty()) {
+            LOGGER.debug("Remove {} stale checkpoint entries of preparation #{}.", staleKeys.size(), preparationId);
+            staleKeys.forEach(contentCache::evict);
+        }
+    }
+
+    /**
+     * Forget all checkpoints of a preparation (cache entries are expected to be evicted by caller).
+     *
+     * @param preparationId the preparation id.
+     */
+    public void evict(String preparationId) {
+        synchronized (checkpoints) {
+            checkpoints.remove(preparationId);
+        }
+    }
+
+    /**
+     * @return the key of a step content (checkpoints are always kept as JSON).
+     */
+    public TransformationCacheKey contentKey(String dataSetId, String preparationId, String stepId,
+            ExportParameters.SourceType sourceType) {
+        return cacheKeyGenerator.generateContentKey(dataSetId, preparationId, stepId, JSON, sourceType);
+    }
+
+    /**
+     * @return the key of a step metadata.
+     */
+    public TransformationMetadataCacheKey metadataKey(String preparationId, String stepId, ExportParameters.SourceType sourceType) {
+        return cacheKeyGenerator.generateMetadataKey(preparationId, stepId, sourceType);
+    }
+}
@@ -16,7 +16,14 @@ package org.talend.dataprep.transformation.format;
 import static org.talend.dataprep.transformation.format.CSVFormat.CSV;
 
 import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
 import java.util.Collections;
+import java.util.List;
 import java.util.Map;
 
 import org.apache.commons.io.IOUtils;
@@ -35,7 +42,13 @@ import org.talend.dataprep.transformation.api.transformer.TransformerWriter;
 import org.talend.dataprep.util.FilesHelper;
 
 /**
+ * <p>
  * Write datasets in CSV.
+ * </p>
+ * <p>
+ * Values are copied from rows into a reusable buffer (quotes in values are only escaped when there is any), then
+ * encoded by blocks. Records are buffered on disk until columns are known (see {@link #write(RowMetadata)}).
+ * </p>
  */
 @Scope("prototype")
 @Component("writer#" + CSV)
@@ -47,15 +60,29 @@ public class CSVWriter implements TransformerWriter {
     /** Separator argument name. */
     public static final String SEPARATOR_PARAM_NAME = ExportFormat.PREFIX + "csvSeparator";
 
+    /** Encoding argument name (platform encoding if not set). */
+    public static final String ENCODING_PARAM_NAME = ExportFormat.PREFIX + "csvEncoding";
+
     private static final Logger LOGGER = LoggerFactory.getLogger(CSVWriter.class);
 
+    /** Size (in chars) of the blocks encoded and written at once. */
+    private static final int BLOCK_SIZE = 64 * 1024;
+
+    private static final char QUOTE = '"';
+
+    private static final char LINE_END = '\n';
+
     private final OutputStream output;
 
     private final char separator;
 
+    private final Charset charset;
+
     private final File bufferFile;
 
-    private final au.com.bytecode.opencsv.CSVWriter recordsWriter;
+    private final OutputStream bufferOutput;
+
+    private final BlockWriter recordsWriter;
 
     /**
      * Simple constructor with default separator value.
@@ -70,7 +97,7 @@ public class CSVWriter implements TransformerWriter {
      * Constructor.
      *
      * @param output where to write the dataset.
-     * @param parameters parameters to get the separator from.
+     * @param parameters parameters to get the separator and encoding from.
      */
     public CSVWriter(final OutputStream output, Map<String, String> parameters) {
         try {
@@ -81,8 +108,15 @@ public class CSVWriter implements TransformerWriter {
             } else {
                 this.separator = separatorParameter.charAt(0);
             }
+            final String encodingParameter = parameters.get(ENCODING_PARAM_NAME);
+            if (StringUtils.isNotEmpty(encodingParameter) && Charset.isSupported(encodingParameter)) {
+                this.charset = Charset.forName(encodingParameter);
+            } else {
+                this.charset = Charset.defaultCharset();
+            }
             bufferFile = File.createTempFile("csvWriter", ".csv");
-            recordsWriter = new au.com.bytecode.opencsv.CSVWriter(new FileWriter(bufferFile), separator);
+            bufferOutput = new FileOutputStream(bufferFile);
+            recordsWriter = new BlockWriter(bufferOutput, charset, separator);
         } catch (IOException e) {
             throw new TDPException(TransformationErrorCodes.UNABLE_TO_USE_EXPORT, e);
         }
@@ -94,29 +128,42 @@ public class CSVWriter implements TransformerWriter {
     @Override
     public void write(final RowMetadata rowMetadata) throws IOException {
         // write the columns names
-        String[] columnsName = rowMetadata.getColumns().stream().map(ColumnMetadata::getName).toArray(String[]::new);
-        au.com.bytecode.opencsv.CSVWriter csvWriter = //
-        new au.com.bytecode.opencsv.CSVWriter(new OutputStreamWriter(output), separator);
-        csvWriter.writeNext(columnsName);
-        csvWriter.flush();
+        final BlockWriter headerWriter = new BlockWriter(output, charset, separator);
+        for (ColumnMetadata column : rowMetadata.getColumns()) {
+            headerWriter.value(column.getName());
+        }
+        headerWriter.endRecord();
+        headerWriter.finish();
         // Write buffered records
-        recordsWriter.flush();
-        try (InputStream input = new FileInputStream(bufferFile)) {
-            IOUtils.copy(input, output);
+        try {
+            recordsWriter.finish();
+            bufferOutput.close();
+            try (InputStream input = new FileInputStream(bufferFile)) {
+                IOUtils.copyLarge(input, output, new byte[BLOCK_SIZE]);
+            }
         } finally {
-            recordsWriter.close();
+            IOUtils.closeQuietly(bufferOutput);
         }
-
     }
 
     /**
      * @see TransformerWriter#write(DataSetRow)
-     * @throws UnsupportedOperationException if CsvWriter#write(RowMetadata) was not called before.
      */
     @Override
     public void write(final DataSetRow row) throws IOException {
         // values need to be written in the same order as the columns
-        recordsWriter.writeNext(row.order().toArray(DataSetRow.SKIP_TDP_ID));
+        final RowMetadata rowMetadata = row.getRowMetadata();
+        final List<ColumnMetadata> columns = rowMetadata == null ? Collections.emptyList() : rowMetadata.getColumns();
+        if (columns.isEmpty()) {
+            for (String value : row.toArray(DataSetRow.SKIP_TDP_ID)) {
+                recordsWriter.value(value);
+            }
+        } else {
+            for (int i = 0; i < columns.size(); i++) {
+                recordsWriter.value(row.get(columns.get(i).getId()));
+            }
+        }
+        recordsWriter.endRecord();
     }
 
     /**
@@ -132,4 +179,123 @@ public class CSVWriter implements TransformerWriter {
         }
     }
 
+    /**
+     * Writes quoted values separated by the separator in a char buffer, encodes and writes the buffer to its output
+     * when full.
+     */
+    private static class BlockWriter {
+
+        private final OutputStream target;
+
+        private final char separator;
+
+        private final CharsetEncoder encoder;
+
+        private final char[] chars = new char[BLOCK_SIZE];
+
+        private final ByteBuffer bytes;
+
+        /** Position of next char in {@link #chars}. */
+        private int position;
+
+        /** <code>true</code> if next value is the first of its record. */
+        private boolean firstValue = true;
+
+        private BlockWriter(OutputStream target, Charset charset, char separator) {
+            this.target = target;
+            this.separator = separator;
+            this.encoder = charset.newEncoder() //
+                    .onMalformedInput(CodingErrorAction.REPLACE) //
+                    .onUnmappableCharacter(CodingErrorAction.REPLACE);
+            this.bytes = ByteBuffer.allocate((int) Math.ceil(BLOCK_SIZE * encoder.averageBytesPerChar()) + 16);
+        }
+
+        /**
+         * Append a value to the current record (<code>null</code> values are written as empty unquoted values).
+         */
+        private void value(String value) throws IOException {
+            if (!firstValue) {
+                append(separator);
+            }
+            firstValue = false;
+            if (value == null) {
+                return;
+            }
+            append(QUOTE);
+            if (value.indexOf(QUOTE) < 0) {
+                append(value);
+            } else {
+                for (int i = 0; i < value.length(); i++) {
+                    final char c = value.charAt(i);
+                    if (c == QUOTE) {
+                        append(QUOTE);
+                    }
+                    append(c);
+                }
+            }
+            append(QUOTE);
+        }
+
+        private void endRecord() throws IOException {
+            append(LINE_END);
+            firstValue = true;
+        }
+
+        private void append(char c) throws IOException {
+            if (position == chars.length) {
+                encode(false);
+            }
+            chars[position++] = c;
+        }
+
+        private void append(String value) throws IOException {
+            int start = 0;
+            while (start < value.length()) {
+                if (position == chars.length) {
+                    encode(false);
+                }
+                final int end = Math.min(value.length(), start + chars.length - position);
+                value.getChars(start, end, chars, position);
+                position += end - start;
+                start = end;
+            }
+        }
+
+        /**
+         * Encode and write the buffered chars.
+         *
+         * @param endOfInput <code>true</code> if no more chars will be written.
+         */
+        private void encode(boolean endOfInput) throws IOException {
+            final CharBuffer in = CharBuffer.wrap(chars, 0, position);
+            CoderResult result;
+            do {
+                result = encoder.encode(in, bytes, endOfInput);
+                writeBytes();
+            } while (result.isOverflow());
+            // Keep chars that can't be encoded yet (e.g. a high surrogate at the end of the block)
+            final int remaining = in.remaining();
+            System.arraycopy(chars, in.position(), chars, 0, remaining);
+            position = remaining;
+        }
+
+        private void writeBytes() throws IOException {
+            target.write(bytes.array(), 0, bytes.position());
+            bytes.clear();
+        }
+
+        /**
+         * Encode and write all buffered chars to the output.
+         */
+        private void finish() throws IOException {
+            encode(true);
+            while (encoder.flush(bytes).isOverflow()) {
+                writeBytes();
+            }
+            writeBytes();
+            target.flush();
+            encoder.reset();
+        }
+    }
+
 }
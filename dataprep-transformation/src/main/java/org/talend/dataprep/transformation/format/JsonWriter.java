@@ -91,7 +91,7 @@ public class JsonWriter implements TransformerWriter {
 
     @Override
     public void write(final DataSetRow row) throws IOException {
-        generator.writeObject(row.valuesWithId());
+        row.writeTo(generator);
     }
 
     @Override
@@ -13,22 +13,20 @@
 
 package org.talend.dataprep.transformation.format;
 
+import static java.nio.charset.StandardCharsets.UTF_8;
 import static org.talend.dataprep.transformation.format.XlsFormat.XLSX;
 
 import java.io.*;
-import java.util.Collections;
-import java.util.Map;
-
-import org.apache.commons.lang.StringUtils;
-import org.apache.poi.ss.usermodel.Cell;
-import org.apache.poi.ss.usermodel.CreationHelper;
-import org.apache.poi.ss.usermodel.Row;
-import org.apache.poi.ss.usermodel.Sheet;
-import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+import java.util.*;
+import java.util.zip.Deflater;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.context.annotation.Scope;
 import org.springframework.stereotype.Component;
+import org.talend.daikon.exception.ExceptionContext;
 import org.talend.dataprep.api.dataset.ColumnMetadata;
 import org.talend.dataprep.api.dataset.RowMetadata;
 import org.talend.dataprep.api.dataset.row.DataSetRow;
@@ -36,124 +34,430 @@ import org.talend.dataprep.api.type.Type;
 import org.talend.dataprep.exception.TDPException;
 import org.talend.dataprep.exception.error.TransformationErrorCodes;
 import org.talend.dataprep.transformation.api.transformer.TransformerWriter;
-import org.talend.dataprep.util.FilesHelper;
-
-import au.com.bytecode.opencsv.CSVReader;
 
+/**
+ * <p>
+ * Write datasets in XLSX (Office Open XML spreadsheet).
+ * </p>
+ * <p>
+ * The sheet XML is written to the output as rows are received (no intermediate buffer): headers are the columns of the
+ * first row metadata, and the strings shared by cells are written once the sheet is complete.
+ * </p>
+ * <p>
+ * As cells are written before the final row metadata is known, cell types are also taken from the types of the first
+ * row metadata: a column type changed afterwards (e.g. by a later step) is ignored, and a value that does not match a
+ * numeric column type is written as a string.
+ * </p>
+ * <p>
+ * Shared strings are kept in memory until the sheet is complete, so only short strings are shared, within a bounded
+ * number and total length: other strings are written in their cells.
+ * </p>
+ * <p>
+ * A sheet holds at most {@link #MAX_ROWS} rows (headers included): writing more rows fails, as Excel would not open the
+ * workbook.
+ * </p>
+ */
 @Scope("prototype")
 @Component("writer#" + XLSX)
 public class XlsWriter implements TransformerWriter {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(XlsWriter.class);
 
-    // The separator to be used in temporary record buffer
-    private static final char BUFFER_CSV_SEPARATOR = ',';
+    // TODO sheet name as an option?
+    private static final String SHEET_NAME = "sheet1";
+
+    /** Maximum number of rows in a XLSX sheet (headers included). */
+    static final int MAX_ROWS = 1048576;
+
+    /** Maximum number of distinct strings shared by cells, next strings are written in cells. */
+    private static final int MAX_SHARED_STRINGS = 100000;
+
+    /** Maximum length of a string shared by cells, longer strings are written in cells. */
+    private static final int MAX_SHARED_STRING_LENGTH = 255;
+
+    /** Maximum total length of the strings shared by cells, next strings are written in cells. */
+    private static final int MAX_SHARED_STRINGS_CHARS = 5000000;
+
+    private static final String XML_HEADER = "<?xml version=\"1.0\" encoding=\"UTF-8\" standalone=\"yes\"?>\n";
+
+    private static final String MAIN_NS = "http://schemas.openxmlformats.org/spreadsheetml/2006/main";
+
+    private static final String RELATIONSHIPS_NS = "http://schemas.openxmlformats.org/officeDocument/2006/relationships";
+
+    private static final String CONTENT_TYPES = XML_HEADER
+            + "<Types xmlns=\"http://schemas.openxmlformats.org/package/2006/content-types\">"
+            + "<Default Extension=\"rels\" ContentType=\"application/vnd.openxmlformats-package.relationships+xml\"/>"
+            + "<Default Extension=\"xml\" ContentType=\"application/xml\"/>"
+            + "<Override PartName=\"/xl/workbook.xml\" "
+            + "ContentType=\"application/vnd.openxmlformats-officedocument.spreadsheetml.sheet.main+xml\"/>"
+            + "<Override PartName=\"/xl/worksheets/sheet1.xml\" "
+            + "ContentType=\"application/vnd.openxmlformats-officedocument.spreadsheetml.worksheet+xml\"/>"
+            + "<Override PartName=\"/xl/styles.xml\" "
+            + "ContentType=\"application/vnd.openxmlformats-officedocument.spreadsheetml.styles+xml\"/>"
+            + "<Override PartName=\"/xl/sharedStrings.xml\" "
+            + "ContentType=\"application/vnd.openxmlformats-officedocument.spreadsheetml.sharedStrings+xml\"/>"
+            + "</Types>";
+
+    private static final String ROOT_RELATIONSHIPS = XML_HEADER
+            + "<Relationships xmlns=\"http://schemas.openxmlformats.org/package/2006/relationships\">"
+            + "<Relationship Id=\"rId1\" Type=\"" + RELATIONSHIPS_NS + "/officeDocument\" Target=\"xl/workbook.xml\"/>"
+            + "</Relationships>";
+
+    private static final String WORKBOOK = XML_HEADER
+            + "<workbook xmlns=\"" + MAIN_NS + "\" xmlns:r=\"" + RELATIONSHIPS_NS + "\">"
+            + "<sheets><sheet name=\"" + SHEET_NAME + "\" sheetId=\"1\" r:id=\"rId1\"/></sheets>"
+            + "</workbook>";
+
+    private static final String WORKBOOK_RELATIONSHIPS = XML_HEADER
+            + "<Relationships xmlns=\"http://schemas.openxmlformats.org/package/2006/relationships\">"
+            + "<Relationship Id=\"rId1\" Type=\"" + RELATIONSHIPS_NS + "/worksheet\" Target=\"worksheets/sheet1.xml\"/>"
+            + "<Relationship Id=\"rId2\" Type=\"" + RELATIONSHIPS_NS + "/styles\" Target=\"styles.xml\"/>"
+            + "<Relationship Id=\"rId3\" Type=\"" + RELATIONSHIPS_NS + "/sharedStrings\" Target=\"sharedStrings.xml\"/>"
+            + "</Relationships>";
+
+    private static final String STYLES = XML_HEADER
+            + "<styleSheet xmlns=\"" + MAIN_NS + "\">"
+            + "<fonts count=\"1\"><font><sz val=\"11\"/><name val=\"Calibri\"/></font></fonts>"
+            + "<fills count=\"2\"><fill><patternFill patternType=\"none\"/></fill>"
+            + "<fill><patternFill patternType=\"gray125\"/></fill></fills>"
+            + "<borders count=\"1\"><border><left/><right/><top/><bottom/><diagonal/></border></borders>"
+            + "<cellStyleXfs count=\"1\"><xf numFmtId=\"0\" fontId=\"0\" fillId=\"0\" borderId=\"0\"/></cellStyleXfs>"
+            + "<cellXfs count=\"1\"><xf numFmtId=\"0\" fontId=\"0\" fillId=\"0\" borderId=\"0\" xfId=\"0\"/></cellXfs>"
+            + "<cellStyles count=\"1\"><cellStyle name=\"Normal\" xfId=\"0\" builtinId=\"0\"/></cellStyles>"
+            + "</styleSheet>";
 
     private final OutputStream outputStream;
 
-    private final SXSSFWorkbook workbook;
+    private final ZipOutputStream zip;
+
+    /** Writes the sheet entry of the zip (never closed, closing it would close the zip). */
+    private Writer sheet;
+
+    /** Columns of the sheet (known once the first row or the row metadata is received). */
+    private List<ColumnMetadata> columns;
+
+    /** Cell references (letters) of the columns. */
+    private String[] columnRefs;
 
-    private final Sheet sheet;
+    /** Types of the columns (the ones of the first row metadata). */
+    private Type[] columnTypes;
 
-    // Holds a temporary buffer on disk (as CSV) of records to be written
-    private final File bufferFile;
+    /** Shared strings and their index (in insertion order). */
+    private final Map<String, Integer> sharedStrings = new LinkedHashMap<>();
 
-    // The CSV Writer to write to buffer
-    private final au.com.bytecode.opencsv.CSVWriter recordsWriter;
+    /** Number of cells that reference a shared string. */
+    private int sharedStringsReferences;
+
+    /** Total length of the shared strings. */
+    private int sharedStringsChars;
 
     private int rowIdx = 0;
 
+    /** <code>true</code> once the workbook is complete. */
+    private boolean finished;
+
     public XlsWriter(final OutputStream output) {
         this(output, Collections.emptyMap());
     }
 
     public XlsWriter(final OutputStream output, Map<String, String> parameters) {
-        try {
-            this.outputStream = output;
-            // we limit to only 50 rows in memory
-            this.workbook = new SXSSFWorkbook(50);
-            // TODO sheet name as an option?
-            this.sheet = this.workbook.createSheet("sheet1");
-            bufferFile = File.createTempFile("xlsWriter", ".csv");
-            recordsWriter = new au.com.bytecode.opencsv.CSVWriter(new FileWriter(bufferFile), BUFFER_CSV_SEPARATOR);
-        } catch (IOException e) {
-            throw new TDPException(TransformationErrorCodes.UNABLE_TO_USE_EXPORT, e);
-        }
+        this.outputStream = output;
+        this.zip = new ZipOutputStream(output, UTF_8);
+        // Cells XML is highly redundant: fastest compression is almost as good as default one
+        this.zip.setLevel(Deflater.BEST_SPEED);
     }
 
     @Override
     public void write(RowMetadata columns) throws IOException {
         LOGGER.debug("write RowMetadata: {}", columns);
-        if (columns.getColumns().isEmpty()) {
+        if (this.columns == null) {
+            // No row received, only write headers
+            startSheet(columns.getColumns());
+        } else if (!sameColumns(this.columns, columns.getColumns())) {
+            LOGGER.warn("Columns changed after first row was written, headers are the columns of the first row.");
+        }
+        finish();
+    }
+
+    @Override
+    public void write(DataSetRow row) throws IOException {
+        if (finished) {
+            throw new IllegalStateException("Workbook is already written.");
+        }
+        if (columns == null) {
+            final RowMetadata rowMetadata = row.getRowMetadata();
+            startSheet(rowMetadata == null ? Collections.emptyList() : rowMetadata.getColumns());
+        }
+        LOGGER.trace("write DataSetRow: {}", row);
+        if (columns.isEmpty()) {
             return;
         }
-        CreationHelper createHelper = this.workbook.getCreationHelper();
-        // writing headers so first row
-        Row headerRow = this.sheet.createRow(rowIdx++);
-        int cellIdx = 0;
-        for (ColumnMetadata columnMetadata : columns.getColumns()) {
-            // TODO apply some formatting as it's an header cell?
-            headerRow.createCell(cellIdx++).setCellValue(createHelper.createRichTextString(columnMetadata.getName()));
-        }
-        // Empty buffer
-        recordsWriter.flush();
-        recordsWriter.close();
-        try (Reader reader = new InputStreamReader(new FileInputStream(bufferFile))) {
-            try (CSVReader bufferReader = new CSVReader(reader, BUFFER_CSV_SEPARATOR, '\"', '\0')) {
-                String[] nextRow;
-                while ((nextRow = bufferReader.readNext()) != null) {
-                    // writing data
-                    Row row = this.sheet.createRow(rowIdx++);
-                    cellIdx = 0;
-                    for (ColumnMetadata columnMetadata : columns.getColumns()) {
-                        Cell cell = row.createCell(cellIdx);
-                        String val = nextRow[cellIdx];
-                        switch (Type.get(columnMetadata.getType())) {
-                            case NUMERIC:
-                            case INTEGER:
-                            case DOUBLE:
-                            case FLOAT:
-                                try {
-                                    if (!StringUtils.isEmpty(val)) {
-                                        cell.setCellValue(Double.valueOf(val));
-                                    }
-                                } catch (NumberFormatException e) {
-                                    LOGGER.debug("Skip NumberFormatException and use string for value '{}' row '{}' column '{}'", //
-                                            val, rowIdx - 1, cellIdx - 1);
-                                    cell.setCellValue(val);
-                                }
-                                break;
-                            case BOOLEAN:
-                                cell.setCellValue(Boolean.valueOf(val));
-                                break;
-                            // FIXME ATM we don't have any idea about the date format so this can generate exceptions
-                            // case "date":
-                            // cell.setCellValue( );
-                            default:
-                                cell.setCellValue(val);
-                        }
-                        cellIdx++;
-                    }
+        if (rowIdx >= MAX_ROWS) {
+            throw new TDPException(TransformationErrorCodes.TOO_MANY_ROWS_TO_EXPORT,
+                    ExceptionContext.build().put("format", XLSX).put("limit", MAX_ROWS));
+        }
+        sheet.write("<row r=\"");
+        sheet.write(Integer.toString(++rowIdx));
+        sheet.write("\">");
+        for (int i = 0; i < columns.size(); i++) {
+            final String value = row.get(columns.get(i).getId());
+            if (value == null) {
+                continue;
+            }
+            switch (columnTypes[i]) {
+            case NUMERIC:
+            case INTEGER:
+            case DOUBLE:
+            case FLOAT:
+                final String number = value.trim();
+                if (number.isEmpty()) {
+                    break;
+                }
+                if (isNumber(number)) {
+                    writeCell(i, null, number);
+                } else {
+                    LOGGER.debug("Use string for non numeric value '{}' row '{}' column '{}'", value, rowIdx, i);
+                    writeStringCell(i, value);
                 }
+                break;
+            case BOOLEAN:
+                writeCell(i, "b", Boolean.valueOf(value) ? "1" : "0");
+                break;
+            // FIXME ATM we don't have any idea about the date format so this can generate exceptions
+            // case "date":
+            // cell.setCellValue( );
+            default:
+                writeStringCell(i, value);
             }
         }
+        sheet.write("</row>");
     }
 
     @Override
-    public void write(DataSetRow row) throws IOException {
-        LOGGER.trace("Buffering DataSetRow (metadata not ready): {}", row);
-        // values need to be written in the same order as the columns
-        recordsWriter.writeNext(row.order().toArray(DataSetRow.SKIP_TDP_ID));
+    public void flush() throws IOException {
+        finish();
+        outputStream.flush();
     }
 
-    @Override
-    public void flush() throws IOException {
-        this.workbook.write(outputStream);
-        try {
-            FilesHelper.delete(bufferFile);
-        } catch (IOException e) {
-            LOGGER.warn("Unable to delete temporary file '{}'", bufferFile, e);
+    /**
+     * Write the parts of the workbook that do not depend on content and start the sheet (with its headers).
+     *
+     * @param sheetColumns the sheet columns.
+     */
+    private void startSheet(List<ColumnMetadata> sheetColumns) throws IOException {
+        columns = new ArrayList<>(sheetColumns);
+        columnRefs = new String[columns.size()];
+        columnTypes = new Type[columns.size()];
+        for (int i = 0; i < columns.size(); i++) {
+            columnRefs[i] = columnRef(i);
+            columnTypes[i] = Type.get(columns.get(i).getType());
+        }
+
+        writeEntry("[Content_Types].xml", CONTENT_TYPES);
+        writeEntry("_rels/.rels", ROOT_RELATIONSHIPS);
+        writeEntry("xl/workbook.xml", WORKBOOK);
+        writeEntry("xl/_rels/workbook.xml.rels", WORKBOOK_RELATIONSHIPS);
+        writeEntry("xl/styles.xml", STYLES);
+
+        zip.putNextEntry(new ZipEntry("xl/worksheets/sheet1.xml"));
+        sheet = new BufferedWriter(new OutputStreamWriter(zip, UTF_8), 64 * 1024);
+        sheet.write(XML_HEADER);
+        sheet.write("<worksheet xmlns=\"" + MAIN_NS + "\"><sheetData>");
+        if (columns.isEmpty()) {
+            return;
+        }
+        // writing headers so first row
+        sheet.write("<row r=\"");
+        sheet.write(Integer.toString(++rowIdx));
+        sheet.write("\">");
+        for (int i = 0; i < columns.size(); i++) {
+            writeStringCell(i, columns.get(i).getName());
+        }
+        sheet.write("</row>");
+    }
+
+    /**
+     * End the sheet then write the shared strings, does nothing if workbook is already complete.
+     */
+    private void finish() throws IOException {
+        if (finished) {
+            return;
+        }
+        finished = true;
+        if (sheet == null) {
+            startSheet(Collections.emptyList());
+        }
+        sheet.write("</sheetData></worksheet>");
+        sheet.flush();
+        zip.closeEntry();
+
+        zip.putNextEntry(new ZipEntry("xl/sharedStrings.xml"));
+        final Writer writer = new BufferedWriter(new OutputStreamWriter(zip, UTF_8), 64 * 1024);
+        writer.write(XML_HEADER);
+        writer.write("<sst xmlns=\"" + MAIN_NS + "\" count=\"" + sharedStringsReferences + "\" uniqueCount=\""
+                + sharedStrings.size() + "\">");
+        for (String sharedString : sharedStrings.keySet()) {
+            writer.write("<si>");
+            writeText(writer, sharedString);
+            writer.write("</si>");
+        }
+        writer.write("</sst>");
+        writer.flush();
+        zip.closeEntry();
+        // Only write the zip central directory, output is closed by caller
+        zip.finish();
+        LOGGER.debug("XLSX written ({} rows, {} shared strings).", rowIdx, sharedStrings.size());
+    }
+
+    private void writeEntry(String name, String content) throws IOException {
+        zip.putNextEntry(new ZipEntry(name));
+        zip.write(content.getBytes(UTF_8));
+        zip.closeEntry();
+    }
+
+    private void writeCell(int column, String type, String value) throws IOException {
+        sheet.write("<c r=\"");
+        sheet.write(columnRefs[column]);
+        sheet.write(Integer.toString(rowIdx));
+        if (type != null) {
+            sheet.write("\" t=\"");
+            sheet.write(type);
+        }
+        sheet.write("\"><v>");
+        sheet.write(value);
+        sheet.write("</v></c>");
+    }
+
+    private void writeStringCell(int column, String value) throws IOException {
+        Integer index = sharedStrings.get(value);
+        if (index == null && isShareable(value)) {
+            index = sharedStrings.size();
+            sharedStrings.put(value, index);
+            sharedStringsChars += value.length();
+        }
+        if (index != null) {
+            sharedStringsReferences++;
+            writeCell(column, "s", Integer.toString(index));
+            return;
+        }
+        sheet.write("<c r=\"");
+        sheet.write(columnRefs[column]);
+        sheet.write(Integer.toString(rowIdx));
+        sheet.write("\" t=\"inlineStr\"><is>");
+        writeText(sheet, value);
+        sheet.write("</is></c>");
+    }
+
+    /**
+     * @param value a string not shared yet.
+     * @return <code>true</code> if the string can be added to the shared strings.
+     */
+    private boolean isShareable(String value) {
+        return value.length() <= MAX_SHARED_STRING_LENGTH && sharedStrings.size() < MAX_SHARED_STRINGS
+                && sharedStringsChars + value.length() <= MAX_SHARED_STRINGS_CHARS;
+    }
+
+    /**
+     * Write a text element, characters not allowed in XML are skipped.
+     */
+    private static void writeText(Writer writer, String value) throws IOException {
+        writer.write("<t xml:space=\"preserve\">");
+        for (int i = 0; i < value.length(); i++) {
+            final char c = value.charAt(i);
+            switch (c) {
+            case '&':
+                writer.write("&amp;");
+                break;
+            case '<':
+                writer.write("&lt;");
+                break;
+            case '>':
+                writer.write("&gt;");
+                break;
+            case '"':
+                writer.write("&quot;");
+                break;
+            case '\t':
+            case '\n':
+            case '\r':
+                writer.write(c);
+                break;
+            default:
+                if (c >= 0x20 && c != 0xFFFE && c != 0xFFFF) {
+                    writer.write(c);
+                }
+            }
+        }
+        writer.write("</t>");
+    }
+
+    /**
+     * @param value a trimmed value.
+     * @return <code>true</code> if value is a decimal number (as accepted by spreadsheets for numeric cells).
+     */
+    static boolean isNumber(String value) {
+        final int length = value.length();
+        int i = 0;
+        if (i < length && (value.charAt(i) == '+' || value.charAt(i) == '-')) {
+            i++;
+        }
+        int digits = 0;
+        while (i < length && isDigit(value.charAt(i))) {
+            i++;
+            digits++;
+        }
+        if (i < length && value.charAt(i) == '.') {
+            i++;
+            while (i < length && isDigit(value.charAt(i))) {
+                i++;
+                digits++;
+            }
+        }
+        if (digits == 0) {
+            return false;
+        }
+        if (i < length && (value.charAt(i) == 'e' || value.charAt(i) == 'E')) {
+            i++;
+            if (i < length && (value.charAt(i) == '+' || value.charAt(i) == '-')) {
+                i++;
+            }
+            int exponentDigits = 0;
+            while (i < length && isDigit(value.charAt(i))) {
+                i++;
+                exponentDigits++;
+            }
+            if (exponentDigits == 0) {
+                return false;
+            }
+        }
+        return i == length;
+    }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+
+    /**
+     * @return the cell reference letters of a column (A, B, ..., Z, AA, AB...).
+     */
+    private static String columnRef(int column) {
+        final StringBuilder ref = new StringBuilder();
+        for (int i = column + 1; i > 0; i = (i - 1) / 26) {
+            ref.insert(0, (char) ('A' + (i - 1) % 26));
+        }
+        return ref.toString();
+    }
+
+    private static boolean sameColumns(List<ColumnMetadata> columns, List<ColumnMetadata> other) {
+        if (columns.size() != other.size()) {
+            return false;
+        }
+        for (int i = 0; i < columns.size(); i++) {
+            if (!Objects.equals(columns.get(i).getId(), other.get(i).getId())) {
+                return false;
+            }
         }
+        return true;
     }
 
 }
@@ -0,0 +1,105 @@
+// ============================================================================
+// Copyright (C) 2006-2016 Talend Inc. - www.talend.com
+//
+// This source code is available under agreement available at
+// https://github.com/Talend/data-prep/blob/master/LICENSE
+//
+// You should have received a copy of the agreement
+// along with this program; if not, write to Talend SA
+// 9 rue Pages 92150 Suresnes, France
+//
+// ============================================================================
+
+package org.talend.dataprep.transformation.pipeline.model;
+
+import java.util.List;
+
+import org.talend.dataprep.api.dataset.RowMetadata;
+import org.talend.dataprep.api.dataset.row.DataSetRow;
+import org.talend.dataprep.transformation.aggregation.operation.Aggregator;
+import org.talend.dataprep.transformation.pipeline.Monitored;
+import org.talend.dataprep.transformation.pipeline.Node;
+import org.talend.dataprep.transformation.pipeline.Visitor;
+import org.talend.dataprep.transformation.pipeline.node.BasicNode;
+
+/**
+ * A last node (in place of the {@link WriterNode}) that hands the transformed rows to an {@link Aggregator}: rows are
+ * aggregated as they are transformed, transformed content is never written.
+ */
+public class AggregationNode extends BasicNode implements Monitored {
+
+    private final Aggregator aggregator;
+
+    private long totalTime;
+
+    private int count;
+
+    /**
+     * Constructor.
+     *
+     * @param aggregator the aggregator of the transformed rows.
+     */
+    public AggregationNode(Aggregator aggregator) {
+        this.aggregator = aggregator;
+    }
+
+    @Override
+    public void receive(DataSetRow row, RowMetadata metadata) {
+        final long start = System.currentTimeMillis();
+        try {
+            aggregate(row);
+        } finally {
+            totalTime += System.currentTimeMillis() - start;
+            count++;
+        }
+        super.receive(row, metadata);
+    }
+
+    @Override
+    public void receiveBatch(List<DataSetRow> rows, RowMetadata metadata) {
+        final long start = System.currentTimeMillis();
+        try {
+            for (DataSetRow row : rows) {
+                aggregate(row);
+            }
+        } finally {
+            totalTime += System.currentTimeMillis() - start;
+            count += rows.size();
+        }
+        emitBatch(rows, metadata);
+    }
+
+    private void aggregate(DataSetRow row) {
+        // Same rows as the ones a writer would write
+        if (row.shouldWrite()) {
+            aggregator.accept(row);
+        }
+    }
+
+    /**
+     * @return the aggregator of the transformed rows.
+     */
+    public Aggregator getAggregator() {
+        return aggregator;
+    }
+
+    @Override
+    public void accept(Visitor visitor) {
+        visitor.visitNode(this);
+    }
+
+    @Override
+    public Node copyShallow() {
+        return new AggregationNode(aggregator);
+    }
+
+    @Override
+    public long getTotalTime() {
+        return totalTime;
+    }
+
+    @Override
+    public long getCount() {
+        return count;
+    }
+}
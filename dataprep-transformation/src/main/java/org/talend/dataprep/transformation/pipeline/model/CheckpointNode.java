@@ -0,0 +1,256 @@
+// ============================================================================
+// Copyright (C) 2006-2016 Talend Inc. - www.talend.com
+//
+// This source code is available under agreement available at
+// https://github.com/Talend/data-prep/blob/master/LICENSE
+//
+// You should have received a copy of the agreement
+// along with this program; if not, write to Talend SA
+// 9 rue Pages 92150 Suresnes, France
+//
+// ============================================================================
+
+package org.talend.dataprep.transformation.pipeline.model;
+
+import static org.talend.dataprep.cache.ContentCache.TimeToLive.DEFAULT;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+import org.apache.commons.io.IOUtils;
+import org.apache.commons.lang.StringUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.talend.dataprep.api.dataset.RowMetadata;
+import org.talend.dataprep.api.dataset.row.DataSetRow;
+import org.talend.dataprep.cache.ContentCache;
+import org.talend.dataprep.cache.ContentCacheKey;
+import org.talend.dataprep.transformation.api.transformer.ConfiguredCacheWriter;
+import org.talend.dataprep.transformation.api.transformer.TransformerWriter;
+import org.talend.dataprep.transformation.pipeline.Monitored;
+import org.talend.dataprep.transformation.pipeline.Node;
+import org.talend.dataprep.transformation.pipeline.Signal;
+import org.talend.dataprep.transformation.pipeline.Visitor;
+import org.talend.dataprep.transformation.pipeline.node.BasicNode;
+
+/**
+ * <p>
+ * A node that keeps the content of a step in the content cache (as {@link WriterNode} does for the last step) while
+ * passing rows unchanged to the next step: a later transformation of the preparation can then start from this step
+ * instead of the dataset.
+ * </p>
+ * <p>
+ * Content and metadata are written under temporary keys and only published (moved to the step keys) once the end of
+ * stream is received, so concurrent transformations of the same step never write the same cache entry. Temporary
+ * content is removed from cache if transformation is canceled, fails (see {@link #abort()}) or if content cannot be
+ * written.
+ * </p>
+ */
+public class CheckpointNode extends BasicNode implements Monitored {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(CheckpointNode.class);
+
+    private final ContentCache contentCache;
+
+    private final ContentCacheKey contentKey;
+
+    private final ContentCacheKey metadataKey;
+
+    /** Where content is written until published. */
+    private final ContentCacheKey temporaryContentKey = new TemporaryKey();
+
+    /** Where metadata is written until published. */
+    private final ContentCacheKey temporaryMetadataKey = new TemporaryKey();
+
+    /** Creates the (JSON) writer of the content. */
+    private final Function<OutputStream, TransformerWriter> writerFactory;
+
+    private OutputStream output;
+
+    private TransformerWriter writer;
+
+    /** Row metadata of the step (copied when first row is received, next steps may change it). */
+    private RowMetadata rowMetadata;
+
+    /** <code>true</code> once content is written or failed. */
+    private boolean stopped;
+
+    private long totalTime;
+
+    private int count;
+
+    /**
+     * Constructor.
+     *
+     * @param contentCache the content cache.
+     * @param contentKey the key of the step content.
+     * @param metadataKey the key of the step metadata.
+     * @param writerFactory creates the writer of the content.
+     */
+    public CheckpointNode(ContentCache contentCache, ContentCacheKey contentKey, ContentCacheKey metadataKey,
+            Function<OutputStream, TransformerWriter> writerFactory) {
+        this.contentCache = contentCache;
+        this.contentKey = contentKey;
+        this.metadataKey = metadataKey;
+        this.writerFactory = writerFactory;
+    }
+
+    @Override
+    public void receive(DataSetRow row, RowMetadata metadata) {
+        final long start = System.currentTimeMillis();
+        try {
+            write(row, metadata);
+        } finally {
+            totalTime += System.currentTimeMillis() - start;
+            count++;
+        }
+        super.receive(row, metadata);
+    }
+
+    @Override
+    public void receiveBatch(List<DataSetRow> rows, RowMetadata metadata) {
+        final long start = System.currentTimeMillis();
+        try {
+            for (DataSetRow row : rows) {
+                write(row, metadata);
+            }
+        } finally {
+            totalTime += System.currentTimeMillis() - start;
+            count += rows.size();
+        }
+        emitBatch(rows, metadata);
+    }
+
+    private void write(DataSetRow row, RowMetadata metadata) {
+        if (stopped) {
+            return;
+        }
+        try {
+            if (writer == null) {
+                output = contentCache.put(temporaryContentKey, DEFAULT);
+                writer = writerFactory.apply(output);
+                writer.startObject();
+                writer.fieldName("records");
+                writer.startArray();
+                rowMetadata = metadata.clone();
+            }
+            if (!row.isDeleted()) {
+                writer.write(row);
+            }
+        } catch (IOException | RuntimeException e) {
+            LOGGER.warn("Unable to write content of step checkpoint {}.", contentKey, e);
+            abort();
+        }
+    }
+
+    @Override
+    public void signal(Signal signal) {
+        switch (signal) {
+        case END_OF_STREAM:
+            endOfStream();
+            break;
+        case CANCEL:
+            abort();
+            break;
+        default:
+            LOGGER.debug("Unhandled signal {}.", signal);
+        }
+        super.signal(signal);
+    }
+
+    private void endOfStream() {
+        if (stopped || writer == null) {
+            // Nothing to keep (no row received)
+            stopped = true;
+            return;
+        }
+        final long start = System.currentTimeMillis();
+        try {
+            writer.endArray(); // <- end records
+            writer.fieldName("metadata");
+            writer.startObject();
+            writer.fieldName("columns");
+            writer.write(rowMetadata);
+            writer.endObject();
+            writer.endObject();
+            writer.flush();
+            output.close();
+            new ConfiguredCacheWriter(contentCache, DEFAULT).write(temporaryMetadataKey, rowMetadata);
+            // Publish content first: checkpoint is only used once both content and metadata are published
+            contentCache.move(temporaryContentKey, contentKey, DEFAULT);
+            contentCache.move(temporaryMetadataKey, metadataKey, DEFAULT);
+            LOGGER.debug("Step checkpoint {} written.", contentKey);
+        } catch (IOException | RuntimeException e) {
+            LOGGER.warn("Unable to write step checkpoint {}.", contentKey, e);
+            IOUtils.closeQuietly(output);
+            contentCache.evict(temporaryContentKey);
+            contentCache.evict(temporaryMetadataKey);
+        } finally {
+            stopped = true;
+            totalTime += System.currentTimeMillis() - start;
+        }
+    }
+
+    /**
+     * Stop writing the step content and remove it from cache, unless content is already written (no-op then). Called
+     * when transformation is canceled, and must be called once transformation is over as a failed transformation never
+     * sends the end of stream.
+     */
+    public void abort() {
+        if (stopped) {
+            return;
+        }
+        stopped = true;
+        if (output != null) {
+            IOUtils.closeQuietly(output);
+            contentCache.evict(temporaryContentKey);
+        }
+    }
+
+    @Override
+    public void accept(Visitor visitor) {
+        visitor.visitNode(this);
+    }
+
+    @Override
+    public Node copyShallow() {
+        return new CheckpointNode(contentCache, contentKey, metadataKey, writerFactory);
+    }
+
+    @Override
+    public long getTotalTime() {
+        return totalTime;
+    }
+
+    @Override
+    public long getCount() {
+        return count;
+    }
+
+    /**
+     * A key unique to a checkpoint node.
+     */
+    private static class TemporaryKey implements ContentCacheKey {
+
+        private final String key = "checkpoint-temporary_" + UUID.randomUUID();
+
+        @Override
+        public String getKey() {
+            return key;
+        }
+
+        @Override
+        public Predicate<String> getMatcher() {
+            return str -> StringUtils.startsWith(str, key);
+        }
+
+        @Override
+        public String toString() {
+            return key;
+        }
+    }
+}
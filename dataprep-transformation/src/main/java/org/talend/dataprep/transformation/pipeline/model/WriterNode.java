@@ -15,6 +15,8 @@ package org.talend.dataprep.transformation.pipeline.model;
 import static org.talend.dataprep.transformation.pipeline.Signal.END_OF_STREAM;
 
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.concurrent.atomic.AtomicBoolean;
 
 import org.slf4j.Logger;
@@ -104,6 +106,45 @@ public class WriterNode extends BasicNode implements Monitored {
         }
     }
 
+    /**
+     * Writes a batch of rows (synchronized method not to clash with the signal method).
+     *
+     * @see WriterNode#receive(DataSetRow, RowMetadata)
+     */
+    @Override
+    public synchronized void receiveBatch(List<DataSetRow> rows, RowMetadata metadata) {
+
+        // do not write these rows if the writer is stopped
+        if (isStopped.get()) {
+            LOGGER.debug("already finished or canceled, let's skip these rows");
+            return;
+        }
+
+        final List<DataSetRow> writtenRows = new ArrayList<>(rows.size());
+        final long start = System.currentTimeMillis();
+        try {
+            if (!startRecords) {
+                writer.startObject();
+                writer.fieldName("records");
+                writer.startArray();
+                startRecords = true;
+            }
+            lastRowMetadata = metadata;
+            for (DataSetRow row : rows) {
+                if (row.shouldWrite()) {
+                    writer.write(row);
+                    writtenRows.add(row);
+                }
+            }
+        } catch (IOException e) {
+            LOGGER.error("Unable to write record.", e);
+        } finally {
+            totalTime += System.currentTimeMillis() - start;
+            count += rows.size();
+        }
+        emitBatch(writtenRows, metadata);
+    }
+
     /**
      * Synchronized method not to clash with the receive method.
      *
@@ -23,6 +23,7 @@ import static org.talend.daikon.exception.ExceptionContext.build;
 import static org.talend.dataprep.api.dataset.ColumnMetadata.Builder.column;
 import static org.talend.dataprep.api.export.ExportParameters.SourceType.HEAD;
 import static org.talend.dataprep.exception.error.PreparationErrorCodes.PREPARATION_DOES_NOT_EXIST;
+import static org.talend.dataprep.exception.error.PreparationErrorCodes.UNABLE_TO_READ_PREPARATION;
 import static org.talend.dataprep.exception.error.TransformationErrorCodes.UNEXPECTED_EXCEPTION;
 import static org.talend.dataprep.quality.AnalyzerService.Analysis.SEMANTIC;
 import static org.talend.dataprep.transformation.actions.category.ScopeCategory.COLUMN;
@@ -34,13 +35,12 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.io.ObjectOutputStream;
 import java.io.OutputStream;
-import java.io.PipedInputStream;
-import java.io.PipedOutputStream;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 import java.util.zip.GZIPOutputStream;
@@ -48,13 +48,13 @@ import java.util.zip.GZIPOutputStream;
 import javax.annotation.Resource;
 import javax.validation.Valid;
 
+import org.apache.commons.io.IOUtils;
 import org.apache.commons.io.output.NullOutputStream;
 import org.apache.commons.lang.StringUtils;
 import org.apache.lucene.store.FSDirectory;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.core.task.TaskExecutor;
 import org.springframework.http.MediaType;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestBody;
@@ -74,14 +74,18 @@ import org.talend.dataprep.api.dataset.RowMetadata;
 import org.talend.dataprep.api.dataset.row.Flag;
 import org.talend.dataprep.api.dataset.statistics.SemanticDomain;
 import org.talend.dataprep.api.export.ExportParameters;
+import org.talend.dataprep.api.filter.FilterService;
 import org.talend.dataprep.api.preparation.Preparation;
+import org.talend.dataprep.api.preparation.PreparationMessage;
 import org.talend.dataprep.api.preparation.Step;
 import org.talend.dataprep.api.preparation.StepDiff;
 import org.talend.dataprep.cache.ContentCache;
 import org.talend.dataprep.cache.ContentCacheKey;
 import org.talend.dataprep.command.dataset.DataSetGet;
+import org.talend.dataprep.command.dataset.DataSetGetAggregates;
 import org.talend.dataprep.command.dataset.DataSetGetMetadata;
 import org.talend.dataprep.command.preparation.PreparationDetailsGet;
+import org.talend.dataprep.command.preparation.PreparationGetActions;
 import org.talend.dataprep.conversions.BeanConversionService;
 import org.talend.dataprep.dataset.StatisticsAdapter;
 import org.talend.dataprep.exception.TDPException;
@@ -99,6 +103,8 @@ import org.talend.dataprep.transformation.actions.common.RunnableAction;
 import org.talend.dataprep.transformation.aggregation.AggregationService;
 import org.talend.dataprep.transformation.aggregation.api.AggregationParameters;
 import org.talend.dataprep.transformation.aggregation.api.AggregationResult;
+import org.talend.dataprep.transformation.aggregation.api.DataSetAggregates;
+import org.talend.dataprep.transformation.aggregation.operation.Aggregator;
 import org.talend.dataprep.transformation.api.action.ActionParser;
 import org.talend.dataprep.transformation.api.action.context.ActionContext;
 import org.talend.dataprep.transformation.api.action.context.TransformationContext;
@@ -110,14 +116,22 @@ import org.talend.dataprep.transformation.api.transformer.configuration.PreviewC
 import org.talend.dataprep.transformation.api.transformer.suggestion.Suggestion;
 import org.talend.dataprep.transformation.api.transformer.suggestion.SuggestionEngine;
 import org.talend.dataprep.transformation.cache.CacheKeyGenerator;
+import org.talend.dataprep.transformation.cache.RecordIndex;
+import org.talend.dataprep.transformation.cache.RecordIndexCache;
+import org.talend.dataprep.transformation.cache.StepCheckpoints;
 import org.talend.dataprep.transformation.cache.TransformationMetadataCacheKey;
 import org.talend.dataprep.transformation.pipeline.ActionRegistry;
+import org.talend.dataprep.transformation.pipeline.builder.ActionNodesBuilder;
+import org.talend.dataprep.transformation.pipeline.model.AggregationNode;
 import org.talend.dataprep.transformation.preview.api.PreviewParameters;
 import org.talend.dataquality.common.inference.Analyzer;
 import org.talend.dataquality.common.inference.Analyzers;
 import org.talend.dataquality.semantic.broadcast.BroadcastIndexObject;
 
 import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
 
 import io.swagger.annotations.Api;
 import io.swagger.annotations.ApiOperation;
@@ -165,12 +179,6 @@ public class TransformationService extends BaseTransformationService {
     @Autowired
     private TransformerFactory factory;
 
-    /**
-     * Task executor for asynchronous processing.
-     */
-    @Resource(name = "serializer#json#executor")
-    private TaskExecutor executor;
-
     /**
      * Security proxy enable a thread to borrow the identity of another user.
      */
@@ -186,12 +194,21 @@ public class TransformationService extends BaseTransformationService {
     @Autowired
     private ContentCache contentCache;
 
+    @Autowired
+    private RecordIndexCache recordIndexCache;
+
+    @Autowired
+    private StepCheckpoints stepCheckpoints;
+
     @Autowired
     private BeanConversionService beanConversionService;
 
     @Autowired
     private StatisticsAdapter statisticsAdapter;
 
+    @Autowired
+    private FilterService filterService;
+
     /**
      * The root step.
      */
@@ -280,59 +297,170 @@ public class TransformationService extends BaseTransformationService {
             throw new TDPException(CommonErrorCodes.BAD_AGGREGATION_PARAMETERS, e);
         }
 
-        InputStream contentToAggregate;
+        // serve precomputed aggregates of the dataset when possible
+        if (StringUtils.isBlank(parameters.getPreparationId())) {
+            final DataSetAggregates aggregates = getDataSetAggregates(parameters.getDatasetId());
+            if (aggregates != null && aggregates.canServe(parameters)) {
+                LOG.debug("Aggregation of dataset #{} served from precomputed aggregates", parameters.getDatasetId());
+                return aggregationService.aggregate(parameters, aggregates);
+            }
+        }
 
-        // get the content of the preparation (internal call with piped streams)
+        // aggregate the preparation rows as they are transformed
         if (StringUtils.isNotBlank(parameters.getPreparationId())) {
-            try {
-                PipedOutputStream temp = new PipedOutputStream();
-                contentToAggregate = new PipedInputStream(temp);
-
-                // because of piped streams, processing must be asynchronous
-                Runnable r = () -> {
-                    try {
-                        final ExportParameters exportParameters = new ExportParameters();
-                        exportParameters.setPreparationId(parameters.getPreparationId());
-                        exportParameters.setDatasetId(parameters.getDatasetId());
-                        if (parameters.getFilter() != null) {
-                            exportParameters.setFilter(mapper.readTree(parameters.getFilter()));
-                        }
-                        exportParameters.setExportType(JSON);
-                        exportParameters.setStepId(parameters.getStepId());
-
-                        final StreamingResponseBody body = executeSampleExportStrategy(exportParameters);
-                        body.writeTo(temp);
-                    } catch (IOException e) {
-                        throw new TDPException(CommonErrorCodes.UNABLE_TO_AGGREGATE, e);
-                    }
-                };
-                executor.execute(r);
-            } catch (IOException e) {
-                throw new TDPException(CommonErrorCodes.UNABLE_TO_AGGREGATE, e);
-            }
-        } else {
-            final DataSetGet dataSetGet = context.getBean(DataSetGet.class, parameters.getDatasetId(), false, true);
-            contentToAggregate = dataSetGet.execute();
+            return aggregatePreparation(parameters);
         }
 
-        // apply the aggregation
-        try (JsonParser parser = mapper.getFactory().createParser(contentToAggregate)) {
+        // apply the aggregation on the dataset content
+        final DataSetGet dataSetGet = context.getBean(DataSetGet.class, parameters.getDatasetId(), false, true);
+        try (InputStream contentToAggregate = dataSetGet.execute();
+                JsonParser parser = mapper.getFactory().createParser(contentToAggregate)) {
             final DataSet dataSet = mapper.readerFor(DataSet.class).readValue(parser);
             return aggregationService.aggregate(parameters, dataSet);
         } catch (IOException e) {
             throw new TDPException(CommonErrorCodes.UNABLE_TO_PARSE_JSON, e);
+        }
+    }
+
+    /**
+     * Aggregate the content of a preparation: preparation actions are applied on the dataset and transformed rows are
+     * handed to the aggregator by the last node of the transformation (content is never written). Transformation starts
+     * from the cached content of the nearest step when possible, the whole dataset is transformed otherwise.
+     *
+     * @param parameters the aggregation parameters (with a preparation id).
+     * @return the aggregation result.
+     */
+    private AggregationResult aggregatePreparation(AggregationParameters parameters) {
+        final Aggregator aggregator = aggregationService.getAggregator(parameters);
+        final String preparationId = parameters.getPreparationId();
+        final PreparationMessage preparation = getPreparationMessage(preparationId);
+        final String stepId;
+        if (StringUtils.isEmpty(parameters.getStepId()) || "head".equalsIgnoreCase(parameters.getStepId())) {
+            stepId = preparation.getSteps().get(preparation.getSteps().size() - 1).id();
+        } else {
+            stepId = parameters.getStepId();
+        }
+        // dataset of the preparation unless another one is requested
+        final boolean preparationDataSet = StringUtils.isBlank(parameters.getDatasetId());
+        final String dataSetId = preparationDataSet ? preparation.getDataSetId() : parameters.getDatasetId();
+
+        // start from the cached content of the step (or of the nearest cached step before it) when possible
+        if (preparationDataSet) {
+            final AggregationResult result = aggregateFromCachedStep(parameters, preparation, stepId, aggregator);
+            if (result != null) {
+                return result;
+            }
+        }
+
+        boolean releasedIdentity = !preparationDataSet;
+        if (preparationDataSet) {
+            securityProxy.asTechnicalUser(); // Allow get dataset access whatever share status is
+        }
+        final DataSetGet dataSetGet = context.getBean(DataSetGet.class, dataSetId, false, true);
+        try (InputStream datasetContent = dataSetGet.execute();
+                JsonParser parser = mapper.getFactory().createParser(datasetContent)) {
+            final DataSet dataSet = mapper.readerFor(DataSet.class).readValue(parser);
+            if (!releasedIdentity) {
+                securityProxy.releaseIdentity();
+                releasedIdentity = true;
+            }
+            final Configuration configuration = Configuration.builder() //
+                    .outFilter(rm -> filterService.build(parameters.getFilter(), rm)) //
+                    .sourceType(HEAD) //
+                    .actions(getActions(preparationId, stepId)) //
+                    .preparation(preparation) //
+                    .stepId(stepId) //
+                    .volume(Configuration.Volume.SMALL) //
+                    .outputNode(() -> new AggregationNode(aggregator)) //
+                    .build();
+            factory.get(configuration).transform(dataSet, configuration);
+            return aggregator.getResult();
+        } catch (TDPException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new TDPException(CommonErrorCodes.UNABLE_TO_AGGREGATE, e);
         } finally {
-            // don't forget to release the connection
-            if (contentToAggregate != null) {
-                try {
-                    contentToAggregate.close();
-                } catch (IOException e) {
-                    LOG.warn("Could not close dataset input stream while aggregating", e);
-                }
+            if (!releasedIdentity) {
+                securityProxy.releaseIdentity(); // Release identity in case of error.
             }
         }
     }
 
+    /**
+     * Aggregate the content of a preparation step from the cached content of this step or, if not cached, of the nearest
+     * cached step before it (see {@link StepCheckpoints}): only the actions of the next steps are applied.
+     *
+     * @param parameters the aggregation parameters (with a preparation id).
+     * @param preparation the preparation.
+     * @param stepId the id of the step to aggregate (not 'head').
+     * @param aggregator the aggregator of the transformed rows.
+     * @return the aggregation result, or <code>null</code> if no step content is cached (the whole dataset must then be
+     * transformed).
+     */
+    private AggregationResult aggregateFromCachedStep(AggregationParameters parameters, PreparationMessage preparation,
+            String stepId, Aggregator aggregator) {
+        final String preparationId = parameters.getPreparationId();
+        final String dataSetId = preparation.getDataSetId();
+        final List<Step> steps = preparation.getSteps();
+        final List<String> stepIds = steps.stream().map(Step::id).collect(toList());
+        final String cachedStepId;
+        if (contentCache.has(stepCheckpoints.metadataKey(preparationId, stepId, HEAD))
+                && contentCache.has(stepCheckpoints.contentKey(dataSetId, preparationId, stepId, HEAD))) {
+            cachedStepId = stepId;
+        } else {
+            cachedStepId = stepCheckpoints.findNearest(dataSetId, preparationId, stepIds, stepId, HEAD);
+        }
+        if (cachedStepId == null) {
+            return null;
+        }
+        final String actions;
+        if (cachedStepId.equals(stepId)) {
+            actions = "{\"actions\": []}";
+        } else {
+            // rows of the cached step already have the actions of the cached step applied
+            actions = getAddedActions(getActions(preparationId, cachedStepId), getActions(preparationId, stepId));
+            if (actions == null) {
+                return null;
+            }
+        }
+
+        final TransformationMetadataCacheKey metadataKey = stepCheckpoints.metadataKey(preparationId, cachedStepId, HEAD);
+        final ContentCacheKey contentKey = stepCheckpoints.contentKey(dataSetId, preparationId, cachedStepId, HEAD);
+        try (final InputStream metadata = contentCache.get(metadataKey); //
+                final InputStream content = contentCache.get(contentKey)) {
+            if (metadata == null || content == null) {
+                // evicted in the meantime
+                return null;
+            }
+            final RowMetadata rowMetadata = mapper.readerFor(RowMetadata.class).readValue(metadata);
+            final DataSetMetadata dataSetMetadata = new DataSetMetadata();
+            dataSetMetadata.setRowMetadata(rowMetadata);
+            try (JsonParser parser = mapper.getFactory().createParser(content)) {
+                final DataSet dataSet = mapper.readerFor(DataSet.class).readValue(parser);
+                dataSet.setMetadata(dataSetMetadata);
+                preparation.setSteps(new ArrayList<>(
+                        steps.subList(stepIds.indexOf(cachedStepId) + 1, stepIds.indexOf(stepId) + 1)));
+                LOG.debug("Aggregation of preparation #{} @ step #{} starts from cached step #{}", preparationId, stepId,
+                        cachedStepId);
+                final Configuration configuration = Configuration.builder() //
+                        .outFilter(rm -> filterService.build(parameters.getFilter(), rm)) //
+                        .sourceType(HEAD) //
+                        .actions(actions) //
+                        .preparation(preparation) //
+                        .stepId(stepId) //
+                        .volume(Configuration.Volume.SMALL) //
+                        .outputNode(() -> new AggregationNode(aggregator)) //
+                        .build();
+                factory.get(configuration).transform(dataSet, configuration);
+                return aggregator.getResult();
+            }
+        } catch (TDPException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new TDPException(CommonErrorCodes.UNABLE_TO_AGGREGATE, e);
+        }
+    }
+
     /**
      * This operation allow client to create a diff between 2 list of actions starting from the same data. For example,
      * sending:
@@ -354,13 +482,152 @@ public class TransformationService extends BaseTransformationService {
     public void transformPreview(@ApiParam(name = "body", value = "Preview parameters.") @RequestBody final PreviewParameters previewParameters,
                                  final OutputStream output) {
         //@formatter:on
-        if (shouldApplyDiffToSampleSource(previewParameters)) {
+        if (executeDiffOnReferenceStep(previewParameters, output)) {
+            LOG.debug("Preview computed from cached content of step {}", previewParameters.getReferenceStepId());
+        } else if (shouldApplyDiffToSampleSource(previewParameters)) {
             executeDiffOnSample(previewParameters, output);
         } else {
             executeDiffOnDataset(previewParameters, output);
         }
     }
 
+    /**
+     * Preview only the requested rows, read from the cached content of the reference step (the step with the base
+     * actions): other rows are skipped (see {@link RecordIndex}) and only the actions added to the base actions are
+     * applied. This is only possible when all added actions are row-local (same rule as the parallel execution of a
+     * pipeline, see {@link ActionNodesBuilder#isRowLocal()}) and when the requested rows are all in the cached content.
+     *
+     * @param previewParameters The preview parameters.
+     * @param output Where to write the preview.
+     * @return <code>true</code> if the preview was written, <code>false</code> if the preview must be computed from
+     * the whole sample or dataset.
+     */
+    private boolean executeDiffOnReferenceStep(final PreviewParameters previewParameters, final OutputStream output) {
+        final String referenceStepId = previewParameters.getReferenceStepId();
+        if (StringUtils.isEmpty(referenceStepId) || StringUtils.isEmpty(previewParameters.getPreparationId())) {
+            return false;
+        }
+        final List<Long> tdpIds = parseTdpIds(previewParameters.getTdpIds());
+        final String addedActions = getAddedActions(previewParameters.getBaseActions(),
+                previewParameters.getNewActions());
+        if (tdpIds.isEmpty() || addedActions == null) {
+            return false;
+        }
+
+        final TransformationMetadataCacheKey metadataKey = cacheKeyGenerator.generateMetadataKey( //
+                previewParameters.getPreparationId(), //
+                referenceStepId, //
+                previewParameters.getSourceType() //
+        );
+        final ContentCacheKey contentKey = cacheKeyGenerator.generateContentKey( //
+                previewParameters.getDataSetId(), //
+                previewParameters.getPreparationId(), //
+                referenceStepId, //
+                JSON, //
+                previewParameters.getSourceType() //
+        );
+        if (!contentCache.has(metadataKey)) {
+            return false;
+        }
+        final RecordIndex index = recordIndexCache.get(contentKey);
+        if (index == null || !tdpIds.stream().allMatch(index::contains)) {
+            return false;
+        }
+
+        final DataSet dataSet = new DataSet();
+        try (final InputStream metadata = contentCache.get(metadataKey); //
+                final InputStream content = contentCache.get(contentKey)) {
+            if (metadata == null || content == null) {
+                return false;
+            }
+            final RowMetadata rowMetadata = mapper.readerFor(RowMetadata.class).readValue(metadata);
+            if (!isRowLocal(addedActions, rowMetadata)) {
+                return false;
+            }
+            final DataSetMetadata dataSetMetadata = new DataSetMetadata();
+            dataSetMetadata.setRowMetadata(rowMetadata);
+            dataSet.setMetadata(dataSetMetadata);
+            dataSet.setRecords(index.read(content, tdpIds, rowMetadata).stream());
+        } catch (IOException e) {
+            LOG.debug("Unable to read rows of cached content {}, preview from whole content.", contentKey, e);
+            recordIndexCache.evict(contentKey);
+            return false;
+        }
+
+        // rows already have the base actions applied
+        executePreview(addedActions, StringUtils.EMPTY, previewParameters.getTdpIds(), dataSet, output);
+        return true;
+    }
+
+    /**
+     * @return The parsed TDP ids (empty if none).
+     */
+    private List<Long> parseTdpIds(final String tdpIds) {
+        if (StringUtils.isBlank(tdpIds)) {
+            return Collections.emptyList();
+        }
+        try {
+            final List<Long> result = new ArrayList<>();
+            for (JsonNode tdpId : mapper.readTree(tdpIds)) {
+                result.add(tdpId.asLong());
+            }
+            return result;
+        } catch (IOException e) {
+            throw new TDPException(CommonErrorCodes.UNABLE_TO_PARSE_JSON, e);
+        }
+    }
+
+    /**
+     * @param baseActions The base actions.
+     * @param newActions The new actions.
+     * @return The actions appended to base actions in new actions, or <code>null</code> if new actions do not start
+     * with base actions.
+     */
+    private String getAddedActions(final String baseActions, final String newActions) {
+        if (StringUtils.isBlank(baseActions) || StringUtils.isBlank(newActions)) {
+            return null;
+        }
+        try {
+            final JsonNode base = mapper.readTree(baseActions).path("actions");
+            final JsonNode all = mapper.readTree(newActions).path("actions");
+            if (!base.isArray() || !all.isArray() || all.size() <= base.size()) {
+                return null;
+            }
+            final ArrayNode added = mapper.createArrayNode();
+            for (int i = 0; i < all.size(); i++) {
+                final JsonNode action = all.get(i);
+                if (i < base.size()) {
+                    if (!action.equals(base.get(i))) {
+                        return null;
+                    }
+                } else {
+                    added.add(action);
+                }
+            }
+            final ObjectNode actions = mapper.createObjectNode();
+            actions.set("actions", added);
+            return mapper.writeValueAsString(actions);
+        } catch (IOException e) {
+            LOG.debug("Unable to compare preview actions.", e);
+            return null;
+        }
+    }
+
+    /**
+     * @param actions The actions.
+     * @param rowMetadata The metadata of the rows the actions are applied to.
+     * @return <code>true</code> if the actions change each row independently of other rows.
+     */
+    private boolean isRowLocal(final String actions, final RowMetadata rowMetadata) {
+        return ActionNodesBuilder.builder() //
+                .initialMetadata(rowMetadata) //
+                .actions(actionParser.parse(actions)) //
+                .actionRegistry(actionRegistry) //
+                .analyzerService(analyzerService) //
+                .statisticsAdapter(statisticsAdapter) //
+                .isRowLocal();
+    }
+
     private void executeDiffOnSample(final PreviewParameters previewParameters, final OutputStream output) {
         final TransformationMetadataCacheKey metadataKey = cacheKeyGenerator.generateMetadataKey( //
                 previewParameters.getPreparationId(), //
@@ -473,6 +740,7 @@ public class TransformationService extends BaseTransformationService {
         for(final ExportParameters.SourceType sourceType : ExportParameters.SourceType.values()) {
             evictCache(preparationId, sourceType);
         }
+        stepCheckpoints.evict(preparationId);
     }
 
     private void evictCache(final String preparationId, final ExportParameters.SourceType sourceType) {
@@ -486,6 +754,7 @@ public class TransformationService extends BaseTransformationService {
                 .build();
         contentCache.evictMatch(metadataKey);
         contentCache.evictMatch(contentKey);
+        recordIndexCache.evictMatch(contentKey);
     }
 
     /**
@@ -563,6 +832,8 @@ public class TransformationService extends BaseTransformationService {
     public GenericParameter dynamicParams(
             @ApiParam(value = "Action name.") @PathVariable("action") final String action,
             @ApiParam(value = "The column id.") @RequestParam(value = "columnId") final String columnId,
+            @ApiParam(value = "The preparation id (if content is a preparation content).") @RequestParam(value = "preparationId", required = false) final String preparationId,
+            @ApiParam(value = "The preparation step id (if content is a preparation content).") @RequestParam(value = "stepId", defaultValue = "head") final String stepId,
             @ApiParam(value = "Data set content as JSON") final InputStream content) {
         //@formatter:on
 
@@ -573,12 +844,42 @@ public class TransformationService extends BaseTransformationService {
         }
         try (JsonParser parser = mapper.getFactory().createParser(content)) {
             final DataSet dataSet = mapper.readerFor(DataSet.class).readValue(parser);
-            return actionType.getGenerator(context).getParameters(columnId, dataSet);
+            final String contentId = getContentId(preparationId, stepId, dataSet);
+            return actionType.getGenerator(context).getParameters(columnId, contentId, dataSet);
         } catch (IOException e) {
             throw new TDPException(CommonErrorCodes.UNABLE_TO_PARSE_JSON, e);
         }
     }
 
+    /**
+     * Identify a content so that dynamic parameters computed on it may be cached.
+     *
+     * @param preparationId the preparation id (if content is a preparation content).
+     * @param stepId the preparation step id, 'head' for the last step.
+     * @param dataSet the content.
+     * @return the preparation step, or the dataset version (modification date and content parameters) of the content,
+     * <code>null</code> if the content cannot be identified.
+     */
+    private String getContentId(String preparationId, String stepId, DataSet dataSet) {
+        if (StringUtils.isNotBlank(preparationId)) {
+            final String version;
+            if (StringUtils.equals("head", stepId)) {
+                final Preparation preparation = getPreparation(preparationId);
+                version = preparation.getSteps().get(preparation.getSteps().size() - 1).getId();
+            } else {
+                version = stepId;
+            }
+            return "preparation/" + preparationId + '/' + version;
+        }
+        final DataSetMetadata metadata = dataSet.getMetadata();
+        if (metadata == null || metadata.getId() == null || metadata.getContent() == null) {
+            return null;
+        }
+        return "dataset/" + metadata.getId() + '/' + metadata.getLastModificationDate() + '/'
+                + Objects.hash(metadata.getContent().getParameters(), metadata.getContent().getLimit(), metadata.getEncoding(),
+                        metadata.getSheetName());
+    }
+
     /**
      * Returns all {@link ActionDefinition actions} data prep may apply to a column. Column is optional and only needed to
      * fill out default parameter values.
@@ -814,6 +1115,51 @@ public class TransformationService extends BaseTransformationService {
         return preparation;
     }
 
+    /**
+     * Get the preparation (with its steps) from the preparation service.
+     *
+     * @param preparationId the wanted preparation id.
+     * @return the preparation from the preparation service.
+     */
+    private PreparationMessage getPreparationMessage(String preparationId) {
+        final PreparationDetailsGet details = applicationContext.getBean(PreparationDetailsGet.class, preparationId);
+        try (InputStream content = details.execute()) {
+            return mapper.readerFor(PreparationMessage.class).readValue(content);
+        } catch (IOException e) {
+            throw new TDPException(PREPARATION_DOES_NOT_EXIST, e, build().put("id", preparationId));
+        }
+    }
+
+    /**
+     * @param preparationId the preparation id.
+     * @param stepId the step id (not 'head').
+     * @return the actions of the preparation up to the given step (as parsed by {@link ActionParser}).
+     */
+    private String getActions(String preparationId, String stepId) {
+        final PreparationGetActions getActions = applicationContext.getBean(PreparationGetActions.class, preparationId,
+                stepId);
+        try (InputStream content = getActions.execute()) {
+            return "{\"actions\": " + IOUtils.toString(content) + '}';
+        } catch (IOException e) {
+            throw new TDPException(UNABLE_TO_READ_PREPARATION, e, build().put("id", preparationId).put("version", stepId));
+        }
+    }
+
+    /**
+     * Get the precomputed aggregates of a dataset.
+     *
+     * @param dataSetId the dataset id.
+     * @return the dataset aggregates, or <code>null</code> if there are none (or they cannot be retrieved).
+     */
+    private DataSetAggregates getDataSetAggregates(String dataSetId) {
+        try {
+            return context.getBean(DataSetGetAggregates.class, dataSetId).execute();
+        } catch (TDPException e) {
+            LOG.debug("Unable to get aggregates of dataset #{}, aggregating content.", dataSetId, e);
+            return null;
+        }
+    }
+
     /**
      * Return the semantic domains for the given parameters.
      *
@@ -28,16 +28,19 @@ import org.springframework.stereotype.Component;
 import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.talend.dataprep.api.dataset.DataSet;
 import org.talend.dataprep.api.dataset.DataSetMetadata;
+import org.talend.dataprep.api.dataset.RowMetadata;
 import org.talend.dataprep.api.export.ExportParameters;
 import org.talend.dataprep.api.preparation.Preparation;
 import org.talend.dataprep.api.preparation.PreparationMessage;
 import org.talend.dataprep.api.preparation.Step;
 import org.talend.dataprep.cache.ContentCache;
+import org.talend.dataprep.command.dataset.DataSetGetMetadata;
 import org.talend.dataprep.exception.TDPException;
 import org.talend.dataprep.exception.error.TransformationErrorCodes;
 import org.talend.dataprep.format.export.ExportFormat;
 import org.talend.dataprep.transformation.api.transformer.configuration.Configuration;
 import org.talend.dataprep.transformation.cache.CacheKeyGenerator;
+import org.talend.dataprep.transformation.cache.StepCheckpoints;
 import org.talend.dataprep.transformation.cache.TransformationCacheKey;
 import org.talend.dataprep.transformation.cache.TransformationMetadataCacheKey;
 import org.talend.dataprep.transformation.service.ExportStrategy;
@@ -47,7 +50,10 @@ import com.fasterxml.jackson.core.JsonParser;
 
 /**
  * A {@link ExportStrategy strategy} to export a preparation (using its default data set), using any information
- * available in cache (metadata and content).
+ * available in cache (metadata and content): transformation starts from the nearest step kept in cache (see
+ * {@link StepCheckpoints}) and only applies the actions of the next steps. Cached step metadata is taken before
+ * statistics are computed, so statistics cover the changes of all the steps, as if transformation started from the
+ * dataset.
  */
 @Component
 public class OptimizedExportStrategy extends StandardExportStrategy {
@@ -57,6 +63,9 @@ public class OptimizedExportStrategy extends StandardExportStrategy {
     @Autowired
     private CacheKeyGenerator cacheKeyGenerator;
 
+    @Autowired
+    private StepCheckpoints stepCheckpoints;
+
     @Override
     public boolean accept(ExportParameters parameters) {
         if (parameters == null) {
@@ -104,6 +113,9 @@ public class OptimizedExportStrategy extends StandardExportStrategy {
 
             // get the actions to apply (no preparation ==> dataset export ==> no actions)
             final String actions = getActions(preparationId, previousVersion, version);
+            // Cached metadata is the one of the cached step before statistics: statistics must cover all the steps
+            final String allActions = getActions(preparationId, version);
+            final RowMetadata dataSetRowMetadata = getDataSetRowMetadata(dataSetId);
             final PreparationMessage preparation = getPreparation(preparationId);
             preparation.setSteps(getMatchingSteps(preparation.getSteps(), previousVersion, version));
 
@@ -128,6 +140,7 @@ public class OptimizedExportStrategy extends StandardExportStrategy {
                         .sourceType(parameters.getFrom())
                         .format(format.getName()) //
                         .actions(actions) //
+                        .postStatisticsScope(dataSetRowMetadata, allActions) //
                         .preparation(preparation) //
                         .stepId(version) //
                         .volume(Configuration.Volume.SMALL) //
@@ -146,6 +159,20 @@ public class OptimizedExportStrategy extends StandardExportStrategy {
         }
     }
 
+    /**
+     * @param dataSetId the dataset id.
+     * @return the row metadata of the dataset (as used by a transformation that starts from the dataset).
+     */
+    private RowMetadata getDataSetRowMetadata(String dataSetId) {
+        securityProxy.asTechnicalUser(); // Allow get dataset metadata access whatever share status is
+        try {
+            final DataSetGetMetadata dataSetGetMetadata = applicationContext.getBean(DataSetGetMetadata.class, dataSetId);
+            return dataSetGetMetadata.execute().getRowMetadata();
+        } finally {
+            securityProxy.releaseIdentity();
+        }
+    }
+
     /**
      * Return the steps that are between the from and the to steps IDs.
      *
@@ -185,8 +212,6 @@ public class OptimizedExportStrategy extends StandardExportStrategy {
 
         private final String dataSetId;
 
-        private final String formatName;
-
         private final Preparation preparation;
 
         private final ExportParameters.SourceType sourceType;
@@ -213,7 +238,6 @@ public class OptimizedExportStrategy extends StandardExportStrategy {
             } else {
                 this.dataSetId = parameters.getDatasetId();
             }
-            this.formatName = parameters.getExportType();
         }
 
         private String getDataSetId() {
@@ -253,7 +277,6 @@ public class OptimizedExportStrategy extends StandardExportStrategy {
             }
             // head is not allowed as step id
             version = stepId;
-            previousVersion = rootStep.getId();
             final List<String> steps = preparation.getSteps().stream().map(Step::id).collect(Collectors.toList());
             if (steps.size() <= 2) {
                 LOGGER.debug("Not enough steps ({}) in preparation.", steps.size());
@@ -261,25 +284,27 @@ public class OptimizedExportStrategy extends StandardExportStrategy {
             }
             if (StringUtils.equals("head", stepId) || StringUtils.isEmpty(stepId)) {
                 version = steps.get(steps.size() - 1);
-                previousVersion = steps.get(steps.size() - 2);
             }
-            // Get metadata of previous step
-            final TransformationMetadataCacheKey transformationMetadataCacheKey = cacheKeyGenerator.generateMetadataKey(preparationId, previousVersion, sourceType);
-            if (!contentCache.has(transformationMetadataCacheKey)) {
-                LOGGER.debug("No metadata cached for previous version '{}' (key for lookup: '{}')", previousVersion,
-                        transformationMetadataCacheKey.getKey());
+            // Steps no longer in preparation (history was rewritten) can't be used to start from
+            stepCheckpoints.prune(preparationId, steps);
+            previousVersion = stepCheckpoints.findNearest(dataSetId, preparationId, steps, version, sourceType);
+            if (previousVersion == null) {
+                LOGGER.debug("No step cached before version '{}'", version);
                 return null;
             }
+            // Get metadata of previous step
+            final TransformationMetadataCacheKey transformationMetadataCacheKey = stepCheckpoints
+                    .metadataKey(preparationId, previousVersion, sourceType);
             try (InputStream input = contentCache.get(transformationMetadataCacheKey)) {
+                if (input == null) {
+                    LOGGER.debug("No metadata cached for previous version '{}' (key for lookup: '{}')", previousVersion,
+                            transformationMetadataCacheKey.getKey());
+                    return null;
+                }
                 metadata = mapper.readerFor(DataSetMetadata.class).readValue(input);
             }
-            transformationCacheKey = cacheKeyGenerator.generateContentKey(
-                    dataSetId,
-                    preparationId,
-                    previousVersion,
-                    formatName,
-                    sourceType
-            );
+            // Previous content is read as JSON (whatever the export format is)
+            transformationCacheKey = stepCheckpoints.contentKey(dataSetId, preparationId, previousVersion, sourceType);
             LOGGER.debug("Previous content cache key: " + transformationCacheKey.getKey());
             LOGGER.debug("Previous content cache key details: " + transformationCacheKey.toString());
             final InputStream inputStream = contentCache.get(transformationCacheKey);
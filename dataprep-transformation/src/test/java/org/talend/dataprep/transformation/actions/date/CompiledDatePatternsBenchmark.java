@@ -0,0 +1,81 @@
+//  ============================================================================
+//
+//  Copyright (C) 2006-2016 Talend Inc. - www.talend.com
+//
+//  This source code is available under agreement available at
+//  https://github.com/Talend/data-prep/blob/master/LICENSE
+//
+//  You should have received a copy of the agreement
+//  along with this program; if not, write to Talend SA
+//  9 rue Pages 92150 Suresnes, France
+//
+//  ============================================================================
+
+package org.talend.dataprep.transformation.actions.date;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeFormatterBuilder;
+import java.util.Collections;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Compares parsing of valid dates with {@link CompiledDatePatterns} and with a single {@link DateTimeFormatter#parse}
+ * call (the minimum cost of parsing a valid value): both should have the same throughput. Not run with unit tests, use
+ * {@link #main(String[])}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CompiledDatePatternsBenchmark {
+
+    private static final int VALUES = 10000;
+
+    private static final String PATTERN = "yyyy-MM-dd HH:mm";
+
+    private final String[] values = new String[VALUES];
+
+    private CompiledDatePatterns compiledDatePatterns;
+
+    private DateTimeFormatter formatter;
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(CompiledDatePatternsBenchmark.class.getSimpleName()).build()).run();
+    }
+
+    @Setup
+    public void setUp() {
+        compiledDatePatterns = new CompiledDatePatterns(Collections.singletonList(new DatePattern(PATTERN)));
+        formatter = new DateTimeFormatterBuilder().parseCaseInsensitive().appendPattern(PATTERN)
+                .toFormatter(Locale.ENGLISH);
+        final LocalDateTime start = LocalDate.of(2015, 1, 1).atStartOfDay();
+        for (int i = 0; i < VALUES; i++) {
+            values[i] = formatter.format(start.plusMinutes(i * 97L));
+        }
+    }
+
+    @Benchmark
+    public void compiledDatePatterns(Blackhole blackhole) {
+        for (String value : values) {
+            blackhole.consume(compiledDatePatterns.parse(value));
+        }
+    }
+
+    @Benchmark
+    public void singleParse(Blackhole blackhole) {
+        for (String value : values) {
+            blackhole.consume(LocalDateTime.from(formatter.parse(value)));
+        }
+    }
+}
@@ -13,13 +13,26 @@
 
 package org.talend.dataprep.transformation.aggregation;
 
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
 import org.junit.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.talend.dataprep.api.dataset.DataSet;
+import org.talend.dataprep.api.dataset.row.DataSetRow;
 import org.talend.dataprep.exception.TDPException;
 import org.talend.dataprep.transformation.TransformationBaseTest;
 import org.talend.dataprep.transformation.aggregation.api.AggregationOperation;
 import org.talend.dataprep.transformation.aggregation.api.AggregationParameters;
+import org.talend.dataprep.transformation.aggregation.api.AggregationResult;
+import org.talend.dataprep.transformation.aggregation.api.DataSetAggregates;
+import org.talend.dataprep.transformation.aggregation.api.GroupContext;
 import org.talend.dataprep.transformation.aggregation.api.Operator;
 
 /**
@@ -45,6 +58,69 @@ public class AggregationServiceTest extends TransformationBaseTest {
         service.aggregate(params, new DataSet());
     }
 
+    @Test
+    public void shouldAggregatePrecomputedAggregatesAsContent() {
+        // given
+        final List<DataSetRow> rows = Arrays.asList( //
+                getRow("toto", "1", "10"), //
+                getRow("toto", "2.5", "not a number"), //
+                getRow("titi", "", ""), //
+                getRow("toto", "-4", "20"), //
+                getRow("tata", "", "5"), //
+                getRow("", "100", "100"));
+        final AggregationParameters params = new AggregationParameters();
+        params.addGroupBy("0000");
+        params.addOperation(new AggregationOperation("0001", Operator.SUM));
+        params.addOperation(new AggregationOperation("0001", Operator.MIN));
+        params.addOperation(new AggregationOperation("0002", Operator.MAX));
+        params.addOperation(new AggregationOperation("0002", Operator.AVERAGE));
+        params.addOperation(new AggregationOperation("0000", Operator.COUNT));
+
+        final DataSetAggregates aggregates = new DataSetAggregates();
+        aggregates.setColumns(Arrays.asList("0001", "0002"));
+        final Map<String, DataSetAggregates.Group> groups = new HashMap<>();
+        final List<DataSetAggregates.Group> orderedGroups = new ArrayList<>();
+        rows.stream().filter(row -> !row.get("0000").isEmpty()).forEach(row -> {
+            final DataSetAggregates.Group group = groups.computeIfAbsent(row.get("0000"), value -> {
+                final DataSetAggregates.Group newGroup = new DataSetAggregates.Group(value, 2);
+                orderedGroups.add(newGroup);
+                return newGroup;
+            });
+            group.setCount(group.getCount() + 1);
+            for (int i = 0; i < 2; i++) {
+                final String value = row.get(aggregates.getColumns().get(i));
+                if (value.matches("-?[0-9.]+")) {
+                    group.add(i, Double.parseDouble(value));
+                }
+            }
+        });
+        aggregates.getGroups().put("0000", orderedGroups);
+        final DataSet dataSet = new DataSet();
+        dataSet.setRecords(rows.stream());
+
+        // when
+        final AggregationResult expected = service.aggregate(params, dataSet);
+        final AggregationResult actual = service.aggregate(params, aggregates);
+
+        // then
+        assertEquals(3, actual.entries().size());
+        assertEquals(expected.entries().size(), actual.entries().size());
+        for (String key : Arrays.asList("toto", "titi", "tata")) {
+            final GroupContext expectedGroup = (GroupContext) expected.get(key);
+            final GroupContext actualGroup = (GroupContext) actual.get(key);
+            assertArrayEquals(expectedGroup.getKeys(), actualGroup.getKeys());
+            assertArrayEquals(expectedGroup.getValues(), actualGroup.getValues(), 0);
+        }
+    }
+
+    private DataSetRow getRow(String groupBy, String first, String second) {
+        Map<String, String> values = new HashMap<>();
+        values.put("0000", groupBy);
+        values.put("0001", first);
+        values.put("0002", second);
+        return new DataSetRow(values);
+    }
+
     // aggregation will be tested at service level, see AggregationTest.class
 
 }
@@ -16,6 +16,7 @@ package org.talend.dataprep.transformation.aggregation.api;
 import static org.talend.dataprep.test.SameJSONFile.sameJSONAsFile;
 
 import java.io.IOException;
+import java.util.Arrays;
 
 import org.junit.Assert;
 import org.junit.Test;
@@ -44,4 +45,22 @@ public class AggregationResultTest extends TransformationBaseTest {
         Assert.assertThat(actual, sameJSONAsFile(this.getClass().getResourceAsStream("aggregation_result.json")));
     }
 
-}
\ No newline at end of file
+    @Test
+    public void shouldSerializeSeveralOperations() throws IOException {
+
+        // given
+        AggregationResult result = new AggregationResult(Arrays.asList("0000", "0001"), Arrays.asList(
+                new AggregationOperation("0002", Operator.SUM), new AggregationOperation("0002", Operator.MAX)));
+        result.put("toto/titi", new GroupContext(new String[] { "toto", "titi" }, new double[] { 12d, 8d }));
+        result.put("tata/tutu", new GroupContext(new String[] { "tata", "tutu" }, new double[] { Double.NaN, 5d }));
+        result.put("toto/tutu", new GroupContext(new String[] { "toto", "tutu" }, new double[] { 20d, 15d }));
+
+        // when
+        String actual = mapper.writer().writeValueAsString(result);
+
+        // then
+        Assert.assertThat(actual,
+                sameJSONAsFile(this.getClass().getResourceAsStream("aggregation_result_several_operations.json")));
+    }
+
+}
@@ -20,9 +20,9 @@ import org.talend.dataprep.transformation.aggregation.api.AggregationResult;
 import org.talend.dataprep.transformation.aggregation.api.Operator;
 
 /**
- * Unit test for the Average aggregator.
+ * Unit test for the Average operation.
  * 
- * @see Average
+ * @see GroupByAggregator
  */
 public class AverageTest extends OperationBaseTest {
 
@@ -36,42 +36,33 @@ public class AverageTest extends OperationBaseTest {
     @Test
     public void shouldComputeAverage() {
 
-        AggregationResult result = new AggregationResult(Operator.AVERAGE);
-        aggregator.accept(getRow("toto", "10"), result);
-        aggregator.accept(getRow("toto", "2"), result);
-        aggregator.accept(getRow("toto", "3.6"), result);
-        aggregator.accept(getRow("toto", ""), result);
-        aggregator.accept(getRow("toto", "8.2"), result);
-        aggregator.accept(getRow("tata", "10"), result);
-        aggregator.accept(getRow("toto", "-8"), result);
-        aggregator.accept(getRow("toto", "12.3"), result);
-        aggregator.accept(getRow("tata", "5"), result);
-
-        final Average.AverageContext toto = (Average.AverageContext) result.get("toto");
-        assertEquals(4.683d, toto.getValue(), 0.001d);
-
-        final Average.AverageContext tata = (Average.AverageContext) result.get("tata");
-        assertEquals(7.5d, tata.getValue(), 0);
-
+        aggregator.accept(getRow("toto", "10"));
+        aggregator.accept(getRow("toto", "2"));
+        aggregator.accept(getRow("toto", "3.6"));
+        aggregator.accept(getRow("toto", ""));
+        aggregator.accept(getRow("toto", "8.2"));
+        aggregator.accept(getRow("tata", "10"));
+        aggregator.accept(getRow("toto", "-8"));
+        aggregator.accept(getRow("toto", "12.3"));
+        aggregator.accept(getRow("tata", "5"));
+        final AggregationResult result = aggregator.getResult();
+
+        assertEquals(4.683d, result.get("toto").getValue(), 0.001d);
+        assertEquals(7.5d, result.get("tata").getValue(), 0);
     }
 
     @Test
-    public void shouldRemoveEmptyDuringAverageNormalization() {
-
-        AggregationResult result = new AggregationResult(Operator.AVERAGE);
-        aggregator.accept(getRow("toto", "10"), result);
-        aggregator.accept(getRow("toto", "0"), result);
-        aggregator.accept(getRow("empty", ""), result);
-        aggregator.accept(getRow("empty", ""), result);
+    public void shouldRemoveEmptyFromAverage() {
 
-        final Average.AverageContext toto = (Average.AverageContext) result.get("toto");
-        assertEquals(5d, toto.getValue(), 0d);
+        aggregator.accept(getRow("toto", "10"));
+        aggregator.accept(getRow("toto", "0"));
+        aggregator.accept(getRow("empty", ""));
+        aggregator.accept(getRow("empty", ""));
+        final AggregationResult result = aggregator.getResult();
 
-        final Average.AverageContext empty = (Average.AverageContext) result.get("empty");
-        assertEquals(Double.NaN, empty.getValue(), 0d);
+        assertEquals(5d, result.get("toto").getValue(), 0d);
 
-        // Empty results should be removed when normalize() is called on result
-        aggregator.normalize(result);
+        // Groups without any number have no average
         assertEquals(null, result.get("empty"));
     }
 
@@ -0,0 +1,104 @@
+//  ============================================================================
+//
+//  Copyright (C) 2006-2016 Talend Inc. - www.talend.com
+//
+//  This source code is available under agreement available at
+//  https://github.com/Talend/data-prep/blob/master/LICENSE
+//
+//  You should have received a copy of the agreement
+//  along with this program; if not, write to Talend SA
+//  9 rue Pages 92150 Suresnes, France
+//
+//  ============================================================================
+
+package org.talend.dataprep.transformation.aggregation.operation;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.Test;
+import org.talend.dataprep.api.dataset.row.DataSetRow;
+import org.talend.dataprep.transformation.aggregation.api.AggregationOperation;
+import org.talend.dataprep.transformation.aggregation.api.AggregationParameters;
+import org.talend.dataprep.transformation.aggregation.api.AggregationResult;
+import org.talend.dataprep.transformation.aggregation.api.GroupContext;
+import org.talend.dataprep.transformation.aggregation.api.Operator;
+
+/**
+ * Unit test for the aggregation of several operations and group by columns.
+ *
+ * @see GroupByAggregator
+ */
+public class GroupByAggregatorTest {
+
+    private final AggregatorFactory factory = new AggregatorFactory();
+
+    @Test
+    public void shouldComputeAllOperationsInOnePass() {
+        // given
+        final AggregationParameters parameters = new AggregationParameters();
+        parameters.addGroupBy("0000");
+        parameters.addOperation(new AggregationOperation("0001", Operator.SUM));
+        parameters.addOperation(new AggregationOperation("0001", Operator.MIN));
+        parameters.addOperation(new AggregationOperation("0002", Operator.MAX));
+        parameters.addOperation(new AggregationOperation("0002", Operator.AVERAGE));
+        parameters.addOperation(new AggregationOperation("0001", Operator.COUNT));
+        final Aggregator aggregator = factory.get(parameters);
+
+        // when
+        aggregator.accept(getRow("toto", "1", "10"));
+        aggregator.accept(getRow("toto", "2.5", "not a number"));
+        aggregator.accept(getRow("toto", "-4", "20"));
+        aggregator.accept(getRow("tata", "", "5"));
+        aggregator.accept(getRow("", "100", "100")); // <-- no group
+        final AggregationResult result = aggregator.getResult();
+
+        // then
+        final GroupContext toto = (GroupContext) result.get("toto");
+        assertArrayEquals(new String[] { "toto" }, toto.getKeys());
+        assertArrayEquals(new double[] { -0.5, -4, 20, 15, 3 }, toto.getValues(), 0);
+        final GroupContext tata = (GroupContext) result.get("tata");
+        assertEquals(Double.NaN, tata.getValues()[0], 0);
+        assertEquals(Double.NaN, tata.getValues()[1], 0);
+        assertArrayEquals(new double[] { 5, 5, 1 }, new double[] { tata.getValues()[2], tata.getValues()[3],
+                tata.getValues()[4] }, 0);
+        assertNull(result.get(""));
+    }
+
+    @Test
+    public void shouldGroupBySeveralColumns() {
+        // given
+        final AggregationParameters parameters = new AggregationParameters();
+        parameters.addGroupBy("0000");
+        parameters.addGroupBy("0001");
+        parameters.addOperation(new AggregationOperation("0002", Operator.SUM));
+        final Aggregator aggregator = factory.get(parameters);
+
+        // when
+        for (int i = 0; i < 1000; i++) {
+            aggregator.accept(getRow("group " + i % 10, "sub group " + i % 100, String.valueOf(i)));
+        }
+        final AggregationResult result = aggregator.getResult();
+
+        // then
+        assertEquals(100, result.entries().size());
+        for (int i = 0; i < 100; i++) {
+            final GroupContext group = (GroupContext) result.get("group " + i % 10 + '\u0000' + "sub group " + i);
+            assertArrayEquals(new String[] { "group " + i % 10, "sub group " + i }, group.getKeys());
+            // i + (i + 100) + ... + (i + 900)
+            assertEquals(10 * i + 4500, group.getValue(), 0);
+        }
+    }
+
+    private DataSetRow getRow(String groupBy, String first, String second) {
+        Map<String, String> values = new HashMap<>();
+        values.put("0000", groupBy);
+        values.put("0001", first);
+        values.put("0002", second);
+        return new DataSetRow(values);
+    }
+}
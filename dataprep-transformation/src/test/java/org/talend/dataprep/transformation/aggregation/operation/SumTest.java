@@ -19,9 +19,9 @@ import org.talend.dataprep.transformation.aggregation.api.AggregationResult;
 import org.talend.dataprep.transformation.aggregation.api.Operator;
 
 /**
- * Unit test for Sum aggregator.
+ * Unit test for the Sum operation.
  * 
- * @see Sum
+ * @see GroupByAggregator
  */
 public class SumTest extends OperationBaseTest {
 
@@ -35,33 +35,17 @@ public class SumTest extends OperationBaseTest {
     @Test
     public void shouldComputeSum() {
         // given when
-        AggregationResult result = new AggregationResult(Operator.SUM);
-        aggregator.accept(getRow("toto", "514.3"), result);
-        aggregator.accept(getRow("toto", "0"), result);
-        aggregator.accept(getRow("toto", ""), result);
-        aggregator.accept(getRow("toto", "-786.25"), result);
-        aggregator.accept(getRow("toto", "235874"), result);
-        aggregator.accept(getRow("toto", "-8760"), result);
+        aggregator.accept(getRow("toto", "514.3"));
+        aggregator.accept(getRow("toto", "0"));
+        aggregator.accept(getRow("toto", ""));
+        aggregator.accept(getRow("toto", "-786.25"));
+        aggregator.accept(getRow("toto", "235874"));
+        aggregator.accept(getRow("toto", "-8760"));
+        final AggregationResult result = aggregator.getResult();
 
         // then
         Assert.assertEquals(result.get("toto").getValue(), 226842.05, 0);
 
     }
 
-    @Test
-    public void shouldNormalizeHaveNoEffect() {
-        // given when
-        AggregationResult result = new AggregationResult(Operator.SUM);
-        aggregator.accept(getRow("toto", "514.3"), result);
-        aggregator.accept(getRow("toto", "0"), result);
-        aggregator.accept(getRow("toto", ""), result);
-        aggregator.accept(getRow("toto", "-786.25"), result);
-        aggregator.accept(getRow("toto", "235874"), result);
-        aggregator.accept(getRow("toto", "-8760"), result);
-        aggregator.normalize(result); // No effect for operation
-
-        // then
-        Assert.assertEquals(result.get("toto").getValue(), 226842.05, 0);
-    }
-
 }
\ No newline at end of file
@@ -0,0 +1,105 @@
+//  ============================================================================
+//
+//  Copyright (C) 2006-2016 Talend Inc. - www.talend.com
+//
+//  This source code is available under agreement available at
+//  https://github.com/Talend/data-prep/blob/master/LICENSE
+//
+//  You should have received a copy of the agreement
+//  along with this program; if not, write to Talend SA
+//  9 rue Pages 92150 Suresnes, France
+//
+//  ============================================================================
+
+package org.talend.dataprep.transformation.cache;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+import static org.talend.dataprep.api.dataset.ColumnMetadata.Builder.column;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Test;
+import org.talend.dataprep.api.dataset.RowMetadata;
+import org.talend.dataprep.api.dataset.row.DataSetRow;
+import org.talend.dataprep.api.type.Type;
+
+/**
+ * Unit test for the RecordIndex.
+ *
+ * @see RecordIndex
+ */
+public class RecordIndexTest {
+
+    private static final String CONTENT = "{\"records\":[" //
+            + "{\"0000\":\"Lille\",\"tdpId\":1}," //
+            + "{\"0000\":\"Paris, \\\"France\\\"\",\"tdpId\":2}," //
+            + "{\"0000\":\"Nantes\",\"__tdp_invalid\":\"\",\"tdpId\":3}," //
+            + "{\"0000\":\"Bordeaux\",\"tdpId\":5}" //
+            + "],\"metadata\":{\"columns\":[{\"id\":\"0000\",\"name\":\"city\"}]}}";
+
+    private final RowMetadata rowMetadata = new RowMetadata(
+            Arrays.asList(column().id(0).name("city").type(Type.STRING).build()));
+
+    @Test
+    public void shouldIndexRecords() throws Exception {
+        // when
+        final RecordIndex index = RecordIndex.build(content(CONTENT));
+
+        // then
+        assertThat(index.size(), is(4));
+        assertThat(index.contains(2), is(true));
+        assertThat(index.contains(5), is(true));
+        assertThat(index.contains(4), is(false));
+    }
+
+    @Test
+    public void shouldReadOnlyWantedRecords() throws Exception {
+        // given
+        final RecordIndex index = RecordIndex.build(content(CONTENT));
+
+        // when
+        final List<DataSetRow> rows = index.read(content(CONTENT), Arrays.asList(5L, 2L), rowMetadata);
+
+        // then
+        assertThat(rows.size(), is(2));
+        assertThat(rows.get(0).getTdpId(), is(2L));
+        assertThat(rows.get(0).get("0000"), is("Paris, \"France\""));
+        assertThat(rows.get(1).getTdpId(), is(5L));
+        assertThat(rows.get(1).get("0000"), is("Bordeaux"));
+    }
+
+    @Test
+    public void shouldIndexUnorderedRecords() throws Exception {
+        // given
+        final String content = "{\"records\":[{\"0000\":\"b\",\"tdpId\":2},{\"0000\":\"a\",\"tdpId\":1}]}";
+
+        // when
+        final RecordIndex index = RecordIndex.build(content(content));
+        final List<DataSetRow> rows = index.read(content(content), Arrays.asList(1L, 2L), rowMetadata);
+
+        // then
+        assertThat(rows.size(), is(2));
+        assertThat(rows.get(0).get("0000"), is("b"));
+        assertThat(rows.get(1).get("0000"), is("a"));
+    }
+
+    @Test(expected = IOException.class)
+    public void shouldDetectContentChange() throws Exception {
+        // given
+        final RecordIndex index = RecordIndex.build(content(CONTENT));
+        final String changed = CONTENT.replace("Lille", "Lyon");
+
+        // when
+        index.read(content(changed), Arrays.asList(2L), rowMetadata);
+    }
+
+    private static InputStream content(String content) {
+        return new ByteArrayInputStream(content.getBytes(UTF_8));
+    }
+}
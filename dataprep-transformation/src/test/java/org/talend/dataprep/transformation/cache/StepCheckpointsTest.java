@@ -0,0 +1,169 @@
+// ============================================================================
+// Copyright (C) 2006-2016 Talend Inc. - www.talend.com
+//
+// This source code is available under agreement available at
+// https://github.com/Talend/data-prep/blob/master/LICENSE
+//
+// You should have received a copy of the agreement
+// along with this program; if not, write to Talend SA
+// 9 rue Pages 92150 Suresnes, France
+//
+// ============================================================================
+
+package org.talend.dataprep.transformation.cache;
+
+import static java.util.stream.Collectors.toList;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.junit.Assert.assertThat;
+import static org.talend.dataprep.api.export.ExportParameters.SourceType.HEAD;
+import static org.talend.dataprep.cache.ContentCache.TimeToLive.DEFAULT;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.*;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.talend.dataprep.api.preparation.Step;
+import org.talend.dataprep.cache.ContentCacheKey;
+import org.talend.dataprep.cache.file.FileSystemContentCache;
+
+/**
+ * Unit test for the step checkpoints selection.
+ */
+public class StepCheckpointsTest {
+
+    private final FileSystemContentCache contentCache = new FileSystemContentCache("target/cache/checkpoints");
+
+    /** Checkpoint every 100ms, every 4 steps when time is unknown. */
+    private final StepCheckpoints checkpoints = new StepCheckpoints(contentCache, new CacheKeyGenerator(), true, 100, 4,
+            100, 10);
+
+    /** The root step and 9 steps. */
+    private List<Step> steps;
+
+    private List<String> stepIds;
+
+    @Before
+    public void setUp() throws Exception {
+        steps = new ArrayList<>();
+        steps.add(Step.ROOT_STEP);
+        for (int i = 1; i <= 9; i++) {
+            final Step step = new Step(steps.get(i - 1), null, "");
+            step.setId("s" + i);
+            steps.add(step);
+        }
+        stepIds = steps.stream().map(Step::id).collect(toList());
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        contentCache.clear();
+    }
+
+    @Test
+    public void shouldSelectEveryIntervalStepsWhenCostsAreUnknown() {
+        // when
+        final Set<String> selected = checkpoints.select("ds", "prep", steps, "s9", HEAD);
+
+        // then
+        assertThat(selected, is(set("s4", "s8")));
+    }
+
+    @Test
+    public void shouldSelectByCost() {
+        // given
+        final Map<String, Long> costs = new HashMap<>();
+        costs.put("s1", 60L);
+        costs.put("s2", 50L);
+        costs.put("s3", 10L);
+        costs.put("s4", 95L);
+        checkpoints.recordCosts(costs);
+
+        // when
+        final Set<String> selected = checkpoints.select("ds", "prep", steps, "s9", HEAD);
+
+        // then (s5 to s8 are unknown)
+        assertThat(selected, is(set("s2", "s4", "s8")));
+    }
+
+    @Test
+    public void shouldNotSelectTransformedOrLastStep() {
+        // when
+        final Set<String> toTransformedStep = checkpoints.select("ds", "prep", steps, "s4", HEAD);
+        final Set<String> toLastStep = checkpoints.select("ds", "prep", steps.subList(0, 5), null, HEAD);
+
+        // then
+        assertThat(toTransformedStep, is(Collections.emptySet()));
+        assertThat(toLastStep, is(Collections.emptySet()));
+    }
+
+    @Test
+    public void shouldNotSelectCachedStep() throws Exception {
+        // given
+        cache("s4");
+
+        // when
+        final Set<String> selected = checkpoints.select("ds", "prep", steps, "s9", HEAD);
+
+        // then
+        assertThat(selected, is(set("s8")));
+    }
+
+    @Test
+    public void shouldNotSelectWhenDisabled() {
+        // given
+        final StepCheckpoints disabled = new StepCheckpoints(contentCache, new CacheKeyGenerator(), false, 100, 4, 100,
+                10);
+
+        // when
+        final Set<String> selected = disabled.select("ds", "prep", steps, "s9", HEAD);
+
+        // then
+        assertThat(selected, is(Collections.emptySet()));
+    }
+
+    @Test
+    public void shouldFindNearestCachedStep() throws Exception {
+        // given
+        cache("s4");
+
+        // when / then
+        assertThat(checkpoints.findNearest("ds", "prep", stepIds, "s9", HEAD), is("s4"));
+        assertThat(checkpoints.findNearest("ds", "prep", stepIds, "s4", HEAD), nullValue());
+        assertThat(checkpoints.findNearest("ds", "prep", stepIds, "s3", HEAD), nullValue());
+    }
+
+    @Test
+    public void shouldPruneCheckpointsOfRemovedSteps() throws Exception {
+        // given
+        checkpoints.select("ds", "prep", steps, "s9", HEAD);
+        cache("s4");
+        cache("s8");
+
+        // when
+        final List<String> rewritten = new ArrayList<>(stepIds);
+        rewritten.remove("s4");
+        checkpoints.prune("prep", rewritten);
+
+        // then
+        assertThat(contentCache.has(checkpoints.contentKey("ds", "prep", "s4", HEAD)), is(false));
+        assertThat(contentCache.has(checkpoints.metadataKey("prep", "s4", HEAD)), is(false));
+        assertThat(contentCache.has(checkpoints.contentKey("ds", "prep", "s8", HEAD)), is(true));
+    }
+
+    private void cache(String stepId) throws IOException {
+        for (ContentCacheKey key : Arrays.asList(checkpoints.contentKey("ds", "prep", stepId, HEAD),
+                checkpoints.metadataKey("prep", stepId, HEAD))) {
+            try (OutputStream output = contentCache.put(key, DEFAULT)) {
+                output.write('{');
+            }
+        }
+    }
+
+    private static Set<String> set(String... values) {
+        return new HashSet<>(Arrays.asList(values));
+    }
+}
@@ -0,0 +1,115 @@
+//  ============================================================================
+//
+//  Copyright (C) 2006-2016 Talend Inc. - www.talend.com
+//
+//  This source code is available under agreement available at
+//  https://github.com/Talend/data-prep/blob/master/LICENSE
+//
+//  You should have received a copy of the agreement
+//  along with this program; if not, write to Talend SA
+//  9 rue Pages 92150 Suresnes, France
+//
+//  ============================================================================
+
+package org.talend.dataprep.transformation.format;
+
+import static org.talend.dataprep.api.dataset.ColumnMetadata.Builder.column;
+
+import java.io.*;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.io.IOUtils;
+import org.apache.commons.io.output.NullOutputStream;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.talend.dataprep.api.dataset.ColumnMetadata;
+import org.talend.dataprep.api.dataset.RowMetadata;
+import org.talend.dataprep.api.dataset.row.DataSetRow;
+import org.talend.dataprep.api.type.Type;
+
+/**
+ * Compares CSV export of narrow and wide datasets with the {@link CSVWriter} and with the previous opencsv based
+ * writer (rows copied in column order, then written by opencsv). Not run with unit tests, use {@link #main(String[])}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CSVWriterBenchmark {
+
+    private static final int ROWS = 10000;
+
+    /** Number of columns of the dataset (narrow and wide datasets). */
+    @Param({ "5", "100" })
+    private int columns;
+
+    private RowMetadata rowMetadata;
+
+    private final List<DataSetRow> rows = new ArrayList<>();
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(CSVWriterBenchmark.class.getSimpleName()).build()).run();
+    }
+
+    @Setup
+    public void setUp() {
+        final List<ColumnMetadata> columnMetadata = new ArrayList<>();
+        for (int i = 0; i < columns; i++) {
+            columnMetadata.add(column().id(i).name("column " + i).type(i % 2 == 0 ? Type.STRING : Type.INTEGER).build());
+        }
+        rowMetadata = new RowMetadata(columnMetadata);
+        for (int i = 0; i < ROWS; i++) {
+            final DataSetRow row = new DataSetRow(rowMetadata);
+            for (ColumnMetadata column : columnMetadata) {
+                // Some values need quotes to be escaped
+                row.set(column.getId(), i % 50 == 0 ? "a \"quoted\" value " + i : "value " + i);
+            }
+            row.setTdpId((long) i);
+            rows.add(row);
+        }
+    }
+
+    @Benchmark
+    public void csvWriter() throws IOException {
+        final CSVWriter writer = new CSVWriter(new NullOutputStream(), Collections.emptyMap());
+        for (DataSetRow row : rows) {
+            writer.write(row);
+        }
+        writer.write(rowMetadata);
+        writer.flush();
+    }
+
+    @Benchmark
+    public void opencsvWriter() throws IOException {
+        final OutputStream output = new NullOutputStream();
+        final File bufferFile = File.createTempFile("csvWriterBenchmark", ".csv");
+        try {
+            final au.com.bytecode.opencsv.CSVWriter recordsWriter = new au.com.bytecode.opencsv.CSVWriter(
+                    new FileWriter(bufferFile), ',');
+            for (DataSetRow row : rows) {
+                recordsWriter.writeNext(row.order().toArray(DataSetRow.SKIP_TDP_ID));
+            }
+            final String[] columnsName = rowMetadata.getColumns().stream().map(ColumnMetadata::getName)
+                    .toArray(String[]::new);
+            final au.com.bytecode.opencsv.CSVWriter csvWriter = new au.com.bytecode.opencsv.CSVWriter(
+                    new OutputStreamWriter(output), ',');
+            csvWriter.writeNext(columnsName);
+            csvWriter.flush();
+            recordsWriter.flush();
+            try (InputStream input = new FileInputStream(bufferFile)) {
+                IOUtils.copy(input, output);
+            } finally {
+                recordsWriter.close();
+            }
+        } finally {
+            bufferFile.delete();
+        }
+    }
+}
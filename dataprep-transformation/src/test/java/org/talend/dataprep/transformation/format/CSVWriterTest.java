@@ -124,4 +124,26 @@ public class CSVWriterTest extends BaseFormatTest {
         assertThat(outputStream.toString()).isEqualTo(expectedCsv);
     }
 
-}
\ No newline at end of file
+    @Test
+    public void write_should_escape_quotes() throws Exception {
+        // given
+        final ColumnMetadata column1 = ColumnMetadata.Builder.column().id(1).name("id").type(Type.STRING).build();
+        final ColumnMetadata column2 = ColumnMetadata.Builder.column().id(2).name("quote").type(Type.STRING).build();
+        final RowMetadata rowMetadata = new RowMetadata(Arrays.asList(column1, column2));
+
+        final DataSetRow row = new DataSetRow(rowMetadata);
+        row.set("0001", "1");
+        row.set("0002", "a \"Superman\" quote");
+
+        final String expectedCsv = "\"id\";\"quote\"\n" + "\"1\";\"a \"\"Superman\"\" quote\"\n";
+
+        // when
+        writer.write(row);
+        writer.write(rowMetadata);
+        writer.flush();
+
+        // then
+        assertThat(outputStream.toString()).isEqualTo(expectedCsv);
+    }
+
+}
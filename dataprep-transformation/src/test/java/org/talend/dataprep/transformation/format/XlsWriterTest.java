@@ -14,20 +14,34 @@
 package org.talend.dataprep.transformation.format;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.Assert.fail;
+import static org.talend.dataprep.api.dataset.ColumnMetadata.Builder.column;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.InputStream;
 import java.io.OutputStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
 
+import org.apache.commons.io.output.NullOutputStream;
 import org.apache.poi.ss.usermodel.Row;
 import org.apache.poi.ss.usermodel.Sheet;
 import org.apache.poi.ss.usermodel.Workbook;
 import org.apache.poi.ss.usermodel.WorkbookFactory;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
 import org.junit.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.talend.dataprep.api.dataset.DataSet;
 import org.talend.dataprep.api.dataset.DataSetMetadata;
+import org.talend.dataprep.api.dataset.RowMetadata;
+import org.talend.dataprep.api.dataset.row.DataSetRow;
+import org.talend.dataprep.api.type.Type;
+import org.talend.dataprep.exception.TDPException;
+import org.talend.dataprep.exception.error.TransformationErrorCodes;
 import org.talend.dataprep.schema.SchemaParser;
 import org.talend.dataprep.transformation.api.transformer.Transformer;
 import org.talend.dataprep.transformation.api.transformer.TransformerFactory;
@@ -183,6 +197,104 @@ public class XlsWriterTest extends BaseFormatTest {
         assertThat(row.getCell(2).getStringCellValue()).isEqualTo("Hola");
     }
 
+    @Test
+    public void should_write_rows_as_they_arrive() throws Exception {
+        // given
+        final RowMetadata rowMetadata = new RowMetadata(Arrays.asList( //
+                column().id(0).name("city").type(Type.STRING).build(), //
+                column().id(1).name("population").type(Type.INTEGER).build()));
+        final ByteArrayOutputStream output = new ByteArrayOutputStream();
+        final XlsWriter writer = new XlsWriter(output);
+
+        // when
+        writer.write(row(rowMetadata, "Paris", "2200000"));
+        writer.write(row(rowMetadata, "<Nantes & \"co\">", "N/A"));
+        writer.write(row(rowMetadata, "Paris", ""));
+        writer.write(rowMetadata);
+        writer.flush();
+
+        // then
+        try (Workbook workbook = new XSSFWorkbook(new ByteArrayInputStream(output.toByteArray()))) {
+            final Sheet sheet = workbook.getSheetAt(0);
+            assertThat(sheet.getLastRowNum()).isEqualTo(3);
+            assertThat(sheet.getRow(0).getCell(0).getStringCellValue()).isEqualTo("city");
+            assertThat(sheet.getRow(0).getCell(1).getStringCellValue()).isEqualTo("population");
+            assertThat(sheet.getRow(1).getCell(0).getStringCellValue()).isEqualTo("Paris");
+            assertThat(sheet.getRow(1).getCell(1).getNumericCellValue()).isEqualTo(2200000d);
+            // non numeric value in a numeric column is written as string
+            assertThat(sheet.getRow(2).getCell(0).getStringCellValue()).isEqualTo("<Nantes & \"co\">");
+            assertThat(sheet.getRow(2).getCell(1).getStringCellValue()).isEqualTo("N/A");
+            // shared string is reused, empty number is skipped
+            assertThat(sheet.getRow(3).getCell(0).getStringCellValue()).isEqualTo("Paris");
+            assertThat(sheet.getRow(3).getCell(1)).isNull();
+        }
+    }
+
+    @Test
+    public void should_not_share_long_strings() throws Exception {
+        // given
+        final RowMetadata rowMetadata = new RowMetadata(Arrays.asList( //
+                column().id(0).name("comment").type(Type.STRING).build(), //
+                column().id(1).name("count").type(Type.INTEGER).build()));
+        final String longComment = new String(new char[1000]).replace('\0', 'a');
+        final ByteArrayOutputStream output = new ByteArrayOutputStream();
+        final XlsWriter writer = new XlsWriter(output);
+
+        // when
+        writer.write(row(rowMetadata, longComment, "1"));
+        writer.write(row(rowMetadata, longComment, "2"));
+        writer.write(rowMetadata);
+        writer.flush();
+
+        // then (only headers are shared)
+        try (XSSFWorkbook workbook = new XSSFWorkbook(new ByteArrayInputStream(output.toByteArray()))) {
+            assertThat(workbook.getSharedStringSource().getUniqueCount()).isEqualTo(2);
+            final Sheet sheet = workbook.getSheetAt(0);
+            assertThat(sheet.getRow(1).getCell(0).getStringCellValue()).isEqualTo(longComment);
+            assertThat(sheet.getRow(2).getCell(0).getStringCellValue()).isEqualTo(longComment);
+            assertThat(sheet.getRow(2).getCell(1).getNumericCellValue()).isEqualTo(2d);
+        }
+    }
+
+    @Test
+    public void should_fail_past_max_rows() throws Exception {
+        // given
+        final RowMetadata rowMetadata = new RowMetadata(Arrays.asList( //
+                column().id(0).name("count").type(Type.INTEGER).build()));
+        final XlsWriter writer = new XlsWriter(new NullOutputStream());
+        final DataSetRow row = row(rowMetadata, "1");
+
+        // when (headers are the first row)
+        for (int i = 1; i < XlsWriter.MAX_ROWS; i++) {
+            writer.write(row);
+        }
+        try {
+            writer.write(row);
+            fail("rows past the XLSX limit should not be written");
+        } catch (TDPException e) {
+            // then
+            assertThat(e.getCode()).isEqualTo(TransformationErrorCodes.TOO_MANY_ROWS_TO_EXPORT);
+        }
+    }
 
+    @Test
+    public void should_detect_numbers() throws Exception {
+        assertThat(XlsWriter.isNumber("42")).isTrue();
+        assertThat(XlsWriter.isNumber("-4.2")).isTrue();
+        assertThat(XlsWriter.isNumber(".5")).isTrue();
+        assertThat(XlsWriter.isNumber("1.5E-3")).isTrue();
+        assertThat(XlsWriter.isNumber("")).isFalse();
+        assertThat(XlsWriter.isNumber("-")).isFalse();
+        assertThat(XlsWriter.isNumber("1e")).isFalse();
+        assertThat(XlsWriter.isNumber("1,5")).isFalse();
+        assertThat(XlsWriter.isNumber("NaN")).isFalse();
+    }
 
+    private static DataSetRow row(RowMetadata rowMetadata, String... values) {
+        final Map<String, String> row = new HashMap<>();
+        for (int i = 0; i < values.length; i++) {
+            row.put(rowMetadata.getColumns().get(i).getId(), values[i]);
+        }
+        return new DataSetRow(rowMetadata, row);
+    }
 }
@@ -0,0 +1,62 @@
+// ============================================================================
+// Copyright (C) 2006-2016 Talend Inc. - www.talend.com
+//
+// This source code is available under agreement available at
+// https://github.com/Talend/data-prep/blob/master/LICENSE
+//
+// You should have received a copy of the agreement
+// along with this program; if not, write to Talend SA
+// 9 rue Pages 92150 Suresnes, France
+//
+// ============================================================================
+
+package org.talend.dataprep.transformation.pipeline.model;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.Test;
+import org.talend.dataprep.api.dataset.RowMetadata;
+import org.talend.dataprep.api.dataset.row.DataSetRow;
+import org.talend.dataprep.transformation.aggregation.api.AggregationOperation;
+import org.talend.dataprep.transformation.aggregation.api.AggregationParameters;
+import org.talend.dataprep.transformation.aggregation.api.AggregationResult;
+import org.talend.dataprep.transformation.aggregation.api.GroupContext;
+import org.talend.dataprep.transformation.aggregation.api.Operator;
+import org.talend.dataprep.transformation.aggregation.operation.AggregatorFactory;
+
+public class AggregationNodeTest {
+
+    @Test
+    public void shouldAggregateRowsThatWouldBeWritten() {
+        // given
+        final AggregationParameters parameters = new AggregationParameters();
+        parameters.addGroupBy("0000");
+        parameters.addOperation(new AggregationOperation("0001", Operator.SUM));
+        final AggregationNode node = new AggregationNode(new AggregatorFactory().get(parameters));
+        final DataSetRow deleted = getRow("toto", "100");
+        deleted.setDeleted(true);
+
+        // when
+        node.receive(getRow("toto", "1"), new RowMetadata());
+        node.receiveBatch(Arrays.asList(getRow("toto", "2"), deleted, getRow("tata", "5")), new RowMetadata());
+        final AggregationResult result = node.getAggregator().getResult();
+
+        // then
+        assertEquals(4, node.getCount());
+        assertEquals(3, ((GroupContext) result.get("toto")).getValue(), 0);
+        assertEquals(5, ((GroupContext) result.get("tata")).getValue(), 0);
+        assertNull(result.get(""));
+    }
+
+    private DataSetRow getRow(String groupBy, String value) {
+        Map<String, String> values = new HashMap<>();
+        values.put("0000", groupBy);
+        values.put("0001", value);
+        return new DataSetRow(values);
+    }
+}
@@ -0,0 +1,197 @@
+// ============================================================================
+// Copyright (C) 2006-2016 Talend Inc. - www.talend.com
+//
+// This source code is available under agreement available at
+// https://github.com/Talend/data-prep/blob/master/LICENSE
+//
+// You should have received a copy of the agreement
+// along with this program; if not, write to Talend SA
+// 9 rue Pages 92150 Suresnes, France
+//
+// ============================================================================
+
+package org.talend.dataprep.transformation.pipeline.model;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Collections;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import org.apache.commons.io.IOUtils;
+import org.junit.After;
+import org.junit.Test;
+import org.talend.dataprep.api.dataset.RowMetadata;
+import org.talend.dataprep.api.dataset.row.DataSetRow;
+import org.talend.dataprep.cache.ContentCacheKey;
+import org.talend.dataprep.cache.file.FileSystemContentCache;
+import org.talend.dataprep.transformation.api.transformer.TransformerWriter;
+import org.talend.dataprep.transformation.pipeline.Signal;
+
+/**
+ * Unit test for the step checkpoint node.
+ */
+public class CheckpointNodeTest {
+
+    private static final ContentCacheKey CONTENT_KEY = () -> "checkpoint-content";
+
+    private static final ContentCacheKey METADATA_KEY = () -> "checkpoint-metadata";
+
+    /** Number of cache outputs not closed. */
+    private final AtomicInteger openOutputs = new AtomicInteger();
+
+    private final FileSystemContentCache contentCache = new FileSystemContentCache("target/cache/checkpoint-node") {
+
+        @Override
+        public OutputStream put(ContentCacheKey key, TimeToLive timeToLive) {
+            openOutputs.incrementAndGet();
+            return new FilterOutputStream(super.put(key, timeToLive)) {
+
+                @Override
+                public void close() throws IOException {
+                    openOutputs.decrementAndGet();
+                    super.close();
+                }
+            };
+        }
+    };
+
+    @After
+    public void tearDown() throws Exception {
+        contentCache.clear();
+    }
+
+    @Test
+    public void shouldPublishContentAtEndOfStream() throws Exception {
+        // given
+        final CheckpointNode node = new CheckpointNode(contentCache, CONTENT_KEY, METADATA_KEY, TestWriter::new);
+        node.receive(row("a"), new RowMetadata());
+        node.receiveBatch(Collections.singletonList(row("b")), new RowMetadata());
+
+        // then (not yet published)
+        assertThat(contentCache.has(CONTENT_KEY), is(false));
+
+        // when
+        node.signal(Signal.END_OF_STREAM);
+
+        // then
+        assertThat(contentCache.has(CONTENT_KEY), is(true));
+        assertThat(contentCache.has(METADATA_KEY), is(true));
+        assertThat(IOUtils.toString(contentCache.get(CONTENT_KEY)), is("a;b;"));
+        assertThat(openOutputs.get(), is(0));
+    }
+
+    @Test
+    public void shouldNotPublishCanceledContent() throws Exception {
+        // given
+        final CheckpointNode node = new CheckpointNode(contentCache, CONTENT_KEY, METADATA_KEY, TestWriter::new);
+        node.receive(row("a"), new RowMetadata());
+
+        // when
+        node.signal(Signal.CANCEL);
+        node.signal(Signal.END_OF_STREAM);
+
+        // then
+        assertThat(contentCache.has(CONTENT_KEY), is(false));
+        assertThat(contentCache.has(METADATA_KEY), is(false));
+        assertThat(openOutputs.get(), is(0));
+    }
+
+    @Test
+    public void shouldReleaseContentOfFailedTransformation() throws Exception {
+        // given (no end of stream nor cancel is received when transformation fails)
+        final CheckpointNode node = new CheckpointNode(contentCache, CONTENT_KEY, METADATA_KEY, TestWriter::new);
+        node.receive(row("a"), new RowMetadata());
+
+        // when
+        node.abort();
+
+        // then
+        assertThat(contentCache.has(CONTENT_KEY), is(false));
+        assertThat(openOutputs.get(), is(0));
+    }
+
+    @Test
+    public void shouldIgnoreAbortOfPublishedContent() throws Exception {
+        // given
+        final CheckpointNode node = new CheckpointNode(contentCache, CONTENT_KEY, METADATA_KEY, TestWriter::new);
+        node.receive(row("a"), new RowMetadata());
+        node.signal(Signal.END_OF_STREAM);
+
+        // when
+        node.abort();
+
+        // then
+        assertThat(contentCache.has(CONTENT_KEY), is(true));
+        assertThat(contentCache.has(METADATA_KEY), is(true));
+    }
+
+    @Test
+    public void shouldNotPublishContentThatCannotBeWritten() throws Exception {
+        // given
+        final Function<OutputStream, TransformerWriter> failingWriter = output -> new TestWriter(output) {
+
+            @Override
+            public void write(DataSetRow row) throws IOException {
+                throw new IOException("Expected exception.");
+            }
+        };
+        final CheckpointNode node = new CheckpointNode(contentCache, CONTENT_KEY, METADATA_KEY, failingWriter);
+
+        // when
+        node.receive(row("a"), new RowMetadata());
+        node.signal(Signal.END_OF_STREAM);
+
+        // then
+        assertThat(contentCache.has(CONTENT_KEY), is(false));
+        assertThat(contentCache.has(METADATA_KEY), is(false));
+        assertThat(openOutputs.get(), is(0));
+    }
+
+    @Test
+    public void shouldNotShareContentBetweenConcurrentCheckpoints() throws Exception {
+        // given (two transformations of the same step)
+        final CheckpointNode first = new CheckpointNode(contentCache, CONTENT_KEY, METADATA_KEY, TestWriter::new);
+        final CheckpointNode second = (CheckpointNode) first.copyShallow();
+        first.receive(row("a"), new RowMetadata());
+        second.receive(row("a"), new RowMetadata());
+        first.receive(row("b"), new RowMetadata());
+
+        // when
+        second.signal(Signal.CANCEL);
+        first.signal(Signal.END_OF_STREAM);
+
+        // then
+        assertThat(IOUtils.toString(contentCache.get(CONTENT_KEY)), is("a;b;"));
+    }
+
+    private static DataSetRow row(String value) {
+        return new DataSetRow(Collections.singletonMap("0000", value));
+    }
+
+    /**
+     * Writes the value of the rows (metadata is ignored).
+     */
+    private static class TestWriter implements TransformerWriter {
+
+        private final OutputStream output;
+
+        private TestWriter(OutputStream output) {
+            this.output = output;
+        }
+
+        @Override
+        public void write(RowMetadata columns) throws IOException {
+            // not needed
+        }
+
+        @Override
+        public void write(DataSetRow row) throws IOException {
+            output.write((row.get("0000") + ';').getBytes());
+        }
+    }
+}
@@ -15,16 +15,26 @@ package org.talend.dataprep.transformation.service;
 
 import static com.jayway.restassured.RestAssured.given;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
 import static org.springframework.http.MediaType.APPLICATION_JSON_VALUE;
+import static org.talend.dataprep.api.export.ExportParameters.SourceType.HEAD;
 import static org.talend.dataprep.test.SameJSONFile.sameJSONAsFile;
+import static uk.co.datumedge.hamcrest.json.SameJSONAs.sameJSONAs;
 
 import java.io.IOException;
 import java.time.Instant;
+import java.util.Collections;
+import java.util.List;
 
 import org.apache.commons.io.IOUtils;
 import org.junit.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.talend.dataprep.api.preparation.Step;
+import org.talend.dataprep.cache.ContentCache;
 import org.talend.dataprep.transformation.aggregation.api.AggregationParameters;
+import org.talend.dataprep.transformation.cache.StepCheckpoints;
 
 import com.jayway.restassured.response.Response;
 
@@ -33,6 +43,12 @@ import com.jayway.restassured.response.Response;
  */
 public class AggregationTest extends TransformationServiceBaseTest {
 
+    @Autowired
+    private StepCheckpoints stepCheckpoints;
+
+    @Autowired
+    private ContentCache contentCache;
+
     @Test
     public void invalidOperation() throws IOException {
         // given
@@ -108,6 +124,43 @@ public class AggregationTest extends TransformationServiceBaseTest {
         assertThat(actual, sameJSONAsFile(this.getClass().getResourceAsStream("../aggregation/uppercase_sum_expected.json")));
     }
 
+    @Test
+    public void shouldAggregateFromCachedStep() throws IOException {
+        // given (first step is slow enough to be kept in cache by the first aggregation)
+        final String datasetId = createDataset("../aggregation/aggregation_dataset.csv", "for a cached step", "text/csv");
+        final String preparationId = createEmptyPreparationFromDataset(datasetId, "preparation");
+        applyActionFromFile(preparationId, "../aggregation/uppercase_action.json");
+        applyAction(preparationId, IOUtils.toString(this.getClass().getResourceAsStream("../aggregation/uppercase_action.json"))
+                .replace("uppercase", "lowercase"));
+        final List<Step> steps = getPreparation(preparationId).getSteps();
+        final String cachedStepId = steps.get(1).id();
+        stepCheckpoints.recordCosts(Collections.singletonMap(cachedStepId, Long.MAX_VALUE / 2));
+
+        final String actionsAsJson = IOUtils.toString(this.getClass().getResourceAsStream("../aggregation/sum.json"));
+        final AggregationParameters parameters = mapper.readerFor(AggregationParameters.class).readValue(actionsAsJson);
+        parameters.setDatasetId(null);
+        parameters.setPreparationId(preparationId);
+        parameters.setStepId(null);
+
+        // when
+        final String fromDataSet = given()//
+                .body(mapper.writeValueAsString(parameters))//
+                .contentType(APPLICATION_JSON_VALUE) //
+                .when().expect().statusCode(200).log().ifError().post("/aggregate")//
+                .asString();
+        assertTrue(contentCache.has(stepCheckpoints.contentKey(datasetId, preparationId, cachedStepId, HEAD)));
+        final String fromCachedStep = given()//
+                .body(mapper.writeValueAsString(parameters))//
+                .contentType(APPLICATION_JSON_VALUE) //
+                .when().expect().statusCode(200).log().ifError().post("/aggregate")//
+                .asString();
+
+        // then (only the lowercase action is applied to the cached content)
+        assertThat(fromCachedStep, sameJSONAs(fromDataSet));
+        assertTrue(fromCachedStep.contains("\"paris\""));
+        assertFalse(fromCachedStep.contains("\"PARIS\""));
+    }
+
     @Test
     public void shouldAggregateSumWithFilter() throws IOException {
         // when
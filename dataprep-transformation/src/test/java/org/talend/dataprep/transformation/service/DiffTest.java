@@ -13,9 +13,15 @@
 
 package org.talend.dataprep.transformation.service;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
 import com.jayway.restassured.http.ContentType;
 import org.apache.commons.io.IOUtils;
 import org.junit.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.talend.dataprep.cache.ContentCache;
+import org.talend.dataprep.transformation.cache.CacheKeyGenerator;
 import org.talend.dataprep.transformation.preview.api.PreviewParameters;
 
 import java.io.IOException;
@@ -25,16 +31,25 @@ import java.util.Collections;
 import java.util.List;
 
 import static com.jayway.restassured.RestAssured.given;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
 import static org.skyscreamer.jsonassert.JSONAssert.assertEquals;
 import static org.talend.dataprep.api.export.ExportParameters.SourceType.HEAD;
 import static org.talend.dataprep.test.SameJSONFile.sameJSONAsFile;
+import static org.talend.dataprep.transformation.format.JsonFormat.JSON;
 
 /**
  * Diff integration tests.
  */
 public class DiffTest extends TransformationServiceBaseTest {
 
+    @Autowired
+    private ContentCache contentCache;
+
+    @Autowired
+    private CacheKeyGenerator cacheKeyGenerator;
+
     @Test
     public void should_return_preview() throws Exception {
         // given
@@ -181,6 +196,120 @@ public class DiffTest extends TransformationServiceBaseTest {
         assertEquals("[{\"createdColumns\":[]}]", response, false);
     }
 
+    @Test
+    public void should_preview_row_local_action_from_reference_step_content() throws Exception {
+        // given
+        final String datasetId = createDataset("../preview/input.csv", "reference step preview", "text/csv");
+        final String preparationId = createCachedPreparation(datasetId);
+        final String referenceStepId = getPreparation(preparationId).getHeadId();
+        final String newActions = appendAction(getSingleTransformation(), "lowercase", "0001", "firstname");
+        final JsonNode expected = preview(
+                new PreviewParameters(getSingleTransformation(), newActions, datasetId, null, "[2,4]", HEAD));
+
+        // when (dataset is no longer available: rows can only be read from the cached content of the reference step)
+        dataSetMetadataRepository.remove(datasetId);
+        final JsonNode actual = preview(new PreviewParameters(getSingleTransformation(), newActions, datasetId,
+                preparationId, "[2,4]", HEAD, referenceStepId));
+
+        // then
+        assertEquals(expected.toString(), actual.toString(), false);
+    }
+
+    @Test
+    public void should_preview_non_row_local_action_from_dataset() throws Exception {
+        // given
+        final String datasetId = createDataset("../preview/input.csv", "reference step preview", "text/csv");
+        final String preparationId = createCachedPreparation(datasetId);
+        final String referenceStepId = getPreparation(preparationId).getHeadId();
+        final String newActions = appendAction(getSingleTransformation(), "clear_invalid", "0002", "lastname");
+
+        // when
+        final JsonNode expected = preview(
+                new PreviewParameters(getSingleTransformation(), newActions, datasetId, null, "[2,4]", HEAD));
+        final JsonNode actual = preview(new PreviewParameters(getSingleTransformation(), newActions, datasetId,
+                preparationId, "[2,4]", HEAD, referenceStepId));
+
+        // then
+        assertEquals(expected.toString(), actual.toString(), false);
+    }
+
+    @Test
+    public void should_preview_from_dataset_when_reference_step_is_not_cached() throws Exception {
+        // given
+        final String datasetId = createDataset("../preview/input.csv", "reference step preview", "text/csv");
+        final String preparationId = createEmptyPreparationFromDataset(datasetId, "reference step preview");
+        applyAction(preparationId, "[" + getSingleTransformation() + "]");
+        final String referenceStepId = getPreparation(preparationId).getHeadId();
+        final String newActions = appendAction(getSingleTransformation(), "lowercase", "0001", "firstname");
+        assertFalse(contentCache.has(
+                cacheKeyGenerator.generateContentKey(datasetId, preparationId, referenceStepId, JSON, HEAD)));
+
+        // when
+        final JsonNode expected = preview(
+                new PreviewParameters(getSingleTransformation(), newActions, datasetId, null, "[2,4]", HEAD));
+        final JsonNode actual = preview(new PreviewParameters(getSingleTransformation(), newActions, datasetId,
+                preparationId, "[2,4]", HEAD, referenceStepId));
+
+        // then
+        assertEquals(expected.toString(), actual.toString(), false);
+    }
+
+    @Test
+    public void should_preview_from_dataset_when_row_is_not_in_reference_step_content() throws Exception {
+        // given
+        final String datasetId = createDataset("../preview/input.csv", "reference step preview", "text/csv");
+        final String preparationId = createCachedPreparation(datasetId);
+        final String referenceStepId = getPreparation(preparationId).getHeadId();
+        final String newActions = appendAction(getSingleTransformation(), "lowercase", "0001", "firstname");
+
+        // when (row #1000 is not in cached content)
+        final JsonNode expected = preview(
+                new PreviewParameters(getSingleTransformation(), newActions, datasetId, null, "[2,1000]", HEAD));
+        final JsonNode actual = preview(new PreviewParameters(getSingleTransformation(), newActions, datasetId,
+                preparationId, "[2,1000]", HEAD, referenceStepId));
+
+        // then
+        assertEquals(expected.toString(), actual.toString(), false);
+    }
+
+    /**
+     * Create a preparation with the {@link #getSingleTransformation() single transformation} and export it, so its
+     * content (and metadata) is in cache.
+     */
+    private String createCachedPreparation(String datasetId) throws IOException {
+        final String preparationId = createEmptyPreparationFromDataset(datasetId, "reference step preview");
+        applyAction(preparationId, "[" + getSingleTransformation() + "]");
+        final String headId = getPreparation(preparationId).getHeadId();
+        given() //
+                .expect().statusCode(200).log().ifError() //
+                .when() //
+                .get("/apply/preparation/{preparationId}/dataset/{datasetId}/{format}", preparationId, datasetId, "JSON") //
+                .asString();
+        assertTrue(contentCache.has(cacheKeyGenerator.generateContentKey(datasetId, preparationId, headId, JSON, HEAD)));
+        return preparationId;
+    }
+
+    private JsonNode preview(PreviewParameters parameters) throws IOException {
+        final String response = given() //
+                .contentType(ContentType.JSON) //
+                .body(mapper.writer().writeValueAsString(parameters)) //
+                .when().expect().statusCode(200).log().ifError() //
+                .post("/transform/preview") //
+                .asString();
+        return mapper.readTree(response).get("records");
+    }
+
+    private String appendAction(String actions, String name, String columnId, String columnName) throws IOException {
+        final ObjectNode allActions = (ObjectNode) mapper.readTree(actions);
+        final ObjectNode action = ((ArrayNode) allActions.get("actions")).addObject();
+        action.put("action", name);
+        final ObjectNode parameters = action.putObject("parameters");
+        parameters.put("column_id", columnId);
+        parameters.put("column_name", columnName);
+        parameters.put("scope", "column");
+        return mapper.writeValueAsString(allActions);
+    }
+
     private String getSingleTransformation() throws IOException {
         return IOUtils.toString(this.getClass().getResourceAsStream("../preview/uppercase.json"));
     }
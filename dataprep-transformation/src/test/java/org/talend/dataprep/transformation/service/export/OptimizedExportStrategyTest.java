@@ -12,11 +12,16 @@
 
 package org.talend.dataprep.transformation.service.export;
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 import static org.talend.dataprep.api.export.ExportParameters.SourceType.HEAD;
+import static org.talend.dataprep.transformation.format.JsonFormat.JSON;
 
+import java.io.ByteArrayOutputStream;
 import java.io.OutputStream;
+import java.util.Collections;
+import java.util.List;
 
 import javax.annotation.Resource;
 
@@ -31,9 +36,12 @@ import org.talend.dataprep.cache.ContentCache;
 import org.talend.dataprep.exception.TDPException;
 import org.talend.dataprep.preparation.store.PreparationRepository;
 import org.talend.dataprep.transformation.cache.CacheKeyGenerator;
+import org.talend.dataprep.transformation.cache.StepCheckpoints;
 import org.talend.dataprep.transformation.cache.TransformationCacheKey;
 import org.talend.dataprep.transformation.service.TransformationServiceBaseTest;
 
+import com.fasterxml.jackson.databind.JsonNode;
+
 public class OptimizedExportStrategyTest extends TransformationServiceBaseTest {
 
     /** The root step. */
@@ -43,6 +51,12 @@ public class OptimizedExportStrategyTest extends TransformationServiceBaseTest {
     @Autowired
     OptimizedExportStrategy optimizedExportStrategy;
 
+    @Autowired
+    ApplyPreparationExportStrategy applyPreparationExportStrategy;
+
+    @Autowired
+    StepCheckpoints stepCheckpoints;
+
     @Autowired
     PreparationRepository preparationRepository;
 
@@ -152,11 +166,12 @@ public class OptimizedExportStrategyTest extends TransformationServiceBaseTest {
                 content.flush();
             }
 
+            // cached steps are always read as JSON
             final TransformationCacheKey key = cacheKeyGenerator.generateContentKey(
                     datasetId,
                     preparation,
                     step.id(),
-                    format,
+                    JSON,
                     HEAD
             );
             try (OutputStream content = contentCache.put(key, ContentCache.TimeToLive.DEFAULT)) {
@@ -175,6 +190,35 @@ public class OptimizedExportStrategyTest extends TransformationServiceBaseTest {
         assertTrue(optimizedExportStrategy.accept(exportParameters));
     }
 
+    @Test
+    public void testAcceptOK_nearestCachedStep() throws Exception {
+        // Given
+        final String datasetId = "1234";
+        final String preparation = createEmptyPreparationFromDataset(datasetId, "test");
+        applyAction(preparation, "[{}]");
+        applyAction(preparation, "[{}]");
+        applyAction(preparation, "[{}]");
+
+        // only the first step after root step is cached
+        final Step cachedStep = getPreparation(preparation).getSteps().get(1);
+        try (OutputStream content = contentCache.put(cacheKeyGenerator.generateMetadataKey(preparation, cachedStep.id(), HEAD), ContentCache.TimeToLive.DEFAULT)) {
+            content.write("{}".getBytes());
+        }
+        final TransformationCacheKey key = cacheKeyGenerator.generateContentKey(datasetId, preparation, cachedStep.id(), JSON, HEAD);
+        try (OutputStream content = contentCache.put(key, ContentCache.TimeToLive.DEFAULT)) {
+            content.write("{\"records\": [{\"0000\": \"a\"}]}".getBytes());
+        }
+
+        ExportParameters exportParameters = new ExportParameters();
+        exportParameters.setPreparationId(preparation);
+        exportParameters.setDatasetId(datasetId);
+        exportParameters.setExportType("CSV");
+        exportParameters.setFrom(HEAD);
+
+        // Then
+        assertTrue(optimizedExportStrategy.accept(exportParameters));
+    }
+
     @Test
     public void testExecute() throws Exception {
         // Given
@@ -213,4 +257,43 @@ public class OptimizedExportStrategyTest extends TransformationServiceBaseTest {
         // Then
         optimizedExportStrategy.execute(exportParameters);
     }
+
+    @Test
+    public void testExecute_sameMetadataAsFullExport() throws Exception {
+        // Given (a column is created and changed before the cached step)
+        final String datasetId = createDataset("../../preview/input.csv", "resumed export", "text/csv");
+        final String preparation = createEmptyPreparationFromDataset(datasetId, "resumed export");
+        applyAction(preparation, action("copy", "0001", "firstname"));
+        applyAction(preparation, action("uppercase", "0009", "firstname_copy"));
+        applyAction(preparation, action("uppercase", "0002", "lastname"));
+        final List<Step> steps = getPreparation(preparation).getSteps();
+        final String lastStep = steps.get(steps.size() - 1).id();
+        // first step after root step is slow enough to be kept in cache
+        stepCheckpoints.recordCosts(Collections.singletonMap(steps.get(1).id(), Long.MAX_VALUE / 2));
+
+        ExportParameters exportParameters = new ExportParameters();
+        exportParameters.setPreparationId(preparation);
+        exportParameters.setDatasetId(datasetId);
+        exportParameters.setExportType("JSON");
+        exportParameters.setStepId(lastStep);
+        exportParameters.setFrom(HEAD);
+
+        // When
+        final ByteArrayOutputStream fullExport = new ByteArrayOutputStream();
+        applyPreparationExportStrategy.execute(exportParameters).writeTo(fullExport);
+        assertTrue(optimizedExportStrategy.accept(exportParameters));
+        final ByteArrayOutputStream resumedExport = new ByteArrayOutputStream();
+        optimizedExportStrategy.execute(exportParameters).writeTo(resumedExport);
+
+        // Then
+        final JsonNode full = mapper.readTree(fullExport.toByteArray());
+        final JsonNode resumed = mapper.readTree(resumedExport.toByteArray());
+        assertEquals(full.get("records"), resumed.get("records"));
+        assertEquals(full.get("metadata"), resumed.get("metadata"));
+    }
+
+    private static String action(String name, String columnId, String columnName) {
+        return "[{\"actions\": [{\"action\": \"" + name + "\", \"parameters\": {\"column_id\": \"" + columnId
+                + "\", \"column_name\": \"" + columnName + "\", \"scope\": \"column\"}}]}]";
+    }
 }